@@ -0,0 +1,90 @@
+package com.schwartz.benchmark;
+
+import com.schwartz.calculator.impl.SchwartzJavaBatchPathSimulator;
+import com.schwartz.calculator.impl.SchwartzJavaPathSimulator;
+import com.schwartz.matlab.impl.SchwartzModelDataMapper;
+import com.schwartz.matlab.impl.SchwartzSimulatedPathsMapper;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the mapping of the Matlab format into the data model and back, for datasets of {@code years} of daily time steps with
+ * {@code contracts} contracts per term structure.
+ *
+ * @author woope
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MappingBenchmark {
+
+    static final SchwartzModelParameters PARAMETERS = new SchwartzModelParameters(0, 0.3, 2, -0.1, 0.6, 0.3, 0.6, -0.5);
+    static final int NUMBER_OF_PATHS = 100;
+
+    @Param({"1", "10"})
+    private int years;
+
+    @Param({"6", "12"})
+    private int contracts;
+
+    private SchwartzModelDataMapper modelDataMapper;
+    private SchwartzModelDataMapper modelDataViewMapper;
+    private SchwartzSimulatedPathsMapper pathsMapper;
+    private SchwartzSimulatedData modelData;
+    private double[][] modelDataMatlabFormat;
+    private SchwartzSimulatedPaths paths;
+    private double[][] pathsMatlabFormat;
+
+    @Setup
+    public void setup() {
+        modelDataMapper = new SchwartzModelDataMapper();
+        modelDataViewMapper = new SchwartzModelDataMapper(false);
+        pathsMapper = new SchwartzSimulatedPathsMapper(NUMBER_OF_PATHS);
+        modelData = new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, true, years, contracts, 1L).calculate();
+        modelDataMatlabFormat = modelData.getMatlabFormat();
+        paths = new SchwartzJavaBatchPathSimulator(
+            100, 0.1, PARAMETERS, true, NUMBER_OF_PATHS, 1L,
+            new SchwartzJavaBatchPathSimulator.Options().synthYears(years).numberOfContracts(contracts)
+        ).calculate();
+        pathsMatlabFormat = paths.getMatlabFormat();
+    }
+
+    @Benchmark
+    public SchwartzSimulatedData mapModelData() {
+        return modelDataMapper.map(modelDataMatlabFormat);
+    }
+
+    /**
+     * Wraps the same array repeatedly, which is possible since the wrapping only normalizes the already normalized array in place.
+     */
+    @Benchmark
+    public SchwartzSimulatedData mapModelDataView() {
+        return modelDataViewMapper.map(modelDataMatlabFormat);
+    }
+
+    @Benchmark
+    public double[][] unmapModelData() {
+        return modelData.getMatlabFormat();
+    }
+
+    @Benchmark
+    public SchwartzSimulatedPaths mapPaths() {
+        return pathsMapper.map(pathsMatlabFormat);
+    }
+
+    @Benchmark
+    public double[][] unmapPaths() {
+        return paths.getMatlabFormat();
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.schwartz.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schwartz.calculator.impl.SchwartzJavaBatchPathSimulator;
+import com.schwartz.calculator.impl.SchwartzJavaPathSimulator;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the JSON serialization of the simulation results, as it is carried out for the responses of the controller.
+ *
+ * @author woope
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"1", "10"})
+    private int years;
+
+    private ObjectMapper objectMapper;
+    private SchwartzSimulatedData modelData;
+    private SchwartzSimulatedPaths paths;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        modelData = new SchwartzJavaPathSimulator(100, 0.1, MappingBenchmark.PARAMETERS, true, years, 6, 1L).calculate();
+        paths = new SchwartzJavaBatchPathSimulator(
+            100, 0.1, MappingBenchmark.PARAMETERS, true, MappingBenchmark.NUMBER_OF_PATHS, 1L,
+            new SchwartzJavaBatchPathSimulator.Options().synthYears(years).numberOfContracts(6)
+        ).calculate();
+    }
+
+    @Benchmark
+    public byte[] serializeModelData() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(modelData);
+    }
+
+    @Benchmark
+    public byte[] serializePaths() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paths);
+    }
+
+}
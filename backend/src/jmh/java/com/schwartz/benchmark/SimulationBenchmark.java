@@ -0,0 +1,81 @@
+package com.schwartz.benchmark;
+
+import com.schwartz.calculator.impl.SchwartzJavaBatchPathSimulator;
+import com.schwartz.calculator.impl.SchwartzJavaPathSimulator;
+import com.schwartz.calculator.impl.SchwartzMatlabPathSimulator;
+import com.schwartz.calculator.impl.SchwartzPathGenerator;
+import com.schwartz.calculator.impl.SchwartzTermStructureEngine;
+import com.schwartz.matlab.impl.MatlabProxyPool;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the throughput of the path simulations, i.e. the simulated paths per second. The Matlab-simulation runs against a
+ * {@link StubMatlabProxyHandler stubbed Matlab-session} to measure the overhead of the Java side of the Matlab-pipeline.
+ *
+ * @author woope
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimulationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean simulateTermStructure;
+
+    private MatlabProxyPool proxyPool;
+    private SchwartzTermStructureEngine termStructureEngine;
+    private double[] time2maturities;
+    private double[] futuresPrices;
+
+    @Setup
+    public void setup() {
+        SchwartzSimulatedData modelData = new SchwartzJavaPathSimulator(100, 0.1, MappingBenchmark.PARAMETERS, false, 1L).calculate();
+        proxyPool = new MatlabProxyPool(new StubMatlabProxyHandler(modelData.getMatlabFormat()));
+        termStructureEngine = new SchwartzTermStructureEngine(MappingBenchmark.PARAMETERS, SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS);
+        time2maturities = new double[SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS];
+        futuresPrices = new double[SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS];
+    }
+
+    @TearDown
+    public void tearDown() {
+        proxyPool.close();
+    }
+
+    @Benchmark
+    public SchwartzSimulatedData javaPath() {
+        return new SchwartzJavaPathSimulator(100, 0.1, MappingBenchmark.PARAMETERS, simulateTermStructure).calculate();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SchwartzSimulatedPaths javaBatch() {
+        return new SchwartzJavaBatchPathSimulator(
+            100, 0.1, MappingBenchmark.PARAMETERS, simulateTermStructure, MappingBenchmark.NUMBER_OF_PATHS, null
+        ).calculate();
+    }
+
+    @Benchmark
+    public SchwartzSimulatedData stubbedMatlabPath() {
+        return new SchwartzMatlabPathSimulator(proxyPool, 100, 0.1, MappingBenchmark.PARAMETERS, simulateTermStructure).calculate();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void termStructure(Blackhole blackhole) {
+        termStructureEngine.fillRollingTermStructure(5, 100, 0.1, time2maturities, futuresPrices);
+        blackhole.consume(futuresPrices);
+    }
+
+}
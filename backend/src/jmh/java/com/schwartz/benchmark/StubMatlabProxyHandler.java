@@ -0,0 +1,48 @@
+package com.schwartz.benchmark;
+
+import com.schwartz.matlab.AbstractMatlabProxyHandler;
+import org.n52.matlab.control.MatlabInvocationException;
+import org.n52.matlab.control.MatlabProxy;
+import static org.mockito.Mockito.*;
+
+/**
+ * A {@link AbstractMatlabProxyHandler} that creates stubbed Matlab-sessions for benchmarking the Java side of the Matlab-pipeline without
+ * Matlab. Every function call of a stubbed session returns the {@code data} along with its dimensions.
+ *
+ * @author woope
+ */
+public class StubMatlabProxyHandler extends AbstractMatlabProxyHandler {
+
+    private final double[][] data;
+
+    public StubMatlabProxyHandler(double[][] data) {
+        this.data = data;
+    }
+
+    @Override
+    public MatlabProxy getMatlabProxy() {
+        MatlabProxy proxy = mock(MatlabProxy.class);
+        try {
+            doAnswer(invocation -> feval()).when(proxy).returningFeval(anyString(), anyInt(), anyVararg());
+        } catch (MatlabInvocationException ex) {
+            throw new IllegalStateException("Could not stub the Matlab-session!", ex);
+        }
+        when(proxy.isConnected()).thenReturn(true);
+        return proxy;
+    }
+
+    private Object[] feval() {
+        double[] columnMajor = new double[data.length * data[0].length];
+        for (int i = 0; i < data.length; i++) {
+            for (int j = 0; j < data[i].length; j++) {
+                columnMajor[j * data.length + i] = data[i][j];
+            }
+        }
+        return new Object[]{columnMajor, new double[]{data.length, data[0].length}};
+    }
+
+    public double[][] getData() {
+        return data;
+    }
+
+}
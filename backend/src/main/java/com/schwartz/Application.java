@@ -6,7 +6,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 @SpringBootApplication
 public class Application {
 
+    public static final String NETTY_REFLECTION_PROPERTY = "io.netty.tryReflectionSetAccessible";
+
     public static void main(String[] args) {
+        // The Arrow buffers of Netty need reflective access to the direct buffers on Java 9+, which is set before Netty is loaded.
+        if (System.getProperty(NETTY_REFLECTION_PROPERTY) == null) {
+            System.setProperty(NETTY_REFLECTION_PROPERTY, "true");
+        }
         SpringApplication.run(Application.class, args);
     }
-}
\ No newline at end of file
+}
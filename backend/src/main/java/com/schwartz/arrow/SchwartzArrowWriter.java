@@ -0,0 +1,155 @@
+package com.schwartz.arrow;
+
+import com.schwartz.Application;
+import com.schwartz.matlab.IMatlabConvertable;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.ipc.ArrowWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Exports the simulation results in the Apache Arrow IPC stream and file formats, with one {@code float64} column per row of the
+ * {@link IMatlabConvertable#getMatlabFormat() Matlab format} of a single path:
+ * <pre>
+ *  timeline, spotPrice, convenienceYield, time2maturity1, futuresPrice1, ..., time2maturityK, futuresPriceK
+ * </pre>
+ * The paths of a {@link SchwartzSimulatedPaths} are written as one record batch each, led by the {@code int32} {@value #PATH_COLUMN} column.
+ * Netty needs the {@code io.netty.tryReflectionSetAccessible} property for the Arrow buffers, which is set by {@link Application#main}.
+ *
+ * @author woope
+ */
+public final class SchwartzArrowWriter {
+
+    public static final String STREAM_MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+    public static final String FILE_MEDIA_TYPE = "application/vnd.apache.arrow.file";
+    public static final String NUMBER_OF_PATHS_METADATA = "numberOfPaths";
+    public static final String PATH_COLUMN = "path";
+
+    private static final String[] LEADING_COLUMNS = {"timeline", "spotPrice", "convenienceYield"};
+    private static final FieldType INT32 = FieldType.nullable(new ArrowType.Int(32, true));
+    private static final FieldType FLOAT64 = FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE));
+    private static final BufferAllocator ROOT_ALLOCATOR = new RootAllocator(Long.MAX_VALUE);
+
+    private SchwartzArrowWriter() {
+    }
+
+    public static void writeStream(SchwartzSimulatedData data, OutputStream outputStream) throws IOException {
+        write(data.getMatlabFormat(), false, Channels.newChannel(outputStream));
+    }
+
+    public static void writeStream(SchwartzSimulatedPaths paths, OutputStream outputStream) throws IOException {
+        write(getBatches(paths), paths.getNumberOfContracts(), true, false, Channels.newChannel(outputStream));
+    }
+
+    public static void writeFile(SchwartzSimulatedData data, WritableByteChannel channel) throws IOException {
+        write(data.getMatlabFormat(), true, channel);
+    }
+
+    public static void writeFile(SchwartzSimulatedPaths paths, WritableByteChannel channel) throws IOException {
+        write(getBatches(paths), paths.getNumberOfContracts(), true, true, channel);
+    }
+
+    /**
+     * Returns the schema of the paths with {@code numberOfContracts} contracts, which leads with the {@value #PATH_COLUMN} column if
+     * {@code pathColumn} is set.
+     */
+    public static Schema getSchema(int numberOfContracts, int numberOfPaths, boolean pathColumn) {
+        Validate.isTrue(numberOfContracts >= 0, "The number of contracts can not be negative!");
+
+        List<Field> fields = new ArrayList<>(1 + LEADING_COLUMNS.length + 2 * numberOfContracts);
+        if (pathColumn) {
+            fields.add(new Field(PATH_COLUMN, INT32, null));
+        }
+        for (String column : LEADING_COLUMNS) {
+            fields.add(new Field(column, FLOAT64, null));
+        }
+        for (int k = 1; k <= numberOfContracts; k++) {
+            fields.add(new Field("time2maturity" + k, FLOAT64, null));
+            fields.add(new Field("futuresPrice" + k, FLOAT64, null));
+        }
+        return new Schema(fields, Collections.singletonMap(NUMBER_OF_PATHS_METADATA, Integer.toString(numberOfPaths)));
+    }
+
+    private static List<double[][]> getBatches(SchwartzSimulatedPaths paths) {
+        List<double[][]> batches = new ArrayList<>(paths.getNumberOfPaths());
+        for (int p = 0; p < paths.getNumberOfPaths(); p++) {
+            double[][] pathRows = paths.getPathRows(p);
+            double[][] batch = new double[1 + pathRows.length][];
+            batch[IMatlabConvertable.MATLAB_TIMELINE_INDEX] = paths.getTimeline();
+            System.arraycopy(pathRows, 0, batch, 1, pathRows.length);
+            batches.add(batch);
+        }
+        return batches;
+    }
+
+    private static void write(double[][] matlabFormat, boolean file, WritableByteChannel channel) throws IOException {
+        int numberOfContracts = (matlabFormat.length - IMatlabConvertable.MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE) / 2;
+        write(Collections.singletonList(matlabFormat), numberOfContracts, false, file, channel);
+    }
+
+    /**
+     * Writes the batches, i.e. the Matlab formats of the single paths, whose rows are written as the columns of the record batches. The
+     * {@value #PATH_COLUMN} column of a batch is filled with its index if {@code pathColumn} is set.
+     */
+    private static void write(
+        List<double[][]> batches,
+        int numberOfContracts,
+        boolean pathColumn,
+        boolean file,
+        WritableByteChannel channel
+    ) throws IOException {
+        Schema schema = getSchema(numberOfContracts, batches.size(), pathColumn);
+        int firstColumn = pathColumn ? 1 : 0;
+        int columns = schema.getFields().size() - firstColumn;
+
+        try (BufferAllocator allocator = ROOT_ALLOCATOR.newChildAllocator("arrow-export", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(schema, allocator)) {
+            // The writer is not closed, as closing it would close the channel of the caller.
+            ArrowWriter writer = file ? new ArrowFileWriter(root, null, channel) : new ArrowStreamWriter(root, null, channel);
+            writer.start();
+            for (int p = 0; p < batches.size(); p++) {
+                double[][] batch = batches.get(p);
+                int rows = batch[IMatlabConvertable.MATLAB_TIMELINE_INDEX].length;
+                if (pathColumn) {
+                    IntVector vector = (IntVector) root.getVector(0);
+                    vector.allocateNew(rows);
+                    for (int j = 0; j < rows; j++) {
+                        vector.set(j, p);
+                    }
+                    vector.setValueCount(rows);
+                }
+                for (int i = 0; i < columns; i++) {
+                    Float8Vector vector = (Float8Vector) root.getVector(firstColumn + i);
+                    vector.allocateNew(rows);
+                    for (int j = 0; j < rows; j++) {
+                        vector.set(j, batch[i][j]);
+                    }
+                    vector.setValueCount(rows);
+                }
+                root.setRowCount(rows);
+                writer.writeBatch();
+            }
+            writer.end();
+        }
+    }
+
+}
@@ -1,24 +1,227 @@
 package com.schwartz.business;
 
+import java.util.List;
 import java.util.concurrent.Callable;
 
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.calculator.ISchwartzSweepListener;
+import com.schwartz.model.SchwartzCalibrationResult;
 import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzMonteCarloEstimate;
+import com.schwartz.model.SchwartzOptionQuote;
+import com.schwartz.model.SchwartzOptionStyle;
+import com.schwartz.model.SchwartzOptionType;
+import com.schwartz.model.SchwartzParameterGrid;
+import com.schwartz.model.SchwartzPathSummary;
+import com.schwartz.model.SchwartzPathStatistic;
+import com.schwartz.model.SchwartzSamplingMethod;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
 
 /**
  * An interface for different {@link ISchwartzCalculatorService ISchwartzCalculatorServices} that provides all the necessary methods for carrying out
  * calculation-tasks.
  *
+ * The calculations with a {@code seed} are reproducible, and the implementations may share their results with the other calculations of
+ * the same inputs and seed.
+ *
  * @author woope
  * @param <K> the return-type of the calculation results.
  */
 public interface ISchwartzCalculatorService<K> {
 
-    public Callable<K> run(
-        double initialSpot, 
-        double initialConvenienceYield, 
+    public default Callable<K> run(
+        double initialSpot,
+        double initialConvenienceYield,
         SchwartzModelParameters modelParameters,
         boolean simulateTermStructure
+    ) {
+        return run(initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, null);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the seed is not supported by the engine.
+     */
+    public Callable<K> run(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        Long seed
+    );
+
+    public default Callable<SchwartzSimulatedPaths> runBatch(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths
+    ) {
+        return runBatch(initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, numberOfPaths, null);
+    }
+
+    /**
+     * Generates multiple sample paths for a single parameterset in one calculation.
+     *
+     * @throws IllegalArgumentException if the number of paths is not positive or exceeds the configured maximum, or if the seed is not
+     * supported by the engine.
+     */
+    public Callable<SchwartzSimulatedPaths> runBatch(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed
+    );
+
+    /**
+     * Generates multiple sample paths for a single parameterset by splitting them into chunks that are calculated in parallel, and merging
+     * the chunks into a single result.
+     *
+     * @throws IllegalArgumentException if the number of paths is not positive or exceeds the configured maximum, or if the seed is not
+     * supported by the engine.
+     */
+    public Callable<SchwartzSimulatedPaths> runParallel(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed
+    );
+
+    /**
+     * Streams multiple sample paths for a single parameterset to the {@link ISchwartzPathListener listener} as they are generated, without
+     * retaining them in memory. The calculation returns the number of streamed paths.
+     *
+     * @throws IllegalArgumentException if the number of paths is not positive or exceeds the configured maximum, or if the seed is not
+     * supported by the engine.
+     */
+    public Callable<Integer> stream(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        ISchwartzPathListener listener
     );
 
+    /**
+     * Generates multiple sample paths for every parameterset of the grid, and supplies the paths of every parameterset to the
+     * {@link ISchwartzSweepListener listener} as they are completed. Returns the number of distinct parametersets.
+     *
+     * @throws IllegalArgumentException if the grid is empty or malformed, if the number of parametersets of the grid exceeds the configured
+     * maximum, if the number of paths is not positive or exceeds the configured maximum, or if the seed is not supported by the engine.
+     */
+    public Callable<Integer> sweep(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzParameterGrid parameterGrid,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        ISchwartzSweepListener<SchwartzSimulatedPaths> listener
+    );
+
+    /**
+     * Reduces multiple sample paths for a single parameterset to their summary statistics per time step as they are generated, without
+     * retaining the paths in memory. The paths are generated in parallel in the JVM, and the summaries are not cached.
+     *
+     * @param probabilities The probabilities of the summarized quantiles.
+     * @param relativeAccuracy The relative accuracy of the quantiles.
+     * @throws IllegalArgumentException if the number of paths is not positive or exceeds the configured maximum of the aggregations, or if
+     * the probabilities or the accuracy are not between 0 and 1.
+     * @throws UnsupportedOperationException if the configured engine is not the Java-engine.
+     */
+    public Callable<SchwartzPathSummary> summarize(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        double[] probabilities,
+        double relativeAccuracy,
+        Long seed
+    );
+
+    /**
+     * Estimates the expectation of the path statistic from {@code numberOfPaths} sample paths, optionally reducing the variance with the
+     * sampling method and with control variates. The paths are generated in parallel in the JVM, and the estimates are not cached.
+     *
+     * @throws IllegalArgumentException if the number of paths is not positive or exceeds the configured maximum, if an antithetic
+     * estimate is given an odd number of paths, if the paths of a quasi-random estimate do not divide into at least two replicates, or if
+     * there are too few paths for the control variates.
+     * @throws UnsupportedOperationException if the configured engine is not the Java-engine.
+     */
+    public Callable<SchwartzMonteCarloEstimate> runMonteCarlo(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        SchwartzPathStatistic statistic,
+        int numberOfPaths,
+        SchwartzSamplingMethod samplingMethod,
+        int replicates,
+        boolean controlVariates,
+        Long seed
+    );
+
+    /**
+     * Constructs the futures term structure of the contracts with the supplied times to maturity from the closed form solution of the
+     * model. The term structure is constructed in the JVM regardless of the engine.
+     *
+     * @param time2maturities The times to maturity in trading days.
+     * @throws IllegalArgumentException if the kappa of the model parameters is not positive.
+     */
+    public List<SchwartzSimulatedData.ContractEntry> getTermStructure(
+        double spotPrice,
+        double convenienceYield,
+        SchwartzModelParameters modelParameters,
+        double[] time2maturities
+    );
+
+    /**
+     * Prices the options on the futures contracts for every combination of the strike prices and the expiries. The options are priced in
+     * the JVM regardless of the engine, and the prices are not cached.
+     *
+     * @param strikes The strike prices of the options.
+     * @param expiries The times to the expiries of the options in trading days.
+     * @param time2maturities The times to maturity of the underlying contracts in trading days, one for every expiry, or null if the
+     * contracts mature at the expiries.
+     * @throws IllegalArgumentException if the kappa of the model parameters is not positive, if the options are malformed, or if the
+     * number of paths of the path dependent options is odd or exceeds the configured maximum.
+     */
+    public Callable<List<SchwartzOptionQuote>> priceOptions(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        SchwartzOptionType optionType,
+        SchwartzOptionStyle style,
+        double[] strikes,
+        double[] expiries,
+        double[] time2maturities,
+        int numberOfPaths,
+        Long seed
+    );
+
+    /**
+     * Estimates the model parameters from the observed futures term structures by maximizing the Kalman filter likelihood. The estimation
+     * is calculated in the JVM regardless of the engine.
+     *
+     * @param modelData The observed spot prices, convenience yields and futures term structures.
+     * @param initialParameters The starting point of the estimation, or null for the default starting point.
+     * @throws IllegalArgumentException if the data contains no futures prices, or if the starting point is outside the parameter space.
+     */
+    public Callable<SchwartzModelParameters> estimate(SchwartzSimulatedData modelData, SchwartzModelParameters initialParameters);
+
+    /**
+     * Calibrates the model parameters to the observed futures term structures by starting multiple estimations in parallel, and returns the
+     * estimate with the highest likelihood along with the diagnostics of every start.
+     *
+     * @throws IllegalArgumentException if the data contains no futures prices, or if the number of starts is not positive or exceeds the
+     * configured maximum.
+     */
+    public Callable<SchwartzCalibrationResult> calibrate(SchwartzSimulatedData modelData, int numberOfStarts, Long seed);
 
 }
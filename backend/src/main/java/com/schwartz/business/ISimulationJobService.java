@@ -0,0 +1,57 @@
+package com.schwartz.business;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.schwartz.model.SimulationJobInfo;
+
+/**
+ * An interface for services that execute the calculations supplied by an {@link ISchwartzCalculatorService} asynchronously as jobs.
+ *
+ * The submitted jobs are identified by their job IDs, which can be used to poll the status and the progress of the job, to retrieve the
+ * result of a completed job and to cancel the job.
+ *
+ * @author woope
+ * @see ISchwartzCalculatorService
+ */
+public interface ISimulationJobService {
+
+    /**
+     * Submits the calculation for asynchronous execution.
+     *
+     * @param calculation The calculation to be executed.
+     * @return The {@link SimulationJobInfo} of the submitted job.
+     * @throws RejectedExecutionException if the job queue is full.
+     */
+    public SimulationJobInfo submit(Callable<?> calculation) throws RejectedExecutionException;
+
+    /**
+     * Returns the current state of the job.
+     *
+     * @param jobId The ID of the job.
+     * @return The current {@link SimulationJobInfo} of the job.
+     * @throws NoSuchElementException if no job exists with the supplied ID.
+     */
+    public SimulationJobInfo getJob(String jobId) throws NoSuchElementException;
+
+    /**
+     * Returns the result of a completed job.
+     *
+     * @param jobId The ID of the job.
+     * @return The result of the calculation.
+     * @throws NoSuchElementException if no job exists with the supplied ID.
+     * @throws IllegalStateException if the job has not completed successfully.
+     */
+    public Object getResult(String jobId) throws NoSuchElementException, IllegalStateException;
+
+    /**
+     * Cancels the job. Running calculations are interrupted.
+     *
+     * @param jobId The ID of the job.
+     * @return The {@link SimulationJobInfo} of the job after the cancellation.
+     * @throws NoSuchElementException if no job exists with the supplied ID.
+     */
+    public SimulationJobInfo cancel(String jobId) throws NoSuchElementException;
+
+}
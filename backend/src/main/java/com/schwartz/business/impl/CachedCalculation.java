@@ -0,0 +1,83 @@
+package com.schwartz.business.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+
+/**
+ * A calculation that returns the cached result of a reproducible simulation, and otherwise carries out the simulation and caches its
+ * result. The concurrent calculations of the same simulation are coalesced by the {@link InFlightCalculations}, and every calculation
+ * returns its own copy of the shared result.
+ *
+ * @author woope
+ * @param <K> The return-type of the calculation results.
+ * @see WeightedLruCache
+ * @see InFlightCalculations
+ */
+class CachedCalculation<K> extends AbstractCallableSchwartzCalculator<K> {
+
+    private final SimulationCacheKey key;
+    private final WeightedLruCache<SimulationCacheKey, Object> cache;
+    private final InFlightCalculations<SimulationCacheKey, Object> inFlight;
+    private final Class<K> resultType;
+    private final AbstractCallableSchwartzCalculator<K> calculator;
+
+    CachedCalculation(
+        SimulationCacheKey key,
+        WeightedLruCache<SimulationCacheKey, Object> cache,
+        InFlightCalculations<SimulationCacheKey, Object> inFlight,
+        Class<K> resultType,
+        AbstractCallableSchwartzCalculator<K> calculator
+    ) {
+        this.key = key;
+        this.cache = cache;
+        this.inFlight = inFlight;
+        this.resultType = resultType;
+        this.calculator = calculator;
+    }
+
+    @Override
+    public K calculate() {
+        Object cached = cache.get(key);
+        if (resultType.isInstance(cached)) {
+            return copy(cached);
+        }
+
+        return copy(inFlight.calculate(key, this::calculateAndCache, calculator::getProgress));
+    }
+
+    /**
+     * The cache is checked again once the calculation is in flight, since a coalesced calculation may have completed in the meantime.
+     */
+    private K calculateAndCache() {
+        Object cached = cache.get(key);
+        if (resultType.isInstance(cached)) {
+            return resultType.cast(cached);
+        }
+
+        K result = calculator.call();
+        if (result != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private K copy(Object result) {
+        if (result instanceof SchwartzSimulatedData) {
+            return resultType.cast(((SchwartzSimulatedData) result).copy());
+        }
+        if (result instanceof SchwartzSimulatedPaths) {
+            return resultType.cast(((SchwartzSimulatedPaths) result).copy());
+        }
+        return resultType.cast(result);
+    }
+
+    @Override
+    public double getProgress() {
+        return Math.max(super.getProgress(), Math.max(calculator.getProgress(), inFlight.getProgress(key)));
+    }
+
+    SimulationCacheKey getKey() {
+        return key;
+    }
+}
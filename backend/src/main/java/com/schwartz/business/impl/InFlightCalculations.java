@@ -0,0 +1,117 @@
+package com.schwartz.business.impl;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A thread-safe registry of the calculations in progress, which coalesces the concurrent calculations of the same key into a single
+ * calculation. The completed results are not retained, and a waiter recalculates if the calculation it waits for is cancelled.
+ *
+ * @author woope
+ * @param <K> The type of the keys.
+ * @param <V> The type of the calculation results.
+ * @see WeightedLruCache
+ */
+public class InFlightCalculations<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights;
+    private final AtomicLong coalescedCount;
+
+    public InFlightCalculations() {
+        this.flights = new ConcurrentHashMap<>();
+        this.coalescedCount = new AtomicLong();
+    }
+
+    /**
+     * Carries out the calculation of the key, or waits for the concurrent calculation of the same key to complete.
+     *
+     * @param key The key of the calculation.
+     * @param calculation The calculation, which is only invoked if no calculation of the key is in flight.
+     * @param progress The progress of the calculation, which is reported to the waiters.
+     * @return The result of the calculation.
+     * @throws CancellationException if the calling thread is interrupted while waiting.
+     */
+    public V calculate(K key, Supplier<? extends V> calculation, DoubleSupplier progress) {
+        Validate.notNull(key, "The supplied key was null!");
+        Validate.notNull(calculation, "The supplied calculation was null!");
+        Validate.notNull(progress, "The supplied progress was null!");
+
+        while (true) {
+            Flight<V> flight = new Flight<>(progress);
+            Flight<V> inFlight = flights.putIfAbsent(key, flight);
+            if (inFlight == null) {
+                return fly(key, flight, calculation);
+            }
+
+            coalescedCount.incrementAndGet();
+            try {
+                return inFlight.result.get();
+            } catch (CancellationException ex) {
+                // The calculation of another caller was cancelled, so the calculation is retried.
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("The wait for the calculation " + key + " was interrupted!");
+            } catch (ExecutionException ex) {
+                if (ex.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                if (ex.getCause() instanceof Error) {
+                    throw (Error) ex.getCause();
+                }
+                throw new IllegalStateException("The calculation " + key + " failed!", ex.getCause());
+            }
+        }
+    }
+
+    private V fly(K key, Flight<V> flight, Supplier<? extends V> calculation) {
+        try {
+            V result = calculation.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * @return The progress of the calculation of the key in flight, or zero if no calculation of the key is in flight.
+     */
+    public double getProgress(K key) {
+        Flight<V> flight = flights.get(key);
+        return flight == null ? 0 : flight.progress.getAsDouble();
+    }
+
+    /**
+     * @return The number of the calculations in flight.
+     */
+    public int size() {
+        return flights.size();
+    }
+
+    /**
+     * @return The total number of the calculations that waited for the result of a concurrent calculation.
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private final DoubleSupplier progress;
+
+        private Flight(DoubleSupplier progress) {
+            this.progress = progress;
+        }
+    }
+
+}
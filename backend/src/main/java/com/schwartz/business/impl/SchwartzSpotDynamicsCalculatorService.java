@@ -1,13 +1,58 @@
 package com.schwartz.business.impl;
 
 import com.schwartz.business.ISchwartzCalculatorService;
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.calculator.ISchwartzSweepListener;
+import com.schwartz.calculator.SchwartzCalculatorEngine;
+import com.schwartz.calculator.impl.SchwartzAggregatingPathSimulator;
+import com.schwartz.calculator.impl.SchwartzJavaBatchPathSimulator;
+import com.schwartz.calculator.impl.SchwartzKalmanEstimator;
+import com.schwartz.calculator.impl.SchwartzJavaPathSimulator;
+import com.schwartz.calculator.impl.SchwartzJavaQuasiRandomPathSimulator;
+import com.schwartz.calculator.impl.SchwartzJavaStreamingPathSimulator;
+import com.schwartz.calculator.impl.SchwartzMatlabBatchPathSimulator;
 import com.schwartz.calculator.impl.SchwartzMatlabPathSimulator;
+import com.schwartz.calculator.impl.SchwartzMatlabStreamingPathSimulator;
+import com.schwartz.calculator.impl.SchwartzMonteCarloEstimator;
+import com.schwartz.calculator.impl.SchwartzMultiStartEstimator;
+import com.schwartz.calculator.impl.SchwartzOptionGridCalculator;
+import com.schwartz.calculator.impl.SchwartzParallelPathSimulator;
+import com.schwartz.calculator.impl.SchwartzParameterSweep;
+import com.schwartz.calculator.impl.SchwartzPathGenerator;
+import com.schwartz.calculator.impl.SchwartzTermStructureEngine;
 import com.schwartz.matlab.AbstractMatlabProxyHandler;
 import com.schwartz.matlab.impl.MatlabProxyHandler;
+import com.schwartz.matlab.impl.MatlabProxyPool;
+import com.schwartz.model.SchwartzCalibrationResult;
 import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzMonteCarloEstimate;
+import com.schwartz.model.SchwartzOptionQuote;
+import com.schwartz.model.SchwartzOptionStyle;
+import com.schwartz.model.SchwartzOptionType;
+import com.schwartz.model.SchwartzParameterGrid;
+import com.schwartz.model.SchwartzPathSummary;
+import com.schwartz.model.SchwartzPathStatistic;
+import com.schwartz.model.SchwartzSamplingMethod;
 import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import com.schwartz.random.QuasiRandomPathSampler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Metrics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.n52.matlab.control.MatlabInvocationException;
 import org.n52.matlab.control.MatlabProxy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 
@@ -15,6 +60,10 @@ import org.springframework.stereotype.Service;
  * A service that handles the initiating of {@link MatlabProxy MatlabProxies} to a {@link SchwartzMatlabPathSimulator} instance, and also handles the
  * calculation process utilizing an instance of {@link IConcurrentCalculatorHandler}.
  *
+ * The {@link SchwartzCalculatorEngine engine} is configured with {@code schwartz.calculator.engine}, and the Matlab-sessions are leased from
+ * a {@link MatlabProxyPool}. The parallel calculations run on a {@link ForkJoinPool}, and the seeded calculations are cached in a
+ * {@link WeightedLruCache} and coalesced by the {@link InFlightCalculations}.
+ *
  * @author woope
  * @see ISchwartzCalculatorService
  * @see schwartzController
@@ -22,31 +71,588 @@ import org.springframework.stereotype.Service;
 @Service
 public class SchwartzSpotDynamicsCalculatorService implements ISchwartzCalculatorService<SchwartzSimulatedData> {
 
+    private static final Logger log = LogManager.getLogger(SchwartzSpotDynamicsCalculatorService.class.getName());
+
+    private static final SchwartzModelParameters WARM_UP_PARAMETERS = new SchwartzModelParameters(0, 0.3, 1, 0, 0.3, 0.03, 0.5, 0);
+    private static final int WARM_UP_PATHS = 2;
+    private static final int AGGREGATION_CHUNKS_PER_WORKER = 4;
+
     private final AbstractMatlabProxyHandler proxyHandler;
-    private MatlabProxy proxy;
+    private MatlabProxyPool proxyPool;
+
+    @Value("${schwartz.calculator.engine:MATLAB}")
+    private SchwartzCalculatorEngine engine = SchwartzCalculatorEngine.MATLAB;
+
+    @Value("${schwartz.matlab.sessions:1}")
+    private int matlabSessions = MatlabProxyPool.DEFAULT_POOL_SIZE;
+
+    @Value("${schwartz.matlab.borrow-timeout-millis:60000}")
+    private long borrowTimeoutMillis = MatlabProxyPool.DEFAULT_BORROW_TIMEOUT_MILLIS;
+
+    @Value("${schwartz.batch.max-paths:100000}")
+    private int maxBatchPaths = 100000;
+
+    @Value("${schwartz.aggregation.max-paths:10000000}")
+    private int maxAggregatedPaths = 10000000;
+
+    @Value("${schwartz.sweep.max-parameter-sets:1000}")
+    private int maxSweepParameterSets = 1000;
+
+    @Value("${schwartz.cache.max-megabytes:256}")
+    private long cacheMaxMegabytes = 256;
+
+    @Value("${schwartz.parallel.threads:0}")
+    private int parallelThreads = 0;
+
+    @Value("${schwartz.parallel.chunk-size:64}")
+    private int parallelChunkSize = 64;
+
+    @Value("${schwartz.calibration.max-starts:256}")
+    private int maxCalibrationStarts = 256;
+
+    private WeightedLruCache<SimulationCacheKey, Object> resultCache;
+    private final InFlightCalculations<SimulationCacheKey, Object> inFlightCalculations = new InFlightCalculations<>();
+    private ForkJoinPool parallelPool;
+    private ForkJoinPool matlabPool;
 
     public SchwartzSpotDynamicsCalculatorService() {
         this.proxyHandler = new MatlabProxyHandler();
     }
 
+    @PostConstruct
+    public void initialize() {
+        this.proxyPool = new MatlabProxyPool(proxyHandler, matlabSessions, borrowTimeoutMillis);
+        Metrics.gauge("schwartz.matlab.sessions.leased", proxyPool, MatlabProxyPool::getLeasedCount);
+        Metrics.gauge("schwartz.matlab.sessions.idle", proxyPool, MatlabProxyPool::getIdleCount);
+        this.resultCache = new WeightedLruCache<>(cacheMaxMegabytes * 1024 * 1024, SchwartzSpotDynamicsCalculatorService::weigh);
+        Metrics.gauge("schwartz.calculations.inflight", inFlightCalculations, InFlightCalculations::size);
+        FunctionCounter.builder("schwartz.calculations.coalesced", inFlightCalculations, InFlightCalculations::getCoalescedCount)
+            .description("The seeded calculations that waited for the result of an identical concurrent calculation")
+            .register(Metrics.globalRegistry);
+        this.parallelPool = new ForkJoinPool(parallelThreads > 0 ? parallelThreads : Runtime.getRuntime().availableProcessors());
+        this.matlabPool = new ForkJoinPool(proxyPool.getPoolSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (parallelPool != null) {
+            parallelPool.shutdownNow();
+        }
+        if (matlabPool != null) {
+            matlabPool.shutdownNow();
+        }
+        if (proxyPool != null) {
+            proxyPool.close();
+        }
+    }
+
+    /**
+     * Warms the engine up before the first request: the Matlab-engine starts all of the {@code schwartz.matlab.sessions} pooled sessions
+     * and runs a short simulation in each of them, which loads the Matlab functions and caches the constants in the sessions. The
+     * Java-engine runs a short simulation on the calling thread to have the JIT compile the simulation. The results are discarded.
+     *
+     * @return True if the engine was warmed up, false if a Matlab-session could not be started or the warm-up simulation failed.
+     */
+    public boolean warmUp() {
+        if (engine == SchwartzCalculatorEngine.JAVA) {
+            new SchwartzJavaBatchPathSimulator(100, 0.3, WARM_UP_PARAMETERS, true, WARM_UP_PATHS, 0L).calculate();
+            return true;
+        }
+
+        List<MatlabProxy> proxies = new ArrayList<>();
+        try {
+            for (int i = 0; i < proxyPool.getPoolSize(); i++) {
+                MatlabProxy proxy = proxyPool.getMatlabProxy();
+                if (proxy == null) {
+                    log.error("Could not start the Matlab-session " + (i + 1) + "/" + proxyPool.getPoolSize() + " for the warm-up!");
+                    return false;
+                }
+                proxies.add(proxy);
+                SchwartzMatlabPathSimulator.simulate(proxy, WARM_UP_PARAMETERS, 100, 0.3, 0, WARM_UP_PATHS, true);
+            }
+            return true;
+        } catch (MatlabInvocationException ex) {
+            log.error("The warm-up simulation failed!", ex);
+            return false;
+        } finally {
+            proxies.forEach(proxyPool::returnMatlabProxy);
+        }
+    }
+
 	@Override
 	public Callable<SchwartzSimulatedData> run(
         double initialSpot, 
         double initialConvenienceYield,
         SchwartzModelParameters modelParameters, 
-        boolean simulateTermStructure
+        boolean simulateTermStructure,
+        Long seed
     ) {
-        if (proxy == null || !proxy.isConnected()) {
-            proxy = proxyHandler.getMatlabProxy();
+        AbstractCallableSchwartzCalculator<SchwartzSimulatedData> calculator;
+        if (engine == SchwartzCalculatorEngine.JAVA) {
+            calculator = new SchwartzJavaPathSimulator(
+                initialSpot,
+                initialConvenienceYield,
+                modelParameters,
+                simulateTermStructure,
+                seed
+            );
+        } else {
+            calculator = new SchwartzMatlabPathSimulator(
+                proxyPool, 
+                initialSpot, 
+                initialConvenienceYield,
+                modelParameters, 
+                simulateTermStructure,
+                seed
+            );
         }
 
-		return new SchwartzMatlabPathSimulator(
-            proxy, 
-            initialSpot, 
+        if (seed == null) {
+            return calculator;
+        }
+        SimulationCacheKey key = new SimulationCacheKey(engine, modelParameters, initialSpot, initialConvenienceYield, simulateTermStructure, 0, seed);
+        return new CachedCalculation<>(key, resultCache, inFlightCalculations, SchwartzSimulatedData.class, calculator);
+	}
+
+    @Override
+    public Callable<SchwartzSimulatedPaths> runBatch(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed
+    ) {
+        validateNumberOfPaths(numberOfPaths);
+
+        AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> calculator;
+        if (engine == SchwartzCalculatorEngine.JAVA) {
+            calculator = new SchwartzJavaBatchPathSimulator(
+                initialSpot,
+                initialConvenienceYield,
+                modelParameters,
+                simulateTermStructure,
+                numberOfPaths,
+                seed
+            );
+        } else {
+            calculator = new SchwartzMatlabBatchPathSimulator(
+                proxyPool,
+                initialSpot,
+                initialConvenienceYield,
+                modelParameters,
+                simulateTermStructure,
+                numberOfPaths,
+                seed
+            );
+        }
+
+        if (seed == null) {
+            return calculator;
+        }
+        SimulationCacheKey key = new SimulationCacheKey(
+            engine, modelParameters, initialSpot, initialConvenienceYield, simulateTermStructure, numberOfPaths, seed
+        );
+        return new CachedCalculation<>(key, resultCache, inFlightCalculations, SchwartzSimulatedPaths.class, calculator);
+    }
+
+    /**
+     * The seeded Java-chunks generate the same paths as {@link #runBatch runBatch}, so they share its cache. The Matlab-chunks are seeded with
+     * {@code seed + firstPathIndex}, and their results are not cached.
+     */
+    @Override
+    public Callable<SchwartzSimulatedPaths> runParallel(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed
+    ) {
+        validateNumberOfPaths(numberOfPaths);
+
+        if (engine == SchwartzCalculatorEngine.JAVA) {
+            // Validates the inputs before any of the chunks is created.
+            new SchwartzPathGenerator(
+                initialSpot,
+                initialConvenienceYield,
+                modelParameters,
+                simulateTermStructure,
+                SchwartzPathGenerator.DEFAULT_SYNTH_YEARS,
+                SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS
+            );
+            long resolvedSeed = SchwartzPathGenerator.resolveSeed(seed);
+            SchwartzParallelPathSimulator calculator = new SchwartzParallelPathSimulator(
+                parallelPool,
+                numberOfPaths,
+                parallelChunkSize,
+                (firstPathIndex, chunkPaths) -> new SchwartzJavaBatchPathSimulator(
+                    initialSpot,
+                    initialConvenienceYield,
+                    modelParameters,
+                    simulateTermStructure,
+                    chunkPaths,
+                    resolvedSeed,
+                    new SchwartzJavaBatchPathSimulator.Options().firstPathIndex(firstPathIndex)
+                )
+            );
+            if (seed == null) {
+                return calculator;
+            }
+            SimulationCacheKey key = new SimulationCacheKey(
+                engine, modelParameters, initialSpot, initialConvenienceYield, simulateTermStructure, numberOfPaths, seed
+            );
+            return new CachedCalculation<>(key, resultCache, inFlightCalculations, SchwartzSimulatedPaths.class, calculator);
+        }
+
+        SchwartzMatlabPathSimulator.validateSeed(seed);
+        return new SchwartzParallelPathSimulator(
+            matlabPool,
+            numberOfPaths,
+            parallelChunkSize,
+            (firstPathIndex, chunkPaths) -> new SchwartzMatlabBatchPathSimulator(
+                proxyPool,
+                initialSpot,
+                initialConvenienceYield,
+                modelParameters,
+                simulateTermStructure,
+                chunkPaths,
+                seed == null ? null : (seed + firstPathIndex) % (SchwartzMatlabPathSimulator.MAX_MATLAB_SEED + 1)
+            )
+        );
+    }
+
+    @Override
+    public Callable<Integer> stream(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        ISchwartzPathListener listener
+    ) {
+        validateNumberOfPaths(numberOfPaths);
+
+        if (engine == SchwartzCalculatorEngine.JAVA) {
+            return new SchwartzJavaStreamingPathSimulator(
+                initialSpot,
+                initialConvenienceYield,
+                modelParameters,
+                simulateTermStructure,
+                numberOfPaths,
+                seed,
+                listener
+            );
+        }
+
+        return new SchwartzMatlabStreamingPathSimulator(
+            proxyPool,
+            initialSpot,
             initialConvenienceYield,
-            modelParameters, 
-            simulateTermStructure
+            modelParameters,
+            simulateTermStructure,
+            numberOfPaths,
+            seed,
+            listener
         );
-	}
+    }
+
+    /**
+     * The parametersets are calculated by {@link #runBatch runBatch}, so the seeded sweeps share the cache with the batch calculations.
+     */
+    @Override
+    public Callable<Integer> sweep(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzParameterGrid parameterGrid,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        ISchwartzSweepListener<SchwartzSimulatedPaths> listener
+    ) {
+        validateNumberOfPaths(numberOfPaths);
+        Validate.notNull(parameterGrid, "The supplied parameter grid was null!");
+        Validate.isTrue(
+            parameterGrid.getSize() > 0 && parameterGrid.getSize() <= maxSweepParameterSets,
+            "The number of parametersets needs to be between 1 and " + maxSweepParameterSets + "! The number of parametersets: "
+            + parameterGrid.getSize()
+        );
+        if (engine == SchwartzCalculatorEngine.MATLAB) {
+            SchwartzMatlabPathSimulator.validateSeed(seed);
+        }
+
+        ForkJoinPool pool = engine == SchwartzCalculatorEngine.JAVA ? parallelPool : matlabPool;
+        return new SchwartzParameterSweep<>(
+            pool,
+            parameterGrid.expand(),
+            pool.getParallelism(),
+            modelParameters -> runBatch(initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, numberOfPaths, seed),
+            listener
+        );
+    }
+
+    /**
+     * The chunks of the aggregation are enlarged to a few chunks per worker, since every chunk allocates the sketches of all of the time
+     * steps.
+     */
+    @Override
+    public Callable<SchwartzPathSummary> summarize(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        double[] probabilities,
+        double relativeAccuracy,
+        Long seed
+    ) {
+        requireJavaEngine("path summaries");
+        Validate.isTrue(
+            numberOfPaths > 0 && numberOfPaths <= maxAggregatedPaths,
+            "The number of paths needs to be between 1 and " + maxAggregatedPaths + "! The number of paths: " + numberOfPaths
+        );
+
+        int chunkSize = Math.max(parallelChunkSize, numberOfPaths / (AGGREGATION_CHUNKS_PER_WORKER * parallelPool.getParallelism()));
+        return new SchwartzAggregatingPathSimulator(
+            parallelPool,
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            numberOfPaths,
+            chunkSize,
+            seed,
+            probabilities,
+            relativeAccuracy
+        );
+    }
+
+    /**
+     * The antithetic estimates need an even number of paths, and the quasi-random replicates are formed by the consecutive paths of the
+     * parallel chunks, which reuse the samplers of the estimate. The term structure is only simulated for the statistics of the futures
+     * prices.
+     */
+    @Override
+    public Callable<SchwartzMonteCarloEstimate> runMonteCarlo(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        SchwartzPathStatistic statistic,
+        int numberOfPaths,
+        SchwartzSamplingMethod samplingMethod,
+        int replicates,
+        boolean controlVariates,
+        Long seed
+    ) {
+        requireJavaEngine("Monte Carlo estimates");
+        validateNumberOfPaths(numberOfPaths);
+        Validate.notNull(statistic, "The supplied statistic was null!");
+        Validate.notNull(samplingMethod, "The supplied sampling method was null!");
+        Validate.isTrue(numberOfPaths % samplingMethod.getPathsPerSample() == 0, "The antithetic estimates need an even number of paths!");
+        boolean quasiRandom = samplingMethod == SchwartzSamplingMethod.QUASI_RANDOM;
+        Validate.isTrue(!quasiRandom || replicates > 1, "The quasi-random estimates need at least two replicates!");
+        Validate.isTrue(!quasiRandom || numberOfPaths % replicates == 0, "The number of paths needs to be divisible by the number of replicates!");
+
+        boolean simulateTermStructure = statistic.getRequiresTermStructure();
+        SchwartzPathGenerator pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            SchwartzPathGenerator.DEFAULT_SYNTH_YEARS,
+            SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS
+        );
+        long resolvedSeed = SchwartzPathGenerator.resolveSeed(seed);
+        Queue<QuasiRandomPathSampler> samplers = new ConcurrentLinkedQueue<>();
+        SchwartzParallelPathSimulator pathCalculator = new SchwartzParallelPathSimulator(
+            parallelPool,
+            numberOfPaths,
+            parallelChunkSize,
+            (firstPathIndex, chunkPaths) -> quasiRandom
+                ? new SchwartzJavaQuasiRandomPathSimulator(
+                    initialSpot,
+                    initialConvenienceYield,
+                    modelParameters,
+                    simulateTermStructure,
+                    chunkPaths,
+                    firstPathIndex,
+                    SchwartzPathGenerator.DEFAULT_SYNTH_YEARS,
+                    SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS,
+                    numberOfPaths / replicates,
+                    resolvedSeed,
+                    samplers
+                )
+                : new SchwartzJavaBatchPathSimulator(
+                    initialSpot,
+                    initialConvenienceYield,
+                    modelParameters,
+                    simulateTermStructure,
+                    chunkPaths,
+                    resolvedSeed,
+                    new SchwartzJavaBatchPathSimulator.Options()
+                        .firstPathIndex(firstPathIndex)
+                        .antithetic(samplingMethod == SchwartzSamplingMethod.ANTITHETIC)
+                )
+        );
+        return new SchwartzMonteCarloEstimator(pathCalculator, pathGenerator, statistic, samplingMethod, replicates, controlVariates);
+    }
+
+    @Override
+    public List<SchwartzSimulatedData.ContractEntry> getTermStructure(
+        double spotPrice,
+        double convenienceYield,
+        SchwartzModelParameters modelParameters,
+        double[] time2maturities
+    ) {
+        return new SchwartzTermStructureEngine(modelParameters, 0).getContractEntries(spotPrice, convenienceYield, time2maturities);
+    }
+
+    /**
+     * The number of paths is only validated for the path dependent options, which are simulated on the calling thread.
+     */
+    @Override
+    public Callable<List<SchwartzOptionQuote>> priceOptions(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        SchwartzOptionType optionType,
+        SchwartzOptionStyle style,
+        double[] strikes,
+        double[] expiries,
+        double[] time2maturities,
+        int numberOfPaths,
+        Long seed
+    ) {
+        Validate.notNull(style, "The supplied option style was null!");
+        if (style.getPathDependent()) {
+            validateNumberOfPaths(numberOfPaths);
+        }
+        return new SchwartzOptionGridCalculator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            optionType,
+            style,
+            strikes,
+            expiries,
+            time2maturities == null ? expiries : time2maturities,
+            numberOfPaths,
+            seed
+        );
+    }
+
+    @Override
+    public Callable<SchwartzModelParameters> estimate(SchwartzSimulatedData modelData, SchwartzModelParameters initialParameters) {
+        return new SchwartzKalmanEstimator(
+            modelData,
+            initialParameters == null ? SchwartzKalmanEstimator.DEFAULT_INITIAL_PARAMETERS : initialParameters
+        );
+    }
+
+    @Override
+    public Callable<SchwartzCalibrationResult> calibrate(SchwartzSimulatedData modelData, int numberOfStarts, Long seed) {
+        Validate.isTrue(
+            numberOfStarts > 0 && numberOfStarts <= maxCalibrationStarts,
+            "The number of starts needs to be between 1 and " + maxCalibrationStarts + "! The number of starts: " + numberOfStarts
+        );
+        return new SchwartzMultiStartEstimator(parallelPool, modelData, numberOfStarts, seed);
+    }
+
+    /**
+     * Weighs the cached results by the size of their primitive columns in bytes.
+     */
+    private static long weigh(Object result) {
+        if (result instanceof SchwartzSimulatedData) {
+            SchwartzSimulatedData modelData = (SchwartzSimulatedData) result;
+            return Double.BYTES * (long) modelData.size() * (3 + 2 * modelData.getMaxTermStructureLength());
+        }
+        if (result instanceof SchwartzSimulatedPaths) {
+            SchwartzSimulatedPaths paths = (SchwartzSimulatedPaths) result;
+            return Double.BYTES * (long) paths.getNumberOfTimesteps() * (1 + paths.getNumberOfPaths() * (2 + 2L * paths.getNumberOfContracts()));
+        }
+        return 0;
+    }
+
+    private void validateNumberOfPaths(int numberOfPaths) {
+        Validate.isTrue(
+            numberOfPaths > 0 && numberOfPaths <= maxBatchPaths,
+            "The number of paths needs to be between 1 and " + maxBatchPaths + "! The number of paths: " + numberOfPaths
+        );
+    }
+
+    private void requireJavaEngine(String calculation) {
+        if (engine != SchwartzCalculatorEngine.JAVA) {
+            throw new UnsupportedOperationException("The " + calculation + " are only supported by the Java-engine! The engine: " + engine);
+        }
+    }
+
+    public SchwartzCalculatorEngine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(SchwartzCalculatorEngine engine) {
+        this.engine = engine;
+    }
+
+    public int getMaxBatchPaths() {
+        return maxBatchPaths;
+    }
+
+    public void setMaxBatchPaths(int maxBatchPaths) {
+        this.maxBatchPaths = maxBatchPaths;
+    }
+
+    public long getCacheMaxMegabytes() {
+        return cacheMaxMegabytes;
+    }
+
+    public void setCacheMaxMegabytes(long cacheMaxMegabytes) {
+        this.cacheMaxMegabytes = cacheMaxMegabytes;
+    }
+
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+
+    public void setParallelThreads(int parallelThreads) {
+        this.parallelThreads = parallelThreads;
+    }
+
+    public int getParallelChunkSize() {
+        return parallelChunkSize;
+    }
+
+    public void setParallelChunkSize(int parallelChunkSize) {
+        this.parallelChunkSize = parallelChunkSize;
+    }
+
+    public int getMaxCalibrationStarts() {
+        return maxCalibrationStarts;
+    }
+
+    public void setMaxCalibrationStarts(int maxCalibrationStarts) {
+        this.maxCalibrationStarts = maxCalibrationStarts;
+    }
+
+    public int getMaxSweepParameterSets() {
+        return maxSweepParameterSets;
+    }
+
+    public void setMaxSweepParameterSets(int maxSweepParameterSets) {
+        this.maxSweepParameterSets = maxSweepParameterSets;
+    }
+
+    public WeightedLruCache<SimulationCacheKey, Object> getResultCache() {
+        return resultCache;
+    }
+
+    public InFlightCalculations<SimulationCacheKey, Object> getInFlightCalculations() {
+        return inFlightCalculations;
+    }
+
+    public MatlabProxyPool getProxyPool() {
+        return proxyPool;
+    }
 
 }
@@ -0,0 +1,111 @@
+package com.schwartz.business.impl;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms the {@link SchwartzSpotDynamicsCalculatorService calculator service} up on a background thread once the application has started,
+ * and reports {@code OUT_OF_SERVICE} in the {@code /actuator/health} endpoint until it is done. A failed warm-up is reported as {@code DOWN}
+ * and retried with an exponential backoff.
+ *
+ * @author woope
+ * @see SchwartzSpotDynamicsCalculatorService#warmUp()
+ */
+@Component
+public class SchwartzWarmUpHealthIndicator implements HealthIndicator {
+
+    private static final Logger log = LogManager.getLogger(SchwartzWarmUpHealthIndicator.class.getName());
+
+    private final SchwartzSpotDynamicsCalculatorService calculatorService;
+
+    @Value("${schwartz.warm-up.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${schwartz.warm-up.retry-delay:1000}")
+    private long retryDelayMillis = 1000;
+
+    @Value("${schwartz.warm-up.max-retry-delay:60000}")
+    private long maxRetryDelayMillis = 60000;
+
+    private volatile Health health = Health.outOfService().withDetail("warmUp", "pending").build();
+
+    public SchwartzWarmUpHealthIndicator(SchwartzSpotDynamicsCalculatorService calculatorService) {
+        this.calculatorService = calculatorService;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmUp() {
+        if (!enabled) {
+            health = Health.up().withDetail("warmUp", "disabled").build();
+            return;
+        }
+
+        Thread warmUp = new Thread(this::warmUpUntilReady, "calculator-warm-up");
+        warmUp.setDaemon(true);
+        warmUp.start();
+    }
+
+    /**
+     * Retries the warm-up with an exponential backoff until it succeeds, or the thread is interrupted.
+     */
+    void warmUpUntilReady() {
+        long delayMillis = retryDelayMillis;
+        for (int attempt = 1; !warmUp(); attempt++) {
+            log.warn("The warm-up attempt " + attempt + " failed, retrying in " + delayMillis + " ms.");
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            delayMillis = Math.min(2 * delayMillis, maxRetryDelayMillis);
+        }
+    }
+
+    /**
+     * Runs a single warm-up attempt.
+     *
+     * @return {@code true} if the calculator was warmed up.
+     */
+    boolean warmUp() {
+        health = Health.outOfService().withDetail("warmUp", "running").build();
+        long start = System.nanoTime();
+        boolean warm;
+        try {
+            warm = calculatorService.warmUp();
+        } catch (RuntimeException ex) {
+            log.error("The warm-up of the calculator failed!", ex);
+            warm = false;
+        }
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (warm) {
+            log.info("Warmed the calculator up in " + millis + " ms.");
+            health = Health.up().withDetail("warmUp", "finished").withDetail("millis", millis).build();
+        } else {
+            health = Health.down().withDetail("warmUp", "failed").withDetail("millis", millis).build();
+        }
+        return warm;
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    public void setMaxRetryDelayMillis(long maxRetryDelayMillis) {
+        this.maxRetryDelayMillis = maxRetryDelayMillis;
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.schwartz.business.impl;
+
+import com.schwartz.calculator.SchwartzCalculatorEngine;
+import com.schwartz.model.SchwartzModelParameters;
+import java.util.Objects;
+
+/**
+ * Identifies a reproducible, i.e. seeded, simulation by all of its inputs. The single path simulations are identified by zero paths, which
+ * separates them from the batch simulations.
+ *
+ * @author woope
+ * @see WeightedLruCache
+ */
+public final class SimulationCacheKey {
+
+    private final SchwartzCalculatorEngine engine;
+    private final SchwartzModelParameters modelParameters;
+    private final double initialSpot;
+    private final double initialConvenienceYield;
+    private final boolean simulateTermStructure;
+    private final int numberOfPaths;
+    private final long seed;
+
+    public SimulationCacheKey(
+        SchwartzCalculatorEngine engine,
+        SchwartzModelParameters modelParameters,
+        double initialSpot,
+        double initialConvenienceYield,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        long seed
+    ) {
+        this.engine = engine;
+        this.modelParameters = modelParameters;
+        this.initialSpot = initialSpot;
+        this.initialConvenienceYield = initialConvenienceYield;
+        this.simulateTermStructure = simulateTermStructure;
+        this.numberOfPaths = numberOfPaths;
+        this.seed = seed;
+    }
+
+    public SchwartzCalculatorEngine getEngine() {
+        return engine;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return modelParameters;
+    }
+
+    public double getInitialSpot() {
+        return initialSpot;
+    }
+
+    public double getInitialConvenienceYield() {
+        return initialConvenienceYield;
+    }
+
+    public boolean getSimulateTermStructure() {
+        return simulateTermStructure;
+    }
+
+    public int getNumberOfPaths() {
+        return numberOfPaths;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 53 * hash + Objects.hashCode(this.engine);
+        hash = 53 * hash + Objects.hashCode(this.modelParameters);
+        hash = 53 * hash + Double.hashCode(this.initialSpot);
+        hash = 53 * hash + Double.hashCode(this.initialConvenienceYield);
+        hash = 53 * hash + Boolean.hashCode(this.simulateTermStructure);
+        hash = 53 * hash + this.numberOfPaths;
+        hash = 53 * hash + Long.hashCode(this.seed);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        final SimulationCacheKey other = (SimulationCacheKey) obj;
+        return this.engine == other.engine
+               && Double.doubleToLongBits(this.initialSpot) == Double.doubleToLongBits(other.initialSpot)
+               && Double.doubleToLongBits(this.initialConvenienceYield) == Double.doubleToLongBits(other.initialConvenienceYield)
+               && this.simulateTermStructure == other.simulateTermStructure
+               && this.numberOfPaths == other.numberOfPaths
+               && this.seed == other.seed
+               && Objects.equals(this.modelParameters, other.modelParameters);
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationCacheKey{" + "engine=" + engine + ", modelParameters=" + modelParameters + ", initialSpot=" + initialSpot
+               + ", initialConvenienceYield=" + initialConvenienceYield + ", simulateTermStructure=" + simulateTermStructure
+               + ", numberOfPaths=" + numberOfPaths + ", seed=" + seed + '}';
+    }
+
+}
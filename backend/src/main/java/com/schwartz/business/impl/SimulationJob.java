@@ -0,0 +1,119 @@
+package com.schwartz.business.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SimulationJobInfo;
+import com.schwartz.model.SimulationJobStatus;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A {@link FutureTask} that tracks the lifecycle of an asynchronously executed calculation. A calculation that returns no result fails
+ * the job, since there is no result to serve.
+ *
+ * @author woope
+ * @see SimulationJobService
+ */
+class SimulationJob extends FutureTask<Object> {
+
+    private final String jobId;
+    private final Callable<?> calculation;
+    private final Consumer<SimulationJob> completionListener;
+    private final long submittedAt;
+    private volatile Long startedAt;
+    private volatile Long finishedAt;
+
+    SimulationJob(String jobId, Callable<?> calculation, Consumer<SimulationJob> completionListener) {
+        super(() -> {
+            Object result = calculation.call();
+            Validate.validState(result != null, "The calculation of the job " + jobId + " returned no result!");
+            return result;
+        });
+        this.jobId = jobId;
+        this.calculation = calculation;
+        this.completionListener = completionListener;
+        this.submittedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public void run() {
+        if (!isDone()) {
+            startedAt = System.currentTimeMillis();
+        }
+        super.run();
+    }
+
+    @Override
+    protected void done() {
+        finishedAt = System.currentTimeMillis();
+        completionListener.accept(this);
+    }
+
+    String getJobId() {
+        return jobId;
+    }
+
+    Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    SimulationJobStatus getStatus() {
+        if (isCancelled()) {
+            return SimulationJobStatus.CANCELLED;
+        }
+        if (isDone()) {
+            return getFailure() == null ? SimulationJobStatus.COMPLETED : SimulationJobStatus.FAILED;
+        }
+        return startedAt == null ? SimulationJobStatus.QUEUED : SimulationJobStatus.RUNNING;
+    }
+
+    double getProgress() {
+        if (getStatus() == SimulationJobStatus.COMPLETED) {
+            return 1;
+        }
+        if (calculation instanceof AbstractCallableSchwartzCalculator) {
+            return ((AbstractCallableSchwartzCalculator<?>) calculation).getProgress();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the cause of the failure of a finished job.
+     *
+     * @return The cause of the failure, or {@code null} if the job is not finished or it did not fail.
+     */
+    Throwable getFailure() {
+        if (!isDone() || isCancelled()) {
+            return null;
+        }
+        try {
+            get();
+            return null;
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        } catch (CancellationException ex) {
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    SimulationJobInfo toInfo() {
+        SimulationJobStatus status = getStatus();
+        Throwable failure = status == SimulationJobStatus.FAILED ? getFailure() : null;
+        return new SimulationJobInfo(
+            jobId,
+            status,
+            getProgress(),
+            submittedAt,
+            startedAt,
+            finishedAt,
+            failure == null ? null : String.valueOf(failure.getMessage())
+        );
+    }
+
+}
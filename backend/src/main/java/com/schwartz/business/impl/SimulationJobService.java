@@ -0,0 +1,168 @@
+package com.schwartz.business.impl;
+
+import com.schwartz.business.ISimulationJobService;
+import com.schwartz.model.SimulationJobInfo;
+import com.schwartz.model.SimulationJobStatus;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * A service that executes the simulation jobs on a bounded thread pool, so that long-running simulations do not tie up the request handling
+ * threads. The finished jobs are retained for polling up to {@code schwartz.jobs.retained} jobs, evicting the oldest first.
+ *
+ * @author woope
+ * @see ISimulationJobService
+ */
+@Service
+public class SimulationJobService implements ISimulationJobService {
+
+    private static final Logger log = LogManager.getLogger(SimulationJobService.class.getName());
+
+    @Value("${schwartz.jobs.threads:4}")
+    private int threads = 4;
+
+    @Value("${schwartz.jobs.queue-capacity:100}")
+    private int queueCapacity = 100;
+
+    @Value("${schwartz.jobs.retained:1000}")
+    private int retainedJobs = 1000;
+
+    private final Map<String, SimulationJob> jobs;
+    private final Queue<SimulationJob> finishedJobs;
+    private ThreadPoolExecutor executor;
+
+    public SimulationJobService() {
+        this.jobs = new ConcurrentHashMap<>();
+        this.finishedJobs = new LinkedBlockingQueue<>();
+    }
+
+    @PostConstruct
+    public void initialize() {
+        Validate.isTrue(threads > 0, "The number of job threads needs to be positive!");
+        Validate.isTrue(queueCapacity > 0, "The job queue capacity needs to be positive!");
+
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new CustomizableThreadFactory("simulation-job-"),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public SimulationJobInfo submit(Callable<?> calculation) {
+        Validate.notNull(calculation, "The supplied calculation was null!");
+
+        SimulationJob job = new SimulationJob(UUID.randomUUID().toString(), calculation, this::onJobFinished);
+        jobs.put(job.getJobId(), job);
+        try {
+            executor.execute(job);
+        } catch (RejectedExecutionException ex) {
+            jobs.remove(job.getJobId());
+            log.warn("The simulation job queue is full, rejecting the job!");
+            throw ex;
+        }
+        return job.toInfo();
+    }
+
+    @Override
+    public SimulationJobInfo getJob(String jobId) {
+        return findJob(jobId).toInfo();
+    }
+
+    @Override
+    public Object getResult(String jobId) {
+        SimulationJob job = findJob(jobId);
+        SimulationJobStatus status = job.getStatus();
+        Validate.validState(status == SimulationJobStatus.COMPLETED, "The job " + jobId + " has not completed, its status is " + status + "!");
+        try {
+            return job.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrieving the result of the job " + jobId + "!", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("The job " + jobId + " failed!", ex.getCause());
+        }
+    }
+
+    @Override
+    public SimulationJobInfo cancel(String jobId) {
+        SimulationJob job = findJob(jobId);
+        if (job.cancel(true)) {
+            executor.remove(job);
+            log.info("Cancelled the simulation job " + jobId + ".");
+        }
+        return job.toInfo();
+    }
+
+    private SimulationJob findJob(String jobId) {
+        SimulationJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("No job exists with the ID " + jobId + "!");
+        }
+        return job;
+    }
+
+    private void onJobFinished(SimulationJob job) {
+        finishedJobs.add(job);
+        while (finishedJobs.size() > retainedJobs) {
+            SimulationJob evicted = finishedJobs.poll();
+            if (evicted != null) {
+                jobs.remove(evicted.getJobId());
+            }
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getRetainedJobs() {
+        return retainedJobs;
+    }
+
+    public void setRetainedJobs(int retainedJobs) {
+        this.retainedJobs = retainedJobs;
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.schwartz.business.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.ToLongFunction;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A thread-safe least recently used cache that is bounded by the total weight of the cached values instead of their number. A value that
+ * alone outweighs the bound is not cached, so a {@code maxWeight} of zero disables the cache.
+ *
+ * @author woope
+ * @param <K> The type of the keys.
+ * @param <V> The type of the cached values.
+ */
+public class WeightedLruCache<K, V> {
+
+    private final long maxWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final LinkedHashMap<K, WeightedValue<V>> entries;
+    private long weight;
+
+    public WeightedLruCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        Validate.isTrue(maxWeight >= 0, "The maximum weight can not be negative!");
+        Validate.notNull(weigher, "The supplied weigher was null!");
+
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value, and marks it as the most recently used value.
+     *
+     * @param key The key of the value.
+     * @return The cached value, or null if no value is cached for the key.
+     */
+    public synchronized V get(K key) {
+        WeightedValue<V> entry = entries.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Caches the value, and evicts the least recently used values that no longer fit within the maximum weight.
+     *
+     * @param key The key of the value.
+     * @param value The value to be cached.
+     * @return True if the value was cached, false if it outweighs the maximum weight.
+     */
+    public synchronized boolean put(K key, V value) {
+        Validate.notNull(key, "The supplied key was null!");
+        Validate.notNull(value, "The supplied value was null!");
+
+        long valueWeight = weigher.applyAsLong(value);
+        if (valueWeight > maxWeight) {
+            return false;
+        }
+
+        WeightedValue<V> replaced = entries.put(key, new WeightedValue<>(value, valueWeight));
+        weight += valueWeight - (replaced == null ? 0 : replaced.weight);
+
+        Iterator<WeightedValue<V>> leastRecentlyUsed = entries.values().iterator();
+        while (weight > maxWeight && leastRecentlyUsed.hasNext()) {
+            weight -= leastRecentlyUsed.next().weight;
+            leastRecentlyUsed.remove();
+        }
+        return true;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    private static final class WeightedValue<V> {
+
+        private final V value;
+        private final long weight;
+
+        private WeightedValue(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+}
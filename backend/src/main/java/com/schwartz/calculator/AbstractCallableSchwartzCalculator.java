@@ -8,17 +8,37 @@ import java.util.concurrent.Callable;
  * The @{@link AbstractCallableSchwartzCalculator#call() AbstractCallableSchwartzCalculator.call} is just a simple follow through of the calculation 
  * function. Implementing an extension of this class will result in concurrent calculators.
  * 
+ * The calculators can report their progress with {@link #setProgress(double) setProgress}, which allows the progress of a running 
+ * calculation to be monitored from other threads. The progress is completed once the calculation returns.
+ * 
  * @author woope
  * @param <K> The return-type of the calculation results.
  * @see ISchwartzCalculator
  */
 public abstract class AbstractCallableSchwartzCalculator<K> implements ISchwartzCalculator<K>, Callable<K>{
 
+    private volatile double progress;
+
     @Override
     public K call() {
-        return calculate();
+        K result = calculate();
+        setProgress(1);
+        return result;
     }
 
     @Override
     public abstract K calculate();
+
+    /**
+     * Returns the progress of the calculation.
+     * 
+     * @return The progress of the calculation as a fraction between 0 and 1.
+     */
+    public double getProgress() {
+        return progress;
+    }
+
+    protected void setProgress(double progress) {
+        this.progress = Math.max(0, Math.min(1, progress));
+    }
 }
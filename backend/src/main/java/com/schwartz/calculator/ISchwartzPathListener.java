@@ -0,0 +1,33 @@
+package com.schwartz.calculator;
+
+/**
+ * A listener that receives the time steps of simulated sample paths as they are produced.
+ *
+ * The supplied contract arrays are reused between the time steps, and the listeners need to copy the values if they are to be retained.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ */
+public interface ISchwartzPathListener {
+
+    /**
+     * Receives a single time step of a sample path.
+     *
+     * @param pathIndex The index of the sample path.
+     * @param time The time of the time step.
+     * @param spotPrice The spot price.
+     * @param convenienceYield The convenience yield.
+     * @param time2maturities The times to maturity of the contracts, empty if the term structure is not simulated.
+     * @param futuresPrices The futures prices of the contracts, in the same order as the {@code time2maturities}.
+     */
+    public void onTimestep(int pathIndex, int time, double spotPrice, double convenienceYield, double[] time2maturities, double[] futuresPrices);
+
+    /**
+     * Called once all of the time steps of a sample path have been produced.
+     *
+     * @param pathIndex The index of the completed sample path.
+     */
+    public default void onPathCompleted(int pathIndex) {
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.schwartz.calculator;
+
+import com.schwartz.model.SchwartzModelParameters;
+
+/**
+ * A listener that receives the results of a parameter sweep in the order of their completion. The calls are serialized by the sweep.
+ *
+ * @author woope
+ * @param <K> The return-type of the calculation of a single parameterset.
+ */
+public interface ISchwartzSweepListener<K> {
+
+    /**
+     * Receives the result of a parameterset.
+     *
+     * @param index The index of the parameterset within the deduplicated parametersets of the sweep.
+     * @param modelParameters The parameterset.
+     * @param result The result of the calculation.
+     */
+    public void onResult(int index, SchwartzModelParameters modelParameters, K result);
+
+    /**
+     * Receives the failure of a parameterset. The sweep continues with the other parametersets.
+     *
+     * @param index The index of the parameterset within the deduplicated parametersets of the sweep.
+     * @param modelParameters The parameterset.
+     * @param ex The exception that failed the calculation.
+     */
+    public void onFailure(int index, SchwartzModelParameters modelParameters, Exception ex);
+
+}
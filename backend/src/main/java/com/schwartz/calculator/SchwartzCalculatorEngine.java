@@ -0,0 +1,17 @@
+package com.schwartz.calculator;
+
+/**
+ * The calculation engines that are able to carry out the Schwartz two factor model calculations.
+ *
+ * <ul>
+ *      <li>{@link #MATLAB} delegates the calculations to a Matlab-session.</li>
+ *      <li>{@link #JAVA} carries out the calculations directly in the JVM, and does not require a Matlab-license.</li>
+ * </ul>
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ */
+public enum SchwartzCalculatorEngine {
+    MATLAB,
+    JAVA
+}
@@ -0,0 +1,182 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzPathSummary;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pure Java {@link AbstractCallableSchwartzCalculator} implementation that reduces {@code numberOfPaths} sample paths to their
+ * {@link SchwartzPathSummary summary statistics} per time step without holding the paths in memory. The chunks are aggregated in parallel
+ * on a {@link ForkJoinPool} and merged as they complete.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzAggregatingPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzPathSummary> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzAggregatingPathSimulator.class.getName());
+
+    private final ForkJoinPool pool;
+    private final SchwartzPathGenerator pathGenerator;
+    private final int numberOfPaths;
+    private final int chunkSize;
+    private final Long seed;
+    private final double[] probabilities;
+    private final double relativeAccuracy;
+    private final AtomicInteger completedPaths;
+    private volatile boolean cancelled;
+
+    /**
+     * @param probabilities The probabilities of the summarized quantiles.
+     * @param relativeAccuracy The relative accuracy of the quantiles.
+     */
+    public SchwartzAggregatingPathSimulator(
+        ForkJoinPool pool,
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        int chunkSize,
+        Long seed,
+        double[] probabilities,
+        double relativeAccuracy
+    ) {
+        Validate.notNull(pool, "The supplied ForkJoinPool was null!");
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+        Validate.isTrue(chunkSize > 0, "The chunk size needs to be positive!");
+        Validate.notNull(probabilities, "The supplied probabilities were null!");
+        for (double probability : probabilities) {
+            Validate.isTrue(probability >= 0 && probability <= 1, "The probabilities need to be between 0 and 1! The probability: " + probability);
+        }
+        Validate.isTrue(relativeAccuracy > 0 && relativeAccuracy < 1, "The relative accuracy needs to be between 0 and 1!");
+
+        this.pool = pool;
+        this.pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            SchwartzPathGenerator.DEFAULT_SYNTH_YEARS,
+            SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS
+        );
+        this.numberOfPaths = numberOfPaths;
+        this.chunkSize = chunkSize;
+        this.seed = seed;
+        this.probabilities = probabilities.clone();
+        this.relativeAccuracy = relativeAccuracy;
+        this.completedPaths = new AtomicInteger();
+    }
+
+    /**
+     * @throws IllegalStateException if a chunk could not be calculated.
+     * @throws CancellationException if the calculating thread is interrupted.
+     */
+    @Override
+    public SchwartzPathSummary calculate() {
+        long resolvedSeed = SchwartzPathGenerator.resolveSeed(seed);
+        ForkJoinTask<SchwartzPathAggregator> task = pool.submit(new ChunkRangeTask(resolvedSeed, 0, getNumberOfChunks()));
+        SchwartzPathAggregator aggregator;
+        try {
+            aggregator = task.get();
+        } catch (InterruptedException ex) {
+            cancelled = true;
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The aggregation of " + numberOfPaths + " paths was interrupted!");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("The aggregation of " + numberOfPaths + " paths failed!", ex.getCause());
+        }
+
+        log.debug("Aggregated " + numberOfPaths + " paths for the parameterset " + getModelParameters() + ".");
+        return aggregator.getSummary(pathGenerator.getTimeline(), probabilities);
+    }
+
+    private SchwartzPathAggregator aggregateChunk(long resolvedSeed, int chunkIndex) {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("The aggregation of " + numberOfPaths + " paths was interrupted!");
+        }
+
+        int firstPathIndex = chunkIndex * chunkSize;
+        int chunkPaths = Math.min(chunkSize, numberOfPaths - firstPathIndex);
+        SchwartzPathAggregator aggregator = new SchwartzPathAggregator(
+            pathGenerator.getNumberOfTimesteps(),
+            pathGenerator.getTermStructureLength(),
+            relativeAccuracy
+        );
+        for (int p = firstPathIndex; p < firstPathIndex + chunkPaths; p++) {
+            pathGenerator.generate(resolvedSeed, p, aggregator);
+        }
+
+        setProgress((double) completedPaths.addAndGet(chunkPaths) / numberOfPaths);
+        return aggregator;
+    }
+
+    public int getNumberOfChunks() {
+        return (numberOfPaths + chunkSize - 1) / chunkSize;
+    }
+
+    public SchwartzPathGenerator getPathGenerator() {
+        return this.pathGenerator;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.pathGenerator.getModelParameters();
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Aggregates the chunks {@code from, ..., to - 1}, forking the upper half of the range until a single chunk remains, and merges the
+     * aggregators of the halves.
+     */
+    private final class ChunkRangeTask extends RecursiveTask<SchwartzPathAggregator> {
+
+        private final long resolvedSeed;
+        private final int from;
+        private final int to;
+
+        private ChunkRangeTask(long resolvedSeed, int from, int to) {
+            this.resolvedSeed = resolvedSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SchwartzPathAggregator compute() {
+            if (to - from == 1) {
+                return aggregateChunk(resolvedSeed, from);
+            }
+
+            int middle = (from + to) >>> 1;
+            ChunkRangeTask upper = new ChunkRangeTask(resolvedSeed, middle, to);
+            upper.fork();
+            SchwartzPathAggregator aggregator = new ChunkRangeTask(resolvedSeed, from, middle).compute();
+            aggregator.merge(upper.join());
+            return aggregator;
+        }
+    }
+}
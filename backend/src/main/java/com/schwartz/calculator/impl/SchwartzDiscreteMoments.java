@@ -0,0 +1,111 @@
+package com.schwartz.calculator.impl;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Computes the exact expectations of the paths that are generated by a {@link SchwartzPathGenerator}.
+ *
+ * The Euler-Maruyama scheme of the generator is linear in the state {@code x = (ln S, delta)}:
+ * <pre>
+ *  x(t + dt) = M x(t) + c + e,  M = [1, -dt; 0, 1 - kappa dt],  c = [(mu - sigmaSpot^2 / 2) dt; kappa alpha dt]
+ * </pre>
+ * so the state is normally distributed at every time step, and the expectations carry no discretization bias with respect to the paths.
+ *
+ * @author woope
+ * @see SchwartzPathGenerator
+ */
+public class SchwartzDiscreteMoments {
+
+    private final SchwartzTermStructureEngine termStructureEngine;
+    private final double[] logSpotMeans;
+    private final double[] convenienceYieldMeans;
+    private final double[] logSpotVariances;
+    private final double[] covariances;
+    private final double[] convenienceYieldVariances;
+
+    public SchwartzDiscreteMoments(SchwartzPathGenerator pathGenerator) {
+        Validate.notNull(pathGenerator, "The supplied path generator was null!");
+
+        this.termStructureEngine = pathGenerator.getTermStructureEngine();
+        int timesteps = pathGenerator.getNumberOfTimesteps();
+        this.logSpotMeans = new double[timesteps];
+        this.convenienceYieldMeans = new double[timesteps];
+        this.logSpotVariances = new double[timesteps];
+        this.covariances = new double[timesteps];
+        this.convenienceYieldVariances = new double[timesteps];
+
+        double dt = 1d / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        double mu = pathGenerator.getModelParameters().getMu();
+        double sigmaSpot = pathGenerator.getModelParameters().getSigmaSpot();
+        double kappa = pathGenerator.getModelParameters().getKappa();
+        double alpha = pathGenerator.getModelParameters().getAlpha();
+        double sigmaConvenienceYield = pathGenerator.getModelParameters().getSigmaConvenienceYield();
+        double rho = pathGenerator.getModelParameters().getRho();
+        double decay = 1 - kappa * dt;
+
+        logSpotMeans[0] = Math.log(pathGenerator.getInitialSpot());
+        convenienceYieldMeans[0] = pathGenerator.getInitialConvenienceYield();
+        for (int j = 1; j < timesteps; j++) {
+            logSpotMeans[j] = logSpotMeans[j - 1] - convenienceYieldMeans[j - 1] * dt + (mu - 0.5 * sigmaSpot * sigmaSpot) * dt;
+            convenienceYieldMeans[j] = decay * convenienceYieldMeans[j - 1] + kappa * alpha * dt;
+
+            double p11 = logSpotVariances[j - 1];
+            double p12 = covariances[j - 1];
+            double p22 = convenienceYieldVariances[j - 1];
+            logSpotVariances[j] = p11 - 2 * dt * p12 + dt * dt * p22 + sigmaSpot * sigmaSpot * dt;
+            covariances[j] = decay * (p12 - dt * p22) + rho * sigmaSpot * sigmaConvenienceYield * dt;
+            convenienceYieldVariances[j] = decay * decay * p22 + sigmaConvenienceYield * sigmaConvenienceYield * dt;
+        }
+    }
+
+    /**
+     * @param time The trading day, i.e. an element of the timeline of the generator.
+     * @return The expected spot price.
+     */
+    public double getExpectedSpotPrice(int time) {
+        int j = getIndex(time);
+        return Math.exp(logSpotMeans[j] + 0.5 * logSpotVariances[j]);
+    }
+
+    /**
+     * @param time The trading day, i.e. an element of the timeline of the generator.
+     * @return The expected convenience yield.
+     */
+    public double getExpectedConvenienceYield(int time) {
+        return convenienceYieldMeans[getIndex(time)];
+    }
+
+    /**
+     * Returns the expected futures price of a contract of the rolling term structure, as filled by
+     * {@link SchwartzTermStructureEngine#fillRollingTermStructure fillRollingTermStructure}.
+     *
+     * @param time The trading day, i.e. an element of the timeline of the generator.
+     * @param contractIndex The zero-based index of the contract, ordered by the time to maturity.
+     * @return The expected futures price.
+     * @throws IllegalStateException if the generator does not simulate the term structure.
+     */
+    public double getExpectedFuturesPrice(int time, int contractIndex) {
+        Validate.validState(termStructureEngine != null, "The futures prices are not simulated!");
+        Validate.isTrue(
+            contractIndex >= 0 && contractIndex < termStructureEngine.getNumberOfContracts(),
+            "The contract index is out of the term structure! The contract index: " + contractIndex
+        );
+
+        int j = getIndex(time);
+        int rollPhase = Math.floorMod(time - 1, SchwartzPathGenerator.CONTRACT_ROLL_DAYS);
+        double maturity = (double) ((contractIndex + 1) * SchwartzPathGenerator.CONTRACT_ROLL_DAYS - rollPhase) / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        double a = termStructureEngine.getA(maturity);
+        double b = termStructureEngine.getB(maturity);
+
+        // ln F = ln S - B delta + A
+        double mean = logSpotMeans[j] - b * convenienceYieldMeans[j] + a;
+        double variance = logSpotVariances[j] - 2 * b * covariances[j] + b * b * convenienceYieldVariances[j];
+        return Math.exp(mean + 0.5 * variance);
+    }
+
+    private int getIndex(int time) {
+        Validate.isTrue(time >= 1 && time <= logSpotMeans.length, "The time is out of the timeline! The time: " + time);
+        return time - 1;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzOptionType;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.math3.special.Erf;
+
+/**
+ * Prices the European options on the futures contracts of the Schwartz two factor model analytically with the Black formula
+ * <pre>
+ *  C = e^(-r t) (F N(d1) - K N(d2)),  P = e^(-r t) (K N(-d2) - F N(-d1)),  d1 = (ln(F / K) + v / 2) / sqrt(v),  d2 = d1 - sqrt(v)
+ * </pre>
+ * where {@code v} is the variance of the logarithmic futures price until the expiry. The expiries and the times to maturity are expressed
+ * in trading days.
+ *
+ * @author woope
+ * @see SchwartzTermStructureEngine
+ */
+public class SchwartzFuturesOptionEngine {
+
+    private final SchwartzModelParameters modelParameters;
+    private final SchwartzTermStructureEngine termStructureEngine;
+
+    /**
+     * @param modelParameters The model parameters, with a positive kappa.
+     */
+    public SchwartzFuturesOptionEngine(SchwartzModelParameters modelParameters) {
+        this.termStructureEngine = new SchwartzTermStructureEngine(modelParameters, 0);
+        this.modelParameters = modelParameters;
+    }
+
+    /**
+     * Returns the price of a European option on a futures contract.
+     *
+     * @param optionType The type of the option.
+     * @param futuresPrice The current futures price of the contract.
+     * @param strike The strike price, which needs to be positive.
+     * @param expiry The time to the expiry of the option in trading days.
+     * @param time2maturity The time to maturity of the contract in trading days, no earlier than the expiry.
+     * @return The price of the option.
+     */
+    public double getPrice(SchwartzOptionType optionType, double futuresPrice, double strike, double expiry, double time2maturity) {
+        Validate.notNull(optionType, "The supplied option type was null!");
+        Validate.isTrue(strike > 0, "The strike price needs to be positive!");
+
+        double standardDeviation = Math.sqrt(getVariance(expiry, time2maturity));
+        double discountFactor = getDiscountFactor(expiry);
+        if (standardDeviation == 0) {
+            return discountFactor * optionType.getPayoff(futuresPrice, strike);
+        }
+        double d1 = (Math.log(futuresPrice / strike) + 0.5 * standardDeviation * standardDeviation) / standardDeviation;
+        double d2 = d1 - standardDeviation;
+        return optionType == SchwartzOptionType.CALL
+            ? discountFactor * (futuresPrice * getNormalDistribution(d1) - strike * getNormalDistribution(d2))
+            : discountFactor * (strike * getNormalDistribution(-d2) - futuresPrice * getNormalDistribution(-d1));
+    }
+
+    /**
+     * Returns the variance of the logarithmic futures price until the expiry.
+     *
+     * @param expiry The time to the expiry in trading days.
+     * @param time2maturity The time to maturity of the contract in trading days, no earlier than the expiry.
+     */
+    public double getVariance(double expiry, double time2maturity) {
+        Validate.isTrue(expiry >= 0, "The expiry can not be negative!");
+        Validate.isTrue(time2maturity >= expiry, "The contract can not mature before the expiry of the option!");
+
+        double t = expiry / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        double maturity = time2maturity / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        double kappa = modelParameters.getKappa();
+        double sigmaSpot = modelParameters.getSigmaSpot();
+        double sigmaConvenienceYield = modelParameters.getSigmaConvenienceYield();
+
+        double decay = (Math.exp(-kappa * (maturity - t)) - Math.exp(-kappa * maturity)) / kappa;
+        double doubleDecay = (Math.exp(-2 * kappa * (maturity - t)) - Math.exp(-2 * kappa * maturity)) / (2 * kappa);
+        double integralOfB = (t - decay) / kappa;
+        double integralOfSquaredB = (t - 2 * decay + doubleDecay) / (kappa * kappa);
+
+        double variance = sigmaSpot * sigmaSpot * t
+                          - 2 * modelParameters.getRho() * sigmaSpot * sigmaConvenienceYield * integralOfB
+                          + sigmaConvenienceYield * sigmaConvenienceYield * integralOfSquaredB;
+        return Math.max(0, variance);
+    }
+
+    /**
+     * Returns the annualized volatility of the futures price until the expiry.
+     */
+    public double getVolatility(double expiry, double time2maturity) {
+        return expiry > 0 ? Math.sqrt(getVariance(expiry, time2maturity) * SchwartzPathGenerator.TRADING_DAYS_PER_YEAR / expiry) : 0;
+    }
+
+    /**
+     * Returns the current futures price of a contract.
+     *
+     * @param time2maturity The time to maturity of the contract in trading days.
+     */
+    public double getFuturesPrice(double spotPrice, double convenienceYield, double time2maturity) {
+        return termStructureEngine.getFuturesPrice(spotPrice, convenienceYield, time2maturity / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR);
+    }
+
+    public double getDiscountFactor(double expiry) {
+        return Math.exp(-modelParameters.getInterest() * expiry / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR);
+    }
+
+    /**
+     * Returns the model parameters of the risk-neutral dynamics, under which the futures prices are martingales: the spot price drifts
+     * with the interest rate, the convenience yield reverts to {@code alpha - lambda / kappa}, and the market price of risk is zero. The
+     * paths that are generated with these parameters price the path dependent options.
+     */
+    public SchwartzModelParameters getRiskNeutralParameters() {
+        return new SchwartzModelParameters(
+            modelParameters.getInterest(),
+            modelParameters.getSigmaSpot(),
+            modelParameters.getKappa(),
+            modelParameters.getAlpha() - modelParameters.getLambda() / modelParameters.getKappa(),
+            modelParameters.getSigmaConvenienceYield(),
+            modelParameters.getInterest(),
+            modelParameters.getRho(),
+            0
+        );
+    }
+
+    static double getNormalDistribution(double x) {
+        return 0.5 * Erf.erfc(-x / Math.sqrt(2));
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.modelParameters;
+    }
+
+}
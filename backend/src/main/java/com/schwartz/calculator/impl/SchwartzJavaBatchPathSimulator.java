@@ -0,0 +1,155 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pure Java {@link AbstractCallableSchwartzCalculator} implementation that generates {@code numberOfPaths} sample paths for a single
+ * parameterset in one calculation.
+ *
+ * The paths are generated directly into the columns of a {@link SchwartzSimulatedPaths} instance, and the simulation is reproducible if it
+ * is given a {@code seed}.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzJavaBatchPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzJavaBatchPathSimulator.class.getName());
+
+    private SchwartzPathGenerator pathGenerator;
+    private int numberOfPaths;
+    private int firstPathIndex;
+    private Long seed;
+    private boolean antithetic;
+
+    public SchwartzJavaBatchPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed
+    ) {
+        this(initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, numberOfPaths, seed, new Options());
+    }
+
+    public SchwartzJavaBatchPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        Options options
+    ) {
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+        Validate.notNull(options, "The supplied options were null!");
+        Validate.isTrue(options.firstPathIndex >= 0, "The index of the first path can not be negative!");
+
+        this.pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            options.synthYears,
+            options.numberOfContracts
+        );
+        this.numberOfPaths = numberOfPaths;
+        this.firstPathIndex = options.firstPathIndex;
+        this.seed = seed;
+        this.antithetic = options.antithetic;
+    }
+
+    @Override
+    public SchwartzSimulatedPaths calculate() {
+        long resolvedSeed = SchwartzPathGenerator.resolveSeed(seed);
+        SchwartzSimulatedPaths paths = new SchwartzSimulatedPaths(
+            pathGenerator.getTimeline(),
+            numberOfPaths,
+            pathGenerator.getTermStructureLength()
+        );
+
+        for (int p = 0; p < numberOfPaths; p++) {
+            int localIndex = p;
+            ISchwartzPathListener listener = (pathIndex, time, spotPrice, convenienceYield, time2maturities, futuresPrices) ->
+                paths.put(localIndex, time - 1, spotPrice, convenienceYield, time2maturities, futuresPrices);
+            if (antithetic) {
+                pathGenerator.generateAntithetic(resolvedSeed, firstPathIndex + p, listener);
+            } else {
+                pathGenerator.generate(resolvedSeed, firstPathIndex + p, listener);
+            }
+            setProgress((double) (p + 1) / numberOfPaths);
+        }
+
+        log.debug("Simulated " + numberOfPaths + " paths for the parameterset " + getModelParameters() + ".");
+        return paths;
+    }
+
+    public SchwartzPathGenerator getPathGenerator() {
+        return this.pathGenerator;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.pathGenerator.getModelParameters();
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public int getFirstPathIndex() {
+        return this.firstPathIndex;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+    public boolean getAntithetic() {
+        return this.antithetic;
+    }
+
+    /**
+     * The optional settings of the simulation, which default to the whole simulation of the default horizon and contracts.
+     */
+    public static final class Options {
+
+        private int firstPathIndex = 0;
+        private int synthYears = SchwartzPathGenerator.DEFAULT_SYNTH_YEARS;
+        private int numberOfContracts = SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS;
+        private boolean antithetic = false;
+
+        /**
+         * Generates the paths {@code firstPathIndex, ..., firstPathIndex + numberOfPaths - 1} of the whole simulation, e.g. as a chunk.
+         */
+        public Options firstPathIndex(int firstPathIndex) {
+            this.firstPathIndex = firstPathIndex;
+            return this;
+        }
+
+        public Options synthYears(int synthYears) {
+            this.synthYears = synthYears;
+            return this;
+        }
+
+        public Options numberOfContracts(int numberOfContracts) {
+            this.numberOfContracts = numberOfContracts;
+            return this;
+        }
+
+        /**
+         * Generates the paths in antithetic pairs of the global path indices {@code 2k} and {@code 2k + 1}.
+         */
+        public Options antithetic(boolean antithetic) {
+            this.antithetic = antithetic;
+            return this;
+        }
+    }
+}
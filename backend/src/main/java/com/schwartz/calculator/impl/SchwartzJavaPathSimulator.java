@@ -0,0 +1,133 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pure Java {@link AbstractCallableSchwartzCalculator} implementation that handles the sample path generation without a Matlab-session.
+ *
+ * The produced {@link SchwartzSimulatedData} has the same shape as the data of the {@link SchwartzMatlabPathSimulator}, and a seeded
+ * simulation reproduces the first path of a batch simulation with the same seed.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzJavaPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzSimulatedData> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzJavaPathSimulator.class.getName());
+
+    private static final int PROGRESS_INTERVAL = 64;
+
+    private SchwartzPathGenerator pathGenerator;
+    private Long seed;
+
+    public SchwartzJavaPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure
+    ) {
+        this(initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, null);
+    }
+
+    public SchwartzJavaPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        Long seed
+    ) {
+        this(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            SchwartzPathGenerator.DEFAULT_SYNTH_YEARS,
+            SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS,
+            seed
+        );
+    }
+
+    public SchwartzJavaPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int synthYears,
+        int numberOfContracts
+    ) {
+        this(initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, synthYears, numberOfContracts, null);
+    }
+
+    public SchwartzJavaPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int synthYears,
+        int numberOfContracts,
+        Long seed
+    ) {
+        this.pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            synthYears,
+            numberOfContracts
+        );
+        this.seed = seed;
+    }
+
+    @Override
+    public SchwartzSimulatedData calculate() {
+        int timesteps = pathGenerator.getNumberOfTimesteps();
+        SchwartzSimulatedData modelData = new SchwartzSimulatedData(timesteps);
+
+        pathGenerator.generate(SchwartzPathGenerator.resolveSeed(seed), 0, (pathIndex, time, spotPrice, convenienceYield, time2maturities, futuresPrices) -> {
+            modelData.put(time, spotPrice, convenienceYield, time2maturities, futuresPrices);
+            if (time % PROGRESS_INTERVAL == 0) {
+                setProgress((double) time / timesteps);
+            }
+        });
+
+        log.debug("Simulated " + timesteps + " time steps for the parameterset " + getModelParameters() + ".");
+        return modelData;
+    }
+
+    public SchwartzPathGenerator getPathGenerator() {
+        return this.pathGenerator;
+    }
+
+    public double getInitialSpot() {
+        return this.pathGenerator.getInitialSpot();
+    }
+
+    public double getInitialConvenienceYield() {
+        return this.pathGenerator.getInitialConvenienceYield();
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.pathGenerator.getModelParameters();
+    }
+
+    public boolean getSimulateTermStructure() {
+        return this.pathGenerator.getSimulateTermStructure();
+    }
+
+    public int getSynthYears() {
+        return this.pathGenerator.getSynthYears();
+    }
+
+    public int getNumberOfContracts() {
+        return this.pathGenerator.getNumberOfContracts();
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+}
@@ -0,0 +1,168 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import com.schwartz.random.QuasiRandomPathSampler;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pure Java {@link AbstractCallableSchwartzCalculator} implementation that generates {@code numberOfPaths} randomized quasi-Monte Carlo
+ * sample paths for a single parameterset in one calculation.
+ *
+ * The shocks are sampled by a {@link QuasiRandomPathSampler}, and the chunks of a simulation can share their samplers through a queue of
+ * idle samplers.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzJavaQuasiRandomPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzJavaQuasiRandomPathSimulator.class.getName());
+    private static final int NUMBER_OF_DRIVERS = 2;
+
+    private SchwartzPathGenerator pathGenerator;
+    private int numberOfPaths;
+    private int firstPathIndex;
+    private int pathsPerReplicate;
+    private Long seed;
+    private Queue<QuasiRandomPathSampler> samplers;
+
+    /**
+     * @param firstPathIndex The index of the first path within the whole simulation.
+     * @param pathsPerReplicate The number of paths per independently scrambled replicate, preferably a power of two.
+     */
+    public SchwartzJavaQuasiRandomPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        int firstPathIndex,
+        int synthYears,
+        int numberOfContracts,
+        int pathsPerReplicate,
+        Long seed
+    ) {
+        this(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            numberOfPaths,
+            firstPathIndex,
+            synthYears,
+            numberOfContracts,
+            pathsPerReplicate,
+            seed,
+            new ConcurrentLinkedQueue<>()
+        );
+    }
+
+    /**
+     * @param samplers The idle samplers of the simulation, which are shared by all of its chunks with the same seed.
+     */
+    public SchwartzJavaQuasiRandomPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        int firstPathIndex,
+        int synthYears,
+        int numberOfContracts,
+        int pathsPerReplicate,
+        Long seed,
+        Queue<QuasiRandomPathSampler> samplers
+    ) {
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+        Validate.isTrue(firstPathIndex >= 0, "The index of the first path can not be negative!");
+        Validate.isTrue(pathsPerReplicate > 0, "The number of paths per replicate needs to be positive!");
+        Validate.notNull(samplers, "The supplied sampler queue was null!");
+
+        this.pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            synthYears,
+            numberOfContracts
+        );
+        this.numberOfPaths = numberOfPaths;
+        this.firstPathIndex = firstPathIndex;
+        this.pathsPerReplicate = pathsPerReplicate;
+        this.seed = seed;
+        this.samplers = samplers;
+    }
+
+    @Override
+    public SchwartzSimulatedPaths calculate() {
+        QuasiRandomPathSampler sampler = samplers.poll();
+        if (sampler == null) {
+            // The generator draws the shocks of the steps between the consecutive timesteps.
+            sampler = new QuasiRandomPathSampler(
+                pathGenerator.getNumberOfTimesteps() - 1,
+                NUMBER_OF_DRIVERS,
+                pathsPerReplicate,
+                SchwartzPathGenerator.resolveSeed(seed)
+            );
+        }
+        try {
+            return calculate(sampler);
+        } finally {
+            samplers.offer(sampler);
+        }
+    }
+
+    /**
+     * The sampler skips to the first path of the chunk, and rescrambles its sequence only if the chunk starts a new replicate.
+     */
+    private SchwartzSimulatedPaths calculate(QuasiRandomPathSampler sampler) {
+        SchwartzSimulatedPaths paths = new SchwartzSimulatedPaths(
+            pathGenerator.getTimeline(),
+            numberOfPaths,
+            pathGenerator.getTermStructureLength()
+        );
+
+        for (int p = 0; p < numberOfPaths; p++) {
+            int localIndex = p;
+            ISchwartzPathListener listener = (pathIndex, time, spotPrice, convenienceYield, time2maturities, futuresPrices) ->
+                paths.put(localIndex, time - 1, spotPrice, convenienceYield, time2maturities, futuresPrices);
+            pathGenerator.generate(firstPathIndex + p, sampler.forPath(firstPathIndex + p), listener);
+            setProgress((double) (p + 1) / numberOfPaths);
+        }
+
+        log.debug("Simulated " + numberOfPaths + " quasi-random paths for the parameterset " + getModelParameters() + ".");
+        return paths;
+    }
+
+    public SchwartzPathGenerator getPathGenerator() {
+        return this.pathGenerator;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.pathGenerator.getModelParameters();
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public int getFirstPathIndex() {
+        return this.firstPathIndex;
+    }
+
+    public int getPathsPerReplicate() {
+        return this.pathsPerReplicate;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+}
@@ -0,0 +1,88 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.model.SchwartzModelParameters;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pure Java {@link AbstractCallableSchwartzCalculator} implementation that streams {@code numberOfPaths} sample paths to an
+ * {@link ISchwartzPathListener} as they are generated. An exception thrown by the listener aborts the simulation.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzJavaStreamingPathSimulator extends AbstractCallableSchwartzCalculator<Integer> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzJavaStreamingPathSimulator.class.getName());
+
+    private SchwartzPathGenerator pathGenerator;
+    private int numberOfPaths;
+    private ISchwartzPathListener listener;
+    private Long seed;
+
+    public SchwartzJavaStreamingPathSimulator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        ISchwartzPathListener listener
+    ) {
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+        Validate.notNull(listener, "The supplied listener was null!");
+
+        this.pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            modelParameters,
+            simulateTermStructure,
+            SchwartzPathGenerator.DEFAULT_SYNTH_YEARS,
+            SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS
+        );
+        this.numberOfPaths = numberOfPaths;
+        this.listener = listener;
+        this.seed = seed;
+    }
+
+    /**
+     * Streams the paths to the listener.
+     *
+     * @return The number of streamed paths.
+     */
+    @Override
+    public Integer calculate() {
+        long resolvedSeed = SchwartzPathGenerator.resolveSeed(seed);
+        for (int p = 0; p < numberOfPaths; p++) {
+            pathGenerator.generate(resolvedSeed, p, listener);
+            setProgress((double) (p + 1) / numberOfPaths);
+        }
+
+        log.debug("Streamed " + numberOfPaths + " paths for the parameterset " + getModelParameters() + ".");
+        return numberOfPaths;
+    }
+
+    public SchwartzPathGenerator getPathGenerator() {
+        return this.pathGenerator;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.pathGenerator.getModelParameters();
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public ISchwartzPathListener getListener() {
+        return this.listener;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+}
@@ -0,0 +1,172 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.optimization.BfgsMinimizer;
+import com.schwartz.optimization.IDifferentiableFunction;
+import com.schwartz.optimization.OptimizationResult;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A pure Java {@link AbstractCallableSchwartzCalculator} implementation that estimates the model parameters from observed futures term
+ * structures by maximizing the {@link SchwartzKalmanFilter Kalman filter} likelihood with the {@link BfgsMinimizer}.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzKalmanEstimator extends AbstractCallableSchwartzCalculator<SchwartzModelParameters> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzKalmanEstimator.class.getName());
+
+    public static final SchwartzModelParameters DEFAULT_INITIAL_PARAMETERS = new SchwartzModelParameters(0, 0.3, 1, 0, 0.3, 0.03, 0.5, 0);
+    public static final double DEFAULT_INITIAL_MEASUREMENT_ERROR = 0.01;
+
+    private static final double MAX_INITIAL_CORRELATION = 0.99;
+
+    private SchwartzKalmanFilter kalmanFilter;
+    private SchwartzModelParameters initialParameters;
+    private double initialMeasurementError;
+    private BfgsMinimizer minimizer;
+    private volatile OptimizationResult optimizationResult;
+
+    public SchwartzKalmanEstimator(SchwartzSimulatedData modelData) {
+        this(modelData, DEFAULT_INITIAL_PARAMETERS);
+    }
+
+    public SchwartzKalmanEstimator(SchwartzSimulatedData modelData, SchwartzModelParameters initialParameters) {
+        this(new SchwartzKalmanFilter(modelData), initialParameters, DEFAULT_INITIAL_MEASUREMENT_ERROR, new BfgsMinimizer());
+    }
+
+    /**
+     * @param kalmanFilter The filter of the observed data, which can be shared between estimators.
+     * @param initialParameters The starting point of the estimation, with positive volatilities and kappa.
+     * @param initialMeasurementError The starting point of the standard deviation of the measurement errors.
+     * @param minimizer The minimizer of the negative log-likelihood.
+     * @throws IllegalArgumentException if the starting point is outside the parameter space.
+     */
+    public SchwartzKalmanEstimator(
+        SchwartzKalmanFilter kalmanFilter,
+        SchwartzModelParameters initialParameters,
+        double initialMeasurementError,
+        BfgsMinimizer minimizer
+    ) {
+        Validate.notNull(kalmanFilter, "The supplied Kalman filter was null!");
+        Validate.notNull(initialParameters, "The supplied initial parameters were null!");
+        Validate.notNull(minimizer, "The supplied minimizer was null!");
+        Validate.isTrue(
+            initialParameters.getSigmaSpot() > 0 && initialParameters.getSigmaConvenienceYield() > 0,
+            "The initial volatilities need to be positive!"
+        );
+        Validate.isTrue(initialParameters.getKappa() > 0, "The initial kappa needs to be positive!");
+        Validate.isTrue(Math.abs(initialParameters.getRho()) < 1, "The initial rho needs to be between -1 and 1!");
+        Validate.isTrue(initialMeasurementError > 0, "The initial measurement error needs to be positive!");
+
+        this.kalmanFilter = kalmanFilter;
+        this.initialParameters = initialParameters;
+        this.initialMeasurementError = initialMeasurementError;
+        this.minimizer = minimizer;
+    }
+
+    @Override
+    public SchwartzModelParameters calculate() {
+        IDifferentiableFunction objective = getObjective(kalmanFilter);
+        OptimizationResult result = minimizer.minimize(
+            objective,
+            toCoordinates(initialParameters, initialMeasurementError),
+            (iteration, value, gradientNorm) -> {
+                setProgress((double) iteration / minimizer.getMaxIterations());
+                return true;
+            }
+        );
+        this.optimizationResult = result;
+
+        log.debug("Estimated the parameters " + toParameters(result.getPoint()) + " with the measurement error "
+                  + getMeasurementError(result.getPoint()) + ": " + result);
+        return toParameters(result.getPoint());
+    }
+
+    /**
+     * Returns the negative log-likelihood of the filter as a function of the unconstrained coordinates.
+     */
+    public static IDifferentiableFunction getObjective(SchwartzKalmanFilter kalmanFilter) {
+        return (coordinates, gradient) -> {
+            SchwartzModelParameters modelParameters = toParameters(coordinates);
+            double measurementError = getMeasurementError(coordinates);
+            if (!(modelParameters.getKappa() > 0 && Double.isFinite(modelParameters.getKappa()))) {
+                return Double.POSITIVE_INFINITY;
+            }
+            double value = kalmanFilter.getNegativeLogLikelihood(modelParameters, measurementError, gradient);
+
+            gradient[SchwartzKalmanFilter.SIGMA_SPOT_INDEX] *= modelParameters.getSigmaSpot();
+            gradient[SchwartzKalmanFilter.KAPPA_INDEX] *= modelParameters.getKappa();
+            gradient[SchwartzKalmanFilter.SIGMA_CONVENIENCE_YIELD_INDEX] *= modelParameters.getSigmaConvenienceYield();
+            gradient[SchwartzKalmanFilter.RHO_INDEX] *= 1 - modelParameters.getRho() * modelParameters.getRho();
+            gradient[SchwartzKalmanFilter.MEASUREMENT_ERROR_INDEX] *= measurementError;
+            return value;
+        };
+    }
+
+    /**
+     * Transforms the parameters into the unconstrained coordinates of the estimation.
+     */
+    public static double[] toCoordinates(SchwartzModelParameters modelParameters, double measurementError) {
+        double rho = Math.max(-MAX_INITIAL_CORRELATION, Math.min(MAX_INITIAL_CORRELATION, modelParameters.getRho()));
+        double[] coordinates = new double[SchwartzKalmanFilter.NUMBER_OF_PARAMETERS];
+        coordinates[SchwartzKalmanFilter.MU_INDEX] = modelParameters.getMu();
+        coordinates[SchwartzKalmanFilter.SIGMA_SPOT_INDEX] = Math.log(modelParameters.getSigmaSpot());
+        coordinates[SchwartzKalmanFilter.KAPPA_INDEX] = Math.log(modelParameters.getKappa());
+        coordinates[SchwartzKalmanFilter.ALPHA_INDEX] = modelParameters.getAlpha();
+        coordinates[SchwartzKalmanFilter.SIGMA_CONVENIENCE_YIELD_INDEX] = Math.log(modelParameters.getSigmaConvenienceYield());
+        coordinates[SchwartzKalmanFilter.INTEREST_INDEX] = modelParameters.getInterest();
+        coordinates[SchwartzKalmanFilter.RHO_INDEX] = 0.5 * Math.log((1 + rho) / (1 - rho));
+        coordinates[SchwartzKalmanFilter.LAMBDA_INDEX] = modelParameters.getLambda();
+        coordinates[SchwartzKalmanFilter.MEASUREMENT_ERROR_INDEX] = Math.log(measurementError);
+        return coordinates;
+    }
+
+    /**
+     * Transforms the unconstrained coordinates of the estimation into the model parameters.
+     */
+    public static SchwartzModelParameters toParameters(double[] coordinates) {
+        return new SchwartzModelParameters(
+            coordinates[SchwartzKalmanFilter.MU_INDEX],
+            Math.exp(coordinates[SchwartzKalmanFilter.SIGMA_SPOT_INDEX]),
+            Math.exp(coordinates[SchwartzKalmanFilter.KAPPA_INDEX]),
+            coordinates[SchwartzKalmanFilter.ALPHA_INDEX],
+            Math.exp(coordinates[SchwartzKalmanFilter.SIGMA_CONVENIENCE_YIELD_INDEX]),
+            coordinates[SchwartzKalmanFilter.INTEREST_INDEX],
+            Math.tanh(coordinates[SchwartzKalmanFilter.RHO_INDEX]),
+            coordinates[SchwartzKalmanFilter.LAMBDA_INDEX]
+        );
+    }
+
+    /**
+     * Transforms the unconstrained coordinates of the estimation into the standard deviation of the measurement errors.
+     */
+    public static double getMeasurementError(double[] coordinates) {
+        return Math.exp(coordinates[SchwartzKalmanFilter.MEASUREMENT_ERROR_INDEX]);
+    }
+
+    public SchwartzKalmanFilter getKalmanFilter() {
+        return this.kalmanFilter;
+    }
+
+    public SchwartzModelParameters getInitialParameters() {
+        return this.initialParameters;
+    }
+
+    public double getInitialMeasurementError() {
+        return this.initialMeasurementError;
+    }
+
+    /**
+     * @return The outcome of the completed estimation, or null if the estimation has not completed.
+     */
+    public OptimizationResult getOptimizationResult() {
+        return this.optimizationResult;
+    }
+}
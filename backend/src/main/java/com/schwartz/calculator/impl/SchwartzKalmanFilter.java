@@ -0,0 +1,256 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import static com.schwartz.matlab.IMatlabConvertable.*;
+import java.util.Arrays;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Evaluates the likelihood of the Schwartz two factor model for observed futures term structures with the Kalman filter.
+ *
+ * The state consists of the log spot price and the convenience yield, and the log futures prices are observed through the
+ * {@link SchwartzTermStructureEngine closed form solution} with independent measurement errors. The gradient of the likelihood is
+ * propagated analytically through the filter recursions.
+ *
+ * @author woope
+ * @see SchwartzKalmanEstimator
+ */
+public class SchwartzKalmanFilter {
+
+    public static final int MU_INDEX = 0;
+    public static final int SIGMA_SPOT_INDEX = 1;
+    public static final int KAPPA_INDEX = 2;
+    public static final int ALPHA_INDEX = 3;
+    public static final int SIGMA_CONVENIENCE_YIELD_INDEX = 4;
+    public static final int INTEREST_INDEX = 5;
+    public static final int RHO_INDEX = 6;
+    public static final int LAMBDA_INDEX = 7;
+    public static final int MEASUREMENT_ERROR_INDEX = 8;
+    /**
+     * The number of estimated parameters, i.e. the model parameters and the standard deviation of the measurement errors.
+     */
+    public static final int NUMBER_OF_PARAMETERS = 9;
+
+    public static final double INITIAL_STATE_VARIANCE = 1;
+
+    private static final double LOG_TWO_PI = Math.log(2 * Math.PI);
+
+    private final double[] timeIncrements;
+    private final int[] observationOffsets;
+    private final double[] maturities;
+    private final double[] logFuturesPrices;
+    private final double initialLogSpot;
+    private final double initialConvenienceYield;
+
+    /**
+     * @param modelData The observed data, whose futures prices are filtered. The contracts with a missing or non-positive time to maturity
+     * or futures price are ignored.
+     * @throws IllegalArgumentException if the data has less than two time steps, no observed contracts, or no finite initial state.
+     */
+    public SchwartzKalmanFilter(SchwartzSimulatedData modelData) {
+        Validate.notNull(modelData, "The supplied model data was null!");
+        Validate.isTrue(modelData.size() >= 2, "The estimation needs at least two time steps!");
+
+        double[][] data = modelData.getMatlabFormat();
+        int timesteps = data[MATLAB_TIMELINE_INDEX].length;
+        initialLogSpot = Math.log(data[MATLAB_SPOT_PRICE_INDEX][0]);
+        initialConvenienceYield = data[MATLAB_CONVENIENCE_YIELD_INDEX][0];
+        Validate.isTrue(
+            Double.isFinite(initialLogSpot) && Double.isFinite(initialConvenienceYield),
+            "The estimation needs a positive initial spot price and a finite initial convenience yield!"
+        );
+
+        timeIncrements = new double[timesteps];
+        observationOffsets = new int[timesteps + 1];
+        double[] observedMaturities = new double[timesteps * ((data.length - MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE) / 2)];
+        double[] observedLogPrices = new double[observedMaturities.length];
+        int observations = 0;
+
+        for (int j = 0; j < timesteps; j++) {
+            if (j > 0) {
+                timeIncrements[j] = (data[MATLAB_TIMELINE_INDEX][j] - data[MATLAB_TIMELINE_INDEX][j - 1]) / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+                Validate.isTrue(timeIncrements[j] > 0, "The timeline needs to be strictly increasing!");
+            }
+            observationOffsets[j] = observations;
+            for (int i = MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE; i + 1 < data.length; i += 2) {
+                double time2maturity = data[i][j];
+                double futuresPrice = data[i + 1][j];
+                if (time2maturity > 0 && futuresPrice > 0) {
+                    observedMaturities[observations] = time2maturity / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+                    observedLogPrices[observations] = Math.log(futuresPrice);
+                    observations++;
+                }
+            }
+        }
+        observationOffsets[timesteps] = observations;
+        Validate.isTrue(observations > 0, "The estimation needs observed futures prices!");
+
+        maturities = Arrays.copyOf(observedMaturities, observations);
+        logFuturesPrices = Arrays.copyOf(observedLogPrices, observations);
+    }
+
+    /**
+     * Evaluates the negative log-likelihood of the observed futures prices, and optionally its gradient.
+     *
+     * @param modelParameters The model parameters, with a positive kappa.
+     * @param measurementError The standard deviation of the measurement errors.
+     * @param gradient The array of {@value #NUMBER_OF_PARAMETERS} elements that is filled with the gradient with respect to the model
+     * parameters, in the order of the {@link SchwartzModelParameters#getMatlabFormat() Matlab format}, and the measurement error. The
+     * gradient is not evaluated if the array is null.
+     * @return The negative log-likelihood, or positive infinity if the filter degenerates.
+     */
+    public double getNegativeLogLikelihood(SchwartzModelParameters modelParameters, double measurementError, double[] gradient) {
+        Validate.isTrue(gradient == null || gradient.length == NUMBER_OF_PARAMETERS, "The gradient needs " + NUMBER_OF_PARAMETERS + " elements!");
+
+        SchwartzTermStructureEngine termStructureEngine = new SchwartzTermStructureEngine(modelParameters, 0);
+        boolean withGradient = gradient != null;
+        int n = withGradient ? NUMBER_OF_PARAMETERS : 0;
+
+        double mu = modelParameters.getMu();
+        double sigmaSpot = modelParameters.getSigmaSpot();
+        double kappa = modelParameters.getKappa();
+        double alpha = modelParameters.getAlpha();
+        double sigmaConvenienceYield = modelParameters.getSigmaConvenienceYield();
+        double rho = modelParameters.getRho();
+        double measurementVariance = measurementError * measurementError;
+
+        // The state mean (a0, a1) and the symmetric state covariance (p00, p01, p11), with their derivatives.
+        double a0 = initialLogSpot;
+        double a1 = initialConvenienceYield;
+        double p00 = INITIAL_STATE_VARIANCE;
+        double p01 = 0;
+        double p11 = INITIAL_STATE_VARIANCE;
+        double[] da0 = new double[n];
+        double[] da1 = new double[n];
+        double[] dp00 = new double[n];
+        double[] dp01 = new double[n];
+        double[] dp11 = new double[n];
+        double[] dA = new double[NUMBER_OF_PARAMETERS];
+        double[] dv = new double[n];
+        double[] df = new double[n];
+        double[] dg0 = new double[n];
+        double[] dg1 = new double[n];
+
+        double negativeLogLikelihood = 0;
+        if (withGradient) {
+            Arrays.fill(gradient, 0);
+        }
+
+        for (int j = 0; j < timeIncrements.length; j++) {
+            if (j > 0) {
+                double dt = timeIncrements[j];
+                double q = 1 - kappa * dt;
+
+                double predictedA0 = a0 + (mu - a1 - 0.5 * sigmaSpot * sigmaSpot) * dt;
+                double predictedA1 = a1 + kappa * (alpha - a1) * dt;
+                double predictedP00 = p00 - 2 * dt * p01 + dt * dt * p11 + sigmaSpot * sigmaSpot * dt;
+                double predictedP01 = (p01 - dt * p11) * q + rho * sigmaSpot * sigmaConvenienceYield * dt;
+                double predictedP11 = q * q * p11 + sigmaConvenienceYield * sigmaConvenienceYield * dt;
+
+                for (int k = 0; k < n; k++) {
+                    double dq = k == KAPPA_INDEX ? -dt : 0;
+                    double nextDa0 = da0[k] - dt * da1[k];
+                    double nextDa1 = q * da1[k] + dq * a1;
+                    double nextDp00 = dp00[k] - 2 * dt * dp01[k] + dt * dt * dp11[k];
+                    double nextDp01 = (dp01[k] - dt * dp11[k]) * q + (p01 - dt * p11) * dq;
+                    double nextDp11 = q * q * dp11[k] + 2 * q * dq * p11;
+                    switch (k) {
+                        case MU_INDEX:
+                            nextDa0 += dt;
+                            break;
+                        case SIGMA_SPOT_INDEX:
+                            nextDa0 -= sigmaSpot * dt;
+                            nextDp00 += 2 * sigmaSpot * dt;
+                            nextDp01 += rho * sigmaConvenienceYield * dt;
+                            break;
+                        case KAPPA_INDEX:
+                            nextDa1 += alpha * dt;
+                            break;
+                        case ALPHA_INDEX:
+                            nextDa1 += kappa * dt;
+                            break;
+                        case SIGMA_CONVENIENCE_YIELD_INDEX:
+                            nextDp01 += rho * sigmaSpot * dt;
+                            nextDp11 += 2 * sigmaConvenienceYield * dt;
+                            break;
+                        case RHO_INDEX:
+                            nextDp01 += sigmaSpot * sigmaConvenienceYield * dt;
+                            break;
+                        default:
+                            break;
+                    }
+                    da0[k] = nextDa0;
+                    da1[k] = nextDa1;
+                    dp00[k] = nextDp00;
+                    dp01[k] = nextDp01;
+                    dp11[k] = nextDp11;
+                }
+
+                a0 = predictedA0;
+                a1 = predictedA1;
+                p00 = predictedP00;
+                p01 = predictedP01;
+                p11 = predictedP11;
+            }
+
+            for (int o = observationOffsets[j]; o < observationOffsets[j + 1]; o++) {
+                double maturity = maturities[o];
+                double a = termStructureEngine.getA(maturity);
+                double b = termStructureEngine.getB(maturity);
+
+                // The measurement vector is z = (1, -B), so g = P z and f = z' P z + h^2.
+                double v = logFuturesPrices[o] - a - a0 + b * a1;
+                double g0 = p00 - b * p01;
+                double g1 = p01 - b * p11;
+                double f = g0 - b * g1 + measurementVariance;
+                if (!(f > 0)) {
+                    return Double.POSITIVE_INFINITY;
+                }
+                negativeLogLikelihood += 0.5 * (LOG_TWO_PI + Math.log(f) + v * v / f);
+
+                if (withGradient) {
+                    termStructureEngine.fillGradientOfA(maturity, dA);
+                    double dbKappa = termStructureEngine.getKappaDerivativeOfB(maturity);
+                    for (int k = 0; k < n; k++) {
+                        double db = k == KAPPA_INDEX ? dbKappa : 0;
+                        double dAk = k == MEASUREMENT_ERROR_INDEX ? 0 : dA[k];
+                        dv[k] = -dAk - da0[k] + db * a1 + b * da1[k];
+                        dg0[k] = dp00[k] - b * dp01[k] - db * p01;
+                        dg1[k] = dp01[k] - b * dp11[k] - db * p11;
+                        df[k] = -2 * db * g1 + dp00[k] - 2 * b * dp01[k] + b * b * dp11[k]
+                                + (k == MEASUREMENT_ERROR_INDEX ? 2 * measurementError : 0);
+                        gradient[k] += 0.5 * (df[k] / f + 2 * v * dv[k] / f - v * v * df[k] / (f * f));
+                    }
+                    for (int k = 0; k < n; k++) {
+                        da0[k] += (dg0[k] * v + g0 * dv[k]) / f - g0 * v * df[k] / (f * f);
+                        da1[k] += (dg1[k] * v + g1 * dv[k]) / f - g1 * v * df[k] / (f * f);
+                        dp00[k] -= 2 * dg0[k] * g0 / f - g0 * g0 * df[k] / (f * f);
+                        dp01[k] -= (dg0[k] * g1 + g0 * dg1[k]) / f - g0 * g1 * df[k] / (f * f);
+                        dp11[k] -= 2 * dg1[k] * g1 / f - g1 * g1 * df[k] / (f * f);
+                    }
+                }
+
+                a0 += g0 * v / f;
+                a1 += g1 * v / f;
+                p00 -= g0 * g0 / f;
+                p01 -= g0 * g1 / f;
+                p11 -= g1 * g1 / f;
+            }
+        }
+
+        return Double.isFinite(negativeLogLikelihood) ? negativeLogLikelihood : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * @return The number of observed futures prices.
+     */
+    public int getNumberOfObservations() {
+        return maturities.length;
+    }
+
+    public int getNumberOfTimesteps() {
+        return timeIncrements.length;
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.matlab.IMatlabObjectMapper;
+import com.schwartz.matlab.MatlabMetrics;
+import com.schwartz.matlab.impl.MatlabProxyPool;
+import com.schwartz.matlab.impl.SchwartzSimulatedPathsMapper;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import org.apache.commons.lang3.Validate;
+import org.n52.matlab.control.MatlabInvocationException;
+import org.n52.matlab.control.MatlabProxy;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that generates {@code numberOfPaths} sample paths for a single parameterset
+ * with one Matlab-session lease and a single call of the {@value SchwartzMatlabPathSimulator#SIMULATION_FUNCTION} function.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzMatlabBatchPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> {
+
+    private IMatlabObjectMapper<SchwartzSimulatedPaths> pathsMapper;
+    private MatlabProxyPool proxyPool;
+    private double initialSpot;
+    private double initialConvenienceYield;
+    private SchwartzModelParameters modelParameters;
+    private boolean simulateTermStructure;
+    private int numberOfPaths;
+    private Long seed;
+
+    public SchwartzMatlabBatchPathSimulator(
+        MatlabProxyPool proxyPool,
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed
+    ) {
+        Validate.notNull(proxyPool, "The supplied MatlabProxyPool was null!");
+        SchwartzMatlabPathSimulator.validateSeed(seed);
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+
+        this.proxyPool = proxyPool;
+        this.pathsMapper = new SchwartzSimulatedPathsMapper(numberOfPaths);
+        this.initialSpot = initialSpot;
+        this.initialConvenienceYield = initialConvenienceYield;
+        this.modelParameters = modelParameters;
+        this.simulateTermStructure = simulateTermStructure;
+        this.numberOfPaths = numberOfPaths;
+        this.seed = seed;
+    }
+
+    /**
+     * Leases a Matlab-session from the {@link MatlabProxyPool} for the duration of the simulation.
+     *
+     * @throws IllegalStateException if no Matlab-session could be leased, or if the simulation failed in Matlab.
+     */
+    @Override
+    public SchwartzSimulatedPaths calculate() {
+        MatlabProxy proxy = proxyPool.getMatlabProxy();
+        Validate.validState(proxy != null, "Could not lease a Matlab-session for the simulation!");
+
+        try {
+            double[][] matlabData = SchwartzMatlabPathSimulator.simulate(
+                proxy,
+                modelParameters,
+                initialSpot,
+                initialConvenienceYield,
+                SchwartzMatlabPathSimulator.getSeedArgument(seed),
+                numberOfPaths,
+                simulateTermStructure
+            );
+            return MatlabMetrics.map(pathsMapper, matlabData);
+        } catch (MatlabInvocationException ex) {
+            throw new IllegalStateException("Unable to simulate the " + numberOfPaths + " paths for the parameterset " + modelParameters + "!", ex);
+        } finally {
+            proxyPool.returnMatlabProxy(proxy);
+        }
+    }
+
+    public MatlabProxyPool getProxyPool() {
+        return proxyPool;
+    }
+
+    public double getInitialSpot() {
+        return this.initialSpot;
+    }
+
+    public double getInitialConvenienceYield() {
+        return this.initialConvenienceYield;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.modelParameters;
+    }
+
+    public boolean getSimulateTermStructure() {
+        return this.simulateTermStructure;
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+}
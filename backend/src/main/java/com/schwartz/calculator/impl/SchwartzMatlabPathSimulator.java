@@ -2,7 +2,9 @@ package com.schwartz.calculator.impl;
 
 import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
 import com.schwartz.matlab.IMatlabObjectMapper;
+import com.schwartz.matlab.MatlabMetrics;
 import com.schwartz.matlab.impl.MatlabProxyHandler;
+import com.schwartz.matlab.impl.MatlabProxyPool;
 import com.schwartz.matlab.impl.SchwartzModelDataMapper;
 import com.schwartz.model.SchwartzModelParameters;
 import com.schwartz.model.SchwartzSimulatedData;
@@ -12,11 +14,13 @@ import org.apache.logging.log4j.Logger;
 import org.n52.matlab.control.MatlabConnectionException;
 import org.n52.matlab.control.MatlabInvocationException;
 import org.n52.matlab.control.MatlabProxy;
-import org.n52.matlab.control.extensions.MatlabNumericArray;
-import org.n52.matlab.control.extensions.MatlabTypeConverter;
 /**
  * A {@link AbstractCallableSchwartzCalculator} implementation that handles the sample path generation.
  * 
+ * The spot price, the convenience yield and the futures term structure are simulated in Matlab. The path is simulated and transferred
+ * with a single call of the {@value #SIMULATION_FUNCTION} function in {@code src/main/matlab}, which needs to be deployed to the Matlab
+ * starting directory.
+ * 
  * @author woope
  * @see ISchwartzCalculator
  * @see AbstractCallableSchwartzCalculator
@@ -24,62 +28,146 @@ import org.n52.matlab.control.extensions.MatlabTypeConverter;
 public class SchwartzMatlabPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzSimulatedData> {
     
     private static final Logger log = LogManager.getLogger(SchwartzMatlabPathSimulator.class.getName());
+    public static final long MAX_MATLAB_SEED = 4294967295L;
+    public static final String SIMULATION_FUNCTION = "schwartz_simulate";
+    static final double CONTINUE_SEED = Double.NaN;
     
     private IMatlabObjectMapper<SchwartzSimulatedData> modelDataMapper;
-    private MatlabTypeConverter converter;
-    private MatlabProxy proxy;
+    private MatlabProxyPool proxyPool;
     private double initialSpot;
     private double initialConvenienceYield;
     private SchwartzModelParameters modelParameters;
     private boolean simulateTermStructure;
+    private Long seed;
 
     public SchwartzMatlabPathSimulator(
-        MatlabProxy proxy, 
+        MatlabProxyPool proxyPool, 
         double initialSpot, 
         double initialConvenienceYield, 
         SchwartzModelParameters modelParameters, 
         boolean simulateTermStructure
     ) {
-        this.initializeProxy(proxy);
+        this(proxyPool, initialSpot, initialConvenienceYield, modelParameters, simulateTermStructure, null);
+    }
+
+    /**
+     * @param seed The seed of the Matlab random number generator for a reproducible simulation, or null for a shuffled generator.
+     * @throws IllegalArgumentException if the seed is outside the range of the Matlab seeds.
+     */
+    public SchwartzMatlabPathSimulator(
+        MatlabProxyPool proxyPool, 
+        double initialSpot, 
+        double initialConvenienceYield, 
+        SchwartzModelParameters modelParameters, 
+        boolean simulateTermStructure,
+        Long seed
+    ) {
+        validateSeed(seed);
+        this.initializeProxyPool(proxyPool);
         this.initialSpot = initialSpot;
         this.initialConvenienceYield = initialConvenienceYield;
         this.modelParameters = modelParameters;
         this.simulateTermStructure = simulateTermStructure;
+        this.seed = seed;
     }
 
-	private void initializeProxy(MatlabProxy proxy) {
-		Validate.notNull(proxy, "The supplied MatlabProxy was null!");
+	private void initializeProxyPool(MatlabProxyPool proxyPool) {
+		Validate.notNull(proxyPool, "The supplied MatlabProxyPool was null!");
         
-        this.proxy = proxy;
-        this.converter = new MatlabTypeConverter(proxy);
-        this.modelDataMapper = new SchwartzModelDataMapper();
+        this.proxyPool = proxyPool;
+        this.modelDataMapper = new SchwartzModelDataMapper(false);
 	}
     
+    /**
+     * Leases a Matlab-session from the {@link MatlabProxyPool} for the duration of the simulation.
+     * 
+     * @throws IllegalStateException if no Matlab-session could be leased, or if the simulation failed in Matlab.
+     */
     @Override
     public SchwartzSimulatedData calculate() {
+        MatlabProxy proxy = proxyPool.getMatlabProxy();
+        Validate.validState(proxy != null, "Could not lease a Matlab-session for the simulation!");
+        
         try {
-            proxy.eval("rng('shuffle')");
-            proxy.eval("eval('init_consts')");
-            converter.setNumericArray("parray", new MatlabNumericArray(modelParameters.getMatlabFormat(), null));
-            proxy.eval("carray = num2cell(parray);");
-            proxy.eval("pstruct = paramstruct(carray{:});");
-            proxy.eval(new StringBuffer("[dates price cy ttm] = feval('gensynthdata',")
-                .append(initialSpot)
-                .append(", ")
-                .append(initialConvenienceYield)
-                .append(",pstruct, synth_years, dt, ncontracts, false);").toString());
-            proxy.eval("data = feval('price2array', dates, price, cy, ttm,"  + simulateTermStructure +" );");
-            
-            return modelDataMapper.map(converter.getNumericArray("data").getRealArray2D());
+            double[][] matlabData = simulate(
+                proxy, modelParameters, initialSpot, initialConvenienceYield, getSeedArgument(seed), 1, simulateTermStructure
+            );
+            return MatlabMetrics.map(modelDataMapper, matlabData);
         } catch (MatlabInvocationException ex) {
-            log.error("Unable to simulate the spot price dynamics for the parameterset " + modelParameters + "! Returning null.", ex);
+            throw new IllegalStateException("Unable to simulate the spot price dynamics for the parameterset " + modelParameters + "!", ex);
+        } finally {
+            proxyPool.returnMatlabProxy(proxy);
         }
-        
-        return null;
     }
 
-    public MatlabProxy getProxy() {
-        return proxy;
+    /**
+     * Validates that the seed is a valid seed of the Matlab random number generator, i.e. an integer between 0 and 2^32 - 1.
+     */
+    public static void validateSeed(Long seed) {
+        Validate.isTrue(seed == null || (seed >= 0 && seed <= MAX_MATLAB_SEED), "The seed needs to be between 0 and " + MAX_MATLAB_SEED + "!");
+    }
+
+    /**
+     * Simulates the paths with a single call of the {@value #SIMULATION_FUNCTION} function, which returns the stacked paths in the
+     * column-major order along with their dimensions. The constants and the parameter struct are cached in the Matlab-session.
+     *
+     * @param seed The seed argument of the function, see {@link #getSeedArgument(java.lang.Long) getSeedArgument}, or {@link
+     * #CONTINUE_SEED} to continue the random number stream of the previous call.
+     * @param simulateTermStructure True if the futures term structures of Matlab are included in the paths.
+     * @return The timeline followed by the row blocks of the paths.
+     */
+    public static double[][] simulate(
+        MatlabProxy proxy,
+        SchwartzModelParameters modelParameters,
+        double initialSpot,
+        double initialConvenienceYield,
+        double seed,
+        int numberOfPaths,
+        boolean simulateTermStructure
+    ) throws MatlabInvocationException {
+        Object[] result = MatlabMetrics.feval(
+            proxy,
+            "simulate",
+            SIMULATION_FUNCTION,
+            2,
+            modelParameters.getMatlabFormat()[0],
+            initialSpot,
+            initialConvenienceYield,
+            seed,
+            (double) numberOfPaths,
+            simulateTermStructure
+        );
+        double[] dimensions = (double[]) result[1];
+        return reshape((double[]) result[0], (int) dimensions[0], (int) dimensions[1]);
+    }
+
+    /**
+     * Reshapes the column-major values of a Matlab matrix into its rows.
+     *
+     * @throws IllegalArgumentException if the number of values does not match the dimensions.
+     */
+    static double[][] reshape(double[] values, int rows, int columns) {
+        Validate.isTrue(values.length == rows * columns, "Expected " + rows + " x " + columns + " values, got " + values.length + "!");
+
+        double[][] matrix = new double[rows][columns];
+        for (int j = 0; j < columns; j++) {
+            for (int i = 0; i < rows; i++) {
+                matrix[i][j] = values[j * rows + i];
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns the seed argument of the {@value #SIMULATION_FUNCTION} function, i.e. the seed, or -1 which shuffles the generator if the
+     * seed is null.
+     */
+    static double getSeedArgument(Long seed) {
+        return seed == null ? -1 : seed;
+    }
+
+    public MatlabProxyPool getProxyPool() {
+        return proxyPool;
     }
 
     public double getInitialSpot() {
@@ -98,12 +186,16 @@ public class SchwartzMatlabPathSimulator extends AbstractCallableSchwartzCalcula
         return this.simulateTermStructure;
     }
 
+    public Long getSeed() {
+        return this.seed;
+    }
+
     // Main-method testing.
     public static void main(String[] args) throws MatlabConnectionException {
-        MatlabProxy proxy = new MatlabProxyHandler().getMatlabProxy();
+        MatlabProxyPool proxyPool = new MatlabProxyPool(new MatlabProxyHandler());
         SchwartzMatlabPathSimulator calc = 
             new SchwartzMatlabPathSimulator(
-                proxy,
+                proxyPool,
                 100,
                 0.6,
                 new SchwartzModelParameters(0, 0.3, 2, -0.1, 0.6, 0.3, 0.6, -0.5),
@@ -111,6 +203,6 @@ public class SchwartzMatlabPathSimulator extends AbstractCallableSchwartzCalcula
             );
         SchwartzSimulatedData data = calc.calculate();
         log.info(data);
-        proxy.disconnect();
+        proxyPool.close();
     }
 }
@@ -0,0 +1,143 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.matlab.impl.MatlabProxyPool;
+import com.schwartz.model.SchwartzModelParameters;
+import static com.schwartz.matlab.IMatlabConvertable.*;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import org.apache.commons.lang3.Validate;
+import org.n52.matlab.control.MatlabInvocationException;
+import org.n52.matlab.control.MatlabProxy;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that streams {@code numberOfPaths} sample paths to an
+ * {@link ISchwartzPathListener} with one Matlab-session lease.
+ *
+ * The paths are generated and replayed to the listener one at a time, so only a single path is held in memory.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzMatlabStreamingPathSimulator extends AbstractCallableSchwartzCalculator<Integer> {
+
+    private MatlabProxyPool proxyPool;
+    private double initialSpot;
+    private double initialConvenienceYield;
+    private SchwartzModelParameters modelParameters;
+    private boolean simulateTermStructure;
+    private int numberOfPaths;
+    private Long seed;
+    private ISchwartzPathListener listener;
+
+    public SchwartzMatlabStreamingPathSimulator(
+        MatlabProxyPool proxyPool,
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int numberOfPaths,
+        Long seed,
+        ISchwartzPathListener listener
+    ) {
+        Validate.notNull(proxyPool, "The supplied MatlabProxyPool was null!");
+        SchwartzMatlabPathSimulator.validateSeed(seed);
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+        Validate.notNull(listener, "The supplied listener was null!");
+
+        this.proxyPool = proxyPool;
+        this.initialSpot = initialSpot;
+        this.initialConvenienceYield = initialConvenienceYield;
+        this.modelParameters = modelParameters;
+        this.simulateTermStructure = simulateTermStructure;
+        this.numberOfPaths = numberOfPaths;
+        this.listener = listener;
+        this.seed = seed;
+    }
+
+    /**
+     * Leases a Matlab-session from the {@link MatlabProxyPool} for the duration of the simulation.
+     *
+     * @return The number of streamed paths.
+     * @throws IllegalStateException if no Matlab-session could be leased, or if the simulation failed in Matlab.
+     * @throws CancellationException if the calculating thread is interrupted.
+     */
+    @Override
+    public Integer calculate() {
+        MatlabProxy proxy = proxyPool.getMatlabProxy();
+        Validate.validState(proxy != null, "Could not lease a Matlab-session for the simulation!");
+
+        try {
+            for (int p = 0; p < numberOfPaths; p++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("The simulation for the parameterset " + modelParameters + " was interrupted!");
+                }
+                replay(p, SchwartzMatlabPathSimulator.simulate(
+                    proxy,
+                    modelParameters,
+                    initialSpot,
+                    initialConvenienceYield,
+                    p == 0 ? SchwartzMatlabPathSimulator.getSeedArgument(seed) : SchwartzMatlabPathSimulator.CONTINUE_SEED,
+                    1,
+                    simulateTermStructure
+                ));
+                setProgress((double) (p + 1) / numberOfPaths);
+            }
+
+            return numberOfPaths;
+        } catch (MatlabInvocationException ex) {
+            throw new IllegalStateException("Unable to stream the paths for the parameterset " + modelParameters + "!", ex);
+        } finally {
+            proxyPool.returnMatlabProxy(proxy);
+        }
+    }
+
+    private void replay(int pathIndex, double[][] data) {
+        int contractRows = data.length - MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE;
+        double[] time2maturities = new double[contractRows / 2];
+        double[] futuresPrices = new double[contractRows / 2];
+
+        for (int j = 0; j < data[MATLAB_TIMELINE_INDEX].length; j++) {
+            int contracts = 0;
+            for (int i = MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE; i + 1 < data.length; i += 2) {
+                if (Double.isNaN(data[i][j]) || Double.isNaN(data[i + 1][j])) {
+                    continue;
+                }
+                time2maturities[contracts] = data[i][j];
+                futuresPrices[contracts] = data[i + 1][j];
+                contracts++;
+            }
+            listener.onTimestep(
+                pathIndex,
+                (int) Math.floor(data[MATLAB_TIMELINE_INDEX][j]),
+                data[MATLAB_SPOT_PRICE_INDEX][j],
+                data[MATLAB_CONVENIENCE_YIELD_INDEX][j],
+                contracts == time2maturities.length ? time2maturities : Arrays.copyOf(time2maturities, contracts),
+                contracts == futuresPrices.length ? futuresPrices : Arrays.copyOf(futuresPrices, contracts)
+            );
+        }
+        listener.onPathCompleted(pathIndex);
+    }
+
+    public MatlabProxyPool getProxyPool() {
+        return proxyPool;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.modelParameters;
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public ISchwartzPathListener getListener() {
+        return this.listener;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+}
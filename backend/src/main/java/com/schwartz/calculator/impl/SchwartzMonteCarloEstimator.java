@@ -0,0 +1,310 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzMonteCarloEstimate;
+import com.schwartz.model.SchwartzPathStatistic;
+import com.schwartz.model.SchwartzSamplingMethod;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that estimates the expectation of a {@link SchwartzPathStatistic} from the
+ * paths of a Java path calculator, optionally with {@link SchwartzSamplingMethod antithetic or quasi-random sampling} and with control
+ * variates of known {@link SchwartzDiscreteMoments expectations}. The achieved
+ * {@link SchwartzMonteCarloEstimate#getVarianceReductionFactor() variance reduction factor} is reported along with the estimate.
+ *
+ * @author woope
+ * @see SchwartzMonteCarloEstimate
+ */
+public class SchwartzMonteCarloEstimator extends AbstractCallableSchwartzCalculator<SchwartzMonteCarloEstimate> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzMonteCarloEstimator.class.getName());
+
+    private final AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> pathCalculator;
+    private final SchwartzPathGenerator pathGenerator;
+    private final SchwartzPathStatistic statistic;
+    private final SchwartzSamplingMethod samplingMethod;
+    private final int replicates;
+    private final boolean controlVariates;
+
+    /**
+     * @param pathCalculator The calculator of the paths, which are generated by the {@code pathGenerator}.
+     * @param pathGenerator The generator of the paths, whose exact moments are the expectations of the control variates.
+     * @param statistic The estimated statistic.
+     * @param samplingMethod The sampling method of the paths.
+     * @param replicates The number of independently scrambled replicates of the quasi-random paths, which is ignored by the other
+     * sampling methods.
+     * @param controlVariates True if the estimate is corrected with the control variates.
+     */
+    public SchwartzMonteCarloEstimator(
+        AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> pathCalculator,
+        SchwartzPathGenerator pathGenerator,
+        SchwartzPathStatistic statistic,
+        SchwartzSamplingMethod samplingMethod,
+        int replicates,
+        boolean controlVariates
+    ) {
+        Validate.notNull(pathCalculator, "The supplied path calculator was null!");
+        Validate.notNull(pathGenerator, "The supplied path generator was null!");
+        Validate.notNull(statistic, "The supplied statistic was null!");
+        Validate.notNull(samplingMethod, "The supplied sampling method was null!");
+        Validate.isTrue(
+            samplingMethod != SchwartzSamplingMethod.QUASI_RANDOM || replicates > 1,
+            "The quasi-random estimates need at least two replicates!"
+        );
+        Validate.isTrue(
+            !statistic.getRequiresTermStructure() || pathGenerator.getTermStructureLength() > 0,
+            "The statistic " + statistic + " needs the simulated term structure!"
+        );
+
+        this.pathCalculator = pathCalculator;
+        this.pathGenerator = pathGenerator;
+        this.statistic = statistic;
+        this.samplingMethod = samplingMethod;
+        this.replicates = samplingMethod == SchwartzSamplingMethod.QUASI_RANDOM ? replicates : 0;
+        this.controlVariates = controlVariates;
+    }
+
+    @Override
+    public SchwartzMonteCarloEstimate calculate() {
+        SchwartzMonteCarloEstimate estimate = estimate(pathCalculator.call());
+        log.debug("Estimated " + estimate + " for the parameterset " + pathGenerator.getModelParameters() + ".");
+        return estimate;
+    }
+
+    /**
+     * @return The progress of the path calculation until the estimate is completed.
+     */
+    @Override
+    public double getProgress() {
+        return Math.max(super.getProgress(), pathCalculator.getProgress());
+    }
+
+    /**
+     * Estimates the expectation of the statistic from the paths.
+     *
+     * @throws IllegalArgumentException if the paths do not span the timeline of the generator, if an antithetic estimate is given an odd
+     * number of paths, if the paths of a quasi-random estimate do not divide into the replicates, or if there are too few paths for the
+     * regression of the control variates.
+     */
+    public SchwartzMonteCarloEstimate estimate(SchwartzSimulatedPaths paths) {
+        Validate.notNull(paths, "The supplied paths were null!");
+        Validate.isTrue(paths.getNumberOfTimesteps() == pathGenerator.getNumberOfTimesteps(), "The paths do not span the timeline of the generator!");
+        int pathsPerSample = samplingMethod.getPathsPerSample();
+        Validate.isTrue(paths.getNumberOfPaths() % pathsPerSample == 0, "The antithetic estimates need an even number of paths!");
+        Validate.isTrue(
+            replicates == 0 || paths.getNumberOfPaths() % replicates == 0,
+            "The number of paths needs to be divisible by the number of replicates!"
+        );
+
+        int numberOfPaths = paths.getNumberOfPaths();
+        int numberOfSamples = numberOfPaths / pathsPerSample;
+        double[] controlMeans = controlVariates ? getControlMeans() : new double[0];
+        int numberOfControls = controlMeans.length;
+        Validate.isTrue(
+            numberOfSamples > numberOfControls + 1,
+            "Expected more than " + (numberOfControls + 1) * pathsPerSample + " paths! The number of paths: " + numberOfPaths
+        );
+
+        // The samples are the statistics and the centered controls of the single paths, or of the antithetic pairs.
+        double[] samples = new double[numberOfSamples];
+        double[][] controls = new double[numberOfSamples][numberOfControls];
+        double pathSum = 0;
+        double pathSquareSum = 0;
+        for (int p = 0; p < numberOfPaths; p++) {
+            double[][] rows = paths.getPathRows(p);
+            double value = statistic.evaluate(rows);
+            pathSum += value;
+            pathSquareSum += value * value;
+
+            int sample = p / pathsPerSample;
+            samples[sample] += value / pathsPerSample;
+            if (numberOfControls > 0) {
+                fillControls(rows, controlMeans, pathsPerSample, controls[sample]);
+            }
+        }
+        double pathMean = pathSum / numberOfPaths;
+        double plainVariance = Math.max(0, pathSquareSum - numberOfPaths * pathMean * pathMean) / (numberOfPaths - 1) / numberOfPaths;
+
+        double[] coefficients = numberOfControls > 0 ? getCoefficients(samples, controls) : new double[0];
+        double sum = 0;
+        double[] adjusted = new double[numberOfSamples];
+        for (int s = 0; s < numberOfSamples; s++) {
+            adjusted[s] = samples[s];
+            for (int k = 0; k < numberOfControls; k++) {
+                adjusted[s] -= coefficients[k] * controls[s][k];
+            }
+            sum += adjusted[s];
+        }
+        double mean = sum / numberOfSamples;
+        double variance = replicates > 0
+            ? getReplicateVariance(adjusted, mean)
+            : getSampleVariance(adjusted, mean, numberOfControls);
+
+        return new SchwartzMonteCarloEstimate(
+            statistic,
+            mean,
+            Math.sqrt(variance),
+            numberOfPaths,
+            samplingMethod,
+            replicates,
+            controlVariates,
+            variance > 0 ? plainVariance / variance : Double.POSITIVE_INFINITY
+        );
+    }
+
+    /**
+     * Returns the variance of the mean of the independent samples, with one degree of freedom less per regressed control.
+     */
+    private static double getSampleVariance(double[] adjusted, double mean, int numberOfControls) {
+        double squareSum = 0;
+        for (double value : adjusted) {
+            squareSum += (value - mean) * (value - mean);
+        }
+        return squareSum / (adjusted.length - 1 - numberOfControls) / adjusted.length;
+    }
+
+    /**
+     * Returns the variance of the mean of the quasi-random paths from the spread of the replicate means, since the paths within a
+     * replicate are not independent.
+     */
+    private double getReplicateVariance(double[] adjusted, double mean) {
+        int pathsPerReplicate = adjusted.length / replicates;
+        double squareSum = 0;
+        for (int r = 0; r < replicates; r++) {
+            double replicateMean = 0;
+            for (int p = r * pathsPerReplicate; p < (r + 1) * pathsPerReplicate; p++) {
+                replicateMean += adjusted[p] / pathsPerReplicate;
+            }
+            squareSum += (replicateMean - mean) * (replicateMean - mean);
+        }
+        return squareSum / (replicates - 1) / replicates;
+    }
+
+    /**
+     * Returns the exact expectations of the control variates, i.e. the terminal spot price, the average spot price and the terminal
+     * futures price of the last contract.
+     */
+    private double[] getControlMeans() {
+        SchwartzDiscreteMoments moments = new SchwartzDiscreteMoments(pathGenerator);
+        int timesteps = pathGenerator.getNumberOfTimesteps();
+        int contracts = pathGenerator.getTermStructureLength();
+
+        double[] means = new double[contracts > 0 ? 3 : 2];
+        means[0] = moments.getExpectedSpotPrice(timesteps);
+        for (int time = 1; time <= timesteps; time++) {
+            means[1] += moments.getExpectedSpotPrice(time) / timesteps;
+        }
+        if (contracts > 0) {
+            means[2] = moments.getExpectedFuturesPrice(timesteps, contracts - 1);
+        }
+        return means;
+    }
+
+    private static void fillControls(double[][] rows, double[] controlMeans, int pathsPerSample, double[] controls) {
+        double[] spotPrices = rows[0];
+        int last = spotPrices.length - 1;
+        double averageSpotPrice = 0;
+        for (double spotPrice : spotPrices) {
+            averageSpotPrice += spotPrice;
+        }
+        averageSpotPrice /= spotPrices.length;
+
+        controls[0] += (spotPrices[last] - controlMeans[0]) / pathsPerSample;
+        controls[1] += (averageSpotPrice - controlMeans[1]) / pathsPerSample;
+        if (controls.length > 2) {
+            controls[2] += (rows[rows.length - 1][last] - controlMeans[2]) / pathsPerSample;
+        }
+    }
+
+    /**
+     * Solves the least squares coefficients of the controls from the normal equations {@code Cov(X) b = Cov(X, Y)} with a Cholesky
+     * decomposition. The covariance matrix is regularized slightly, since the controls are strongly correlated.
+     */
+    static double[] getCoefficients(double[] samples, double[][] controls) {
+        int n = samples.length;
+        int k = controls[0].length;
+        double sampleMean = 0;
+        double[] controlMeans = new double[k];
+        for (int s = 0; s < n; s++) {
+            sampleMean += samples[s] / n;
+            for (int i = 0; i < k; i++) {
+                controlMeans[i] += controls[s][i] / n;
+            }
+        }
+
+        double[][] covariance = new double[k][k];
+        double[] crossCovariance = new double[k];
+        for (int s = 0; s < n; s++) {
+            for (int i = 0; i < k; i++) {
+                double deviation = controls[s][i] - controlMeans[i];
+                crossCovariance[i] += deviation * (samples[s] - sampleMean);
+                for (int j = 0; j <= i; j++) {
+                    covariance[i][j] += deviation * (controls[s][j] - controlMeans[j]);
+                }
+            }
+        }
+        double trace = 0;
+        for (int i = 0; i < k; i++) {
+            trace += covariance[i][i];
+        }
+        for (int i = 0; i < k; i++) {
+            covariance[i][i] += 1e-12 * trace / k;
+        }
+
+        // The lower triangle is decomposed in place to L with Cov(X) = L L'.
+        for (int i = 0; i < k; i++) {
+            for (int j = 0; j <= i; j++) {
+                double value = covariance[i][j];
+                for (int m = 0; m < j; m++) {
+                    value -= covariance[i][m] * covariance[j][m];
+                }
+                if (i == j) {
+                    if (value <= 0) {
+                        return new double[k];
+                    }
+                    covariance[i][i] = Math.sqrt(value);
+                } else {
+                    covariance[i][j] = value / covariance[j][j];
+                }
+            }
+        }
+        double[] coefficients = crossCovariance.clone();
+        for (int i = 0; i < k; i++) {
+            for (int m = 0; m < i; m++) {
+                coefficients[i] -= covariance[i][m] * coefficients[m];
+            }
+            coefficients[i] /= covariance[i][i];
+        }
+        for (int i = k - 1; i >= 0; i--) {
+            for (int m = i + 1; m < k; m++) {
+                coefficients[i] -= covariance[m][i] * coefficients[m];
+            }
+            coefficients[i] /= covariance[i][i];
+        }
+        return coefficients;
+    }
+
+    public SchwartzPathGenerator getPathGenerator() {
+        return this.pathGenerator;
+    }
+
+    public SchwartzPathStatistic getStatistic() {
+        return this.statistic;
+    }
+
+    public SchwartzSamplingMethod getSamplingMethod() {
+        return this.samplingMethod;
+    }
+
+    public int getReplicates() {
+        return this.replicates;
+    }
+
+    public boolean getControlVariates() {
+        return this.controlVariates;
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzCalibrationResult;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.optimization.BfgsMinimizer;
+import com.schwartz.optimization.OptimizationResult;
+import com.schwartz.optimization.OptimizationStatus;
+import com.schwartz.random.CounterBasedRandomStream;
+import com.schwartz.random.IRandomStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that calibrates the model parameters by starting {@code numberOfStarts}
+ * {@link SchwartzKalmanEstimator Kalman filter estimations} from a Latin hypercube in parallel, and returns the estimate with the highest
+ * likelihood. The estimations that trail the best likelihood by more than the {@code pruningThreshold} are pruned.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzMultiStartEstimator extends AbstractCallableSchwartzCalculator<SchwartzCalibrationResult> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzMultiStartEstimator.class.getName());
+
+    public static final int PRUNING_WARMUP_ITERATIONS = 20;
+    public static final double DEFAULT_PRUNING_THRESHOLD = 100;
+
+    /**
+     * The bounds of the starting points in the order of the {@link SchwartzModelParameters#getMatlabFormat() Matlab format}, expressed in
+     * the unconstrained coordinates of the estimation.
+     */
+    private static final double[] LOWER_BOUNDS = {
+        -0.5, Math.log(0.05), Math.log(0.1), -0.3, Math.log(0.05), 0, -1.5, -0.5
+    };
+    private static final double[] UPPER_BOUNDS = {
+        0.5, Math.log(1), Math.log(5), 0.3, Math.log(1), 0.1, 1.5, 0.5
+    };
+
+    private final ForkJoinPool pool;
+    private final SchwartzKalmanFilter kalmanFilter;
+    private final int numberOfStarts;
+    private final double pruningThreshold;
+    private final Long seed;
+    private final BfgsMinimizer minimizer;
+    private final DoubleAccumulator lowestValue;
+    private final AtomicInteger completedStarts;
+    private volatile boolean cancelled;
+
+    public SchwartzMultiStartEstimator(ForkJoinPool pool, SchwartzSimulatedData modelData, int numberOfStarts, Long seed) {
+        this(pool, new SchwartzKalmanFilter(modelData), numberOfStarts, DEFAULT_PRUNING_THRESHOLD, seed);
+    }
+
+    /**
+     * @param pool The pool that runs the estimations.
+     * @param kalmanFilter The filter of the observed data, which is shared between the estimations.
+     * @param numberOfStarts The number of estimations.
+     * @param pruningThreshold The difference in the negative log-likelihood by which a pruned estimation trails the lowest value.
+     * @param seed The seed of the starting points, or null for random starting points.
+     */
+    public SchwartzMultiStartEstimator(
+        ForkJoinPool pool,
+        SchwartzKalmanFilter kalmanFilter,
+        int numberOfStarts,
+        double pruningThreshold,
+        Long seed
+    ) {
+        Validate.notNull(pool, "The supplied ForkJoinPool was null!");
+        Validate.notNull(kalmanFilter, "The supplied Kalman filter was null!");
+        Validate.isTrue(numberOfStarts > 0, "The number of starts needs to be positive!");
+        Validate.isTrue(pruningThreshold > 0, "The pruning threshold needs to be positive!");
+
+        this.pool = pool;
+        this.kalmanFilter = kalmanFilter;
+        this.numberOfStarts = numberOfStarts;
+        this.pruningThreshold = pruningThreshold;
+        this.seed = seed;
+        this.minimizer = new BfgsMinimizer();
+        this.lowestValue = new DoubleAccumulator(Math::min, Double.POSITIVE_INFINITY);
+        this.completedStarts = new AtomicInteger();
+    }
+
+    /**
+     * @throws IllegalStateException if none of the estimations could be started.
+     * @throws CancellationException if the calculating thread is interrupted.
+     */
+    @Override
+    public SchwartzCalibrationResult calculate() {
+        double[][] startingPoints = getStartingPoints(numberOfStarts, SchwartzPathGenerator.resolveSeed(seed));
+        ForkJoinTask<List<SchwartzCalibrationResult.Start>> task = pool.submit(() -> IntStream.range(0, numberOfStarts)
+            .parallel()
+            .mapToObj(index -> estimate(index, startingPoints[index]))
+            .collect(Collectors.toList())
+        );
+
+        List<SchwartzCalibrationResult.Start> starts;
+        try {
+            starts = task.get();
+        } catch (InterruptedException ex) {
+            cancelled = true;
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The calibration with " + numberOfStarts + " starts was interrupted!");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("The calibration with " + numberOfStarts + " starts failed!", ex.getCause());
+        }
+
+        SchwartzCalibrationResult.Start best = starts.stream()
+            .filter(start -> Double.isFinite(start.getLogLikelihood()))
+            .max(Comparator.comparingDouble(SchwartzCalibrationResult.Start::getLogLikelihood))
+            .orElseThrow(() -> new IllegalStateException("None of the " + numberOfStarts + " estimations could be started!"));
+        SchwartzCalibrationResult result = new SchwartzCalibrationResult(
+            best.getModelParameters(),
+            best.getMeasurementError(),
+            best.getLogLikelihood(),
+            best.getIndex(),
+            starts
+        );
+
+        log.debug("Calibrated the parameters " + result.getModelParameters() + " with " + result.getNumberOfConvergedStarts()
+                  + " converged and " + result.getNumberOfPrunedStarts() + " pruned starts out of " + numberOfStarts + ".");
+        return result;
+    }
+
+    private SchwartzCalibrationResult.Start estimate(int index, double[] startingPoint) {
+        SchwartzModelParameters initialParameters = SchwartzKalmanEstimator.toParameters(startingPoint);
+        OptimizationResult result;
+        try {
+            result = minimizer.minimize(
+                SchwartzKalmanEstimator.getObjective(kalmanFilter),
+                startingPoint,
+                (iteration, value, gradientNorm) -> {
+                    lowestValue.accumulate(value);
+                    return !cancelled && (iteration < PRUNING_WARMUP_ITERATIONS || value - lowestValue.get() <= pruningThreshold);
+                }
+            );
+        } catch (IllegalArgumentException ex) {
+            // The likelihood is not finite at the starting point, so the start is reported without an estimate.
+            log.debug("Could not start the estimation from " + initialParameters + ".", ex);
+            result = new OptimizationResult(startingPoint, Double.POSITIVE_INFINITY, Double.NaN, 0, 1, OptimizationStatus.LINE_SEARCH_FAILED);
+        }
+        if (cancelled) {
+            throw new CancellationException("The calibration with " + numberOfStarts + " starts was interrupted!");
+        }
+        setProgress((double) completedStarts.incrementAndGet() / numberOfStarts);
+
+        return new SchwartzCalibrationResult.Start(
+            index,
+            initialParameters,
+            SchwartzKalmanEstimator.toParameters(result.getPoint()),
+            SchwartzKalmanEstimator.getMeasurementError(result.getPoint()),
+            -result.getValue(),
+            result.getGradientNorm(),
+            result.getIterations(),
+            result.getEvaluations(),
+            result.getStatus(),
+            result.getStatus() == OptimizationStatus.STOPPED
+        );
+    }
+
+    /**
+     * Samples the starting points from a Latin hypercube, shuffling the strata of every coordinate independently.
+     */
+    static double[][] getStartingPoints(int numberOfStarts, long seed) {
+        IRandomStream random = new CounterBasedRandomStream(seed);
+        double[][] startingPoints = new double[numberOfStarts][];
+        for (int s = 0; s < numberOfStarts; s++) {
+            startingPoints[s] = SchwartzKalmanEstimator.toCoordinates(
+                SchwartzKalmanEstimator.DEFAULT_INITIAL_PARAMETERS,
+                SchwartzKalmanEstimator.DEFAULT_INITIAL_MEASUREMENT_ERROR
+            );
+        }
+
+        int[] strata = new int[numberOfStarts];
+        for (int k = 0; k < LOWER_BOUNDS.length; k++) {
+            for (int s = 0; s < numberOfStarts; s++) {
+                strata[s] = s;
+            }
+            for (int s = numberOfStarts - 1; s > 0; s--) {
+                int swap = (int) (random.nextDouble() * (s + 1));
+                int stratum = strata[s];
+                strata[s] = strata[swap];
+                strata[swap] = stratum;
+            }
+            for (int s = 0; s < numberOfStarts; s++) {
+                double u = (strata[s] + random.nextDouble()) / numberOfStarts;
+                startingPoints[s][k] = LOWER_BOUNDS[k] + u * (UPPER_BOUNDS[k] - LOWER_BOUNDS[k]);
+            }
+        }
+        return startingPoints;
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    public SchwartzKalmanFilter getKalmanFilter() {
+        return this.kalmanFilter;
+    }
+
+    public int getNumberOfStarts() {
+        return this.numberOfStarts;
+    }
+
+    public double getPruningThreshold() {
+        return this.pruningThreshold;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+}
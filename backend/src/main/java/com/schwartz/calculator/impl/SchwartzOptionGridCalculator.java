@@ -0,0 +1,227 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzOptionQuote;
+import com.schwartz.model.SchwartzOptionStyle;
+import com.schwartz.model.SchwartzOptionType;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that prices a grid of options on the futures contracts for every combination
+ * of the {@code strikes} and the {@code expiries}. The European options are priced with the {@link SchwartzFuturesOptionEngine}, and the
+ * path dependent options with one Monte Carlo simulation of risk-neutral paths that is shared by the whole grid.
+ *
+ * @author woope
+ * @see SchwartzOptionQuote
+ */
+public class SchwartzOptionGridCalculator extends AbstractCallableSchwartzCalculator<List<SchwartzOptionQuote>> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzOptionGridCalculator.class.getName());
+
+    private final double initialSpot;
+    private final double initialConvenienceYield;
+    private final SchwartzFuturesOptionEngine optionEngine;
+    private final SchwartzOptionType optionType;
+    private final SchwartzOptionStyle style;
+    private final double[] strikes;
+    private final double[] expiries;
+    private final double[] time2maturities;
+    private final int numberOfPaths;
+    private final Long seed;
+
+    /**
+     * @param strikes The strike prices of the options.
+     * @param expiries The times to the expiries of the options in trading days, which are whole trading days for the path dependent options.
+     * @param time2maturities The times to maturity of the underlying contracts in trading days, one for every expiry.
+     * @param numberOfPaths The number of Monte Carlo paths of the path dependent options, which needs to be even.
+     * @param seed The seed of the Monte Carlo simulation, or null for a non-reproducible simulation.
+     */
+    public SchwartzOptionGridCalculator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        SchwartzOptionType optionType,
+        SchwartzOptionStyle style,
+        double[] strikes,
+        double[] expiries,
+        double[] time2maturities,
+        int numberOfPaths,
+        Long seed
+    ) {
+        Validate.isTrue(initialSpot > 0, "The initial spot price needs to be positive!");
+        Validate.notNull(optionType, "The supplied option type was null!");
+        Validate.notNull(style, "The supplied option style was null!");
+        Validate.isTrue(strikes != null && strikes.length > 0, "The strike prices can not be empty!");
+        Validate.isTrue(expiries != null && expiries.length > 0, "The expiries can not be empty!");
+        Validate.isTrue(
+            time2maturities != null && time2maturities.length == expiries.length,
+            "Expected a time to maturity for every expiry!"
+        );
+        for (double strike : strikes) {
+            Validate.isTrue(strike > 0, "The strike prices need to be positive! The strike price: " + strike);
+        }
+        for (int i = 0; i < expiries.length; i++) {
+            Validate.isTrue(expiries[i] >= 0, "The expiries can not be negative! The expiry: " + expiries[i]);
+            Validate.isTrue(
+                time2maturities[i] >= expiries[i],
+                "The contract can not mature before the expiry of the option! The expiry: " + expiries[i]
+            );
+            Validate.isTrue(
+                !style.getPathDependent() || (expiries[i] >= 1 && expiries[i] == Math.rint(expiries[i])),
+                "The path dependent options need to expire after whole trading days! The expiry: " + expiries[i]
+            );
+        }
+        Validate.isTrue(
+            !style.getPathDependent() || (numberOfPaths > 4 && numberOfPaths % 2 == 0),
+            "The path dependent options need an even number of paths above 4! The number of paths: " + numberOfPaths
+        );
+
+        this.initialSpot = initialSpot;
+        this.initialConvenienceYield = initialConvenienceYield;
+        this.optionEngine = new SchwartzFuturesOptionEngine(modelParameters);
+        this.optionType = optionType;
+        this.style = style;
+        this.strikes = strikes.clone();
+        this.expiries = expiries.clone();
+        this.time2maturities = time2maturities.clone();
+        this.numberOfPaths = numberOfPaths;
+        this.seed = seed;
+    }
+
+    /**
+     * @return The quotes in the order of the expiries, and the strikes within every expiry.
+     */
+    @Override
+    public List<SchwartzOptionQuote> calculate() {
+        List<SchwartzOptionQuote> quotes = style.getPathDependent() ? priceByMonteCarlo() : priceAnalytically();
+        log.debug("Priced " + quotes.size() + " " + style + " options for the parameterset " + getModelParameters() + ".");
+        return quotes;
+    }
+
+    private List<SchwartzOptionQuote> priceAnalytically() {
+        List<SchwartzOptionQuote> quotes = new ArrayList<>(expiries.length * strikes.length);
+        for (int i = 0; i < expiries.length; i++) {
+            double futuresPrice = optionEngine.getFuturesPrice(initialSpot, initialConvenienceYield, time2maturities[i]);
+            double volatility = optionEngine.getVolatility(expiries[i], time2maturities[i]);
+            for (double strike : strikes) {
+                double price = optionEngine.getPrice(optionType, futuresPrice, strike, expiries[i], time2maturities[i]);
+                quotes.add(newQuote(strike, i, futuresPrice, volatility, price, 0));
+            }
+        }
+        return quotes;
+    }
+
+    private List<SchwartzOptionQuote> priceByMonteCarlo() {
+        double[][] averages = simulateAverages();
+        int numberOfSamples = numberOfPaths / 2;
+        double[] samples = new double[numberOfSamples];
+        double[][] controls = new double[numberOfSamples][1];
+
+        List<SchwartzOptionQuote> quotes = new ArrayList<>(expiries.length * strikes.length);
+        for (int i = 0; i < expiries.length; i++) {
+            double futuresPrice = optionEngine.getFuturesPrice(initialSpot, initialConvenienceYield, time2maturities[i]);
+            double volatility = optionEngine.getVolatility(expiries[i], time2maturities[i]);
+            double discountFactor = optionEngine.getDiscountFactor(expiries[i]);
+            for (double strike : strikes) {
+                // The samples are the payoffs and the centered averages of the antithetic pairs.
+                for (int s = 0; s < numberOfSamples; s++) {
+                    samples[s] = 0.5 * (optionType.getPayoff(averages[2 * s][i], strike) + optionType.getPayoff(averages[2 * s + 1][i], strike));
+                    controls[s][0] = 0.5 * (averages[2 * s][i] + averages[2 * s + 1][i]) - futuresPrice;
+                }
+                double coefficient = SchwartzMonteCarloEstimator.getCoefficients(samples, controls)[0];
+
+                double sum = 0;
+                double squareSum = 0;
+                for (int s = 0; s < numberOfSamples; s++) {
+                    double adjusted = samples[s] - coefficient * controls[s][0];
+                    sum += adjusted;
+                    squareSum += adjusted * adjusted;
+                }
+                double mean = sum / numberOfSamples;
+                double variance = Math.max(0, squareSum - numberOfSamples * mean * mean) / (numberOfSamples - 2) / numberOfSamples;
+                quotes.add(newQuote(strike, i, futuresPrice, volatility, discountFactor * mean, discountFactor * Math.sqrt(variance)));
+            }
+        }
+        return quotes;
+    }
+
+    /**
+     * Simulates the averages of the daily futures prices of every expiry, excluding the current futures price.
+     *
+     * @return The averages of every path and expiry.
+     */
+    private double[][] simulateAverages() {
+        int maxExpiry = 0;
+        for (double expiry : expiries) {
+            maxExpiry = Math.max(maxExpiry, (int) expiry);
+        }
+        // The first time step of the paths is the current state, so the paths span the expiry and the current state.
+        int synthYears = (maxExpiry + SchwartzPathGenerator.TRADING_DAYS_PER_YEAR) / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        SchwartzPathGenerator pathGenerator = new SchwartzPathGenerator(
+            initialSpot,
+            initialConvenienceYield,
+            optionEngine.getRiskNeutralParameters(),
+            false,
+            synthYears,
+            0
+        );
+        long resolvedSeed = SchwartzPathGenerator.resolveSeed(seed);
+
+        double[][] averages = new double[numberOfPaths][expiries.length];
+        for (int p = 0; p < numberOfPaths; p++) {
+            double[] pathAverages = averages[p];
+            ISchwartzPathListener listener = (pathIndex, time, spotPrice, convenienceYield, contractMaturities, futuresPrices) -> {
+                int elapsed = time - 1;
+                for (int i = 0; i < expiries.length; i++) {
+                    if (elapsed >= 1 && elapsed <= expiries[i]) {
+                        pathAverages[i] += optionEngine.getFuturesPrice(spotPrice, convenienceYield, time2maturities[i] - elapsed) / expiries[i];
+                    }
+                }
+            };
+            pathGenerator.generateAntithetic(resolvedSeed, p, listener);
+            setProgress((double) (p + 1) / numberOfPaths);
+        }
+        return averages;
+    }
+
+    private SchwartzOptionQuote newQuote(double strike, int expiryIndex, double futuresPrice, double volatility, double price, double standardError) {
+        return new SchwartzOptionQuote(
+            optionType,
+            style,
+            strike,
+            expiries[expiryIndex],
+            time2maturities[expiryIndex],
+            futuresPrice,
+            volatility,
+            price,
+            standardError
+        );
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.optionEngine.getModelParameters();
+    }
+
+    public SchwartzOptionType getOptionType() {
+        return this.optionType;
+    }
+
+    public SchwartzOptionStyle getStyle() {
+        return this.style;
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public Long getSeed() {
+        return this.seed;
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that splits a multi-path simulation into chunks of {@code chunkSize} paths,
+ * and calculates the chunks in parallel on a {@link ForkJoinPool}. The chunks are merged into a single {@link SchwartzSimulatedPaths} once
+ * all of them are completed.
+ *
+ * @author woope
+ * @see ISchwartzCalculator
+ * @see AbstractCallableSchwartzCalculator
+ */
+public class SchwartzParallelPathSimulator extends AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzParallelPathSimulator.class.getName());
+
+    /**
+     * Creates the calculator of a single chunk.
+     */
+    @FunctionalInterface
+    public interface ChunkCalculatorFactory {
+
+        /**
+         * @param firstPathIndex The index of the first path of the chunk within the whole simulation.
+         * @param numberOfPaths The number of paths in the chunk.
+         * @return The calculator that calculates the paths of the chunk.
+         */
+        public AbstractCallableSchwartzCalculator<SchwartzSimulatedPaths> create(int firstPathIndex, int numberOfPaths);
+    }
+
+    private final ForkJoinPool pool;
+    private final int numberOfPaths;
+    private final int chunkSize;
+    private final ChunkCalculatorFactory chunkCalculatorFactory;
+    private final AtomicInteger completedPaths;
+    private volatile boolean cancelled;
+
+    public SchwartzParallelPathSimulator(
+        ForkJoinPool pool,
+        int numberOfPaths,
+        int chunkSize,
+        ChunkCalculatorFactory chunkCalculatorFactory
+    ) {
+        Validate.notNull(pool, "The supplied ForkJoinPool was null!");
+        Validate.notNull(chunkCalculatorFactory, "The supplied ChunkCalculatorFactory was null!");
+        Validate.isTrue(numberOfPaths > 0, "The number of paths needs to be positive!");
+        Validate.isTrue(chunkSize > 0, "The chunk size needs to be positive!");
+
+        this.pool = pool;
+        this.numberOfPaths = numberOfPaths;
+        this.chunkSize = chunkSize;
+        this.chunkCalculatorFactory = chunkCalculatorFactory;
+        this.completedPaths = new AtomicInteger();
+    }
+
+    /**
+     * @throws IllegalStateException if a chunk could not be calculated.
+     * @throws CancellationException if the calculating thread is interrupted.
+     */
+    @Override
+    public SchwartzSimulatedPaths calculate() {
+        SchwartzSimulatedPaths[] chunks = new SchwartzSimulatedPaths[getNumberOfChunks()];
+        ForkJoinTask<Void> task = pool.submit(new ChunkRangeTask(chunks, 0, chunks.length));
+        try {
+            task.get();
+        } catch (InterruptedException ex) {
+            cancelled = true;
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The parallel simulation of " + numberOfPaths + " paths was interrupted!");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("The parallel simulation of " + numberOfPaths + " paths failed!", ex.getCause());
+        }
+
+        log.debug("Simulated " + numberOfPaths + " paths in " + chunks.length + " chunks.");
+        return merge(chunks);
+    }
+
+    private void calculateChunk(SchwartzSimulatedPaths[] chunks, int chunkIndex) {
+        if (cancelled || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("The parallel simulation of " + numberOfPaths + " paths was interrupted!");
+        }
+
+        int firstPathIndex = chunkIndex * chunkSize;
+        int chunkPaths = Math.min(chunkSize, numberOfPaths - firstPathIndex);
+        SchwartzSimulatedPaths chunk = chunkCalculatorFactory.create(firstPathIndex, chunkPaths).call();
+        Validate.validState(
+            chunk != null && chunk.getNumberOfPaths() == chunkPaths,
+            "Could not calculate the paths " + firstPathIndex + "-" + (firstPathIndex + chunkPaths - 1) + "!"
+        );
+
+        chunks[chunkIndex] = chunk;
+        setProgress((double) completedPaths.addAndGet(chunkPaths) / numberOfPaths);
+    }
+
+    private SchwartzSimulatedPaths merge(SchwartzSimulatedPaths[] chunks) {
+        int numberOfContracts = 0;
+        for (SchwartzSimulatedPaths chunk : chunks) {
+            numberOfContracts = Math.max(numberOfContracts, chunk.getNumberOfContracts());
+        }
+
+        SchwartzSimulatedPaths paths = new SchwartzSimulatedPaths(chunks[0].getTimeline(), numberOfPaths, numberOfContracts);
+        int rowsPerPath = 2 + 2 * numberOfContracts;
+        for (int c = 0; c < chunks.length; c++) {
+            for (int p = 0; p < chunks[c].getNumberOfPaths(); p++) {
+                double[][] rows = chunks[c].getPathRows(p);
+                if (rows.length < rowsPerPath) {
+                    rows = padRows(rows, rowsPerPath);
+                }
+                paths.putPath(c * chunkSize + p, rows);
+            }
+        }
+        return paths;
+    }
+
+    private static double[][] padRows(double[][] rows, int rowsPerPath) {
+        double[][] padded = Arrays.copyOf(rows, rowsPerPath);
+        for (int i = rows.length; i < rowsPerPath; i++) {
+            padded[i] = new double[rows[0].length];
+            Arrays.fill(padded[i], Double.NaN);
+        }
+        return padded;
+    }
+
+    public int getNumberOfChunks() {
+        return (numberOfPaths + chunkSize - 1) / chunkSize;
+    }
+
+    public ForkJoinPool getPool() {
+        return this.pool;
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * Calculates the chunks {@code from, ..., to - 1}, forking the upper half of the range until a single chunk remains.
+     */
+    private final class ChunkRangeTask extends RecursiveAction {
+
+        private final SchwartzSimulatedPaths[] chunks;
+        private final int from;
+        private final int to;
+
+        private ChunkRangeTask(SchwartzSimulatedPaths[] chunks, int from, int to) {
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                calculateChunk(chunks, from);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkRangeTask(chunks, from, middle), new ChunkRangeTask(chunks, middle, to));
+        }
+    }
+}
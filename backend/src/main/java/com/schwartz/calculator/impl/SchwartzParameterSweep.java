@@ -0,0 +1,149 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.ISchwartzSweepListener;
+import com.schwartz.model.SchwartzModelParameters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A {@link AbstractCallableSchwartzCalculator} implementation that calculates every distinct parameterset of a sweep once, on
+ * {@code parallelism} workers of the {@link ForkJoinPool}, and supplies the results to an {@link ISchwartzSweepListener}. A failed
+ * parameterset is reported to the listener, while an interrupt or a throwing listener aborts the sweep.
+ *
+ * @author woope
+ * @param <K> The return-type of the calculation of a single parameterset.
+ * @see ISchwartzSweepListener
+ */
+public class SchwartzParameterSweep<K> extends AbstractCallableSchwartzCalculator<Integer> {
+
+    private static final Logger log = LogManager.getLogger(SchwartzParameterSweep.class.getName());
+
+    private final ForkJoinPool pool;
+    private final List<SchwartzModelParameters> parameterSets;
+    private final int parallelism;
+    private final Function<SchwartzModelParameters, Callable<K>> calculatorFactory;
+    private final ISchwartzSweepListener<K> listener;
+    private final AtomicInteger nextIndex;
+    private final AtomicInteger completedSets;
+    private volatile boolean cancelled;
+
+    /**
+     * @param parameterSets The parametersets of the sweep, which may contain duplicates.
+     * @param parallelism The maximum number of concurrently calculated parametersets.
+     * @param calculatorFactory Creates the calculator of a single parameterset.
+     * @param listener The listener that receives the results.
+     */
+    public SchwartzParameterSweep(
+        ForkJoinPool pool,
+        Collection<SchwartzModelParameters> parameterSets,
+        int parallelism,
+        Function<SchwartzModelParameters, Callable<K>> calculatorFactory,
+        ISchwartzSweepListener<K> listener
+    ) {
+        Validate.notNull(pool, "The supplied ForkJoinPool was null!");
+        Validate.isTrue(parameterSets != null && !parameterSets.isEmpty(), "The parametersets can not be empty!");
+        Validate.noNullElements(parameterSets, "The parametersets can not contain nulls!");
+        Validate.isTrue(parallelism > 0, "The parallelism needs to be positive!");
+        Validate.notNull(calculatorFactory, "The supplied calculator factory was null!");
+        Validate.notNull(listener, "The supplied listener was null!");
+
+        this.pool = pool;
+        this.parameterSets = new ArrayList<>(new LinkedHashSet<>(parameterSets));
+        this.parallelism = Math.min(parallelism, this.parameterSets.size());
+        this.calculatorFactory = calculatorFactory;
+        this.listener = listener;
+        this.nextIndex = new AtomicInteger();
+        this.completedSets = new AtomicInteger();
+    }
+
+    /**
+     * @return The number of the distinct parametersets, including the failed ones.
+     * @throws CancellationException if the calculating thread is interrupted.
+     */
+    @Override
+    public Integer calculate() {
+        List<ForkJoinTask<?>> workers = new ArrayList<>(parallelism);
+        for (int w = 0; w < parallelism; w++) {
+            workers.add(pool.submit(this::work));
+        }
+        try {
+            for (ForkJoinTask<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException ex) {
+            cancel(workers);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("The sweep over " + parameterSets.size() + " parametersets was interrupted!");
+        } catch (ExecutionException ex) {
+            cancel(workers);
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("The sweep over " + parameterSets.size() + " parametersets failed!", ex.getCause());
+        }
+
+        log.debug("Swept " + parameterSets.size() + " parametersets with " + parallelism + " workers.");
+        return parameterSets.size();
+    }
+
+    private void cancel(List<ForkJoinTask<?>> workers) {
+        cancelled = true;
+        workers.forEach(worker -> worker.cancel(true));
+    }
+
+    private void work() {
+        for (int index = nextIndex.getAndIncrement(); index < parameterSets.size(); index = nextIndex.getAndIncrement()) {
+            if (cancelled || Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("The sweep over " + parameterSets.size() + " parametersets was interrupted!");
+            }
+
+            SchwartzModelParameters modelParameters = parameterSets.get(index);
+            K result;
+            try {
+                result = calculatorFactory.apply(modelParameters).call();
+                Validate.validState(result != null, "The calculation of the parameterset " + modelParameters + " returned no result!");
+            } catch (CancellationException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                log.debug("The calculation of the parameterset " + modelParameters + " failed!", ex);
+                synchronized (listener) {
+                    listener.onFailure(index, modelParameters, ex);
+                }
+                setProgress((double) completedSets.incrementAndGet() / parameterSets.size());
+                continue;
+            }
+            synchronized (listener) {
+                listener.onResult(index, modelParameters, result);
+            }
+            setProgress((double) completedSets.incrementAndGet() / parameterSets.size());
+        }
+    }
+
+    /**
+     * @return The distinct parametersets in the order of their first occurrence.
+     */
+    public List<SchwartzModelParameters> getParameterSets() {
+        return this.parameterSets;
+    }
+
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    public ISchwartzSweepListener<K> getListener() {
+        return this.listener;
+    }
+}
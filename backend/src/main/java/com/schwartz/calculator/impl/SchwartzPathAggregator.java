@@ -0,0 +1,143 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.model.SchwartzPathSummary;
+import com.schwartz.statistics.QuantileSketch;
+import com.schwartz.statistics.RunningMoments;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An {@link ISchwartzPathListener} that reduces the sample paths to the {@link RunningMoments moments} and the
+ * {@link QuantileSketch quantile sketches} of every time step as the paths are generated. The aggregators are not thread-safe, but the
+ * aggregators of separate threads can be {@link #merge(SchwartzPathAggregator) merged}.
+ *
+ * @author woope
+ * @see SchwartzPathSummary
+ */
+public class SchwartzPathAggregator implements ISchwartzPathListener {
+
+    private static final int SPOT_PRICE_SERIES = 0;
+    private static final int CONVENIENCE_YIELD_SERIES = 1;
+    private static final int FIRST_FUTURES_PRICE_SERIES = 2;
+
+    private final int numberOfTimesteps;
+    private final int numberOfContracts;
+    private final double relativeAccuracy;
+    private final RunningMoments[][] moments;
+    private final QuantileSketch[][] sketches;
+    private int numberOfPaths;
+
+    /**
+     * @param numberOfTimesteps The number of time steps of the paths.
+     * @param numberOfContracts The number of aggregated contracts, the further contracts of the term structures being ignored.
+     * @param relativeAccuracy The relative accuracy of the quantiles.
+     */
+    public SchwartzPathAggregator(int numberOfTimesteps, int numberOfContracts, double relativeAccuracy) {
+        Validate.isTrue(numberOfTimesteps > 0, "The number of time steps needs to be positive!");
+        Validate.isTrue(numberOfContracts >= 0, "The number of contracts can not be negative!");
+
+        this.numberOfTimesteps = numberOfTimesteps;
+        this.numberOfContracts = numberOfContracts;
+        this.relativeAccuracy = relativeAccuracy;
+        this.moments = new RunningMoments[FIRST_FUTURES_PRICE_SERIES + numberOfContracts][numberOfTimesteps];
+        this.sketches = new QuantileSketch[FIRST_FUTURES_PRICE_SERIES + numberOfContracts][numberOfTimesteps];
+        for (int s = 0; s < moments.length; s++) {
+            for (int j = 0; j < numberOfTimesteps; j++) {
+                moments[s][j] = new RunningMoments();
+                sketches[s][j] = new QuantileSketch(relativeAccuracy, QuantileSketch.DEFAULT_MAX_NUMBER_OF_BUCKETS);
+            }
+        }
+    }
+
+    @Override
+    public void onTimestep(int pathIndex, int time, double spotPrice, double convenienceYield, double[] time2maturities, double[] futuresPrices) {
+        int j = time - 1;
+        add(SPOT_PRICE_SERIES, j, spotPrice);
+        add(CONVENIENCE_YIELD_SERIES, j, convenienceYield);
+        int contracts = Math.min(numberOfContracts, futuresPrices.length);
+        for (int k = 0; k < contracts; k++) {
+            add(FIRST_FUTURES_PRICE_SERIES + k, j, futuresPrices[k]);
+        }
+    }
+
+    @Override
+    public void onPathCompleted(int pathIndex) {
+        numberOfPaths++;
+    }
+
+    private void add(int series, int j, double value) {
+        moments[series][j].add(value);
+        sketches[series][j].add(value);
+    }
+
+    /**
+     * Merges the statistics of another aggregator of the same shape into this aggregator.
+     */
+    public void merge(SchwartzPathAggregator other) {
+        Validate.notNull(other, "The supplied aggregator was null!");
+        Validate.isTrue(
+            numberOfTimesteps == other.numberOfTimesteps && numberOfContracts == other.numberOfContracts,
+            "Only the aggregators of the same shape can be merged!"
+        );
+        for (int s = 0; s < moments.length; s++) {
+            for (int j = 0; j < numberOfTimesteps; j++) {
+                moments[s][j].merge(other.moments[s][j]);
+                sketches[s][j].merge(other.sketches[s][j]);
+            }
+        }
+        numberOfPaths += other.numberOfPaths;
+    }
+
+    /**
+     * Returns the summary statistics of the aggregated paths.
+     *
+     * @param timeline The timeline of the paths.
+     * @param probabilities The probabilities of the summarized quantiles.
+     */
+    public SchwartzPathSummary getSummary(double[] timeline, double[] probabilities) {
+        Validate.isTrue(timeline != null && timeline.length == numberOfTimesteps, "The timeline does not match the number of time steps!");
+        Validate.notNull(probabilities, "The supplied probabilities were null!");
+
+        List<SchwartzPathSummary.SeriesSummary> series = new ArrayList<>(moments.length);
+        for (int s = 0; s < moments.length; s++) {
+            double[] means = new double[numberOfTimesteps];
+            double[] standardDeviations = new double[numberOfTimesteps];
+            double[][] quantiles = new double[probabilities.length][numberOfTimesteps];
+            for (int j = 0; j < numberOfTimesteps; j++) {
+                means[j] = moments[s][j].getMean();
+                standardDeviations[j] = moments[s][j].getStandardDeviation();
+                for (int q = 0; q < probabilities.length; q++) {
+                    quantiles[q][j] = sketches[s][j].getQuantile(probabilities[q]);
+                }
+            }
+            series.add(new SchwartzPathSummary.SeriesSummary(getSeriesName(s), means, standardDeviations, quantiles));
+        }
+        return new SchwartzPathSummary(numberOfPaths, timeline.clone(), probabilities.clone(), relativeAccuracy, series);
+    }
+
+    private static String getSeriesName(int series) {
+        switch (series) {
+            case SPOT_PRICE_SERIES:
+                return "spotPrice";
+            case CONVENIENCE_YIELD_SERIES:
+                return "convenienceYield";
+            default:
+                return "futuresPrice" + (series - FIRST_FUTURES_PRICE_SERIES + 1);
+        }
+    }
+
+    public int getNumberOfTimesteps() {
+        return this.numberOfTimesteps;
+    }
+
+    public int getNumberOfContracts() {
+        return this.numberOfContracts;
+    }
+
+    public int getNumberOfPaths() {
+        return this.numberOfPaths;
+    }
+
+}
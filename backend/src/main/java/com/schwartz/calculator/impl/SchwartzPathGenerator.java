@@ -0,0 +1,206 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.random.AntitheticRandomStream;
+import com.schwartz.random.CounterBasedRandomStream;
+import com.schwartz.random.IRandomStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Generates the sample paths of the Schwartz two factor model in the JVM.
+ *
+ * The dynamics <b>under the real world measure P</b> are discretized with the Euler-Maruyama scheme using daily time steps:
+ * <pre>
+ *  ln S(t + dt)  = ln S(t) + (mu - delta(t) - sigmaSpot^2 / 2) dt + sigmaSpot dZ1
+ *  delta(t + dt) = delta(t) + kappa (alpha - delta(t)) dt + sigmaCY dZ2
+ * </pre>
+ * where the increments dZ1 and dZ2 are correlated with rho. The generator is immutable, and a seeded path can be regenerated on its own from
+ * the seed and the path index.
+ *
+ * @author woope
+ * @see ISchwartzPathListener
+ */
+public class SchwartzPathGenerator {
+
+    public static final int TRADING_DAYS_PER_YEAR = 252;
+    public static final int CONTRACT_ROLL_DAYS = 21;
+    public static final int DEFAULT_SYNTH_YEARS = 1;
+    public static final int DEFAULT_NUMBER_OF_CONTRACTS = 6;
+
+    private static final int INTERRUPTION_CHECK_INTERVAL = 64;
+
+    private final double initialSpot;
+    private final double initialConvenienceYield;
+    private final SchwartzModelParameters modelParameters;
+    private final boolean simulateTermStructure;
+    private final int synthYears;
+    private final int numberOfContracts;
+    private final SchwartzTermStructureEngine termStructureEngine;
+
+    public SchwartzPathGenerator(
+        double initialSpot,
+        double initialConvenienceYield,
+        SchwartzModelParameters modelParameters,
+        boolean simulateTermStructure,
+        int synthYears,
+        int numberOfContracts
+    ) {
+        Validate.notNull(modelParameters, "The supplied model parameters were null!");
+        Validate.isTrue(initialSpot > 0, "The initial spot price needs to be positive!");
+        Validate.isTrue(synthYears > 0, "The number of simulated years needs to be positive!");
+        Validate.isTrue(numberOfContracts >= 0, "The number of contracts can not be negative!");
+        Validate.isTrue(
+            modelParameters.getSigmaSpot() >= 0 && modelParameters.getSigmaConvenienceYield() >= 0,
+            "The volatilities can not be negative!"
+        );
+        Validate.isTrue(Math.abs(modelParameters.getRho()) <= 1, "The rho needs to be between -1 and 1!");
+        this.initialSpot = initialSpot;
+        this.initialConvenienceYield = initialConvenienceYield;
+        this.modelParameters = modelParameters;
+        this.simulateTermStructure = simulateTermStructure;
+        this.synthYears = synthYears;
+        this.numberOfContracts = numberOfContracts;
+        this.termStructureEngine = simulateTermStructure ? new SchwartzTermStructureEngine(modelParameters, numberOfContracts) : null;
+    }
+
+    /**
+     * Generates a single sample path, and supplies its time steps to the {@link ISchwartzPathListener listener}.
+     *
+     * @param pathIndex The index of the generated path, which is passed on to the listener.
+     * @param random The source of the random increments.
+     * @param listener The listener that receives the time steps.
+     * @throws CancellationException if the generating thread is interrupted.
+     */
+    public void generate(int pathIndex, IRandomStream random, ISchwartzPathListener listener) {
+        int timesteps = getNumberOfTimesteps();
+        // Without the term structure, the time steps are supplied with empty contract datasets.
+        double[] time2maturities = new double[getTermStructureLength()];
+        double[] futuresPrices = new double[getTermStructureLength()];
+
+        double dt = 1d / TRADING_DAYS_PER_YEAR;
+        double sqrtDt = Math.sqrt(dt);
+
+        double mu = modelParameters.getMu();
+        double sigmaSpot = modelParameters.getSigmaSpot();
+        double kappa = modelParameters.getKappa();
+        double alpha = modelParameters.getAlpha();
+        double sigmaConvenienceYield = modelParameters.getSigmaConvenienceYield();
+        double rho = modelParameters.getRho();
+        double rhoComplement = Math.sqrt(1 - rho * rho);
+
+        double spot = initialSpot;
+        double convenienceYield = initialConvenienceYield;
+        for (int time = 1; time <= timesteps; time++) {
+            if (termStructureEngine != null) {
+                termStructureEngine.fillRollingTermStructure(time, spot, convenienceYield, time2maturities, futuresPrices);
+            }
+            listener.onTimestep(pathIndex, time, spot, convenienceYield, time2maturities, futuresPrices);
+
+            double z1 = random.nextGaussian();
+            double z2 = rho * z1 + rhoComplement * random.nextGaussian();
+            spot *= Math.exp((mu - convenienceYield - 0.5 * sigmaSpot * sigmaSpot) * dt + sigmaSpot * sqrtDt * z1);
+            convenienceYield += kappa * (alpha - convenienceYield) * dt + sigmaConvenienceYield * sqrtDt * z2;
+
+            if (time % INTERRUPTION_CHECK_INTERVAL == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("The simulation for the parameterset " + modelParameters + " was interrupted!");
+            }
+        }
+        listener.onPathCompleted(pathIndex);
+    }
+
+    /**
+     * Generates a single sample path with the substream of the path.
+     *
+     * @param seed The seed of the simulation.
+     * @param pathIndex The index of the generated path.
+     * @param listener The listener that receives the time steps.
+     * @see CounterBasedRandomStream#forPath(long, long)
+     */
+    public void generate(long seed, int pathIndex, ISchwartzPathListener listener) {
+        generate(pathIndex, CounterBasedRandomStream.forPath(seed, pathIndex), listener);
+    }
+
+    /**
+     * Generates a single sample path of an antithetic simulation, i.e. the mirror image of its pair if the path index is odd.
+     *
+     * @param seed The seed of the simulation.
+     * @param pathIndex The index of the generated path.
+     * @param listener The listener that receives the time steps.
+     * @see AntitheticRandomStream
+     */
+    public void generateAntithetic(long seed, int pathIndex, ISchwartzPathListener listener) {
+        IRandomStream random = CounterBasedRandomStream.forPath(seed, pathIndex / 2);
+        generate(pathIndex, pathIndex % 2 == 0 ? random : new AntitheticRandomStream(random), listener);
+    }
+
+    /**
+     * Resolves the seed of a simulation.
+     *
+     * @param seed The seed of a reproducible simulation, or null for a non-reproducible simulation.
+     * @return The {@code seed}, or a random seed if the seed is null.
+     */
+    public static long resolveSeed(Long seed) {
+        return seed == null ? ThreadLocalRandom.current().nextLong() : seed;
+    }
+
+    /**
+     * Returns the timeline of the generated paths.
+     *
+     * @return The trading days {@code 1, 2, ..., synthYears * }{@value #TRADING_DAYS_PER_YEAR}.
+     */
+    public double[] getTimeline() {
+        double[] timeline = new double[getNumberOfTimesteps()];
+        for (int j = 0; j < timeline.length; j++) {
+            timeline[j] = j + 1;
+        }
+        return timeline;
+    }
+
+    public int getNumberOfTimesteps() {
+        return synthYears * TRADING_DAYS_PER_YEAR;
+    }
+
+    /**
+     * Returns the number of contracts in the generated term structures.
+     *
+     * @return The number of contracts, or zero if the term structure is not simulated.
+     */
+    public int getTermStructureLength() {
+        return simulateTermStructure ? numberOfContracts : 0;
+    }
+
+    public double getInitialSpot() {
+        return this.initialSpot;
+    }
+
+    public double getInitialConvenienceYield() {
+        return this.initialConvenienceYield;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.modelParameters;
+    }
+
+    public boolean getSimulateTermStructure() {
+        return this.simulateTermStructure;
+    }
+
+    public int getSynthYears() {
+        return this.synthYears;
+    }
+
+    public int getNumberOfContracts() {
+        return this.numberOfContracts;
+    }
+
+    /**
+     * @return The engine of the term structures, or null if the term structure is not simulated.
+     */
+    public SchwartzTermStructureEngine getTermStructureEngine() {
+        return this.termStructureEngine;
+    }
+
+}
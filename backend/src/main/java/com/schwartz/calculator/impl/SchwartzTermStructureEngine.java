@@ -0,0 +1,176 @@
+package com.schwartz.calculator.impl;
+
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Constructs the futures term structures of the Schwartz two factor model analytically.
+ *
+ * The futures price of a contract that matures in T years is given by the closed form solution
+ * <pre>
+ *  F(S, delta, T) = S * exp(-delta * B(T) + A(T)),  B(T) = (1 - e^(-kappa T)) / kappa
+ *  A(T) = (r - alphaHat + sigmaCY^2 / (2 kappa^2) - sigmaSpot sigmaCY rho / kappa) T + sigmaCY^2 (1 - e^(-2 kappa T)) / (4 kappa^3)
+ *         + (alphaHat kappa + sigmaSpot sigmaCY rho - sigmaCY^2 / kappa) (1 - e^(-kappa T)) / kappa^2
+ * </pre>
+ * where {@code alphaHat = alpha - lambda / kappa}. The coefficients are tabulated once for the whole trading days to maturity.
+ *
+ * @author woope
+ * @see SchwartzPathGenerator
+ */
+public class SchwartzTermStructureEngine {
+
+    private final SchwartzModelParameters modelParameters;
+    private final int numberOfContracts;
+    private final double[] rollingA;
+    private final double[] rollingB;
+
+    /**
+     * @param modelParameters The model parameters, with a positive kappa.
+     * @param numberOfContracts The number of contracts in the rolling term structures.
+     */
+    public SchwartzTermStructureEngine(SchwartzModelParameters modelParameters, int numberOfContracts) {
+        Validate.notNull(modelParameters, "The supplied model parameters were null!");
+        Validate.isTrue(modelParameters.getKappa() > 0, "The term structure can only be constructed for a positive kappa!");
+        Validate.isTrue(numberOfContracts >= 0, "The number of contracts can not be negative!");
+
+        this.modelParameters = modelParameters;
+        this.numberOfContracts = numberOfContracts;
+
+        int maxTime2maturity = numberOfContracts * SchwartzPathGenerator.CONTRACT_ROLL_DAYS;
+        this.rollingA = new double[maxTime2maturity + 1];
+        this.rollingB = new double[maxTime2maturity + 1];
+        for (int days = 1; days <= maxTime2maturity; days++) {
+            double maturity = (double) days / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+            rollingA[days] = getA(maturity);
+            rollingB[days] = getB(maturity);
+        }
+    }
+
+    /**
+     * Returns the futures price of a contract.
+     *
+     * @param spotPrice The spot price.
+     * @param convenienceYield The convenience yield.
+     * @param maturity The time to maturity in years.
+     * @return The futures price.
+     */
+    public double getFuturesPrice(double spotPrice, double convenienceYield, double maturity) {
+        return spotPrice * Math.exp(-convenienceYield * getB(maturity) + getA(maturity));
+    }
+
+    /**
+     * Returns the term structure of the contracts with the supplied times to maturity.
+     *
+     * @param spotPrice The spot price.
+     * @param convenienceYield The convenience yield.
+     * @param time2maturities The times to maturity in trading days.
+     * @return The contract entries of the term structure.
+     */
+    public List<SchwartzSimulatedData.ContractEntry> getContractEntries(double spotPrice, double convenienceYield, double... time2maturities) {
+        Validate.notNull(time2maturities, "The supplied times to maturity were null!");
+
+        List<SchwartzSimulatedData.ContractEntry> contractEntries = new ArrayList<>(time2maturities.length);
+        for (double time2maturity : time2maturities) {
+            double maturity = time2maturity / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+            contractEntries.add(new SchwartzSimulatedData.ContractEntry(time2maturity, getFuturesPrice(spotPrice, convenienceYield, maturity)));
+        }
+        return contractEntries;
+    }
+
+    /**
+     * Fills the rolling term structure at the supplied time.
+     *
+     * @param time The trading day of the term structure.
+     * @param spotPrice The spot price.
+     * @param convenienceYield The convenience yield.
+     * @param time2maturities The times to maturity in trading days, filled for every element up to {@code numberOfContracts}.
+     * @param futuresPrices The futures prices, in the same order as the {@code time2maturities}.
+     */
+    public void fillRollingTermStructure(int time, double spotPrice, double convenienceYield, double[] time2maturities, double[] futuresPrices) {
+        int rollPhase = Math.floorMod(time - 1, SchwartzPathGenerator.CONTRACT_ROLL_DAYS);
+        int contracts = Math.min(numberOfContracts, time2maturities.length);
+        for (int k = 0; k < contracts; k++) {
+            int time2maturity = (k + 1) * SchwartzPathGenerator.CONTRACT_ROLL_DAYS - rollPhase;
+            time2maturities[k] = time2maturity;
+            futuresPrices[k] = spotPrice * Math.exp(-convenienceYield * rollingB[time2maturity] + rollingA[time2maturity]);
+        }
+    }
+
+    double getA(double maturity) {
+        double kappa = modelParameters.getKappa();
+        double sigmaProduct = modelParameters.getSigmaSpot() * modelParameters.getSigmaConvenienceYield() * modelParameters.getRho();
+        double sigmaConvenienceYieldSquared = modelParameters.getSigmaConvenienceYield() * modelParameters.getSigmaConvenienceYield();
+        double riskAdjustedAlpha = modelParameters.getAlpha() - modelParameters.getLambda() / kappa;
+
+        return (modelParameters.getInterest() - riskAdjustedAlpha + 0.5 * sigmaConvenienceYieldSquared / (kappa * kappa) - sigmaProduct / kappa) * maturity
+               + 0.25 * sigmaConvenienceYieldSquared * (1 - Math.exp(-2 * kappa * maturity)) / (kappa * kappa * kappa)
+               + (riskAdjustedAlpha * kappa + sigmaProduct - sigmaConvenienceYieldSquared / kappa) * (1 - Math.exp(-kappa * maturity)) / (kappa * kappa);
+    }
+
+    double getB(double maturity) {
+        double kappa = modelParameters.getKappa();
+        return (1 - Math.exp(-kappa * maturity)) / kappa;
+    }
+
+    /**
+     * Returns the derivative of B with respect to kappa, which is the only parameter that B depends on.
+     */
+    double getKappaDerivativeOfB(double maturity) {
+        double kappa = modelParameters.getKappa();
+        return (maturity * Math.exp(-kappa * maturity) - getB(maturity)) / kappa;
+    }
+
+    /**
+     * Fills the gradient of A with respect to the model parameters, in the order of the {@link SchwartzModelParameters#getMatlabFormat()
+     * Matlab format}. The gradient is derived from the expanded form
+     * <pre>
+     *  A(T) = (r - alphaHat) T + alphaHat B + v T / (2 kappa^2) - s T / kappa + v (1 - e^(-2 kappa T)) / (4 kappa^3) + s B / kappa - v B / kappa^2
+     * </pre>
+     * where {@code s = sigmaSpot sigmaCY rho} and {@code v = sigmaCY^2}.
+     */
+    void fillGradientOfA(double maturity, double[] gradient) {
+        double kappa = modelParameters.getKappa();
+        double sigmaSpot = modelParameters.getSigmaSpot();
+        double sigmaConvenienceYield = modelParameters.getSigmaConvenienceYield();
+        double rho = modelParameters.getRho();
+        double riskAdjustedAlpha = modelParameters.getAlpha() - modelParameters.getLambda() / kappa;
+        double s = sigmaSpot * sigmaConvenienceYield * rho;
+        double v = sigmaConvenienceYield * sigmaConvenienceYield;
+        double kappaSquared = kappa * kappa;
+        double kappaCubed = kappaSquared * kappa;
+        double doubleDecay = 1 - Math.exp(-2 * kappa * maturity);
+        double b = getB(maturity);
+        double db = getKappaDerivativeOfB(maturity);
+
+        double dAlphaHat = b - maturity;
+        double dS = (b - maturity) / kappa;
+        double dV = maturity / (2 * kappaSquared) + doubleDecay / (4 * kappaCubed) - b / kappaSquared;
+        double dKappa = riskAdjustedAlpha * db
+                        - v * maturity / kappaCubed
+                        + s * maturity / kappaSquared
+                        + v * (maturity * (1 - doubleDecay) / (2 * kappaCubed) - 3 * doubleDecay / (4 * kappaSquared * kappaSquared))
+                        + s * (db / kappa - b / kappaSquared)
+                        - v * (db / kappaSquared - 2 * b / kappaCubed);
+
+        gradient[SchwartzKalmanFilter.MU_INDEX] = 0;
+        gradient[SchwartzKalmanFilter.SIGMA_SPOT_INDEX] = dS * sigmaConvenienceYield * rho;
+        gradient[SchwartzKalmanFilter.KAPPA_INDEX] = dKappa + dAlphaHat * modelParameters.getLambda() / kappaSquared;
+        gradient[SchwartzKalmanFilter.ALPHA_INDEX] = dAlphaHat;
+        gradient[SchwartzKalmanFilter.SIGMA_CONVENIENCE_YIELD_INDEX] = dS * sigmaSpot * rho + dV * 2 * sigmaConvenienceYield;
+        gradient[SchwartzKalmanFilter.INTEREST_INDEX] = maturity;
+        gradient[SchwartzKalmanFilter.RHO_INDEX] = dS * sigmaSpot * sigmaConvenienceYield;
+        gradient[SchwartzKalmanFilter.LAMBDA_INDEX] = -dAlphaHat / kappa;
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return this.modelParameters;
+    }
+
+    public int getNumberOfContracts() {
+        return this.numberOfContracts;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.schwartz.controller;
+
+import com.schwartz.arrow.SchwartzArrowWriter;
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Writes the simulated paths in the Apache Arrow IPC formats, which are selected with the {@code Accept: }{@value
+ * SchwartzArrowWriter#STREAM_MEDIA_TYPE} and the {@code Accept: }{@value SchwartzArrowWriter#FILE_MEDIA_TYPE} headers.
+ *
+ * @author woope
+ */
+public class ArrowHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final MediaType STREAM_MEDIA_TYPE = MediaType.parseMediaType(SchwartzArrowWriter.STREAM_MEDIA_TYPE);
+    private static final MediaType FILE_MEDIA_TYPE = MediaType.parseMediaType(SchwartzArrowWriter.FILE_MEDIA_TYPE);
+
+    public ArrowHttpMessageConverter() {
+        super(STREAM_MEDIA_TYPE, FILE_MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return SchwartzSimulatedData.class.isAssignableFrom(clazz) || SchwartzSimulatedPaths.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("The Arrow formats can not be read!");
+    }
+
+    @Override
+    protected void writeInternal(Object object, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        boolean file = FILE_MEDIA_TYPE.isCompatibleWith(outputMessage.getHeaders().getContentType());
+        try {
+            if (object instanceof SchwartzSimulatedPaths) {
+                SchwartzSimulatedPaths paths = (SchwartzSimulatedPaths) object;
+                if (file) {
+                    SchwartzArrowWriter.writeFile(paths, Channels.newChannel(outputMessage.getBody()));
+                } else {
+                    SchwartzArrowWriter.writeStream(paths, outputMessage.getBody());
+                }
+            } else {
+                SchwartzSimulatedData data = (SchwartzSimulatedData) object;
+                if (file) {
+                    SchwartzArrowWriter.writeFile(data, Channels.newChannel(outputMessage.getBody()));
+                } else {
+                    SchwartzArrowWriter.writeStream(data, outputMessage.getBody());
+                }
+            }
+            outputMessage.getBody().flush();
+        } finally {
+            Timer.builder(TimedJacksonHttpMessageConverter.SERIALIZATION)
+                .tag("type", object.getClass().getSimpleName())
+                .tag("format", file ? "arrow-file" : "arrow-stream")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.schwartz.controller;
+
+import java.util.concurrent.Semaphore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs the streamed simulations and sweeps on a pool of {@code schwartz.streaming.threads} threads.
+ *
+ * The controller takes one of the {@link #streamingPermits() streaming permits} per streamed body and answers 503 when none is left, since
+ * Spring MVC does not turn a rejected asynchronous task into a clean error response.
+ *
+ * @author woope
+ * @see SchwartzController
+ */
+@Configuration
+public class AsyncSupportConfig implements WebMvcConfigurer {
+
+    @Value("${schwartz.streaming.threads:8}")
+    private int threads = 8;
+
+    @Bean
+    public ThreadPoolTaskExecutor streamingTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        // Holds the tasks that are submitted before the thread of a released permit is back in the pool.
+        executor.setQueueCapacity(threads);
+        executor.setThreadNamePrefix("streaming-");
+        return executor;
+    }
+
+    @Bean
+    public Semaphore streamingPermits() {
+        return new Semaphore(threads);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingTaskExecutor());
+    }
+}
@@ -0,0 +1,33 @@
+package com.schwartz.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link HttpMessageConverter HttpMessageConverters} of the simulation results, i.e. the timed JSON converter, which
+ * replaces the default Jackson converter, and the Matlab binary and the Arrow converters, which are selected by the {@code Accept} header.
+ *
+ * @author woope
+ * @see TimedJacksonHttpMessageConverter
+ */
+@Configuration
+public class HttpMessageConverterConfig implements WebMvcConfigurer {
+
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimedJacksonHttpMessageConverter(objectMapper);
+    }
+
+    /**
+     * Appends the binary and the Arrow converters after the default converters, so JSON remains the default format.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new MatlabBinaryHttpMessageConverter());
+        converters.add(new ArrowHttpMessageConverter());
+    }
+}
@@ -0,0 +1,100 @@
+package com.schwartz.controller;
+
+import com.schwartz.matlab.IMatlabConvertable;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+/**
+ * Writes the {@link IMatlabConvertable} response bodies in a compact binary format, which is selected with the {@code Accept: }{@value
+ * #MEDIA_TYPE} header. The format consists of the dimensions of the {@link IMatlabConvertable#getMatlabFormat() Matlab format} followed
+ * by its values in the column-major order of Matlab:
+ * <pre>
+ *  int32 rows, int32 columns, float64[rows * columns] values
+ * </pre>
+ * All of the numbers are little-endian, and the missing values are NaNs.
+ *
+ * @author woope
+ */
+public class MatlabBinaryHttpMessageConverter extends AbstractHttpMessageConverter<IMatlabConvertable> {
+
+    public static final String MEDIA_TYPE = "application/x-schwartz-float64";
+    public static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    public MatlabBinaryHttpMessageConverter() {
+        super(MediaType.parseMediaType(MEDIA_TYPE));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return IMatlabConvertable.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected IMatlabConvertable readInternal(Class<? extends IMatlabConvertable> clazz, HttpInputMessage inputMessage)
+        throws HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("The binary format can not be read!");
+    }
+
+    @Override
+    protected void writeInternal(IMatlabConvertable object, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            double[][] matrix = object.getMatlabFormat();
+            outputMessage.getHeaders().setContentLength(getContentLength(matrix));
+            write(matrix, outputMessage.getBody());
+        } finally {
+            Timer.builder(TimedJacksonHttpMessageConverter.SERIALIZATION)
+                .tag("type", object.getClass().getSimpleName())
+                .tag("format", "binary")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public static long getContentLength(double[][] matrix) {
+        return HEADER_BYTES + (long) matrix.length * (matrix.length == 0 ? 0 : matrix[0].length) * Double.BYTES;
+    }
+
+    /**
+     * Writes the matrix in the binary format. The rows of the matrix need to be of equal length.
+     */
+    public static void write(double[][] matrix, OutputStream outputStream) throws IOException {
+        int rows = matrix.length;
+        int columns = rows == 0 ? 0 : matrix[0].length;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(rows).putInt(columns);
+
+        for (int j = 0; j < columns; j++) {
+            for (int i = 0; i < rows; i++) {
+                if (buffer.remaining() < Double.BYTES) {
+                    outputStream.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                buffer.putDouble(matrix[i][j]);
+            }
+        }
+        outputStream.write(buffer.array(), 0, buffer.position());
+        outputStream.flush();
+    }
+
+}
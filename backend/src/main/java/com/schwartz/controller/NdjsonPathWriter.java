@@ -0,0 +1,95 @@
+package com.schwartz.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.schwartz.calculator.ISchwartzPathListener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An {@link ISchwartzPathListener} that writes the time steps to an {@link OutputStream} as newline delimited JSON, one time step per line:
+ * <pre>
+ *  {"path":0,"time":1,"spotPrice":100.0,"convenienceYield":0.3,"time2maturities":[21.0],"futuresPrices":[99.1]}
+ * </pre>
+ * A failed simulation is {@link #writeError(Exception) reported} with a last line of the form {@code {"error":"..."}}, since the status of
+ * the committed response can not be changed.
+ *
+ * @author woope
+ */
+public class NdjsonPathWriter implements ISchwartzPathListener, Closeable {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_INTERVAL = 64;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private JsonGenerator generator;
+    private int unflushedTimesteps;
+
+    public void open(OutputStream outputStream) throws IOException {
+        Validate.validState(generator == null, "The writer has already been opened!");
+        this.generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void onTimestep(int pathIndex, int time, double spotPrice, double convenienceYield, double[] time2maturities, double[] futuresPrices) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("path", pathIndex);
+            generator.writeNumberField("time", time);
+            generator.writeNumberField("spotPrice", spotPrice);
+            generator.writeNumberField("convenienceYield", convenienceYield);
+            generator.writeFieldName("time2maturities");
+            generator.writeArray(time2maturities, 0, time2maturities.length);
+            generator.writeFieldName("futuresPrices");
+            generator.writeArray(futuresPrices, 0, futuresPrices.length);
+            generator.writeEndObject();
+
+            if (++unflushedTimesteps >= FLUSH_INTERVAL) {
+                flush();
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write the time step " + time + " of the path " + pathIndex + "!", ex);
+        }
+    }
+
+    @Override
+    public void onPathCompleted(int pathIndex) {
+        try {
+            flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write the path " + pathIndex + "!", ex);
+        }
+    }
+
+    /**
+     * Writes the failure of the simulation as the last line, and flushes the output.
+     */
+    public void writeError(Exception ex) throws IOException {
+        Validate.validState(generator != null, "The writer has not been opened!");
+        generator.writeStartObject();
+        generator.writeStringField("error", String.valueOf(ex.getMessage()));
+        generator.writeEndObject();
+        flush();
+    }
+
+    private void flush() throws IOException {
+        generator.flush();
+        unflushedTimesteps = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.writeRaw('\n');
+            generator.close();
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.schwartz.controller;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.schwartz.calculator.ISchwartzSweepListener;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * An {@link ISchwartzSweepListener} that writes the results of a parameter sweep to an {@link OutputStream} as newline delimited JSON,
+ * one parameterset per line:
+ * <pre>
+ *  {"index":0,"parameters":{"mu":0.05,...,"lambda":0.1},"paths":{...}}
+ *  {"index":1,"parameters":{"mu":0.05,...,"lambda":0.1},"error":"The calculation failed!"}
+ * </pre>
+ * The {@link IOException IOExceptions} are rethrown as {@link UncheckedIOException UncheckedIOExceptions}, which aborts the sweep.
+ *
+ * @author woope
+ * @see NdjsonPathWriter
+ */
+public class NdjsonSweepWriter implements ISchwartzSweepListener<SchwartzSimulatedPaths>, Closeable {
+
+    private final ObjectMapper objectMapper;
+    private JsonGenerator generator;
+
+    public NdjsonSweepWriter(ObjectMapper objectMapper) {
+        Validate.notNull(objectMapper, "The supplied ObjectMapper was null!");
+        this.objectMapper = objectMapper;
+    }
+
+    public void open(OutputStream outputStream) throws IOException {
+        Validate.validState(generator == null, "The writer has already been opened!");
+        this.generator = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8);
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+    }
+
+    @Override
+    public void onResult(int index, SchwartzModelParameters modelParameters, SchwartzSimulatedPaths result) {
+        try {
+            writeStart(index, modelParameters);
+            generator.writeObjectField("paths", result);
+            writeEnd();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write the parameterset " + index + "!", ex);
+        }
+    }
+
+    @Override
+    public void onFailure(int index, SchwartzModelParameters modelParameters, Exception ex) {
+        try {
+            writeStart(index, modelParameters);
+            generator.writeStringField("error", String.valueOf(ex.getMessage()));
+            writeEnd();
+        } catch (IOException ioex) {
+            throw new UncheckedIOException("Could not write the parameterset " + index + "!", ioex);
+        }
+    }
+
+    private void writeStart(int index, SchwartzModelParameters modelParameters) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeObjectFieldStart("parameters");
+        generator.writeNumberField("mu", modelParameters.getMu());
+        generator.writeNumberField("sigmaSpot", modelParameters.getSigmaSpot());
+        generator.writeNumberField("kappa", modelParameters.getKappa());
+        generator.writeNumberField("alpha", modelParameters.getAlpha());
+        generator.writeNumberField("sigmaConvenienceYield", modelParameters.getSigmaConvenienceYield());
+        generator.writeNumberField("interest", modelParameters.getInterest());
+        generator.writeNumberField("rho", modelParameters.getRho());
+        generator.writeNumberField("lambda", modelParameters.getLambda());
+        generator.writeEndObject();
+    }
+
+    private void writeEnd() throws IOException {
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.writeRaw('\n');
+            generator.close();
+        }
+    }
+
+}
@@ -1,15 +1,45 @@
 package com.schwartz.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.schwartz.business.ISchwartzCalculatorService;
+import com.schwartz.business.ISimulationJobService;
+import com.schwartz.matlab.impl.SchwartzModelDataMapper;
+import com.schwartz.matlab.impl.SchwartzParameterMapper;
+import com.schwartz.model.SchwartzCalibrationResult;
 import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzMonteCarloEstimate;
+import com.schwartz.model.SchwartzOptionQuote;
+import com.schwartz.model.SchwartzOptionStyle;
+import com.schwartz.model.SchwartzOptionType;
+import com.schwartz.model.SchwartzParameterGrid;
+import com.schwartz.model.SchwartzPathSummary;
+import com.schwartz.model.SchwartzPathStatistic;
+import com.schwartz.model.SchwartzSamplingMethod;
 import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import com.schwartz.model.SimulationJobInfo;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import static org.springframework.web.bind.annotation.RequestMethod.*;
 
 /**
@@ -19,25 +49,494 @@ import static org.springframework.web.bind.annotation.RequestMethod.*;
  */
 @RestController
 public class SchwartzController {
+    private static final String DEFAULT_PROBABILITIES = "0.01,0.05,0.25,0.5,0.75,0.95,0.99";
+
     private final Logger log = LogManager.getLogger(SchwartzController.class.getName());
 
     @Autowired
     ISchwartzCalculatorService<SchwartzSimulatedData> schwartzCalculatorService;
 
+    @Autowired
+    ISimulationJobService simulationJobService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Semaphore streamingPermits;
+
     /**
-     * TODO: FIXME: Make the interface callable in order not choke up the thread pool. 
+     * Simulates the sample paths on the request handling thread. Long-running simulations should be submitted as jobs with
+     * {@link #submitSamplePathSimulation submitSamplePathSimulation} instead. The simulations with a {@code seed} are reproducible, and
+     * their results are served from the cache when available.
      */
     @RequestMapping(method = GET, path = "paths")
     public SchwartzSimulatedData startSamplePathSimulation(
         @ModelAttribute SchwartzModelParameters parameters,
         @RequestParam Double initialSpot, 
-        @RequestParam Double initialConvenienceYield
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam(required = false) Long seed
     ) throws Exception {
         try {
-            return schwartzCalculatorService.run(initialSpot, initialConvenienceYield, parameters, true).call();
+            return schwartzCalculatorService.run(initialSpot, initialConvenienceYield, parameters, true, seed).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
         } catch (Exception ex) {
             log.error("Could not intiate the calculation!");
             throw ex;
         }
     }
+
+    /**
+     * Simulates {@code numberOfPaths} sample paths in a single calculation on the request handling thread. The {@code parallel} simulations
+     * are split into chunks that are calculated on all of the available processors.
+     */
+    @RequestMapping(method = GET, path = "paths/batch")
+    public SchwartzSimulatedPaths startBatchPathSimulation(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam Integer numberOfPaths,
+        @RequestParam(defaultValue = "false") Boolean simulateTermStructure,
+        @RequestParam(required = false) Long seed,
+        @RequestParam(defaultValue = "false") Boolean parallel
+    ) throws Exception {
+        try {
+            return runBatch(initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, seed, parallel).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            log.error("Could not intiate the batch calculation!");
+            throw ex;
+        }
+    }
+
+    /**
+     * Estimates the expectation of the path {@code statistic} from {@code numberOfPaths} sample paths on the request handling thread, along
+     * with the achieved variance reduction factor. The estimates are only supported by the Java-engine, and the request is rejected with 501
+     * otherwise.
+     */
+    @RequestMapping(method = GET, path = "paths/estimate")
+    public SchwartzMonteCarloEstimate startMonteCarloEstimation(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam SchwartzPathStatistic statistic,
+        @RequestParam Integer numberOfPaths,
+        @RequestParam(defaultValue = "ANTITHETIC") SchwartzSamplingMethod sampling,
+        @RequestParam(defaultValue = "16") Integer replicates,
+        @RequestParam(defaultValue = "true") Boolean controlVariates,
+        @RequestParam(required = false) Long seed
+    ) throws Exception {
+        try {
+            return schwartzCalculatorService.runMonteCarlo(
+                initialSpot, initialConvenienceYield, parameters, statistic, numberOfPaths, sampling, replicates, controlVariates, seed
+            ).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (UnsupportedOperationException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            log.error("Could not intiate the Monte Carlo estimation!");
+            throw ex;
+        }
+    }
+
+    /**
+     * Reduces {@code numberOfPaths} sample paths to the means, the standard deviations and the quantiles of the spot price, the convenience
+     * yield and the futures prices per time step on the request handling thread. The summaries are only supported by the Java-engine, and the
+     * request is rejected with 501 otherwise.
+     */
+    @RequestMapping(method = GET, path = "paths/summary")
+    public SchwartzPathSummary startSamplePathSummary(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam Integer numberOfPaths,
+        @RequestParam(defaultValue = "true") Boolean simulateTermStructure,
+        @RequestParam(defaultValue = DEFAULT_PROBABILITIES) double[] probabilities,
+        @RequestParam(defaultValue = "0.005") Double relativeAccuracy,
+        @RequestParam(required = false) Long seed
+    ) throws Exception {
+        try {
+            return schwartzCalculatorService.summarize(
+                initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, probabilities, relativeAccuracy, seed
+            ).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (UnsupportedOperationException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            log.error("Could not intiate the path summary!");
+            throw ex;
+        }
+    }
+
+    /**
+     * Streams {@code numberOfPaths} sample paths as newline delimited JSON while they are simulated, one time step per line. A simulation that
+     * fails after the response is committed ends the stream with an {@code {"error":"..."}} line, and the request is rejected with 503 while all
+     * of the {@code schwartz.streaming.threads} are busy.
+     */
+    @RequestMapping(method = GET, path = "paths/stream")
+    public ResponseEntity<StreamingResponseBody> streamSamplePathSimulation(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam(defaultValue = "1") Integer numberOfPaths,
+        @RequestParam(defaultValue = "true") Boolean simulateTermStructure,
+        @RequestParam(required = false) Long seed
+    ) {
+        NdjsonPathWriter writer = new NdjsonPathWriter();
+        Callable<Integer> calculation;
+        try {
+            calculation = schwartzCalculatorService.stream(
+                initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, seed, writer
+            );
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+
+        StreamingResponseBody body = limitConcurrency(outputStream -> {
+            try (NdjsonPathWriter openedWriter = writer) {
+                openedWriter.open(outputStream);
+                try {
+                    calculation.call();
+                } catch (UncheckedIOException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    // The status of the committed response can not be changed, so the failure is streamed as the last line.
+                    openedWriter.writeError(ex);
+                    throw ex;
+                }
+            } catch (IOException | RuntimeException ex) {
+                log.error("Could not stream the calculation!", ex);
+                throw ex;
+            } catch (Exception ex) {
+                log.error("Could not stream the calculation!", ex);
+                throw new IllegalStateException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonPathWriter.MEDIA_TYPE)).body(body);
+    }
+
+    /**
+     * Simulates {@code numberOfPaths} sample paths for every parameterset of the {@code parameterGrid}, and streams them as newline
+     * delimited JSON as they are completed. The request is rejected with 503 while all of the {@code schwartz.streaming.threads} are busy.
+     */
+    @RequestMapping(method = POST, path = "paths/sweep")
+    public ResponseEntity<StreamingResponseBody> sweepSamplePathSimulation(
+        @RequestBody SchwartzParameterGrid parameterGrid,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam(defaultValue = "1") Integer numberOfPaths,
+        @RequestParam(defaultValue = "false") Boolean simulateTermStructure,
+        @RequestParam(required = false) Long seed
+    ) {
+        NdjsonSweepWriter writer = new NdjsonSweepWriter(objectMapper);
+        Callable<Integer> calculation;
+        try {
+            calculation = schwartzCalculatorService.sweep(
+                initialSpot, initialConvenienceYield, parameterGrid, simulateTermStructure, numberOfPaths, seed, writer
+            );
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+
+        StreamingResponseBody body = limitConcurrency(outputStream -> {
+            try (NdjsonSweepWriter openedWriter = writer) {
+                openedWriter.open(outputStream);
+                calculation.call();
+            } catch (IOException | RuntimeException ex) {
+                log.error("Could not stream the sweep!", ex);
+                throw ex;
+            } catch (Exception ex) {
+                log.error("Could not stream the sweep!", ex);
+                throw new IllegalStateException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NdjsonPathWriter.MEDIA_TYPE)).body(body);
+    }
+
+    /**
+     * Constructs the futures term structure at the supplied state from the closed form solution, without simulating any paths.
+     */
+    @RequestMapping(method = GET, path = "termstructure")
+    public List<SchwartzSimulatedData.ContractEntry> getTermStructure(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double spotPrice,
+        @RequestParam Double convenienceYield,
+        @RequestParam double[] time2maturities
+    ) {
+        try {
+            return schwartzCalculatorService.getTermStructure(spotPrice, convenienceYield, parameters, time2maturities);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Prices the options on the futures contracts for every combination of the {@code strikes} and the {@code expiries} on the request
+     * handling thread. The {@code numberOfPaths} and the {@code seed} only apply to the path dependent options.
+     */
+    @RequestMapping(method = GET, path = "options")
+    public List<SchwartzOptionQuote> priceOptions(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam(defaultValue = "CALL") SchwartzOptionType optionType,
+        @RequestParam(defaultValue = "EUROPEAN") SchwartzOptionStyle style,
+        @RequestParam double[] strikes,
+        @RequestParam double[] expiries,
+        @RequestParam(required = false) double[] time2maturities,
+        @RequestParam(defaultValue = "10000") Integer numberOfPaths,
+        @RequestParam(required = false) Long seed
+    ) throws Exception {
+        try {
+            return schwartzCalculatorService.priceOptions(
+                initialSpot, initialConvenienceYield, parameters, optionType, style, strikes, expiries, time2maturities, numberOfPaths, seed
+            ).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            log.error("Could not price the options!");
+            throw ex;
+        }
+    }
+
+    /**
+     * Estimates the model parameters on the request handling thread from the observed data, which is supplied in the
+     * {@link SchwartzSimulatedData#getMatlabFormat() Matlab format}. The {@code initialParameters} are the starting point of the estimation
+     * in the order of the {@link SchwartzModelParameters#getMatlabFormat() Matlab format}.
+     */
+    @RequestMapping(method = POST, path = "parameters/estimate")
+    public SchwartzModelParameters estimateParameters(
+        @RequestBody double[][] data,
+        @RequestParam(required = false) double[] initialParameters
+    ) throws Exception {
+        try {
+            return estimate(data, initialParameters).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            log.error("Could not intiate the estimation!");
+            throw ex;
+        }
+    }
+
+    /**
+     * Calibrates the model parameters on the request handling thread by starting {@code numberOfStarts} estimations in parallel. The
+     * observed data is supplied in the {@link SchwartzSimulatedData#getMatlabFormat() Matlab format}.
+     */
+    @RequestMapping(method = POST, path = "parameters/calibrate")
+    public SchwartzCalibrationResult calibrateParameters(
+        @RequestBody double[][] data,
+        @RequestParam(defaultValue = "32") Integer numberOfStarts,
+        @RequestParam(required = false) Long seed
+    ) throws Exception {
+        try {
+            return schwartzCalculatorService.calibrate(new SchwartzModelDataMapper(false).map(data), numberOfStarts, seed).call();
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (Exception ex) {
+            log.error("Could not intiate the calibration!");
+            throw ex;
+        }
+    }
+
+    @RequestMapping(method = POST, path = "jobs/paths")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SimulationJobInfo submitSamplePathSimulation(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam(required = false) Long seed
+    ) {
+        try {
+            return simulationJobService.submit(schwartzCalculatorService.run(initialSpot, initialConvenienceYield, parameters, true, seed));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (RejectedExecutionException ex) {
+            log.error("Could not submit the simulation job!");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The simulation job queue is full!", ex);
+        }
+    }
+
+    @RequestMapping(method = POST, path = "jobs/paths/batch")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SimulationJobInfo submitBatchPathSimulation(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam Integer numberOfPaths,
+        @RequestParam(defaultValue = "false") Boolean simulateTermStructure,
+        @RequestParam(required = false) Long seed,
+        @RequestParam(defaultValue = "false") Boolean parallel
+    ) {
+        try {
+            return simulationJobService.submit(
+                runBatch(initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, seed, parallel)
+            );
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (RejectedExecutionException ex) {
+            log.error("Could not submit the simulation job!");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The simulation job queue is full!", ex);
+        }
+    }
+
+    @RequestMapping(method = POST, path = "jobs/paths/estimate")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SimulationJobInfo submitMonteCarloEstimation(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam SchwartzPathStatistic statistic,
+        @RequestParam Integer numberOfPaths,
+        @RequestParam(defaultValue = "ANTITHETIC") SchwartzSamplingMethod sampling,
+        @RequestParam(defaultValue = "16") Integer replicates,
+        @RequestParam(defaultValue = "true") Boolean controlVariates,
+        @RequestParam(required = false) Long seed
+    ) {
+        try {
+            return simulationJobService.submit(schwartzCalculatorService.runMonteCarlo(
+                initialSpot, initialConvenienceYield, parameters, statistic, numberOfPaths, sampling, replicates, controlVariates, seed
+            ));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (UnsupportedOperationException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, ex.getMessage(), ex);
+        } catch (RejectedExecutionException ex) {
+            log.error("Could not submit the Monte Carlo job!");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The simulation job queue is full!", ex);
+        }
+    }
+
+    @RequestMapping(method = POST, path = "jobs/paths/summary")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SimulationJobInfo submitSamplePathSummary(
+        @ModelAttribute SchwartzModelParameters parameters,
+        @RequestParam Double initialSpot,
+        @RequestParam Double initialConvenienceYield,
+        @RequestParam Integer numberOfPaths,
+        @RequestParam(defaultValue = "true") Boolean simulateTermStructure,
+        @RequestParam(defaultValue = DEFAULT_PROBABILITIES) double[] probabilities,
+        @RequestParam(defaultValue = "0.005") Double relativeAccuracy,
+        @RequestParam(required = false) Long seed
+    ) {
+        try {
+            return simulationJobService.submit(schwartzCalculatorService.summarize(
+                initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, probabilities, relativeAccuracy, seed
+            ));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (UnsupportedOperationException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, ex.getMessage(), ex);
+        } catch (RejectedExecutionException ex) {
+            log.error("Could not submit the path summary job!");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The simulation job queue is full!", ex);
+        }
+    }
+
+    @RequestMapping(method = POST, path = "jobs/parameters/estimate")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SimulationJobInfo submitParameterEstimation(
+        @RequestBody double[][] data,
+        @RequestParam(required = false) double[] initialParameters
+    ) {
+        try {
+            return simulationJobService.submit(estimate(data, initialParameters));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (RejectedExecutionException ex) {
+            log.error("Could not submit the estimation job!");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The simulation job queue is full!", ex);
+        }
+    }
+
+    @RequestMapping(method = POST, path = "jobs/parameters/calibrate")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public SimulationJobInfo submitParameterCalibration(
+        @RequestBody double[][] data,
+        @RequestParam(defaultValue = "32") Integer numberOfStarts,
+        @RequestParam(required = false) Long seed
+    ) {
+        try {
+            return simulationJobService.submit(schwartzCalculatorService.calibrate(new SchwartzModelDataMapper(false).map(data), numberOfStarts, seed));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        } catch (RejectedExecutionException ex) {
+            log.error("Could not submit the calibration job!");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The simulation job queue is full!", ex);
+        }
+    }
+
+    @RequestMapping(method = GET, path = "jobs/{jobId}")
+    public SimulationJobInfo getSimulationJob(@PathVariable String jobId) {
+        try {
+            return simulationJobService.getJob(jobId);
+        } catch (NoSuchElementException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage(), ex);
+        }
+    }
+
+    @RequestMapping(method = GET, path = "jobs/{jobId}/result")
+    public Object getSimulationJobResult(@PathVariable String jobId) {
+        try {
+            return simulationJobService.getResult(jobId);
+        } catch (NoSuchElementException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage(), ex);
+        } catch (IllegalStateException ex) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, ex.getMessage(), ex);
+        }
+    }
+
+    @RequestMapping(method = DELETE, path = "jobs/{jobId}")
+    public SimulationJobInfo cancelSimulationJob(@PathVariable String jobId) {
+        try {
+            return simulationJobService.cancel(jobId);
+        } catch (NoSuchElementException ex) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, ex.getMessage(), ex);
+        }
+    }
+
+    private Callable<SchwartzSimulatedPaths> runBatch(
+        Double initialSpot,
+        Double initialConvenienceYield,
+        SchwartzModelParameters parameters,
+        Boolean simulateTermStructure,
+        Integer numberOfPaths,
+        Long seed,
+        Boolean parallel
+    ) {
+        if (parallel) {
+            return schwartzCalculatorService.runParallel(initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, seed);
+        }
+        return schwartzCalculatorService.runBatch(initialSpot, initialConvenienceYield, parameters, simulateTermStructure, numberOfPaths, seed);
+    }
+
+    private Callable<SchwartzModelParameters> estimate(double[][] data, double[] initialParameters) {
+        return schwartzCalculatorService.estimate(
+            new SchwartzModelDataMapper(false).map(data),
+            initialParameters == null ? null : new SchwartzParameterMapper().map(new double[][]{initialParameters})
+        );
+    }
+
+    /**
+     * Leases a streaming permit for the {@code body}, which is returned once the body has been written.
+     *
+     * @throws ResponseStatusException with 503 if all of the streaming threads are busy.
+     */
+    private StreamingResponseBody limitConcurrency(StreamingResponseBody body) {
+        if (!streamingPermits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The streaming threads are busy!");
+        }
+        return outputStream -> {
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                streamingPermits.release();
+            }
+        };
+    }
+
 }
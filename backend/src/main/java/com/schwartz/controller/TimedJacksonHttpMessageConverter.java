@@ -0,0 +1,45 @@
+package com.schwartz.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * A {@link MappingJackson2HttpMessageConverter} that records the latencies of the JSON serialization of the response bodies in the
+ * {@value #SERIALIZATION} timer, tagged with the serialized {@code type} and the {@code json} format.
+ *
+ * Spring Boot replaces its default JSON converter with this converter once it is declared as a bean.
+ *
+ * @author woope
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public static final String SERIALIZATION = "schwartz.http.serialization";
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            Timer.builder(SERIALIZATION)
+                .tag("type", object == null ? "null" : object.getClass().getSimpleName())
+                .tag("format", "json")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.schwartz.matlab;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import org.n52.matlab.control.MatlabInvocationException;
+import org.n52.matlab.control.MatlabProxy;
+
+/**
+ * Records the latencies of the stages of the Matlab-pipeline in the {@link Metrics#globalRegistry global registry}:
+ * <ul>
+ *      <li>{@value #SESSION_ACQUISITION}: the leases of the pooled sessions, tagged with the {@code outcome}.</li>
+ *      <li>{@value #SESSION_START}: the starts of new sessions, tagged with the used {@code options}.</li>
+ *      <li>{@value #SESSION_FALLBACK_STARTS}: the sessions that were started with the fallback options.</li>
+ *      <li>{@value #EVAL}: the evaluations and the function calls, tagged with the pipeline {@code stage}.</li>
+ *      <li>{@value #EVAL_FAILURES}: the failed evaluations and function calls, tagged with the pipeline {@code stage}.</li>
+ *      <li>{@value #MAPPING}: the mappings of the transferred arrays, tagged with the {@code mapper}.</li>
+ * </ul>
+ *
+ * @author woope
+ */
+public final class MatlabMetrics {
+
+    public static final String SESSION_ACQUISITION = "schwartz.matlab.session.acquisition";
+    public static final String SESSION_START = "schwartz.matlab.session.start";
+    public static final String SESSION_FALLBACK_STARTS = "schwartz.matlab.session.fallback.starts";
+    public static final String EVAL = "schwartz.matlab.eval";
+    public static final String EVAL_FAILURES = "schwartz.matlab.eval.failures";
+    public static final String MAPPING = "schwartz.matlab.mapping";
+
+    private static final MeterRegistry registry = Metrics.globalRegistry;
+    private static final Counter fallbackStarts = Counter.builder(SESSION_FALLBACK_STARTS)
+        .description("The Matlab-sessions that were started with the fallback options")
+        .register(registry);
+
+    private MatlabMetrics() {
+    }
+
+    /**
+     * Evaluates the command in the Matlab-session, and records its latency and failure under the pipeline {@code stage}.
+     */
+    public static void eval(MatlabProxy proxy, String stage, String command) throws MatlabInvocationException {
+        long start = System.nanoTime();
+        try {
+            proxy.eval(command);
+        } catch (MatlabInvocationException | RuntimeException ex) {
+            Counter.builder(EVAL_FAILURES).tag("stage", stage).register(registry).increment();
+            throw ex;
+        } finally {
+            record(timer(EVAL, "stage", stage), start);
+        }
+    }
+
+    /**
+     * Calls the function in the Matlab-session, and records its latency and failure under the pipeline {@code stage}.
+     *
+     * @return The {@code nargout} return values of the function.
+     */
+    public static Object[] feval(MatlabProxy proxy, String stage, String functionName, int nargout, Object... args)
+        throws MatlabInvocationException {
+        long start = System.nanoTime();
+        try {
+            return proxy.returningFeval(functionName, nargout, args);
+        } catch (MatlabInvocationException | RuntimeException ex) {
+            Counter.builder(EVAL_FAILURES).tag("stage", stage).register(registry).increment();
+            throw ex;
+        } finally {
+            record(timer(EVAL, "stage", stage), start);
+        }
+    }
+
+    /**
+     * Maps the transferred array with the {@link IMatlabObjectMapper mapper}.
+     */
+    public static <K> K map(IMatlabObjectMapper<K> mapper, double[][] data) {
+        long start = System.nanoTime();
+        try {
+            return mapper.map(data);
+        } finally {
+            record(timer(MAPPING, "mapper", mapper.getClass().getSimpleName()), start);
+        }
+    }
+
+    /**
+     * Records the lease of a pooled session that was started at {@code start}.
+     *
+     * @param outcome The outcome of the lease, e.g. {@code leased} or {@code timeout}.
+     */
+    public static void recordAcquisition(long start, String outcome) {
+        record(timer(SESSION_ACQUISITION, "outcome", outcome), start);
+    }
+
+    /**
+     * Records the start of a new session that was started at {@code start}.
+     *
+     * @param options The used options, i.e. {@code default} or {@code fallback}.
+     */
+    public static void recordSessionStart(long start, String options) {
+        record(timer(SESSION_START, "options", options), start);
+    }
+
+    public static void incrementFallbackStarts() {
+        fallbackStarts.increment();
+    }
+
+    private static Timer timer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name).tag(tagKey, tagValue).publishPercentileHistogram().register(registry);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+}
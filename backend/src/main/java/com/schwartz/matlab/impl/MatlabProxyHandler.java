@@ -1,6 +1,7 @@
 package com.schwartz.matlab.impl;
 
 import com.schwartz.matlab.AbstractMatlabProxyHandler;
+import com.schwartz.matlab.MatlabMetrics;
 import java.io.File;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -51,19 +52,29 @@ public class MatlabProxyHandler extends AbstractMatlabProxyHandler {
         this.proxyFactory = new MatlabProxyFactory(defaultOptions);
     }
     
+    /**
+     * The latencies of the session starts and the starts with the fallback parameters are recorded in the {@link MatlabMetrics}.
+     */
     @Override
     public MatlabProxy getMatlabProxy() {
+        long start = System.nanoTime();
         try {
             return proxyFactory.getProxy();
         } catch (MatlabConnectionException ex) {
             log.error("Could not initialize the calculator session using previous proxy, trying with fallback parameters!", ex);
+        } finally {
+            MatlabMetrics.recordSessionStart(start, "default");
         }
+        MatlabMetrics.incrementFallbackStarts();
+        start = System.nanoTime();
         try {
             MatlabProxy proxy = new MatlabProxyFactory(fallbackOption).getProxy();
             log.info("Calculator session initialized succesfully with fallback parameters!");
             return proxy;
         } catch (MatlabConnectionException ex) {
             log.error("Could not initialize the calculator even with the fallback parameters, returning null!", ex);
+        } finally {
+            MatlabMetrics.recordSessionStart(start, "fallback");
         }
         return null;
     }
@@ -0,0 +1,171 @@
+package com.schwartz.matlab.impl;
+
+import com.schwartz.matlab.AbstractMatlabProxyHandler;
+import com.schwartz.matlab.MatlabMetrics;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.n52.matlab.control.MatlabProxy;
+
+/**
+ * A bounded pool of Matlab-sessions that leases {@link MatlabProxy MatlabProxies} to the callers, one caller per session at a time.
+ *
+ * The sessions are created lazily, replaced when they disconnect, and need to be handed back with
+ * {@link #returnMatlabProxy(MatlabProxy) returnMatlabProxy}. A borrower waits for a session until the borrow timeout elapses.
+ *
+ * @author woope
+ * @see AbstractMatlabProxyHandler
+ */
+public class MatlabProxyPool extends AbstractMatlabProxyHandler implements AutoCloseable {
+
+    private static final Logger log = LogManager.getLogger(MatlabProxyPool.class.getName());
+
+    public static final int DEFAULT_POOL_SIZE = 1;
+    public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 60000;
+
+    private final AbstractMatlabProxyHandler sessionHandler;
+    private final int poolSize;
+    private final long borrowTimeoutMillis;
+    private final Semaphore leases;
+    private final BlockingDeque<MatlabProxy> idleProxies;
+    private final Set<MatlabProxy> leasedProxies;
+    private volatile boolean closed;
+
+    public MatlabProxyPool(AbstractMatlabProxyHandler sessionHandler) {
+        this(sessionHandler, DEFAULT_POOL_SIZE, DEFAULT_BORROW_TIMEOUT_MILLIS);
+    }
+
+    public MatlabProxyPool(AbstractMatlabProxyHandler sessionHandler, int poolSize, long borrowTimeoutMillis) {
+        Validate.notNull(sessionHandler, "The supplied session handler was null!");
+        Validate.isTrue(poolSize > 0, "The pool size needs to be positive!");
+        Validate.isTrue(borrowTimeoutMillis >= 0, "The borrow timeout can not be negative!");
+
+        this.sessionHandler = sessionHandler;
+        this.poolSize = poolSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.leases = new Semaphore(poolSize, true);
+        this.idleProxies = new LinkedBlockingDeque<>();
+        this.leasedProxies = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Leases a {@link MatlabProxy} from the pool, waiting at most the default borrow timeout for a session to become available.
+     *
+     * @return A leased {@link MatlabProxy}, or {@code null} if no session could be leased.
+     */
+    @Override
+    public MatlabProxy getMatlabProxy() {
+        return borrowMatlabProxy(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Leases a {@link MatlabProxy} from the pool.
+     *
+     * @param timeout The maximum time to wait for a session to become available.
+     * @param unit The {@link TimeUnit} of the {@code timeout}.
+     * @return A leased and connected {@link MatlabProxy}, or {@code null} if the timeout elapsed or a new session could not be initialized.
+     * @throws IllegalStateException if the pool has been closed.
+     */
+    public MatlabProxy borrowMatlabProxy(long timeout, TimeUnit unit) {
+        Validate.validState(!closed, "The Matlab-session pool has been closed!");
+        long start = System.nanoTime();
+        try {
+            if (!leases.tryAcquire(timeout, unit)) {
+                MatlabMetrics.recordAcquisition(start, "timeout");
+                log.error("No Matlab-session became available within " + timeout + " " + unit + ", returning null!");
+                return null;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            MatlabMetrics.recordAcquisition(start, "interrupted");
+            log.error("Interrupted while waiting for a Matlab-session, returning null!", ex);
+            return null;
+        }
+
+        MatlabProxy proxy = pollConnectedProxy();
+        if (proxy == null) {
+            proxy = sessionHandler.getMatlabProxy();
+            if (proxy == null) {
+                leases.release();
+                MatlabMetrics.recordAcquisition(start, "failed");
+                log.error("Could not initialize a new Matlab-session for the pool, returning null!");
+                return null;
+            }
+            log.info("Initialized a new Matlab-session for the pool.");
+        }
+        leasedProxies.add(proxy);
+        MatlabMetrics.recordAcquisition(start, "leased");
+        return proxy;
+    }
+
+    /**
+     * Returns a leased {@link MatlabProxy} back to the pool. Proxies that have been disconnected during the lease are discarded.
+     *
+     * @param proxy The leased {@link MatlabProxy}.
+     */
+    public void returnMatlabProxy(MatlabProxy proxy) {
+        if (proxy == null || !leasedProxies.remove(proxy)) {
+            log.warn("The supplied proxy was not leased from this pool!");
+            return;
+        }
+
+        if (closed) {
+            terminateMatlabProxy(proxy);
+        } else if (proxy.isConnected()) {
+            idleProxies.offerFirst(proxy);
+        } else {
+            log.warn("Discarding a disconnected Matlab-session from the pool.");
+        }
+        leases.release();
+    }
+
+    /**
+     * Terminates the idle sessions of the pool. The leased sessions are terminated once they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        MatlabProxy proxy;
+        while ((proxy = idleProxies.pollFirst()) != null) {
+            terminateMatlabProxy(proxy);
+        }
+    }
+
+    private MatlabProxy pollConnectedProxy() {
+        MatlabProxy proxy;
+        while ((proxy = idleProxies.pollFirst()) != null) {
+            if (proxy.isConnected()) {
+                return proxy;
+            }
+            log.warn("Discarding a disconnected Matlab-session from the pool.");
+        }
+        return null;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public int getIdleCount() {
+        return idleProxies.size();
+    }
+
+    public int getLeasedCount() {
+        return leasedProxies.size();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.schwartz.matlab.impl;
+
+import com.schwartz.matlab.IMatlabObjectMapper;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import static com.schwartz.matlab.IMatlabConvertable.*;
+import java.util.Arrays;
+
+/**
+ * Maps the stacked Matlab output of a batch simulation to {@link SchwartzSimulatedPaths}. The data consists of the timeline followed by the
+ * equally sized row blocks of the {@code numberOfPaths} paths, as described in {@link SchwartzSimulatedPaths#getMatlabFormat()}.
+ *
+ * @author woope
+ */
+public class SchwartzSimulatedPathsMapper implements IMatlabObjectMapper<SchwartzSimulatedPaths> {
+
+    private final int numberOfPaths;
+
+    public SchwartzSimulatedPathsMapper(int numberOfPaths) {
+        if (numberOfPaths <= 0) {
+            throw new IllegalArgumentException("The number of paths needs to be positive!");
+        }
+        this.numberOfPaths = numberOfPaths;
+    }
+
+    @Override
+    public SchwartzSimulatedPaths map(double[][] data) {
+        validateInput(data);
+        int rowsPerPath = (data.length - 1) / numberOfPaths;
+        SchwartzSimulatedPaths paths = new SchwartzSimulatedPaths(data[MATLAB_TIMELINE_INDEX], numberOfPaths, (rowsPerPath - 2) / 2);
+
+        for (int p = 0; p < numberOfPaths; p++) {
+            int firstRow = 1 + p * rowsPerPath;
+            paths.putPath(p, Arrays.copyOfRange(data, firstRow, firstRow + rowsPerPath));
+        }
+
+        return paths;
+    }
+
+    private void validateInput(double[][] data) throws IllegalArgumentException {
+        if (data == null) {
+            throw new IllegalArgumentException("Expected non-null data!");
+        }
+
+        int rowLength = data.length;
+        if (rowLength < 1 + 2 * numberOfPaths) {
+            throw new IllegalArgumentException("The Data needs to supply at least the timeline, and the spot price and convenience yield of every path!");
+        }
+        if ((rowLength - 1) % numberOfPaths != 0 || ((rowLength - 1) / numberOfPaths) % 2 != 0) {
+            throw new IllegalArgumentException("Expected an even number of datasets per path! The number of datasets: " + rowLength);
+        }
+        for (int i = 0; i < rowLength - 1; i++) {
+            if (data[i].length != data[i + 1].length) {
+                throw new IllegalArgumentException("Datasets of inequal length");
+            }
+        }
+    }
+
+    public int getNumberOfPaths() {
+        return numberOfPaths;
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.schwartz.model;
+
+import com.schwartz.optimization.OptimizationStatus;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A dataholder for the outcome of a multi-start calibration, i.e. the best estimated {@link SchwartzModelParameters modelParameters} and
+ * the convergence diagnostics of every started estimation.
+ *
+ * @author woope
+ * @see SchwartzModelParameters
+ */
+public class SchwartzCalibrationResult {
+
+    private final SchwartzModelParameters modelParameters;
+    private final double measurementError;
+    private final double logLikelihood;
+    private final int bestStartIndex;
+    private final List<Start> starts;
+
+    public SchwartzCalibrationResult(
+        SchwartzModelParameters modelParameters,
+        double measurementError,
+        double logLikelihood,
+        int bestStartIndex,
+        List<Start> starts
+    ) {
+        this.modelParameters = modelParameters;
+        this.measurementError = measurementError;
+        this.logLikelihood = logLikelihood;
+        this.bestStartIndex = bestStartIndex;
+        this.starts = Collections.unmodifiableList(starts);
+    }
+
+    public SchwartzModelParameters getModelParameters() {
+        return modelParameters;
+    }
+
+    /**
+     * @return The estimated standard deviation of the measurement errors of the log futures prices.
+     */
+    public double getMeasurementError() {
+        return measurementError;
+    }
+
+    public double getLogLikelihood() {
+        return logLikelihood;
+    }
+
+    public int getBestStartIndex() {
+        return bestStartIndex;
+    }
+
+    public List<Start> getStarts() {
+        return starts;
+    }
+
+    public int getNumberOfStarts() {
+        return starts.size();
+    }
+
+    public int getNumberOfConvergedStarts() {
+        return (int) starts.stream().filter(start -> start.getStatus() == OptimizationStatus.CONVERGED).count();
+    }
+
+    public int getNumberOfPrunedStarts() {
+        return (int) starts.stream().filter(Start::isPruned).count();
+    }
+
+    /**
+     * @return The number of starts that converged to the log-likelihood of the best start within {@code tolerance}, which indicates how
+     * reliably the optimum is reached.
+     */
+    public int getNumberOfStartsAtOptimum(double tolerance) {
+        return (int) starts.stream().filter(start -> logLikelihood - start.getLogLikelihood() <= tolerance).count();
+    }
+
+    @Override
+    public String toString() {
+        return "SchwartzCalibrationResult{" + "modelParameters=" + modelParameters + ", measurementError=" + measurementError
+               + ", logLikelihood=" + logLikelihood + ", bestStartIndex=" + bestStartIndex + ", numberOfStarts=" + starts.size() + '}';
+    }
+
+    /**
+     * The diagnostics of a single estimation.
+     */
+    public static class Start {
+
+        private final int index;
+        private final SchwartzModelParameters initialParameters;
+        private final SchwartzModelParameters modelParameters;
+        private final double measurementError;
+        private final double logLikelihood;
+        private final double gradientNorm;
+        private final int iterations;
+        private final int evaluations;
+        private final OptimizationStatus status;
+        private final boolean pruned;
+
+        public Start(
+            int index,
+            SchwartzModelParameters initialParameters,
+            SchwartzModelParameters modelParameters,
+            double measurementError,
+            double logLikelihood,
+            double gradientNorm,
+            int iterations,
+            int evaluations,
+            OptimizationStatus status,
+            boolean pruned
+        ) {
+            this.index = index;
+            this.initialParameters = initialParameters;
+            this.modelParameters = modelParameters;
+            this.measurementError = measurementError;
+            this.logLikelihood = logLikelihood;
+            this.gradientNorm = gradientNorm;
+            this.iterations = iterations;
+            this.evaluations = evaluations;
+            this.status = status;
+            this.pruned = pruned;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public SchwartzModelParameters getInitialParameters() {
+            return initialParameters;
+        }
+
+        public SchwartzModelParameters getModelParameters() {
+            return modelParameters;
+        }
+
+        public double getMeasurementError() {
+            return measurementError;
+        }
+
+        public double getLogLikelihood() {
+            return logLikelihood;
+        }
+
+        public double getGradientNorm() {
+            return gradientNorm;
+        }
+
+        public int getIterations() {
+            return iterations;
+        }
+
+        public int getEvaluations() {
+            return evaluations;
+        }
+
+        public OptimizationStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * @return True if the estimation was stopped early because it was clearly losing to the other estimations.
+         */
+        public boolean isPruned() {
+            return pruned;
+        }
+
+        @Override
+        public String toString() {
+            return "Start{" + "index=" + index + ", logLikelihood=" + logLikelihood + ", iterations=" + iterations + ", status=" + status
+                   + ", pruned=" + pruned + '}';
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package com.schwartz.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.schwartz.matlab.IMatlabConvertable;
 
 /**
@@ -49,8 +51,11 @@ public class SchwartzModelParameters implements IMatlabConvertable {
     private double rho;
     private double lambda;
 
-    public SchwartzModelParameters(double mu, double sigmaSpot, double kappa, double alpha, 
-            double sigmaConvenienceYield, double interest, double rho, double lambda) {
+    @JsonCreator
+    public SchwartzModelParameters(@JsonProperty("mu") double mu, @JsonProperty("sigmaSpot") double sigmaSpot,
+            @JsonProperty("kappa") double kappa, @JsonProperty("alpha") double alpha,
+            @JsonProperty("sigmaConvenienceYield") double sigmaConvenienceYield, @JsonProperty("interest") double interest,
+            @JsonProperty("rho") double rho, @JsonProperty("lambda") double lambda) {
         this.mu = mu;
         this.sigmaSpot = sigmaSpot;
         this.kappa = kappa;
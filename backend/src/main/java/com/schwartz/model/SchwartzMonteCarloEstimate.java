@@ -0,0 +1,94 @@
+package com.schwartz.model;
+
+/**
+ * A dataholder for the Monte Carlo estimate of the expectation of a {@link SchwartzPathStatistic path statistic}, along with the precision
+ * of the estimate and the effect of the variance reduction.
+ *
+ * @author woope
+ * @see SchwartzPathStatistic
+ */
+public class SchwartzMonteCarloEstimate {
+
+    private final SchwartzPathStatistic statistic;
+    private final double estimate;
+    private final double standardError;
+    private final int numberOfPaths;
+    private final SchwartzSamplingMethod samplingMethod;
+    private final int replicates;
+    private final boolean controlVariates;
+    private final double varianceReductionFactor;
+
+    public SchwartzMonteCarloEstimate(
+        SchwartzPathStatistic statistic,
+        double estimate,
+        double standardError,
+        int numberOfPaths,
+        SchwartzSamplingMethod samplingMethod,
+        int replicates,
+        boolean controlVariates,
+        double varianceReductionFactor
+    ) {
+        this.statistic = statistic;
+        this.estimate = estimate;
+        this.standardError = standardError;
+        this.numberOfPaths = numberOfPaths;
+        this.samplingMethod = samplingMethod;
+        this.replicates = replicates;
+        this.controlVariates = controlVariates;
+        this.varianceReductionFactor = varianceReductionFactor;
+    }
+
+    public SchwartzPathStatistic getStatistic() {
+        return statistic;
+    }
+
+    public double getEstimate() {
+        return estimate;
+    }
+
+    public double getStandardError() {
+        return standardError;
+    }
+
+    public int getNumberOfPaths() {
+        return numberOfPaths;
+    }
+
+    public SchwartzSamplingMethod getSamplingMethod() {
+        return samplingMethod;
+    }
+
+    /**
+     * @return The number of independently scrambled replicates of a quasi-random estimate, or zero for the other sampling methods.
+     */
+    public int getReplicates() {
+        return replicates;
+    }
+
+    public boolean getControlVariates() {
+        return controlVariates;
+    }
+
+    /**
+     * @return The variance of the plain Monte Carlo estimate divided by the variance of this estimate, both estimated from the same paths.
+     */
+    public double getVarianceReductionFactor() {
+        return varianceReductionFactor;
+    }
+
+    /**
+     * @return The number of independent paths that the plain Monte Carlo estimate would need for the same standard error.
+     */
+    public double getEquivalentNumberOfPaths() {
+        return numberOfPaths * varianceReductionFactor;
+    }
+
+    @Override
+    public String toString() {
+        return "SchwartzMonteCarloEstimate{" + "statistic=" + statistic + ", estimate=" + estimate + ", standardError=" + standardError
+               + ", numberOfPaths=" + numberOfPaths + ", samplingMethod=" + samplingMethod + ", replicates=" + replicates
+               + ", controlVariates=" + controlVariates
+               + ", varianceReductionFactor=" + varianceReductionFactor + '}';
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.schwartz.model;
+
+/**
+ * A dataholder for the price of an option on a futures contract. The expiry of the option and the time to maturity of the underlying
+ * contract are expressed in trading days.
+ *
+ * @author woope
+ * @see SchwartzOptionType
+ * @see SchwartzOptionStyle
+ */
+public class SchwartzOptionQuote {
+
+    private final SchwartzOptionType optionType;
+    private final SchwartzOptionStyle style;
+    private final double strike;
+    private final double expiry;
+    private final double time2maturity;
+    private final double futuresPrice;
+    private final double volatility;
+    private final double price;
+    private final double standardError;
+
+    public SchwartzOptionQuote(
+        SchwartzOptionType optionType,
+        SchwartzOptionStyle style,
+        double strike,
+        double expiry,
+        double time2maturity,
+        double futuresPrice,
+        double volatility,
+        double price,
+        double standardError
+    ) {
+        this.optionType = optionType;
+        this.style = style;
+        this.strike = strike;
+        this.expiry = expiry;
+        this.time2maturity = time2maturity;
+        this.futuresPrice = futuresPrice;
+        this.volatility = volatility;
+        this.price = price;
+        this.standardError = standardError;
+    }
+
+    public SchwartzOptionType getOptionType() {
+        return optionType;
+    }
+
+    public SchwartzOptionStyle getStyle() {
+        return style;
+    }
+
+    public double getStrike() {
+        return strike;
+    }
+
+    public double getExpiry() {
+        return expiry;
+    }
+
+    public double getTime2maturity() {
+        return time2maturity;
+    }
+
+    /**
+     * @return The current futures price of the underlying contract.
+     */
+    public double getFuturesPrice() {
+        return futuresPrice;
+    }
+
+    /**
+     * @return The annualized volatility of the underlying futures price until the expiry, i.e. the Black volatility of the European option.
+     */
+    public double getVolatility() {
+        return volatility;
+    }
+
+    public double getPrice() {
+        return price;
+    }
+
+    /**
+     * @return The standard error of the Monte Carlo price, or zero for the closed form prices.
+     */
+    public double getStandardError() {
+        return standardError;
+    }
+
+    @Override
+    public String toString() {
+        return "SchwartzOptionQuote{" + "optionType=" + optionType + ", style=" + style + ", strike=" + strike + ", expiry=" + expiry
+               + ", time2maturity=" + time2maturity + ", futuresPrice=" + futuresPrice + ", volatility=" + volatility + ", price=" + price
+               + ", standardError=" + standardError + '}';
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.schwartz.model;
+
+/**
+ * The exercise styles of the options on the futures contracts.
+ * <ul>
+ *      <li>{@link #EUROPEAN}: the payoff depends on the futures price at the expiry, and the option is priced with the closed form
+ *      solution.</li>
+ *      <li>{@link #AVERAGE_PRICE}: the payoff depends on the arithmetic average of the daily futures prices until the expiry, and the
+ *      option is priced with a Monte Carlo simulation.</li>
+ * </ul>
+ *
+ * @author woope
+ * @see SchwartzOptionQuote
+ */
+public enum SchwartzOptionStyle {
+    EUROPEAN,
+    AVERAGE_PRICE;
+
+    /**
+     * @return True if the payoff depends on the path of the futures price, i.e. the option is priced with a Monte Carlo simulation.
+     */
+    public boolean getPathDependent() {
+        return this != EUROPEAN;
+    }
+}
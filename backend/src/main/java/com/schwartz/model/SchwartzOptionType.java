@@ -0,0 +1,21 @@
+package com.schwartz.model;
+
+/**
+ * The types of the options on the futures contracts.
+ *
+ * @author woope
+ * @see SchwartzOptionQuote
+ */
+public enum SchwartzOptionType {
+    CALL,
+    PUT;
+
+    /**
+     * @param underlying The price of the underlying futures contract at the expiry, or its average for the average price options.
+     * @param strike The strike price of the option.
+     * @return The payoff of the option.
+     */
+    public double getPayoff(double underlying, double strike) {
+        return this == CALL ? Math.max(underlying - strike, 0) : Math.max(strike - underlying, 0);
+    }
+}
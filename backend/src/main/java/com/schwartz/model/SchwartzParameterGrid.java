@@ -0,0 +1,110 @@
+package com.schwartz.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A dataholder for the parametersets of a parameter sweep, given as a list of {@code parameterSets}, as a grid of {@code axes} around
+ * the {@code base} parameterset, or as both:
+ * <pre>
+ *  {"base":{"mu":0.05,...,"lambda":0.1},"axes":{"kappa":[1,2,4],"rho":[0.2,0.5]},"parameterSets":[{"mu":0.1,...,"lambda":0}]}
+ * </pre>
+ * The axes are keyed by the names of the model parameters, and the parameters without an axis keep the value of the base parameterset.
+ *
+ * @author woope
+ * @see SchwartzModelParameters
+ */
+public class SchwartzParameterGrid {
+
+    /**
+     * The names of the model parameters in the order of the constructor of the {@link SchwartzModelParameters}.
+     */
+    public static final List<String> PARAMETER_NAMES = Arrays.asList(
+        "mu", "sigmaSpot", "kappa", "alpha", "sigmaConvenienceYield", "interest", "rho", "lambda"
+    );
+
+    private SchwartzModelParameters base;
+    private Map<String, double[]> axes = new LinkedHashMap<>();
+    private List<SchwartzModelParameters> parameterSets = new ArrayList<>();
+
+    /**
+     * Expands the grid into the parametersets: the listed parametersets followed by the grid, with the last axis varying the fastest.
+     *
+     * @throws IllegalArgumentException if the axes are given without a base parameterset, if an axis is not named by a model parameter,
+     * or if an axis is empty.
+     */
+    public List<SchwartzModelParameters> expand() {
+        List<SchwartzModelParameters> expanded = new ArrayList<>(parameterSets);
+        if (base == null) {
+            Validate.isTrue(axes.isEmpty(), "The axes of the grid need a base parameterset!");
+            return expanded;
+        }
+
+        int[] parameterIndices = new int[axes.size()];
+        double[][] axisValues = new double[axes.size()][];
+        int a = 0;
+        for (Map.Entry<String, double[]> axis : axes.entrySet()) {
+            parameterIndices[a] = PARAMETER_NAMES.indexOf(axis.getKey());
+            Validate.isTrue(parameterIndices[a] >= 0, "Unknown model parameter: " + axis.getKey() + "! The parameters: " + PARAMETER_NAMES);
+            Validate.isTrue(axis.getValue() != null && axis.getValue().length > 0, "The axis " + axis.getKey() + " can not be empty!");
+            axisValues[a] = axis.getValue();
+            a++;
+        }
+
+        double[] values = base.getMatlabFormat()[0];
+        int[] position = new int[axes.size()];
+        for (long g = 0, gridSize = getSize() - parameterSets.size(); g < gridSize; g++) {
+            for (int i = 0; i < position.length; i++) {
+                values[parameterIndices[i]] = axisValues[i][position[i]];
+            }
+            expanded.add(new SchwartzModelParameters(values[0], values[1], values[2], values[3], values[4], values[5], values[6], values[7]));
+
+            // Advances the positions like an odometer, starting from the last axis.
+            for (int i = position.length - 1; i >= 0 && ++position[i] == axisValues[i].length; i--) {
+                position[i] = 0;
+            }
+        }
+        return expanded;
+    }
+
+    /**
+     * @return The number of the parametersets, including the duplicates, saturated for a very large grid.
+     */
+    public long getSize() {
+        long size = base == null ? 0 : 1;
+        for (double[] axisValues : axes.values()) {
+            int length = axisValues == null ? 0 : axisValues.length;
+            size = length > 0 && size > Integer.MAX_VALUE / length ? Integer.MAX_VALUE : size * length;
+        }
+        return parameterSets.size() + size;
+    }
+
+    public SchwartzModelParameters getBase() {
+        return base;
+    }
+
+    public void setBase(SchwartzModelParameters base) {
+        this.base = base;
+    }
+
+    public Map<String, double[]> getAxes() {
+        return axes;
+    }
+
+    public void setAxes(Map<String, double[]> axes) {
+        this.axes = axes == null ? new LinkedHashMap<>() : axes;
+    }
+
+    public List<SchwartzModelParameters> getParameterSets() {
+        return parameterSets;
+    }
+
+    public void setParameterSets(List<SchwartzModelParameters> parameterSets) {
+        this.parameterSets = parameterSets == null ? new ArrayList<>() : parameterSets;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.schwartz.model;
+
+/**
+ * The path statistics whose expectations can be estimated by the Monte Carlo simulations. The statistics are evaluated on the rows of a
+ * single path in the layout of {@link SchwartzSimulatedPaths#getPathRows(int) SchwartzSimulatedPaths.getPathRows}.
+ *
+ * @author woope
+ * @see SchwartzMonteCarloEstimate
+ */
+public enum SchwartzPathStatistic {
+    MAXIMUM_SPOT_PRICE,
+    MINIMUM_SPOT_PRICE,
+    AVERAGE_FRONT_FUTURES_PRICE;
+
+    private static final int SPOT_PRICE_ROW = 0;
+    private static final int FRONT_FUTURES_PRICE_ROW = 3;
+
+    /**
+     * @return True if the statistic is evaluated on the futures prices, i.e. the paths need to contain the term structure.
+     */
+    public boolean getRequiresTermStructure() {
+        return this == AVERAGE_FRONT_FUTURES_PRICE;
+    }
+
+    public double evaluate(double[][] pathRows) {
+        switch (this) {
+            case MAXIMUM_SPOT_PRICE: {
+                double maximum = Double.NEGATIVE_INFINITY;
+                for (double spotPrice : pathRows[SPOT_PRICE_ROW]) {
+                    maximum = Math.max(maximum, spotPrice);
+                }
+                return maximum;
+            }
+            case MINIMUM_SPOT_PRICE: {
+                double minimum = Double.POSITIVE_INFINITY;
+                for (double spotPrice : pathRows[SPOT_PRICE_ROW]) {
+                    minimum = Math.min(minimum, spotPrice);
+                }
+                return minimum;
+            }
+            default: {
+                double sum = 0;
+                for (double futuresPrice : pathRows[FRONT_FUTURES_PRICE_ROW]) {
+                    sum += futuresPrice;
+                }
+                return sum / pathRows[FRONT_FUTURES_PRICE_ROW].length;
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.schwartz.model;
+
+import java.util.List;
+
+/**
+ * A dataholder for the summary statistics of a set of sample paths per time step, i.e. the means, the standard deviations and the
+ * quantiles of the spot prices, the convenience yields and the futures prices of the rolling contracts. The quantiles are estimated within
+ * the {@code relativeAccuracy} of a simulated value.
+ *
+ * @author woope
+ * @see SeriesSummary
+ */
+public class SchwartzPathSummary {
+
+    private final int numberOfPaths;
+    private final double[] timeline;
+    private final double[] probabilities;
+    private final double relativeAccuracy;
+    private final List<SeriesSummary> series;
+
+    public SchwartzPathSummary(int numberOfPaths, double[] timeline, double[] probabilities, double relativeAccuracy, List<SeriesSummary> series) {
+        this.numberOfPaths = numberOfPaths;
+        this.timeline = timeline;
+        this.probabilities = probabilities;
+        this.relativeAccuracy = relativeAccuracy;
+        this.series = series;
+    }
+
+    public int getNumberOfPaths() {
+        return numberOfPaths;
+    }
+
+    public double[] getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * @return The probabilities of the quantiles, in the order of the {@link SeriesSummary#getQuantiles() quantiles}.
+     */
+    public double[] getProbabilities() {
+        return probabilities;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * @return The summaries of the spot price, the convenience yield, and the futures prices of the rolling contracts in the order of
+     * their maturities.
+     */
+    public List<SeriesSummary> getSeries() {
+        return series;
+    }
+
+    /**
+     * The summary statistics of a single simulated variable per time step.
+     */
+    public static class SeriesSummary {
+
+        private final String name;
+        private final double[] means;
+        private final double[] standardDeviations;
+        private final double[][] quantiles;
+
+        public SeriesSummary(String name, double[] means, double[] standardDeviations, double[][] quantiles) {
+            this.name = name;
+            this.means = means;
+            this.standardDeviations = standardDeviations;
+            this.quantiles = quantiles;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double[] getMeans() {
+            return means;
+        }
+
+        public double[] getStandardDeviations() {
+            return standardDeviations;
+        }
+
+        /**
+         * @return The quantiles per probability, each of which holds the quantiles per time step.
+         */
+        public double[][] getQuantiles() {
+            return quantiles;
+        }
+    }
+
+}
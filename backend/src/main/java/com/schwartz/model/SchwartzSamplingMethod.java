@@ -0,0 +1,26 @@
+package com.schwartz.model;
+
+/**
+ * The sampling methods of the Monte Carlo estimates.
+ * <ul>
+ *      <li>{@link #PSEUDO_RANDOM}: independent pseudo-random paths.</li>
+ *      <li>{@link #ANTITHETIC}: pseudo-random paths in antithetic pairs, whose mirrored shocks cancel out the odd part of the statistic.</li>
+ *      <li>{@link #QUASI_RANDOM}: randomized quasi-Monte Carlo paths, whose shocks are scrambled Sobol points that are assembled with the
+ *      Brownian bridge. The error is estimated from the spread of independently scrambled replicates.</li>
+ * </ul>
+ *
+ * @author woope
+ * @see SchwartzMonteCarloEstimate
+ */
+public enum SchwartzSamplingMethod {
+    PSEUDO_RANDOM,
+    ANTITHETIC,
+    QUASI_RANDOM;
+
+    /**
+     * @return The number of consecutive paths that form a single independent sample of the statistic.
+     */
+    public int getPathsPerSample() {
+        return this == ANTITHETIC ? 2 : 1;
+    }
+}
@@ -1,68 +1,217 @@
 package com.schwartz.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.schwartz.matlab.IMatlabConvertable;
+import java.util.AbstractList;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import org.apache.commons.lang3.Validate;
 
 /**
  * Spot price and convenience yield data (for a single commodity).
  *
+ * The data is stored in primitive columns in the layout of the {@link #getMatlabFormat() Matlab format}, and the
+ * {@link Entry Entries} are only materialized as views when they are requested.
+ *
  * @author woope
  */
 public class SchwartzSimulatedData implements IMatlabConvertable {
 
     private static final String NULL_ARGUMENT_ERROR_MESSAGE = "The supplied argument was null!";
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
 
-    private final Map<Integer, Integer> time2TermStructureLengths;
-    private final Map<Integer, Entry> time2entryMap;
+    private double[] timeline;
+    private double[] spotPrices;
+    private double[] convenienceYields;
+    private double[][] termStructure;
+    private int[] termStructureLengths;
+    private int size;
+    private int nonzeroTermStructures;
 
     public SchwartzSimulatedData() {
-        this.time2entryMap = new TreeMap<>();
-        this.time2TermStructureLengths = new HashMap<>();
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public SchwartzSimulatedData(int initialCapacity) {
+        Validate.isTrue(initialCapacity >= 0, "The initial capacity can not be negative!");
+        this.timeline = new double[initialCapacity];
+        this.spotPrices = new double[initialCapacity];
+        this.convenienceYields = new double[initialCapacity];
+        this.termStructure = new double[0][];
+        this.termStructureLengths = new int[initialCapacity];
+    }
+
+    /**
+     * Wraps the {@link #getMatlabFormat() Matlab format} as a {@link SchwartzSimulatedData} view without copying the values. The supplied
+     * array is adopted, and must not be used by the caller afterwards.
+     *
+     * @param data The Matlab format, i.e. the timeline, the spot prices, the convenience yields and the pairs of the time to maturity and the
+     * futures price rows of equal length.
+     * @return The data backed by the supplied array.
+     * @throws IllegalArgumentException if the supplied data does not follow the Matlab format.
+     */
+    public static SchwartzSimulatedData wrapMatlabFormat(double[][] data) {
+        validateMatlabFormat(data);
+        int columns = data[MATLAB_TIMELINE_INDEX].length;
+        double[][] termStructure = Arrays.copyOfRange(data, MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE, data.length);
+        int[] termStructureLengths = getTermStructureLengths(termStructure, columns);
+        boolean increasing = true;
+        for (int j = 0; j < columns; j++) {
+            data[MATLAB_TIMELINE_INDEX][j] = Math.floor(data[MATLAB_TIMELINE_INDEX][j]);
+            increasing &= j == 0 || data[MATLAB_TIMELINE_INDEX][j - 1] < data[MATLAB_TIMELINE_INDEX][j];
+            if (termStructureLengths[j] < 0) {
+                termStructureLengths[j] = compactTermStructure(termStructure, j);
+            }
+        }
+
+        if (!increasing) {
+            SchwartzSimulatedData modelData = new SchwartzSimulatedData(columns);
+            for (int j = 0; j < columns; j++) {
+                double[] time2maturities = new double[termStructureLengths[j]];
+                double[] futuresPrices = new double[termStructureLengths[j]];
+                for (int i = 0; i < termStructureLengths[j]; i++) {
+                    time2maturities[i] = termStructure[2 * i][j];
+                    futuresPrices[i] = termStructure[2 * i + 1][j];
+                }
+                modelData.put(
+                    (int) data[MATLAB_TIMELINE_INDEX][j],
+                    data[MATLAB_SPOT_PRICE_INDEX][j],
+                    data[MATLAB_CONVENIENCE_YIELD_INDEX][j],
+                    time2maturities,
+                    futuresPrices
+                );
+            }
+            return modelData;
+        }
+
+        SchwartzSimulatedData modelData = new SchwartzSimulatedData(0);
+        modelData.timeline = data[MATLAB_TIMELINE_INDEX];
+        modelData.spotPrices = data[MATLAB_SPOT_PRICE_INDEX];
+        modelData.convenienceYields = data[MATLAB_CONVENIENCE_YIELD_INDEX];
+        modelData.termStructure = termStructure;
+        modelData.termStructureLengths = termStructureLengths;
+        modelData.size = columns;
+        for (int j = 0; j < columns; j++) {
+            modelData.nonzeroTermStructures += termStructureLengths[j] > 0 ? 1 : 0;
+        }
+        return modelData;
     }
 
     public void put(Integer time, Double spotPrice, Double convenienceYield) {
-        time2entryMap.put(time, new Entry(spotPrice, convenienceYield));
+        validateEntry(time, spotPrice, convenienceYield);
+        int index = allocate(time);
+        spotPrices[index] = spotPrice;
+        convenienceYields[index] = convenienceYield;
+        setTermStructureLength(index, 0);
     }
 
     public void put(Integer time, Double spotPrice, Double convenienceYield, ContractEntry[] contractEntries) {
-        Entry entry2put = new Entry(spotPrice, convenienceYield, Arrays.asList(contractEntries));
-        addNonzeroTermStructureLength(time, entry2put);
-        time2entryMap.put(time, entry2put);
+        Validate.notNull(contractEntries, NULL_ARGUMENT_ERROR_MESSAGE);
+        put(time, spotPrice, convenienceYield, Arrays.asList(contractEntries));
     }
 
     public void put(Integer time, Double spotPrice, Double convenienceYield, List<ContractEntry> contractEntries) {
-        Entry entry2put = new Entry(spotPrice, convenienceYield, contractEntries);
-        addNonzeroTermStructureLength(time, entry2put);
-        time2entryMap.put(time, entry2put);
+        validateEntry(time, spotPrice, convenienceYield);
+        Validate.notNull(contractEntries, NULL_ARGUMENT_ERROR_MESSAGE);
+
+        int index = allocate(time);
+        spotPrices[index] = spotPrice;
+        convenienceYields[index] = convenienceYield;
+        ensureTermStructureLength(contractEntries.size());
+        int i = 0;
+        for (ContractEntry contractEntry : contractEntries) {
+            termStructure[2 * i][index] = contractEntry.getTime2maturity();
+            termStructure[2 * i + 1][index] = contractEntry.getFuturesPrice();
+            i++;
+        }
+        setTermStructureLength(index, contractEntries.size());
+    }
+
+    /**
+     * Puts an entry without materializing the {@link ContractEntry ContractEntries}.
+     *
+     * @param time The time of the entry.
+     * @param spotPrice The spot price.
+     * @param convenienceYield The convenience yield.
+     * @param time2maturities The times to maturity of the contracts.
+     * @param futuresPrices The futures prices of the contracts, in the same order as the {@code time2maturities}.
+     */
+    public void put(int time, double spotPrice, double convenienceYield, double[] time2maturities, double[] futuresPrices) {
+        Validate.notNull(time2maturities, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.notNull(futuresPrices, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.isTrue(time2maturities.length == futuresPrices.length, "The contract datasets are of inequal length!");
+
+        int index = allocate(time);
+        spotPrices[index] = spotPrice;
+        convenienceYields[index] = convenienceYield;
+        ensureTermStructureLength(time2maturities.length);
+        for (int i = 0; i < time2maturities.length; i++) {
+            termStructure[2 * i][index] = time2maturities[i];
+            termStructure[2 * i + 1][index] = futuresPrices[i];
+        }
+        setTermStructureLength(index, time2maturities.length);
     }
 
     public Collection<Entry> getEntries() {
-        return time2entryMap.values();
+        return new EntryView();
     }
 
     public Set<Integer> getTimeline() {
-        return time2entryMap.keySet();
+        return new TimelineView();
     }
 
     public boolean hasContractEntries() {
-        return !time2TermStructureLengths.isEmpty();
+        return nonzeroTermStructures > 0;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return A copy of the data, which shares none of the arrays of the data.
+     */
+    public SchwartzSimulatedData copy() {
+        return wrapMatlabFormat(getMatlabFormat());
+    }
+
+    /**
+     * Returns the length of the longest term structure.
+     *
+     * @return The maximum number of contracts over the timeline.
+     */
+    @JsonIgnore
+    public int getMaxTermStructureLength() {
+        int maxTermStructureLength = 0;
+        for (int j = 0; j < size; j++) {
+            maxTermStructureLength = Math.max(maxTermStructureLength, termStructureLengths[j]);
+        }
+        return maxTermStructureLength;
     }
 
     @Override
     public int hashCode() {
         int hash = 5;
-        hash = 29 * hash + Objects.hashCode(this.time2entryMap);
+        for (int j = 0; j < size; j++) {
+            hash = 29 * hash + Double.hashCode(timeline[j]);
+            hash = 29 * hash + Double.hashCode(spotPrices[j]);
+            hash = 29 * hash + Double.hashCode(convenienceYields[j]);
+            for (int i = 0; i < 2 * termStructureLengths[j]; i++) {
+                hash = 29 * hash + Double.hashCode(termStructure[i][j]);
+            }
+        }
         return hash;
     }
 
@@ -75,74 +224,274 @@ public class SchwartzSimulatedData implements IMatlabConvertable {
             return false;
         }
         final SchwartzSimulatedData other = (SchwartzSimulatedData) obj;
-        if (!Objects.equals(this.time2entryMap, other.time2entryMap)) {
+        if (this.size != other.size) {
             return false;
         }
+        for (int j = 0; j < size; j++) {
+            if (!sameValue(this.timeline[j], other.timeline[j])
+                    || !sameValue(this.spotPrices[j], other.spotPrices[j])
+                    || !sameValue(this.convenienceYields[j], other.convenienceYields[j])
+                    || this.termStructureLengths[j] != other.termStructureLengths[j]) {
+                return false;
+            }
+            for (int i = 0; i < 2 * termStructureLengths[j]; i++) {
+                if (!sameValue(this.termStructure[i][j], other.termStructure[i][j])) {
+                    return false;
+                }
+            }
+        }
         return true;
     }
 
     @Override
     public String toString() {
-        return "SchwartzModelData{" + "time2TermStructureLengths=" + time2TermStructureLengths + "\n, time2entryMap=" + time2entryMap + '}';
+        StringBuilder entries = new StringBuilder("{");
+        for (int j = 0; j < size; j++) {
+            entries.append(j == 0 ? "" : ", ").append((int) timeline[j]).append('=').append(new EntryView().get(j));
+        }
+        return "SchwartzModelData{" + "size=" + size + "\n, time2entryMap=" + entries.append('}') + '}';
     }
 
     @Override
     public double[][] getMatlabFormat() {
-        Integer maxTermStructureLength = this.hasContractEntries() ? Collections.max(time2TermStructureLengths.values()) : 0;
-        int rowLength = 3 + (maxTermStructureLength * 2);
-        int columnLength = time2entryMap.size();
-        double[][] data2matlab = new double[rowLength][columnLength];
-
-        Set<Integer> timeline = getTimeline();
-        Collection<Entry> entries = getEntries();
-
-        // First, construct the timeline row.
-        // Note that this stupid iterative method has to be used as no primitive casting for arrays is possible.
-        Iterator<Integer> timelineIterator = timeline.iterator();
-        for (int j = 0; j < timeline.size(); j++) {
-            data2matlab[MATLAB_TIMELINE_INDEX][j] = (double) timelineIterator.next();
-        }
-
-        // Next, construct the rest of the matrix.
-        Iterator<Entry> entriesIterator = entries.iterator();
-        for (int j = 0; j < time2entryMap.size(); j++) {
-            Entry entry = entriesIterator.next();
-            data2matlab[MATLAB_SPOT_PRICE_INDEX][j] = entry.getSpotPrice();
-            data2matlab[MATLAB_CONVENIENCE_YIELD_INDEX][j] = entry.getConvenienceYield();
-
-            if (this.hasContractEntries()) {
-                List<ContractEntry> contractEntries = entry.getContractEntriesList();
-                
-                for (int i = 0; i < maxTermStructureLength; i++) {
-                    int contractEntryIndex = MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE + (i * 2);
-                    double time2maturityValue;
-                    double futuresPriceValue;
-
-                    if (i < contractEntries.size()) {
-                        // Add the existing contract entries.
-                        ContractEntry contractEntry = contractEntries.get(i);
-                        time2maturityValue = contractEntry.time2maturity;
-                        futuresPriceValue = contractEntry.futuresPrice;
-                    } else {
-                        // If there are no more contract entres, the values need to be replaced with -Inf.
-                        time2maturityValue = Double.NaN;
-                        futuresPriceValue = Double.NaN;
-                    }
+        int maxTermStructureLength = getMaxTermStructureLength();
+        double[][] data2matlab = new double[MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE + (maxTermStructureLength * 2)][];
+
+        data2matlab[MATLAB_TIMELINE_INDEX] = Arrays.copyOf(timeline, size);
+        data2matlab[MATLAB_SPOT_PRICE_INDEX] = Arrays.copyOf(spotPrices, size);
+        data2matlab[MATLAB_CONVENIENCE_YIELD_INDEX] = Arrays.copyOf(convenienceYields, size);
+        // The missing contract entries are already padded with NaNs.
+        for (int i = 0; i < maxTermStructureLength * 2; i++) {
+            data2matlab[MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE + i] = Arrays.copyOf(termStructure[i], size);
+        }
+        return data2matlab;
+    }
+
+    private static void validateMatlabFormat(double[][] data) {
+        Validate.isTrue(data != null, "Expected non-null data!");
+        Validate.isTrue(
+            data.length >= MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE,
+            "The Data needs to supply at least the timeline, spot price and convenience yield!"
+        );
+        Validate.isTrue(data.length % 2 == 1, "Expected an odd number of datasets! The number of datasets: " + data.length);
+        for (double[] row : data) {
+            Validate.isTrue(row != null && row.length == data[MATLAB_TIMELINE_INDEX].length, "Datasets of inequal length");
+        }
+    }
 
-                    data2matlab[contractEntryIndex][j] = time2maturityValue;
-                    data2matlab[contractEntryIndex + 1][j] = futuresPriceValue;
+    /**
+     * Counts the present contracts of the columns row by row, i.e. in the memory order of the term structure.
+     *
+     * @return The number of the present contracts of the columns, or -1 for the columns that need to be compacted, i.e. the columns in
+     * which missing contracts precede present ones, or in which a contract is only partially missing.
+     */
+    private static int[] getTermStructureLengths(double[][] termStructure, int columns) {
+        int[] termStructureLengths = new int[columns];
+        for (int i = 0; i < termStructure.length; i += 2) {
+            double[] time2maturities = termStructure[i];
+            double[] futuresPrices = termStructure[i + 1];
+            for (int j = 0; j < columns; j++) {
+                boolean missingTime2maturity = Double.isNaN(time2maturities[j]);
+                boolean missingFuturesPrice = Double.isNaN(futuresPrices[j]);
+                if (missingTime2maturity && missingFuturesPrice) {
+                    continue;
                 }
+                boolean padded = !missingTime2maturity && !missingFuturesPrice && termStructureLengths[j] == i / 2;
+                termStructureLengths[j] = padded ? termStructureLengths[j] + 1 : -1;
             }
         }
-        return data2matlab;
+        return termStructureLengths;
     }
 
-    private void addNonzeroTermStructureLength(Integer time, Entry entry2put) {
-        if (time2TermStructureLengths.containsKey(time) && !entry2put.hasContractData()) {
-            time2TermStructureLengths.remove(time);
-        } else if (entry2put.hasContractData()) {
-            time2TermStructureLengths.put(time, entry2put.getContractEntriesList().size());
+    /**
+     * Moves the present contracts of the column to the front of the term structure, and pads the rest of the column with NaNs.
+     *
+     * @return The number of the present contracts.
+     */
+    private static int compactTermStructure(double[][] termStructure, int column) {
+        int termStructureLength = 0;
+        for (int i = 0; i < termStructure.length; i += 2) {
+            double time2maturity = termStructure[i][column];
+            double futuresPrice = termStructure[i + 1][column];
+            if (Double.isNaN(time2maturity) || Double.isNaN(futuresPrice)) {
+                continue;
+            }
+            termStructure[2 * termStructureLength][column] = time2maturity;
+            termStructure[2 * termStructureLength + 1][column] = futuresPrice;
+            termStructureLength++;
+        }
+        for (int i = 2 * termStructureLength; i < termStructure.length; i++) {
+            termStructure[i][column] = Double.NaN;
+        }
+        return termStructureLength;
+    }
+
+    private static boolean sameValue(double value, double otherValue) {
+        return Double.doubleToLongBits(value) == Double.doubleToLongBits(otherValue);
+    }
+
+    private static void validateEntry(Integer time, Double spotPrice, Double convenienceYield) {
+        Validate.notNull(time, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.notNull(spotPrice, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.notNull(convenienceYield, NULL_ARGUMENT_ERROR_MESSAGE);
+    }
+
+    /**
+     * Returns the column index of the supplied time, inserting a new column at the sorted position if the time does not yet exist.
+     */
+    private int allocate(int time) {
+        // Simulations append the entries in chronological order, which is why the last column is checked first.
+        if (size == 0 || timeline[size - 1] < time) {
+            ensureCapacity(size + 1);
+            timeline[size] = time;
+            return size++;
+        }
+
+        int index = Arrays.binarySearch(timeline, 0, size, time);
+        if (index >= 0) {
+            return index;
+        }
+
+        index = -(index + 1);
+        ensureCapacity(size + 1);
+        int tail = size - index;
+        System.arraycopy(timeline, index, timeline, index + 1, tail);
+        System.arraycopy(spotPrices, index, spotPrices, index + 1, tail);
+        System.arraycopy(convenienceYields, index, convenienceYields, index + 1, tail);
+        System.arraycopy(termStructureLengths, index, termStructureLengths, index + 1, tail);
+        termStructureLengths[index] = 0;
+        for (double[] row : termStructure) {
+            System.arraycopy(row, index, row, index + 1, tail);
+            row[index] = Double.NaN;
         }
+        timeline[index] = time;
+        size++;
+        return index;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= timeline.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, timeline.length + (timeline.length >> 1) + 1);
+        timeline = Arrays.copyOf(timeline, newCapacity);
+        spotPrices = Arrays.copyOf(spotPrices, newCapacity);
+        convenienceYields = Arrays.copyOf(convenienceYields, newCapacity);
+        termStructureLengths = Arrays.copyOf(termStructureLengths, newCapacity);
+        for (int i = 0; i < termStructure.length; i++) {
+            double[] row = Arrays.copyOf(termStructure[i], newCapacity);
+            Arrays.fill(row, termStructure[i].length, newCapacity, Double.NaN);
+            termStructure[i] = row;
+        }
+    }
+
+    private void ensureTermStructureLength(int termStructureLength) {
+        int rows = termStructureLength * 2;
+        if (rows <= termStructure.length) {
+            return;
+        }
+        int oldRows = termStructure.length;
+        termStructure = Arrays.copyOf(termStructure, rows);
+        for (int i = oldRows; i < rows; i++) {
+            termStructure[i] = new double[timeline.length];
+            Arrays.fill(termStructure[i], Double.NaN);
+        }
+    }
+
+    private void setTermStructureLength(int index, int termStructureLength) {
+        // Pad the contracts that were possibly left over from a replaced entry.
+        for (int i = termStructureLength * 2; i < termStructureLengths[index] * 2; i++) {
+            termStructure[i][index] = Double.NaN;
+        }
+        if (termStructureLengths[index] == 0 && termStructureLength > 0) {
+            nonzeroTermStructures++;
+        } else if (termStructureLengths[index] > 0 && termStructureLength == 0) {
+            nonzeroTermStructures--;
+        }
+        termStructureLengths[index] = termStructureLength;
+    }
+
+    /**
+     * A read-only view of the entries, that materializes the {@link Entry Entries} on access.
+     */
+    private class EntryView extends AbstractList<Entry> {
+
+        @Override
+        public Entry get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return new Entry(spotPrices[index], convenienceYields[index], new ContractEntryView(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+    /**
+     * A read-only view of the term structure of a single column, that materializes the {@link ContractEntry ContractEntries} on access.
+     */
+    private class ContractEntryView extends AbstractList<ContractEntry> {
+
+        private final int column;
+
+        ContractEntryView(int column) {
+            this.column = column;
+        }
+
+        @Override
+        public ContractEntry get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size());
+            }
+            return new ContractEntry(termStructure[2 * index][column], termStructure[2 * index + 1][column]);
+        }
+
+        @Override
+        public int size() {
+            return termStructureLengths[column];
+        }
+
+    }
+
+    /**
+     * A read-only view of the sorted timeline.
+     */
+    private class TimelineView extends AbstractSet<Integer> {
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size;
+                }
+
+                @Override
+                public Integer next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return (int) timeline[index++];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Integer && Arrays.binarySearch(timeline, 0, size, (Integer) o) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
     }
 
     public static class Entry {
@@ -0,0 +1,278 @@
+package com.schwartz.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.schwartz.matlab.IMatlabConvertable;
+import java.util.Arrays;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Spot price and convenience yield data of multiple sample paths (for a single commodity) that share the same timeline.
+ *
+ * Every path is stored as a block of primitive rows, and the rows of the path {@code p} begin at the index
+ * {@code 1 + p * (2 + 2 * numberOfContracts)} of the {@link #getMatlabFormat() Matlab format}. The arrays returned by the getters are backed
+ * by the data.
+ *
+ * @author woope
+ * @see SchwartzSimulatedData
+ */
+public class SchwartzSimulatedPaths implements IMatlabConvertable {
+
+    private static final String NULL_ARGUMENT_ERROR_MESSAGE = "The supplied argument was null!";
+    private static final int SPOT_PRICE_ROW = 0;
+    private static final int CONVENIENCE_YIELD_ROW = 1;
+    private static final int FIRST_TERM_STRUCTURE_ROW = 2;
+
+    private final double[] timeline;
+    private final double[][][] paths;
+    private final int numberOfContracts;
+
+    public SchwartzSimulatedPaths(double[] timeline, int numberOfPaths, int numberOfContracts) {
+        Validate.notNull(timeline, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.isTrue(numberOfPaths >= 0, "The number of paths can not be negative!");
+        Validate.isTrue(numberOfContracts >= 0, "The number of contracts can not be negative!");
+
+        this.timeline = timeline;
+        this.numberOfContracts = numberOfContracts;
+        this.paths = new double[numberOfPaths][][];
+    }
+
+    /**
+     * Puts a single time step of a path.
+     *
+     * @param pathIndex The index of the path.
+     * @param timestepIndex The index of the time step in the timeline.
+     * @param spotPrice The spot price.
+     * @param convenienceYield The convenience yield.
+     * @param time2maturities The times to maturity of at most {@code numberOfContracts} contracts.
+     * @param futuresPrices The futures prices of the contracts, in the same order as the {@code time2maturities}.
+     */
+    public void put(int pathIndex, int timestepIndex, double spotPrice, double convenienceYield, double[] time2maturities, double[] futuresPrices) {
+        Validate.notNull(time2maturities, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.notNull(futuresPrices, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.isTrue(time2maturities.length == futuresPrices.length, "The contract datasets are of inequal length!");
+        Validate.isTrue(time2maturities.length <= numberOfContracts, "The term structure exceeds the number of contracts!");
+        Validate.isTrue(timestepIndex >= 0 && timestepIndex < timeline.length, "The time step index is out of the timeline!");
+
+        double[][] rows = allocate(pathIndex);
+        rows[SPOT_PRICE_ROW][timestepIndex] = spotPrice;
+        rows[CONVENIENCE_YIELD_ROW][timestepIndex] = convenienceYield;
+        for (int i = 0; i < time2maturities.length; i++) {
+            rows[FIRST_TERM_STRUCTURE_ROW + 2 * i][timestepIndex] = time2maturities[i];
+            rows[FIRST_TERM_STRUCTURE_ROW + 2 * i + 1][timestepIndex] = futuresPrices[i];
+        }
+        for (int i = time2maturities.length; i < numberOfContracts; i++) {
+            rows[FIRST_TERM_STRUCTURE_ROW + 2 * i][timestepIndex] = Double.NaN;
+            rows[FIRST_TERM_STRUCTURE_ROW + 2 * i + 1][timestepIndex] = Double.NaN;
+        }
+    }
+
+    /**
+     * Puts the rows of a whole path without copying them.
+     *
+     * @param pathIndex The index of the path.
+     * @param rows The spot price row, the convenience yield row and the {@code 2 * numberOfContracts} term structure rows, each spanning the
+     * timeline.
+     */
+    public void putPath(int pathIndex, double[][] rows) {
+        Validate.notNull(rows, NULL_ARGUMENT_ERROR_MESSAGE);
+        Validate.validIndex(paths, pathIndex);
+        Validate.isTrue(rows.length == getRowsPerPath(), "Expected " + getRowsPerPath() + " rows per path! The number of rows: " + rows.length);
+        for (double[] row : rows) {
+            Validate.isTrue(row != null && row.length == timeline.length, "The rows need to span the timeline!");
+        }
+        paths[pathIndex] = rows;
+    }
+
+    /**
+     * Materializes a single path, omitting the contracts that are padded with NaNs.
+     *
+     * @param pathIndex The index of the path.
+     */
+    public SchwartzSimulatedData getPath(int pathIndex) {
+        double[][] rows = allocate(pathIndex);
+        SchwartzSimulatedData modelData = new SchwartzSimulatedData(timeline.length);
+        double[] time2maturities = new double[numberOfContracts];
+        double[] futuresPrices = new double[numberOfContracts];
+
+        for (int j = 0; j < timeline.length; j++) {
+            int contracts = 0;
+            for (int i = 0; i < numberOfContracts; i++) {
+                double time2maturity = rows[FIRST_TERM_STRUCTURE_ROW + 2 * i][j];
+                double futuresPrice = rows[FIRST_TERM_STRUCTURE_ROW + 2 * i + 1][j];
+                if (Double.isNaN(time2maturity) || Double.isNaN(futuresPrice)) {
+                    continue;
+                }
+                time2maturities[contracts] = time2maturity;
+                futuresPrices[contracts] = futuresPrice;
+                contracts++;
+            }
+            modelData.put(
+                (int) Math.floor(timeline[j]),
+                rows[SPOT_PRICE_ROW][j],
+                rows[CONVENIENCE_YIELD_ROW][j],
+                Arrays.copyOf(time2maturities, contracts),
+                Arrays.copyOf(futuresPrices, contracts)
+            );
+        }
+        return modelData;
+    }
+
+    /**
+     * Returns the rows of a single path in the layout of {@link #putPath(int, double[][]) putPath}.
+     *
+     * @param pathIndex The index of the path.
+     * @return The rows of the path, backed by the data.
+     */
+    public double[][] getPathRows(int pathIndex) {
+        return allocate(pathIndex);
+    }
+
+    /**
+     * @return A deep copy of the paths, which shares none of the arrays of the data.
+     */
+    public SchwartzSimulatedPaths copy() {
+        SchwartzSimulatedPaths copy = new SchwartzSimulatedPaths(timeline.clone(), paths.length, numberOfContracts);
+        for (int p = 0; p < paths.length; p++) {
+            if (paths[p] != null) {
+                double[][] rows = new double[paths[p].length][];
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = paths[p][i].clone();
+                }
+                copy.paths[p] = rows;
+            }
+        }
+        return copy;
+    }
+
+    public double[] getTimeline() {
+        return timeline;
+    }
+
+    public double[][] getSpotPrices() {
+        return getRows(SPOT_PRICE_ROW);
+    }
+
+    public double[][] getConvenienceYields() {
+        return getRows(CONVENIENCE_YIELD_ROW);
+    }
+
+    /**
+     * Returns the times to maturity of the contracts.
+     *
+     * @return The times to maturity, indexed by the path, the contract and the time step.
+     */
+    public double[][][] getTime2maturities() {
+        return getTermStructureRows(0);
+    }
+
+    /**
+     * Returns the futures prices of the contracts.
+     *
+     * @return The futures prices, indexed by the path, the contract and the time step.
+     */
+    public double[][][] getFuturesPrices() {
+        return getTermStructureRows(1);
+    }
+
+    public int getNumberOfPaths() {
+        return paths.length;
+    }
+
+    public int getNumberOfTimesteps() {
+        return timeline.length;
+    }
+
+    public int getNumberOfContracts() {
+        return numberOfContracts;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 31 * hash + Arrays.hashCode(timeline);
+        for (int p = 0; p < paths.length; p++) {
+            hash = 31 * hash + Arrays.deepHashCode(allocate(p));
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final SchwartzSimulatedPaths other = (SchwartzSimulatedPaths) obj;
+        if (this.numberOfContracts != other.numberOfContracts || this.paths.length != other.paths.length) {
+            return false;
+        }
+        if (!Arrays.equals(this.timeline, other.timeline)) {
+            return false;
+        }
+        for (int p = 0; p < paths.length; p++) {
+            if (!Arrays.deepEquals(this.allocate(p), other.allocate(p))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "SchwartzSimulatedPaths{" + "numberOfPaths=" + paths.length + ", numberOfTimesteps=" + timeline.length
+               + ", numberOfContracts=" + numberOfContracts + '}';
+    }
+
+    @Override
+    @JsonIgnore
+    public double[][] getMatlabFormat() {
+        int rowsPerPath = getRowsPerPath();
+        double[][] data2matlab = new double[1 + paths.length * rowsPerPath][];
+
+        data2matlab[MATLAB_TIMELINE_INDEX] = timeline;
+        for (int p = 0; p < paths.length; p++) {
+            System.arraycopy(allocate(p), 0, data2matlab, 1 + p * rowsPerPath, rowsPerPath);
+        }
+        return data2matlab;
+    }
+
+    private int getRowsPerPath() {
+        return FIRST_TERM_STRUCTURE_ROW + 2 * numberOfContracts;
+    }
+
+    /**
+     * Returns the rows of the path, and allocates them if the path has not been put yet. The term structure rows are allocated with NaNs.
+     */
+    private double[][] allocate(int pathIndex) {
+        Validate.validIndex(paths, pathIndex);
+        if (paths[pathIndex] == null) {
+            double[][] rows = new double[getRowsPerPath()][timeline.length];
+            for (int i = FIRST_TERM_STRUCTURE_ROW; i < rows.length; i++) {
+                Arrays.fill(rows[i], Double.NaN);
+            }
+            paths[pathIndex] = rows;
+        }
+        return paths[pathIndex];
+    }
+
+    private double[][] getRows(int row) {
+        double[][] rows = new double[paths.length][];
+        for (int p = 0; p < paths.length; p++) {
+            rows[p] = allocate(p)[row];
+        }
+        return rows;
+    }
+
+    private double[][][] getTermStructureRows(int offset) {
+        double[][][] rows = new double[paths.length][numberOfContracts][];
+        for (int p = 0; p < paths.length; p++) {
+            for (int i = 0; i < numberOfContracts; i++) {
+                rows[p][i] = allocate(p)[FIRST_TERM_STRUCTURE_ROW + 2 * i + offset];
+            }
+        }
+        return rows;
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.schwartz.model;
+
+import java.util.Objects;
+
+/**
+ * A snapshot of the state of an asynchronously executed simulation job.
+ *
+ * The timestamps are expressed as epoch milliseconds, and they are {@code null} until the job has reached the corresponding state.
+ *
+ * @author woope
+ * @see SimulationJobStatus
+ */
+public class SimulationJobInfo {
+
+    private final String jobId;
+    private final SimulationJobStatus status;
+    private final double progress;
+    private final Long submittedAt;
+    private final Long startedAt;
+    private final Long finishedAt;
+    private final String errorMessage;
+
+    public SimulationJobInfo(String jobId, SimulationJobStatus status, double progress, Long submittedAt, Long startedAt,
+            Long finishedAt, String errorMessage) {
+        this.jobId = jobId;
+        this.status = status;
+        this.progress = progress;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.errorMessage = errorMessage;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public SimulationJobStatus getStatus() {
+        return status;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    public Long getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 41 * hash + Objects.hashCode(this.jobId);
+        hash = 41 * hash + Objects.hashCode(this.status);
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        final SimulationJobInfo other = (SimulationJobInfo) obj;
+        if (!Objects.equals(this.jobId, other.jobId)) {
+            return false;
+        }
+        if (this.status != other.status) {
+            return false;
+        }
+        if (Double.doubleToLongBits(this.progress) != Double.doubleToLongBits(other.progress)) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationJobInfo{" + "jobId=" + jobId + ", status=" + status + ", progress=" + progress + ", submittedAt=" + submittedAt
+                + ", startedAt=" + startedAt + ", finishedAt=" + finishedAt + ", errorMessage=" + errorMessage + '}';
+    }
+
+}
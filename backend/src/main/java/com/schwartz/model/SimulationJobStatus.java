@@ -0,0 +1,19 @@
+package com.schwartz.model;
+
+/**
+ * The lifecycle states of an asynchronously executed simulation job.
+ *
+ * @author woope
+ * @see SimulationJobInfo
+ */
+public enum SimulationJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,217 @@
+package com.schwartz.optimization;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Minimizes a {@link IDifferentiableFunction} with the quasi-Newton method of Broyden, Fletcher, Goldfarb and Shanno.
+ *
+ * Every step uses a backtracking line search with the Armijo condition, and the non-finite function values are treated as points outside
+ * the domain. The minimizer is immutable and can be used from several threads at once.
+ *
+ * @author woope
+ * @see IDifferentiableFunction
+ */
+public class BfgsMinimizer {
+
+    public static final int DEFAULT_MAX_ITERATIONS = 500;
+    public static final double DEFAULT_GRADIENT_TOLERANCE = 1e-5;
+    public static final double DEFAULT_FUNCTION_TOLERANCE = 1e-13;
+
+    private static final double ARMIJO_CONSTANT = 1e-4;
+    private static final double BACKTRACKING_FACTOR = 0.5;
+    private static final int MAX_BACKTRACKING_STEPS = 60;
+
+    private final int maxIterations;
+    private final double gradientTolerance;
+    private final double functionTolerance;
+
+    public BfgsMinimizer() {
+        this(DEFAULT_MAX_ITERATIONS, DEFAULT_GRADIENT_TOLERANCE, DEFAULT_FUNCTION_TOLERANCE);
+    }
+
+    /**
+     * @param maxIterations The maximum number of iterations.
+     * @param gradientTolerance The maximum norm of the gradient at which the minimization has converged.
+     * @param functionTolerance The relative decrease of the function value below which the minimization has converged, i.e. the value can
+     * not be improved further within the precision of the function.
+     */
+    public BfgsMinimizer(int maxIterations, double gradientTolerance, double functionTolerance) {
+        Validate.isTrue(maxIterations > 0, "The maximum number of iterations needs to be positive!");
+        Validate.isTrue(gradientTolerance > 0, "The gradient tolerance needs to be positive!");
+        Validate.isTrue(functionTolerance >= 0, "The function tolerance can not be negative!");
+
+        this.maxIterations = maxIterations;
+        this.gradientTolerance = gradientTolerance;
+        this.functionTolerance = functionTolerance;
+    }
+
+    public OptimizationResult minimize(IDifferentiableFunction function, double[] start) {
+        return minimize(function, start, (iteration, value, gradientNorm) -> true);
+    }
+
+    /**
+     * Minimizes the function from the starting point.
+     *
+     * @param function The function to be minimized.
+     * @param start The starting point, which is not modified.
+     * @param monitor The monitor that is notified after every iteration, and that can stop the minimization.
+     * @return The result of the minimization.
+     * @throws IllegalArgumentException if the function is not finite at the starting point.
+     * @throws CancellationException if the minimizing thread is interrupted.
+     */
+    public OptimizationResult minimize(IDifferentiableFunction function, double[] start, IOptimizationMonitor monitor) {
+        Validate.notNull(function, "The supplied function was null!");
+        Validate.notNull(start, "The supplied starting point was null!");
+        Validate.notNull(monitor, "The supplied monitor was null!");
+
+        int n = start.length;
+        double[] point = Arrays.copyOf(start, n);
+        double[] gradient = new double[n];
+        double value = function.evaluate(point, gradient);
+        int evaluations = 1;
+        Validate.isTrue(Double.isFinite(value), "The function is not finite at the starting point " + Arrays.toString(start) + "!");
+
+        double[][] inverseHessian = identity(n);
+        double[] direction = new double[n];
+        double[] nextPoint = new double[n];
+        double[] nextGradient = new double[n];
+        double[] step = new double[n];
+        double[] gradientChange = new double[n];
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double gradientNorm = maxNorm(gradient);
+            if (gradientNorm <= gradientTolerance) {
+                return new OptimizationResult(point, value, gradientNorm, iteration, evaluations, OptimizationStatus.CONVERGED);
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("The minimization was interrupted!");
+            }
+
+            multiply(inverseHessian, gradient, direction);
+            double slope = 0;
+            for (int i = 0; i < n; i++) {
+                direction[i] = -direction[i];
+                slope += direction[i] * gradient[i];
+            }
+            if (slope >= 0) {
+                // The approximation has lost its positive definiteness numerically, so the steepest descent is restarted.
+                inverseHessian = identity(n);
+                for (int i = 0; i < n; i++) {
+                    direction[i] = -gradient[i];
+                }
+                slope = -dot(gradient, gradient);
+            }
+
+            double stepLength = 1;
+            double nextValue = Double.NaN;
+            boolean accepted = false;
+            for (int k = 0; k < MAX_BACKTRACKING_STEPS && !accepted; k++) {
+                for (int i = 0; i < n; i++) {
+                    nextPoint[i] = point[i] + stepLength * direction[i];
+                }
+                nextValue = function.evaluate(nextPoint, nextGradient);
+                evaluations++;
+                accepted = Double.isFinite(nextValue) && nextValue <= value + ARMIJO_CONSTANT * stepLength * slope;
+                if (!accepted) {
+                    stepLength *= BACKTRACKING_FACTOR;
+                }
+            }
+            if (!accepted) {
+                return new OptimizationResult(point, value, gradientNorm, iteration, evaluations, OptimizationStatus.LINE_SEARCH_FAILED);
+            }
+
+            for (int i = 0; i < n; i++) {
+                step[i] = nextPoint[i] - point[i];
+                gradientChange[i] = nextGradient[i] - gradient[i];
+            }
+            double curvature = dot(step, gradientChange);
+            if (curvature > 1e-12 * Math.sqrt(dot(step, step) * dot(gradientChange, gradientChange))) {
+                if (iteration == 0) {
+                    double scale = curvature / dot(gradientChange, gradientChange);
+                    for (int i = 0; i < n; i++) {
+                        inverseHessian[i][i] = scale;
+                    }
+                }
+                update(inverseHessian, step, gradientChange, curvature);
+            }
+
+            double decrease = value - nextValue;
+            System.arraycopy(nextPoint, 0, point, 0, n);
+            System.arraycopy(nextGradient, 0, gradient, 0, n);
+            value = nextValue;
+            if (decrease <= functionTolerance * Math.max(1, Math.abs(value))) {
+                return new OptimizationResult(point, value, maxNorm(gradient), iteration + 1, evaluations, OptimizationStatus.CONVERGED);
+            }
+
+            if (!monitor.onIteration(iteration + 1, value, maxNorm(gradient))) {
+                return new OptimizationResult(point, value, maxNorm(gradient), iteration + 1, evaluations, OptimizationStatus.STOPPED);
+            }
+        }
+
+        double gradientNorm = maxNorm(gradient);
+        OptimizationStatus status = gradientNorm <= gradientTolerance ? OptimizationStatus.CONVERGED : OptimizationStatus.MAX_ITERATIONS;
+        return new OptimizationResult(point, value, gradientNorm, maxIterations, evaluations, status);
+    }
+
+    /**
+     * Applies the BFGS update {@code H = (I - rho s y') H (I - rho y s') + rho s s'} with {@code rho = 1 / y's}.
+     */
+    private static void update(double[][] inverseHessian, double[] step, double[] gradientChange, double curvature) {
+        int n = step.length;
+        double[] hy = new double[n];
+        multiply(inverseHessian, gradientChange, hy);
+        double yhy = dot(gradientChange, hy);
+        double factor = (curvature + yhy) / (curvature * curvature);
+
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                inverseHessian[i][j] += factor * step[i] * step[j] - (hy[i] * step[j] + step[i] * hy[j]) / curvature;
+            }
+        }
+    }
+
+    private static double[][] identity(int n) {
+        double[][] identity = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            identity[i][i] = 1;
+        }
+        return identity;
+    }
+
+    private static void multiply(double[][] matrix, double[] vector, double[] result) {
+        for (int i = 0; i < matrix.length; i++) {
+            result[i] = dot(matrix[i], vector);
+        }
+    }
+
+    private static double dot(double[] a, double[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    private static double maxNorm(double[] vector) {
+        double norm = 0;
+        for (double element : vector) {
+            norm = Math.max(norm, Math.abs(element));
+        }
+        return norm;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public double getGradientTolerance() {
+        return gradientTolerance;
+    }
+
+    public double getFunctionTolerance() {
+        return functionTolerance;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.schwartz.optimization;
+
+/**
+ * A real valued function of several variables that supplies its gradient along with its value.
+ *
+ * @author woope
+ * @see BfgsMinimizer
+ */
+@FunctionalInterface
+public interface IDifferentiableFunction {
+
+    /**
+     * Evaluates the function and its gradient at the supplied point.
+     *
+     * @param point The point of the evaluation, which is not modified.
+     * @param gradient The array that is filled with the gradient at the point.
+     * @return The value of the function, or a non-finite value if the point is outside the domain of the function.
+     */
+    public double evaluate(double[] point, double[] gradient);
+}
@@ -0,0 +1,21 @@
+package com.schwartz.optimization;
+
+/**
+ * Monitors the iterations of an optimization, and decides whether the optimization is continued.
+ *
+ * @author woope
+ * @see BfgsMinimizer
+ */
+@FunctionalInterface
+public interface IOptimizationMonitor {
+
+    /**
+     * Called after every completed iteration.
+     *
+     * @param iteration The number of completed iterations.
+     * @param value The value of the function at the current point.
+     * @param gradientNorm The maximum norm of the gradient at the current point.
+     * @return True if the optimization is continued, false if it is stopped.
+     */
+    public boolean onIteration(int iteration, double value, double gradientNorm);
+}
@@ -0,0 +1,69 @@
+package com.schwartz.optimization;
+
+import java.util.Arrays;
+
+/**
+ * A dataholder for the outcome of an optimization.
+ *
+ * @author woope
+ * @see BfgsMinimizer
+ */
+public class OptimizationResult {
+
+    private final double[] point;
+    private final double value;
+    private final double gradientNorm;
+    private final int iterations;
+    private final int evaluations;
+    private final OptimizationStatus status;
+
+    public OptimizationResult(double[] point, double value, double gradientNorm, int iterations, int evaluations, OptimizationStatus status) {
+        this.point = point;
+        this.value = value;
+        this.gradientNorm = gradientNorm;
+        this.iterations = iterations;
+        this.evaluations = evaluations;
+        this.status = status;
+    }
+
+    public double[] getPoint() {
+        return point;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    /**
+     * @return The maximum norm of the gradient at the final point.
+     */
+    public double getGradientNorm() {
+        return gradientNorm;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return The number of function evaluations, including the evaluations of the line searches.
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    public OptimizationStatus getStatus() {
+        return status;
+    }
+
+    public boolean isConverged() {
+        return status == OptimizationStatus.CONVERGED;
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizationResult{" + "point=" + Arrays.toString(point) + ", value=" + value + ", gradientNorm=" + gradientNorm
+               + ", iterations=" + iterations + ", evaluations=" + evaluations + ", status=" + status + '}';
+    }
+
+}
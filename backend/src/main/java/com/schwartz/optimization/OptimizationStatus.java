@@ -0,0 +1,26 @@
+package com.schwartz.optimization;
+
+/**
+ * The reasons for which an optimization terminates.
+ *
+ * @author woope
+ * @see OptimizationResult
+ */
+public enum OptimizationStatus {
+    /**
+     * The gradient vanished within the tolerance, or the function value could not be decreased further within the tolerance.
+     */
+    CONVERGED,
+    /**
+     * The maximum number of iterations was reached.
+     */
+    MAX_ITERATIONS,
+    /**
+     * The line search could not decrease the function, i.e. the point can not be improved within the numerical precision.
+     */
+    LINE_SEARCH_FAILED,
+    /**
+     * The optimization was stopped by its {@link IOptimizationMonitor}.
+     */
+    STOPPED
+}
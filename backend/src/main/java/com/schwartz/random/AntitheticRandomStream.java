@@ -0,0 +1,36 @@
+package com.schwartz.random;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The antithetic counterpart of an {@link IRandomStream}: the normal values are the negated normal values of the wrapped stream, and the
+ * uniform values are mirrored to {@code 1 - u}. A path generated from the antithetic stream is the mirror image of the path of the wrapped
+ * stream.
+ *
+ * @author woope
+ */
+public final class AntitheticRandomStream implements IRandomStream {
+
+    private final IRandomStream delegate;
+
+    public AntitheticRandomStream(IRandomStream delegate) {
+        Validate.notNull(delegate, "The supplied random stream was null!");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public long nextLong() {
+        return ~delegate.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return 1 - delegate.nextDouble();
+    }
+
+    @Override
+    public double nextGaussian() {
+        return -delegate.nextGaussian();
+    }
+
+}
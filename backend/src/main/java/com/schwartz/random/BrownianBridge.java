@@ -0,0 +1,89 @@
+package com.schwartz.random;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Constructs the increments of a Brownian motion on an equidistant grid of {@code n} unit steps with the Brownian bridge, i.e. in the
+ * order of decreasing importance: the first normal value determines the terminal value {@code W(n)}, the second one the midpoint, and
+ * the following ones the midpoints of the remaining intervals.
+ *
+ * @author woope
+ * @see QuasiRandomPathSampler
+ */
+public final class BrownianBridge {
+
+    private final int steps;
+    private final int[] bridgeIndex;
+    private final int[] leftIndex;
+    private final int[] rightIndex;
+    private final double[] leftWeight;
+    private final double[] rightWeight;
+    private final double[] standardDeviation;
+
+    public BrownianBridge(int steps) {
+        Validate.isTrue(steps > 0, "The number of steps needs to be positive!");
+
+        this.steps = steps;
+        this.bridgeIndex = new int[steps];
+        this.leftIndex = new int[steps];
+        this.rightIndex = new int[steps];
+        this.leftWeight = new double[steps];
+        this.rightWeight = new double[steps];
+        this.standardDeviation = new double[steps];
+
+        // The grid point W(i + 1) is stored at the index i, and the map marks the constructed grid points.
+        boolean[] constructed = new boolean[steps];
+        constructed[steps - 1] = true;
+        bridgeIndex[0] = steps - 1;
+        standardDeviation[0] = Math.sqrt(steps);
+
+        int j = 0;
+        for (int i = 1; i < steps; i++) {
+            while (constructed[j]) {
+                j++;
+            }
+            int k = j;
+            while (!constructed[k]) {
+                k++;
+            }
+            // The points j, ..., k - 1 are not constructed, and the point l is the midpoint between W(j) and W(k + 1).
+            int l = j + ((k - 1 - j) >> 1);
+            constructed[l] = true;
+            bridgeIndex[i] = l;
+            leftIndex[i] = j;
+            rightIndex[i] = k;
+            leftWeight[i] = (double) (k - l) / (k + 1 - j);
+            rightWeight[i] = (double) (l + 1 - j) / (k + 1 - j);
+            standardDeviation[i] = Math.sqrt((double) (l + 1 - j) * (k - l) / (k + 1 - j));
+            j = k + 1;
+            if (j >= steps) {
+                j = 0;
+            }
+        }
+    }
+
+    /**
+     * Transforms the normal values to the increments of the Brownian motion.
+     *
+     * @param normals The {@code steps} independent standard normal values, in the order of the construction.
+     * @param increments The {@code steps} standard normal increments, filled in the order of time.
+     */
+    public void transform(double[] normals, double[] increments) {
+        increments[steps - 1] = standardDeviation[0] * normals[0];
+        for (int i = 1; i < steps; i++) {
+            int j = leftIndex[i];
+            int k = rightIndex[i];
+            int l = bridgeIndex[i];
+            double left = j == 0 ? 0 : leftWeight[i] * increments[j - 1];
+            increments[l] = left + rightWeight[i] * increments[k] + standardDeviation[i] * normals[i];
+        }
+        for (int i = steps - 1; i > 0; i--) {
+            increments[i] -= increments[i - 1];
+        }
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+}
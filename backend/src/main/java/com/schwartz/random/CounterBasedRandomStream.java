@@ -0,0 +1,70 @@
+package com.schwartz.random;
+
+/**
+ * A counter-based {@link IRandomStream}: the {@code n}th value of the stream is a pure function of the stream key and the counter
+ * {@code n}, scrambled with the SplitMix64 finalizer. The {@link #forPath(long, long) per-path substreams} let any path be regenerated on
+ * its own, on any thread.
+ *
+ * @author woope
+ * @see ZigguratNormalSampler
+ */
+public final class CounterBasedRandomStream implements IRandomStream {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final long PATH_GAMMA = 0xd1b54a32d192ed03L;
+
+    private final long key;
+    private long counter;
+
+    public CounterBasedRandomStream(long key) {
+        this.key = key;
+    }
+
+    /**
+     * Derives the substream of a path.
+     *
+     * @param seed The seed of the whole simulation.
+     * @param pathIndex The index of the path.
+     * @return The substream of the path, positioned at the beginning.
+     */
+    public static CounterBasedRandomStream forPath(long seed, long pathIndex) {
+        return new CounterBasedRandomStream(mix64(mix64(seed) + (pathIndex + 1) * PATH_GAMMA));
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(key + ++counter * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns the number of values consumed from the stream.
+     *
+     * @return The position of the stream.
+     */
+    public long getCounter() {
+        return counter;
+    }
+
+    /**
+     * Positions the stream at the {@code (counter + 1)}th value of a fresh stream.
+     *
+     * @param counter The number of values to be skipped from the beginning of the stream.
+     */
+    public void setCounter(long counter) {
+        this.counter = counter;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    /**
+     * The SplitMix64 finalizer, a bijective avalanche mixer of 64 bit values.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.schwartz.random;
+
+/**
+ * A stream of pseudo random numbers that is owned by a single thread.
+ *
+ * The streams are not thread-safe, which allows them to be consumed without any synchronization. Concurrent consumers should use separate
+ * streams, e.g. the per-path substreams of {@link CounterBasedRandomStream#forPath(long, long) CounterBasedRandomStream.forPath}.
+ *
+ * @author woope
+ */
+public interface IRandomStream {
+
+    /**
+     * Returns the next uniformly distributed 64 bit value.
+     *
+     * @return The next value of the stream.
+     */
+    public long nextLong();
+
+    /**
+     * Returns the next uniformly distributed value in the open interval (0, 1).
+     *
+     * @return The next value of the stream, which is never 0 or 1.
+     */
+    public default double nextDouble() {
+        return ((nextLong() >>> 11) + 0.5) * 0x1.0p-53;
+    }
+
+    /**
+     * Returns the next standard normally distributed value, sampled with the {@link ZigguratNormalSampler}.
+     *
+     * @return The next value of the stream.
+     */
+    public default double nextGaussian() {
+        return ZigguratNormalSampler.sample(this);
+    }
+
+}
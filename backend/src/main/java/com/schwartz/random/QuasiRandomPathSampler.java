@@ -0,0 +1,136 @@
+package com.schwartz.random;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.math3.special.Erf;
+
+/**
+ * Samples the normal increments of paths that are driven by {@code drivers} independent Brownian motions of {@code steps} steps with
+ * randomized quasi-Monte Carlo: every path is a point of a {@link ScrambledSobolSequence}, assembled into increments with the
+ * {@link BrownianBridge}. Every replicate of {@code pathsPerReplicate} consecutive paths is independently scrambled.
+ *
+ * The samplers are not thread-safe, and they sample the paths fastest in the order of their indices.
+ *
+ * @author woope
+ */
+public final class QuasiRandomPathSampler {
+
+    private final int steps;
+    private final int drivers;
+    private final int pathsPerReplicate;
+    private final long seed;
+    private final BrownianBridge bridge;
+    private final ScrambledSobolSequence sequence;
+    private final double[] point;
+    private final double[] normals;
+    private final double[][] increments;
+    private int replicate = -1;
+    private int nextPointIndex;
+
+    /**
+     * @param steps The number of steps of the paths.
+     * @param drivers The number of independent Brownian drivers of the paths.
+     * @param pathsPerReplicate The number of paths per replicate.
+     * @param seed The seed of the shifts of the replicates and of the padding values.
+     */
+    public QuasiRandomPathSampler(int steps, int drivers, int pathsPerReplicate, long seed) {
+        Validate.isTrue(drivers > 0, "The number of drivers needs to be positive!");
+        Validate.isTrue(pathsPerReplicate > 0, "The number of paths per replicate needs to be positive!");
+
+        this.steps = steps;
+        this.drivers = drivers;
+        this.pathsPerReplicate = pathsPerReplicate;
+        this.seed = seed;
+        this.bridge = new BrownianBridge(steps);
+        this.sequence = new ScrambledSobolSequence(
+            (int) Math.min((long) steps * drivers, ScrambledSobolSequence.MAX_DIMENSION),
+            getShiftStream(0)
+        );
+        this.point = new double[sequence.getDimension()];
+        this.normals = new double[steps];
+        this.increments = new double[drivers][steps];
+    }
+
+    /**
+     * Samples the increments of a path.
+     *
+     * @param pathIndex The index of the path.
+     * @return The stream of the standard normal increments of the path, ordered by the step and then by the driver. The increments are
+     * followed by the pseudo-random values of the path substream. The stream is valid until the next path is sampled.
+     */
+    public IRandomStream forPath(int pathIndex) {
+        Validate.isTrue(pathIndex >= 0, "The path index can not be negative!");
+
+        int pathReplicate = pathIndex / pathsPerReplicate;
+        int pointIndex = pathIndex % pathsPerReplicate;
+        if (pathReplicate != replicate) {
+            sequence.scramble(getShiftStream(pathReplicate));
+            replicate = pathReplicate;
+            nextPointIndex = -1;
+        }
+        if (pointIndex != nextPointIndex) {
+            sequence.skipTo(pointIndex);
+        }
+        sequence.nextPoint(point);
+        nextPointIndex = pointIndex + 1;
+
+        IRandomStream padding = CounterBasedRandomStream.forPath(seed, pathIndex);
+        for (int d = 0; d < drivers; d++) {
+            for (int i = 0; i < steps; i++) {
+                int dimension = i * drivers + d;
+                normals[i] = dimension < point.length ? getInverseNormal(point[dimension]) : padding.nextGaussian();
+            }
+            bridge.transform(normals, increments[d]);
+        }
+        return new IncrementStream(padding);
+    }
+
+    /**
+     * The shifts are drawn from the substreams of the complemented seed, which are independent of the padding substreams.
+     */
+    private IRandomStream getShiftStream(int replicate) {
+        return CounterBasedRandomStream.forPath(~seed, replicate);
+    }
+
+    static double getInverseNormal(double u) {
+        return Math.sqrt(2) * Erf.erfInv(2 * u - 1);
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public int getDrivers() {
+        return drivers;
+    }
+
+    public int getPathsPerReplicate() {
+        return pathsPerReplicate;
+    }
+
+    private final class IncrementStream implements IRandomStream {
+
+        private final IRandomStream padding;
+        private int counter;
+
+        private IncrementStream(IRandomStream padding) {
+            this.padding = padding;
+        }
+
+        @Override
+        public long nextLong() {
+            return padding.nextLong();
+        }
+
+        @Override
+        public double nextGaussian() {
+            if (counter >= steps * drivers) {
+                return padding.nextGaussian();
+            }
+            int step = counter / drivers;
+            int driver = counter % drivers;
+            counter++;
+            return increments[driver][step];
+        }
+    }
+
+}
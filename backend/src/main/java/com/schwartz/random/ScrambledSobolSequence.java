@@ -0,0 +1,75 @@
+package com.schwartz.random;
+
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+/**
+ * A Sobol low-discrepancy sequence that is randomized with a digital shift: the 52 bit coordinates of every point are XORed with a random
+ * shift per dimension. The averages over independently shifted sequences are unbiased estimates, and the sequences are not thread-safe.
+ *
+ * @author woope
+ * @see QuasiRandomPathSampler
+ */
+public final class ScrambledSobolSequence {
+
+    public static final int MAX_DIMENSION = 1000;
+
+    private static final double SCALE = 0x1.0p52;
+    private static final int SHIFT_BITS = 52;
+
+    private final SobolSequenceGenerator generator;
+    private final long[] shifts;
+    private double[] skippedPoint;
+
+    /**
+     * @param dimension The dimension of the points.
+     * @param random The source of the digital shifts.
+     */
+    public ScrambledSobolSequence(int dimension, IRandomStream random) {
+        Validate.isTrue(dimension > 0 && dimension <= MAX_DIMENSION, "The dimension needs to be between 1 and " + MAX_DIMENSION + "!");
+
+        this.generator = new SobolSequenceGenerator(dimension);
+        this.shifts = new long[dimension];
+        scramble(random);
+    }
+
+    /**
+     * Draws new digital shifts, which turn the sequence into an independent randomization of the same points.
+     *
+     * @param random The source of the digital shifts.
+     */
+    public void scramble(IRandomStream random) {
+        Validate.notNull(random, "The supplied random stream was null!");
+        for (int i = 0; i < shifts.length; i++) {
+            shifts[i] = random.nextLong() >>> (Long.SIZE - SHIFT_BITS);
+        }
+    }
+
+    /**
+     * Positions the sequence so that the following point is the {@code index}th point of the sequence.
+     */
+    public void skipTo(int index) {
+        Validate.isTrue(index >= 0, "The index can not be negative!");
+        // The generator returns the point at the index, and continues from the following point.
+        skippedPoint = generator.skipTo(index);
+    }
+
+    /**
+     * Fills the following point of the sequence.
+     *
+     * @param point The coordinates of the point, filled for all of the dimensions.
+     */
+    public void nextPoint(double[] point) {
+        double[] coordinates = skippedPoint != null ? skippedPoint : generator.nextVector();
+        skippedPoint = null;
+        for (int i = 0; i < shifts.length; i++) {
+            long bits = (long) (coordinates[i] * SCALE) ^ shifts[i];
+            point[i] = (bits + 0.5) / SCALE;
+        }
+    }
+
+    public int getDimension() {
+        return shifts.length;
+    }
+
+}
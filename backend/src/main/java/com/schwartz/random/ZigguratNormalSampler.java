@@ -0,0 +1,87 @@
+package com.schwartz.random;
+
+/**
+ * Samples standard normally distributed values with the ziggurat method of Marsaglia and Tsang (2000), using 128 layers.
+ *
+ * The layer and the sample are drawn from separate bits of a 64 bit value, and most samples cost a single value and a table lookup.
+ *
+ * @author woope
+ * @see IRandomStream
+ */
+public final class ZigguratNormalSampler {
+
+    private static final int LAYERS = 128;
+    private static final double R = 3.442619855899;
+    private static final double INVERSE_R = 1 / R;
+    private static final double V = 9.91256303526217e-3;
+    private static final double M1 = 2147483648.0;
+
+    private static final long[] K = new long[LAYERS];
+    private static final double[] W = new double[LAYERS];
+    private static final double[] F = new double[LAYERS];
+
+    static {
+        double dn = R;
+        double tn = dn;
+        double q = V / Math.exp(-0.5 * dn * dn);
+
+        K[0] = (long) ((dn / q) * M1);
+        K[1] = 0;
+        W[0] = q / M1;
+        W[LAYERS - 1] = dn / M1;
+        F[0] = 1;
+        F[LAYERS - 1] = Math.exp(-0.5 * dn * dn);
+
+        for (int i = LAYERS - 2; i >= 1; i--) {
+            dn = Math.sqrt(-2 * Math.log(V / dn + Math.exp(-0.5 * dn * dn)));
+            K[i + 1] = (long) ((dn / tn) * M1);
+            tn = dn;
+            F[i] = Math.exp(-0.5 * dn * dn);
+            W[i] = dn / M1;
+        }
+    }
+
+    private ZigguratNormalSampler() {
+    }
+
+    /**
+     * Samples a standard normally distributed value.
+     *
+     * @param random The source of the uniform values.
+     * @return The sampled value.
+     */
+    public static double sample(IRandomStream random) {
+        long bits = random.nextLong();
+        int hz = (int) (bits >>> 32);
+        int iz = (int) bits & (LAYERS - 1);
+        if (Math.abs((long) hz) < K[iz]) {
+            return hz * W[iz];
+        }
+        return sampleOutsideCore(random, hz, iz);
+    }
+
+    private static double sampleOutsideCore(IRandomStream random, int hz, int iz) {
+        while (true) {
+            double x = hz * W[iz];
+            if (iz == 0) {
+                double y;
+                do {
+                    x = -Math.log(random.nextDouble()) * INVERSE_R;
+                    y = -Math.log(random.nextDouble());
+                } while (y + y < x * x);
+                return hz > 0 ? R + x : -R - x;
+            }
+            if (F[iz] + random.nextDouble() * (F[iz - 1] - F[iz]) < Math.exp(-0.5 * x * x)) {
+                return x;
+            }
+
+            long bits = random.nextLong();
+            hz = (int) (bits >>> 32);
+            iz = (int) bits & (LAYERS - 1);
+            if (Math.abs((long) hz) < K[iz]) {
+                return hz * W[iz];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.schwartz.statistics;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A mergeable quantile sketch with a relative accuracy guarantee, i.e. the DDSketch of Masson et al. Every quantile is estimated within
+ * the relative error {@code alpha} of a value of the stream, and the size of the sketch is bounded by {@code maxNumberOfBuckets} buckets
+ * per sign. The sketches are not thread-safe.
+ *
+ * @author woope
+ * @see RunningMoments
+ */
+public final class QuantileSketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.005;
+    public static final int DEFAULT_MAX_NUMBER_OF_BUCKETS = 2048;
+
+    private final double relativeAccuracy;
+    private final int maxNumberOfBuckets;
+    private final double gamma;
+    private final double logGamma;
+    private final double minIndexableValue;
+    private final BucketStore positiveStore;
+    private final BucketStore negativeStore;
+    private long zeroCount;
+    private long count;
+    private double minimum = Double.POSITIVE_INFINITY;
+    private double maximum = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_NUMBER_OF_BUCKETS);
+    }
+
+    /**
+     * @param relativeAccuracy The relative accuracy of the quantiles, between 0 and 1.
+     * @param maxNumberOfBuckets The maximum number of buckets of the positive and the negative values each.
+     */
+    public QuantileSketch(double relativeAccuracy, int maxNumberOfBuckets) {
+        Validate.isTrue(relativeAccuracy > 0 && relativeAccuracy < 1, "The relative accuracy needs to be between 0 and 1!");
+        Validate.isTrue(maxNumberOfBuckets > 0, "The maximum number of buckets needs to be positive!");
+
+        this.relativeAccuracy = relativeAccuracy;
+        this.maxNumberOfBuckets = maxNumberOfBuckets;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.minIndexableValue = Double.MIN_NORMAL * gamma;
+        this.positiveStore = new BucketStore(maxNumberOfBuckets);
+        this.negativeStore = new BucketStore(maxNumberOfBuckets);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is NaN.
+     */
+    public void add(double value) {
+        Validate.isTrue(!Double.isNaN(value), "The sketched values can not be NaN!");
+        if (value >= minIndexableValue) {
+            positiveStore.add(getIndex(value), 1);
+        } else if (value <= -minIndexableValue) {
+            negativeStore.add(getIndex(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        minimum = Math.min(minimum, value);
+        maximum = Math.max(maximum, value);
+    }
+
+    /**
+     * Merges the counts of another sketch into this sketch.
+     *
+     * @throws IllegalArgumentException if the sketches differ in the accuracy or in the maximum number of buckets.
+     */
+    public void merge(QuantileSketch other) {
+        Validate.notNull(other, "The supplied sketch was null!");
+        Validate.isTrue(
+            relativeAccuracy == other.relativeAccuracy && maxNumberOfBuckets == other.maxNumberOfBuckets,
+            "Only the sketches of the same accuracy can be merged!"
+        );
+        positiveStore.merge(other.positiveStore);
+        negativeStore.merge(other.negativeStore);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        minimum = Math.min(minimum, other.minimum);
+        maximum = Math.max(maximum, other.maximum);
+    }
+
+    /**
+     * Returns the estimate of a quantile.
+     *
+     * @param probability The probability of the quantile, between 0 and 1.
+     * @return The quantile, or NaN if the sketch is empty. The minimum and the maximum are exact.
+     */
+    public double getQuantile(double probability) {
+        Validate.isTrue(probability >= 0 && probability <= 1, "The probability needs to be between 0 and 1!");
+        if (count == 0) {
+            return Double.NaN;
+        } else if (probability == 0) {
+            return minimum;
+        } else if (probability == 1) {
+            return maximum;
+        }
+
+        // The values are ordered from the largest negative magnitudes through the zeros to the largest positive magnitudes.
+        double rank = probability * (count - 1);
+        double quantile;
+        long negativeCount = negativeStore.getTotal();
+        if (rank < negativeCount) {
+            quantile = -getValue(negativeStore.getIndexOfRank(negativeCount - 1 - rank));
+        } else if (rank < negativeCount + zeroCount) {
+            quantile = 0;
+        } else {
+            quantile = getValue(positiveStore.getIndexOfRank(rank - negativeCount - zeroCount));
+        }
+        return Math.max(minimum, Math.min(maximum, quantile));
+    }
+
+    private int getIndex(double magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) / logGamma);
+    }
+
+    /**
+     * Returns the representative magnitude of a bucket, whose relative distance from both of the bucket bounds is {@code alpha}.
+     */
+    private double getValue(int index) {
+        return 2 * Math.exp(index * logGamma) / (gamma + 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public int getMaxNumberOfBuckets() {
+        return maxNumberOfBuckets;
+    }
+
+    /**
+     * The counts of the consecutive buckets {@code minIndex, ..., maxIndex}, which are held in a dense array that grows at both ends.
+     */
+    private static final class BucketStore {
+
+        private final int maxNumberOfBuckets;
+        private long[] counts = new long[0];
+        private int offset;
+        private int minIndex;
+        private int maxIndex;
+        private long total;
+
+        private BucketStore(int maxNumberOfBuckets) {
+            this.maxNumberOfBuckets = maxNumberOfBuckets;
+        }
+
+        private void add(int index, long bucketCount) {
+            if (index >= minIndex && index <= maxIndex && total > 0) {
+                counts[index - offset] += bucketCount;
+                total += bucketCount;
+                return;
+            }
+            if (total == 0) {
+                minIndex = index;
+                maxIndex = index;
+            }
+            int upper = Math.max(maxIndex, index);
+            int lowerBound = upper - maxNumberOfBuckets + 1;
+            int collapsedIndex = Math.max(index, lowerBound);
+
+            // The buckets below the bound are collapsed into the lowest retained bucket.
+            long collapsed = 0;
+            if (minIndex < lowerBound) {
+                for (int i = minIndex; i < lowerBound && i <= maxIndex; i++) {
+                    collapsed += counts[i - offset];
+                    counts[i - offset] = 0;
+                }
+                minIndex = lowerBound;
+            }
+            int lower = Math.min(minIndex, collapsedIndex);
+            ensureCapacity(lower, upper);
+            counts[collapsedIndex - offset] += bucketCount;
+            counts[lower - offset] += collapsed;
+            minIndex = lower;
+            maxIndex = upper;
+            total += bucketCount;
+        }
+
+        private void merge(BucketStore other) {
+            for (int i = other.minIndex; other.total > 0 && i <= other.maxIndex; i++) {
+                long bucketCount = other.counts[i - other.offset];
+                if (bucketCount > 0) {
+                    add(i, bucketCount);
+                }
+            }
+        }
+
+        private void ensureCapacity(int lower, int upper) {
+            if (lower >= offset && upper < offset + counts.length) {
+                return;
+            }
+            int length = upper - lower + 1;
+            int margin = length / 2 + 8;
+            long[] grown = new long[length + 2 * margin];
+            int grownOffset = lower - margin;
+            for (int i = 0; i < counts.length; i++) {
+                int position = offset + i - grownOffset;
+                if (counts[i] > 0 && position >= 0 && position < grown.length) {
+                    grown[position] = counts[i];
+                }
+            }
+            counts = grown;
+            offset = grownOffset;
+        }
+
+        /**
+         * Returns the index of the bucket that holds the value of the rank, counted from the lowest bucket.
+         */
+        private int getIndexOfRank(double rank) {
+            long cumulativeCount = 0;
+            for (int i = minIndex; i <= maxIndex; i++) {
+                cumulativeCount += counts[i - offset];
+                if (cumulativeCount > rank) {
+                    return i;
+                }
+            }
+            return maxIndex;
+        }
+
+        private long getTotal() {
+            return total;
+        }
+    }
+
+}
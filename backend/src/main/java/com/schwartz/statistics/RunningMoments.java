@@ -0,0 +1,62 @@
+package com.schwartz.statistics;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The mean and the variance of a stream of values, which are updated incrementally with the Welford algorithm and merged with the pairwise
+ * update of Chan et al. The moments are not thread-safe.
+ *
+ * @author woope
+ * @see QuantileSketch
+ */
+public final class RunningMoments {
+
+    private long count;
+    private double mean;
+    private double squaredDeviationSum;
+
+    public void add(double value) {
+        count++;
+        double deviation = value - mean;
+        mean += deviation / count;
+        squaredDeviationSum += deviation * (value - mean);
+    }
+
+    /**
+     * Merges the moments of another stream into these moments.
+     */
+    public void merge(RunningMoments other) {
+        Validate.notNull(other, "The supplied moments were null!");
+        if (other.count == 0) {
+            return;
+        }
+        long mergedCount = count + other.count;
+        double deviation = other.mean - mean;
+        mean += deviation * other.count / mergedCount;
+        squaredDeviationSum += other.squaredDeviationSum + deviation * deviation * count / mergedCount * other.count;
+        count = mergedCount;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The mean of the values, or NaN if there are no values.
+     */
+    public double getMean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+
+    /**
+     * @return The sample variance of the values, or NaN if there are fewer than two values.
+     */
+    public double getVariance() {
+        return count > 1 ? squaredDeviationSum / (count - 1) : Double.NaN;
+    }
+
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+}
@@ -0,0 +1,54 @@
+function [values, dims] = schwartz_simulate(parray, initialSpot, initialConvenienceYield, seed, npaths, simulateTermStructure)
+%SCHWARTZ_SIMULATE Simulates the sample paths of the Schwartz model in a single call.
+%   [VALUES, DIMS] = SCHWARTZ_SIMULATE(PARRAY, S0, CY0, SEED, NPATHS, TERMSTRUCTURE) generates NPATHS sample paths of the spot price
+%   and the convenience yield with GENSYNTHDATA, and stacks the row blocks of the paths below the shared timeline. The futures term
+%   structures of GENSYNTHDATA are included by PRICE2ARRAY if TERMSTRUCTURE is true. The row blocks are padded to an equal height
+%   with NaNs. A single path is thus returned in the format of PRICE2ARRAY.
+%
+%   The random number generator is initialized with SEED if it is non-negative, shuffled if it is negative, and left untouched if it
+%   is NaN, so that consecutive calls can continue the same stream.
+%
+%   The stacked data is returned as the column-major VALUES and the dimensions DIMS, which the Java side reshapes to a matrix.
+%
+%   The constants of INIT_CONSTS are initialized once per session, and the parameter struct of the latest PARRAY is reused while the
+%   parameters stay the same.
+%
+%   The function needs to be deployed next to GENSYNTHDATA and PRICE2ARRAY in the Matlab starting directory.
+
+persistent consts cachedParray cachedPstruct
+
+if isempty(consts)
+    synth_years = []; dt = []; ncontracts = [];
+    init_consts;
+    consts = struct('synth_years', synth_years, 'dt', dt, 'ncontracts', ncontracts);
+end
+if isempty(cachedParray) || ~isequal(cachedParray, parray)
+    carray = num2cell(parray);
+    cachedPstruct = paramstruct(carray{:});
+    cachedParray = parray;
+end
+
+if isnan(seed)
+    % Continue the current stream.
+elseif seed < 0
+    rng('shuffle');
+else
+    rng(seed);
+end
+
+paths = cell(npaths, 1);
+for p = 1:npaths
+    [dates, price, cy, ttm] = gensynthdata(initialSpot, initialConvenienceYield, cachedPstruct, ...
+        consts.synth_years, consts.dt, consts.ncontracts, false);
+    pathdata = price2array(dates, price, cy, ttm, simulateTermStructure);
+    paths{p} = pathdata(2:end, :);
+end
+nrows = max(cellfun(@(x) size(x, 1), paths));
+for p = 1:npaths
+    paths{p}(end + 1:nrows, :) = NaN;
+end
+
+data = [pathdata(1, :); vertcat(paths{:})];
+values = data(:);
+dims = size(data);
+end
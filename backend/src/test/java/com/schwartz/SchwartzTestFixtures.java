@@ -0,0 +1,33 @@
+package com.schwartz;
+
+import com.schwartz.calculator.impl.SchwartzJavaBatchPathSimulator;
+import com.schwartz.model.SchwartzModelParameters;
+
+/**
+ * The parametersets and the simulator options that are shared by the tests.
+ *
+ * @author woope
+ */
+public final class SchwartzTestFixtures {
+
+    /**
+     * A parameterset without drift, whose convenience yield is negatively correlated with the spot price.
+     */
+    public static final SchwartzModelParameters PARAMETERS = new SchwartzModelParameters(0, 0.3, 2, -0.1, 0.6, 0.3, 0.6, -0.5);
+
+    /**
+     * A parameterset with a positive drift, interest rate and market price of risk.
+     */
+    public static final SchwartzModelParameters DRIFTING_PARAMETERS = new SchwartzModelParameters(0.05, 0.3, 2, 0.1, 0.4, 0.03, 0.6, 0.1);
+
+    private SchwartzTestFixtures() {
+    }
+
+    /**
+     * @return The options of a short batch simulation of one year and two contracts.
+     */
+    public static SchwartzJavaBatchPathSimulator.Options shortSimulation() {
+        return new SchwartzJavaBatchPathSimulator.Options().synthYears(1).numberOfContracts(2);
+    }
+
+}
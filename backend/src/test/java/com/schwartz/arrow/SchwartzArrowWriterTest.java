@@ -0,0 +1,156 @@
+package com.schwartz.arrow;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowFileReader;
+import org.apache.arrow.vector.ipc.ArrowReader;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.ipc.SeekableReadChannel;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.util.ByteArrayReadableSeekableByteChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzArrowWriterTest {
+
+    private static final double[] TIMELINE = {0, 1, 2};
+    private static final double[][] FIRST_PATH = {
+        {100, 101, 102},
+        {0.3, 0.2, 0.1},
+        {1, 1, 1},
+        {110, 111, 112},
+        {2, 2, Double.NaN},
+        {120, 121, Double.NaN}
+    };
+    private static final double[][] SECOND_PATH = {
+        {90, 91, 92},
+        {0.4, 0.5, 0.6},
+        {1, 1, 1},
+        {95, 96, 97},
+        {Double.NaN, Double.NaN, Double.NaN},
+        {Double.NaN, Double.NaN, Double.NaN}
+    };
+
+    private BufferAllocator allocator;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator(Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    public void writeStreamWritesOneRecordBatchPerPath() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SchwartzArrowWriter.writeStream(getPaths(), outputStream);
+
+        try (ArrowReader reader = new ArrowStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), allocator)) {
+            assertPaths(reader);
+        }
+    }
+
+    @Test
+    public void writeFileWritesOneRecordBatchPerPath() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SchwartzArrowWriter.writeFile(getPaths(), Channels.newChannel(outputStream));
+
+        SeekableReadChannel channel = new SeekableReadChannel(new ByteArrayReadableSeekableByteChannel(outputStream.toByteArray()));
+        try (ArrowFileReader reader = new ArrowFileReader(channel, allocator)) {
+            assertEquals(2, reader.getRecordBlocks().size());
+            assertPaths(reader);
+        }
+    }
+
+    @Test
+    public void writeStreamWritesTheMatlabFormatOfASinglePath() throws IOException {
+        double[][] matlabFormat = new double[1 + FIRST_PATH.length][];
+        matlabFormat[0] = TIMELINE.clone();
+        for (int i = 0; i < FIRST_PATH.length; i++) {
+            matlabFormat[1 + i] = FIRST_PATH[i].clone();
+        }
+        SchwartzSimulatedData data = SchwartzSimulatedData.wrapMatlabFormat(matlabFormat);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        SchwartzArrowWriter.writeStream(data, outputStream);
+
+        try (ArrowReader reader = new ArrowStreamReader(new ByteArrayInputStream(outputStream.toByteArray()), allocator)) {
+            assertEquals("1", reader.getVectorSchemaRoot().getSchema().getCustomMetadata().get(SchwartzArrowWriter.NUMBER_OF_PATHS_METADATA));
+            assertTrue(reader.loadNextBatch());
+            assertArrayEquals(data.getMatlabFormat(), getColumns(reader.getVectorSchemaRoot(), 0));
+            assertFalse(reader.loadNextBatch());
+        }
+    }
+
+    private static SchwartzSimulatedPaths getPaths() {
+        SchwartzSimulatedPaths paths = new SchwartzSimulatedPaths(TIMELINE, 2, 2);
+        paths.putPath(0, FIRST_PATH);
+        paths.putPath(1, SECOND_PATH);
+        return paths;
+    }
+
+    private static void assertPaths(ArrowReader reader) throws IOException {
+        VectorSchemaRoot root = reader.getVectorSchemaRoot();
+        List<String> fieldNames = new ArrayList<>();
+        for (Field field : root.getSchema().getFields()) {
+            fieldNames.add(field.getName());
+        }
+        assertEquals(
+            List.of(
+                "path", "timeline", "spotPrice", "convenienceYield", "time2maturity1", "futuresPrice1", "time2maturity2", "futuresPrice2"
+            ),
+            fieldNames
+        );
+        assertEquals("2", root.getSchema().getCustomMetadata().get(SchwartzArrowWriter.NUMBER_OF_PATHS_METADATA));
+
+        double[][][] paths = {FIRST_PATH, SECOND_PATH};
+        for (int p = 0; p < paths.length; p++) {
+            assertTrue(reader.loadNextBatch());
+            IntVector pathVector = (IntVector) root.getVector(SchwartzArrowWriter.PATH_COLUMN);
+            for (int j = 0; j < root.getRowCount(); j++) {
+                assertEquals(p, pathVector.get(j));
+            }
+            double[][] columns = getColumns(root, 1);
+            assertArrayEquals(TIMELINE, columns[0]);
+            for (int i = 0; i < paths[p].length; i++) {
+                assertArrayEquals(paths[p][i], columns[1 + i]);
+            }
+        }
+        assertFalse(reader.loadNextBatch());
+    }
+
+    private static double[][] getColumns(VectorSchemaRoot root, int firstColumn) {
+        double[][] columns = new double[root.getFieldVectors().size() - firstColumn][root.getRowCount()];
+        for (int i = 0; i < columns.length; i++) {
+            Float8Vector vector = (Float8Vector) root.getVector(firstColumn + i);
+            for (int j = 0; j < root.getRowCount(); j++) {
+                columns[i][j] = vector.get(j);
+            }
+        }
+        return columns;
+    }
+
+}
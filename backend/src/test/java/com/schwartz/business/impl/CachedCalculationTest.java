@@ -0,0 +1,107 @@
+package com.schwartz.business.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import com.schwartz.calculator.AbstractCallableSchwartzCalculator;
+import com.schwartz.calculator.SchwartzCalculatorEngine;
+import com.schwartz.model.SchwartzSimulatedPaths;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class CachedCalculationTest {
+
+    private final SimulationCacheKey key = new SimulationCacheKey(
+        SchwartzCalculatorEngine.JAVA, PARAMETERS, 100, 0.1, false, 2, 1L
+    );
+
+    private WeightedLruCache<SimulationCacheKey, Object> cache;
+    private InFlightCalculations<SimulationCacheKey, Object> inFlight;
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new WeightedLruCache<>(1000, result -> 1);
+        inFlight = new InFlightCalculations<>();
+        executor = Executors.newFixedThreadPool(2);
+        release = new CountDownLatch(1);
+        calculations = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void calculateReturnsCopiesOfTheCachedResult() {
+        release.countDown();
+        SchwartzSimulatedPaths first = calculation().calculate();
+        first.getPathRows(0)[0][0] = -1;
+        SchwartzSimulatedPaths second = calculation().calculate();
+
+        assertNotSame(first, second);
+        assertNotEquals(first, second);
+        assertEquals(simulate(), second);
+        assertEquals(simulate(), cache.get(key));
+        assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void calculateReturnsCopiesOfTheCoalescedResult() throws Exception {
+        Future<SchwartzSimulatedPaths> first = executor.submit(calculation());
+        Future<SchwartzSimulatedPaths> second = executor.submit(calculation());
+        while (inFlight.getCoalescedCount() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        first.get().getPathRows(1)[1][1] = -1;
+
+        assertNotSame(first.get(), second.get());
+        assertEquals(simulate(), second.get());
+        assertEquals(simulate(), cache.get(key));
+        assertEquals(1, calculations.get());
+    }
+
+    private CachedCalculation<SchwartzSimulatedPaths> calculation() {
+        return new CachedCalculation<>(key, cache, inFlight, SchwartzSimulatedPaths.class, new AbstractCallableSchwartzCalculator<>() {
+            @Override
+            public SchwartzSimulatedPaths calculate() {
+                calculations.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return simulate();
+            }
+        });
+    }
+
+    private static SchwartzSimulatedPaths simulate() {
+        SchwartzSimulatedPaths paths = new SchwartzSimulatedPaths(new double[] {0, 1}, 2, 0);
+        for (int p = 0; p < 2; p++) {
+            for (int t = 0; t < 2; t++) {
+                paths.put(p, t, 100 + p + t, 0.1 * t, new double[0], new double[0]);
+            }
+        }
+        return paths;
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.schwartz.business.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class InFlightCalculationsTest {
+
+    private InFlightCalculations<String, Object> inFlight;
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private AtomicInteger calculations;
+
+    @BeforeEach
+    public void setUp() {
+        inFlight = new InFlightCalculations<>();
+        executor = Executors.newFixedThreadPool(4);
+        release = new CountDownLatch(1);
+        calculations = new AtomicInteger();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void calculateCoalescesConcurrentCalculationsOfTheSameKey() throws Exception {
+        List<Future<Object>> results = submit(4, () -> new Object());
+        awaitCoalesced(3);
+        Object other = inFlight.calculate("other", () -> "other", () -> 0);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            assertSame(results.get(0).get(), result.get());
+        }
+        assertEquals("other", other);
+        assertEquals(1, calculations.get());
+        assertEquals(0, inFlight.size());
+    }
+
+    @Test
+    public void calculateSharesTheFailureOfTheCoalescedCalculation() throws Exception {
+        IllegalStateException failure = new IllegalStateException("Failed!");
+        List<Future<Object>> results = submit(3, () -> {
+            throw failure;
+        });
+        awaitCoalesced(2);
+        release.countDown();
+
+        for (Future<Object> result : results) {
+            ExecutionException ex = assertThrows(ExecutionException.class, result::get);
+            assertSame(failure, ex.getCause());
+        }
+        assertEquals(1, calculations.get());
+    }
+
+    @Test
+    public void calculateRetriesTheCancelledCalculations() throws Exception {
+        List<Future<Object>> results = submit(2, () -> {
+            if (calculations.get() == 1) {
+                throw new CancellationException("Cancelled!");
+            }
+            return "retried";
+        });
+        awaitCoalesced(1);
+        release.countDown();
+
+        int cancelled = 0;
+        for (Future<Object> result : results) {
+            try {
+                assertEquals("retried", result.get());
+            } catch (ExecutionException ex) {
+                assertSame(CancellationException.class, ex.getCause().getClass());
+                cancelled++;
+            }
+        }
+        assertEquals(1, cancelled);
+        assertEquals(2, calculations.get());
+    }
+
+    /**
+     * Submits concurrent calculations of the same key, which block until the release.
+     */
+    private List<Future<Object>> submit(int numberOfCalculations, Supplier<Object> result) {
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < numberOfCalculations; i++) {
+            results.add(executor.submit(() -> inFlight.calculate("key", () -> {
+                calculations.incrementAndGet();
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                return result.get();
+            }, () -> 0.5)));
+        }
+        return results;
+    }
+
+    private void awaitCoalesced(int coalescedCount) throws InterruptedException {
+        while (inFlight.getCoalescedCount() < coalescedCount) {
+            Thread.sleep(5);
+        }
+        assertEquals(0.5, inFlight.getProgress("key"));
+        assertEquals(0, inFlight.getProgress("other"));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.schwartz.business.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * @author woope
+ */
+public class SchwartzWarmUpHealthIndicatorTest {
+
+    private SchwartzSpotDynamicsCalculatorService calculatorService;
+    private SchwartzWarmUpHealthIndicator healthIndicator;
+
+    @BeforeEach
+    public void setUp() {
+        calculatorService = mock(SchwartzSpotDynamicsCalculatorService.class);
+        healthIndicator = new SchwartzWarmUpHealthIndicator(calculatorService);
+    }
+
+    @Test
+    public void healthIsOutOfServiceBeforeTheWarmUp() {
+        assertEquals(Status.OUT_OF_SERVICE, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    public void healthIsUpAfterASuccessfulWarmUp() {
+        when(calculatorService.warmUp()).thenReturn(true);
+        healthIndicator.warmUp();
+
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    public void healthIsDownAfterAFailedWarmUp() {
+        when(calculatorService.warmUp()).thenReturn(false);
+        healthIndicator.warmUp();
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+
+        when(calculatorService.warmUp()).thenThrow(new IllegalStateException());
+        healthIndicator.warmUp();
+        assertEquals(Status.DOWN, healthIndicator.health().getStatus());
+    }
+
+    @Test
+    public void failedWarmUpIsRetriedUntilItSucceeds() {
+        when(calculatorService.warmUp()).thenThrow(new IllegalStateException()).thenReturn(false).thenReturn(true);
+        healthIndicator.setRetryDelayMillis(1);
+        healthIndicator.setMaxRetryDelayMillis(2);
+        healthIndicator.warmUpUntilReady();
+
+        verify(calculatorService, times(3)).warmUp();
+        assertEquals(Status.UP, healthIndicator.health().getStatus());
+    }
+
+}
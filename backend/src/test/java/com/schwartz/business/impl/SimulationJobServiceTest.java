@@ -0,0 +1,118 @@
+package com.schwartz.business.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SimulationJobInfo;
+import com.schwartz.model.SimulationJobStatus;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SimulationJobServiceTest {
+
+    private SimulationJobService service;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @BeforeEach
+    public void setUp() {
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        service = new SimulationJobService();
+        service.setThreads(1);
+        service.setQueueCapacity(1);
+        service.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    public void submittedJobCompletesWithTheResult() throws InterruptedException {
+        SimulationJobInfo info = service.submit(() -> "result");
+
+        awaitFinished(info.getJobId());
+        SimulationJobInfo finished = service.getJob(info.getJobId());
+        assertEquals(SimulationJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(1, finished.getProgress());
+        assertEquals("result", service.getResult(info.getJobId()));
+    }
+
+    @Test
+    public void failedJobReportsTheFailure() throws InterruptedException {
+        SimulationJobInfo info = service.submit(() -> {
+            throw new IllegalArgumentException("invalid parameters");
+        });
+
+        awaitFinished(info.getJobId());
+        SimulationJobInfo finished = service.getJob(info.getJobId());
+        assertEquals(SimulationJobStatus.FAILED, finished.getStatus());
+        assertEquals("invalid parameters", finished.getErrorMessage());
+        assertThrows(IllegalStateException.class, () -> service.getResult(info.getJobId()));
+    }
+
+    @Test
+    public void jobWithoutAResultReportsTheFailure() throws InterruptedException {
+        SimulationJobInfo info = service.submit(() -> null);
+
+        awaitFinished(info.getJobId());
+        SimulationJobInfo finished = service.getJob(info.getJobId());
+        assertEquals(SimulationJobStatus.FAILED, finished.getStatus());
+        assertEquals("The calculation of the job " + info.getJobId() + " returned no result!", finished.getErrorMessage());
+        assertThrows(IllegalStateException.class, () -> service.getResult(info.getJobId()));
+    }
+
+    @Test
+    public void cancelInterruptsARunningJob() throws InterruptedException {
+        SimulationJobInfo info = service.submit(this::blockUntilReleased);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(SimulationJobStatus.RUNNING, service.getJob(info.getJobId()).getStatus());
+
+        SimulationJobInfo cancelled = service.cancel(info.getJobId());
+        assertEquals(SimulationJobStatus.CANCELLED, cancelled.getStatus());
+        assertThrows(IllegalStateException.class, () -> service.getResult(info.getJobId()));
+    }
+
+    @Test
+    public void submitRejectsJobsWhenTheQueueIsFull() throws InterruptedException {
+        service.submit(this::blockUntilReleased);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        SimulationJobInfo queued = service.submit(() -> "queued");
+        assertEquals(SimulationJobStatus.QUEUED, queued.getStatus());
+
+        assertThrows(RejectedExecutionException.class, () -> service.submit(() -> "rejected"));
+    }
+
+    @Test
+    public void getJobThrowsNSEEForUnknownJobs() {
+        assertThrows(NoSuchElementException.class, () -> service.getJob("unknown"));
+    }
+
+    private Object blockUntilReleased() throws InterruptedException {
+        started.countDown();
+        release.await();
+        return null;
+    }
+
+    private void awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!service.getJob(jobId).getStatus().isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.schwartz.business.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.calculator.SchwartzCalculatorEngine;
+import com.schwartz.model.SchwartzSimulatedData;
+import java.util.concurrent.Callable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class WeightedLruCacheTest {
+
+    private WeightedLruCache<String, String> cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new WeightedLruCache<>(10, String::length);
+    }
+
+    @Test
+    public void putEvictsTheLeastRecentlyUsedValues() {
+        cache.put("a", "aaaa");
+        cache.put("b", "bbbb");
+        cache.get("a");
+        cache.put("c", "cccc");
+
+        assertEquals("aaaa", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("cccc", cache.get("c"));
+        assertEquals(8, cache.getWeight());
+    }
+
+    @Test
+    public void putReplacesTheWeightOfAnExistingKey() {
+        cache.put("a", "aaaa");
+        cache.put("a", "aa");
+
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getWeight());
+    }
+
+    @Test
+    public void putRejectsValuesThatOutweighTheCache() {
+        assertFalse(cache.put("a", "aaaaaaaaaaa"));
+        assertTrue(cache.put("b", "bbbbbbbbbb"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void seededCalculationsAreServedFromTheCache() throws Exception {
+        SchwartzSpotDynamicsCalculatorService service = new SchwartzSpotDynamicsCalculatorService();
+        service.setEngine(SchwartzCalculatorEngine.JAVA);
+        service.initialize();
+
+        try {
+            Callable<SchwartzSimulatedData> first = service.run(100, 0.1, PARAMETERS, true, 7L);
+            SchwartzSimulatedData data = first.call();
+
+            SchwartzSimulatedData cached = service.run(100, 0.1, PARAMETERS, true, 7L).call();
+
+            assertEquals(data, cached);
+            assertNotSame(data, cached);
+            assertEquals(1, service.getResultCache().size());
+            service.run(100, 0.1, PARAMETERS, true).call();
+            assertEquals(1, service.getResultCache().size());
+        } finally {
+            service.shutdown();
+        }
+    }
+
+}
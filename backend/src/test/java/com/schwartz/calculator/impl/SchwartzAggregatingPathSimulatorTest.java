@@ -0,0 +1,60 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.DRIFTING_PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.schwartz.model.SchwartzPathSummary;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzAggregatingPathSimulatorTest {
+
+    private static final int NUMBER_OF_PATHS = 500;
+
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+
+    @AfterEach
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void summaryMatchesTheStatisticsOfTheStoredPaths() {
+        SchwartzPathSummary summary = new SchwartzAggregatingPathSimulator(
+            pool, 100, 0.1, DRIFTING_PARAMETERS, true, NUMBER_OF_PATHS, 37, 5L, new double[]{0, 0.5, 1}, 0.001
+        ).call();
+        SchwartzSimulatedPaths paths = new SchwartzJavaBatchPathSimulator(
+            100, 0.1, DRIFTING_PARAMETERS, true, NUMBER_OF_PATHS, 5L
+        ).calculate();
+
+        assertEquals(NUMBER_OF_PATHS, summary.getNumberOfPaths());
+        assertEquals(2 + SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS, summary.getSeries().size());
+        assertEquals("futuresPrice1", summary.getSeries().get(2).getName());
+        for (int row : new int[]{0, 1, 3}) {
+            SchwartzPathSummary.SeriesSummary series = summary.getSeries().get(row == 3 ? 2 : row);
+            for (int j : new int[]{0, 100, paths.getNumberOfTimesteps() - 1}) {
+                double[] values = new double[NUMBER_OF_PATHS];
+                double mean = 0;
+                for (int p = 0; p < NUMBER_OF_PATHS; p++) {
+                    values[p] = paths.getPathRows(p)[row][j];
+                    mean += values[p] / NUMBER_OF_PATHS;
+                }
+                Arrays.sort(values);
+
+                assertEquals(mean, series.getMeans()[j], 1e-9 * Math.abs(mean) + 1e-12);
+                assertEquals(values[0], series.getQuantiles()[0][j]);
+                assertEquals(values[NUMBER_OF_PATHS - 1], series.getQuantiles()[2][j]);
+                double median = values[(NUMBER_OF_PATHS - 1) / 2];
+                assertEquals(median, series.getQuantiles()[1][j], 0.001 * Math.abs(median) + 1e-12);
+            }
+        }
+    }
+
+}
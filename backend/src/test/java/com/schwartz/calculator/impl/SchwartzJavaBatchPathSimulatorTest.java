@@ -0,0 +1,76 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static com.schwartz.SchwartzTestFixtures.shortSimulation;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import static com.schwartz.matlab.IMatlabConvertable.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzJavaBatchPathSimulatorTest {
+
+    @Test
+    public void constructorThrowsIAEForNonPositiveNumberOfPaths() {
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzJavaBatchPathSimulator(100, 0.1, PARAMETERS, false, 0, null));
+    }
+
+    @Test
+    public void calculateProducesIndependentPathsOnASharedTimeline() {
+        SchwartzJavaBatchPathSimulator simulator = new SchwartzJavaBatchPathSimulator(
+            100, 0.1, PARAMETERS, true, 3, null, shortSimulation()
+        );
+        SchwartzSimulatedPaths paths = simulator.calculate();
+
+        assertEquals(3, paths.getNumberOfPaths());
+        assertEquals(SchwartzPathGenerator.TRADING_DAYS_PER_YEAR, paths.getNumberOfTimesteps());
+        assertEquals(2, paths.getNumberOfContracts());
+        assertEquals(1, simulator.getProgress());
+        assertTrue(paths.getSpotPrices()[0][1] != paths.getSpotPrices()[1][1]);
+        for (int p = 0; p < paths.getNumberOfPaths(); p++) {
+            assertEquals(100, paths.getSpotPrices()[p][0]);
+            assertEquals(0.1, paths.getConvenienceYields()[p][0]);
+        }
+    }
+
+    @Test
+    public void getPathMatchesTheSinglePathFormat() {
+        SchwartzSimulatedPaths paths = new SchwartzJavaBatchPathSimulator(
+            100, 0.1, PARAMETERS, true, 2, null, shortSimulation()
+        ).calculate();
+        double[][] matlabFormat = paths.getMatlabFormat();
+        SchwartzSimulatedData path = paths.getPath(1);
+        double[][] pathFormat = path.getMatlabFormat();
+
+        assertEquals(1 + 2 * (2 + 2 * 2), matlabFormat.length);
+        assertEquals(3 + 2 * 2, pathFormat.length);
+        assertArrayEquals(matlabFormat[MATLAB_TIMELINE_INDEX], pathFormat[MATLAB_TIMELINE_INDEX]);
+        for (int i = 1; i < pathFormat.length; i++) {
+            assertArrayEquals(matlabFormat[1 + (2 + 2 * 2) + i - 1], pathFormat[i]);
+        }
+    }
+
+    @Test
+    public void anyPathOfASeededBatchCanBeRegenerated() {
+        SchwartzSimulatedPaths paths = new SchwartzJavaBatchPathSimulator(100, 0.1, PARAMETERS, true, 4, 11L).calculate();
+        SchwartzPathGenerator generator = new SchwartzPathGenerator(
+            100, 0.1, PARAMETERS, true, SchwartzPathGenerator.DEFAULT_SYNTH_YEARS, SchwartzPathGenerator.DEFAULT_NUMBER_OF_CONTRACTS
+        );
+        SchwartzSimulatedData regenerated = new SchwartzSimulatedData();
+        generator.generate(11L, 2, (pathIndex, time, spotPrice, convenienceYield, time2maturities, futuresPrices) ->
+            regenerated.put(time, spotPrice, convenienceYield, time2maturities, futuresPrices)
+        );
+
+        assertEquals(paths.getPath(2), regenerated);
+        assertEquals(paths.getPath(0), new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, true, 11L).calculate());
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import static com.schwartz.matlab.IMatlabConvertable.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzJavaPathSimulatorTest {
+
+    @Test
+    public void constructorThrowsIAEForNonPositiveInitialSpot() {
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzJavaPathSimulator(0, 0.1, PARAMETERS, false));
+    }
+
+    @Test
+    public void constructorThrowsIAEForInvalidRhoAndVolatilities() {
+        SchwartzModelParameters uncorrelatable = new SchwartzModelParameters(0, 0.3, 2, -0.1, 0.6, 0.3, 1.5, -0.5);
+        SchwartzModelParameters negativeSigmaSpot = new SchwartzModelParameters(0, -0.3, 2, -0.1, 0.6, 0.3, 0.6, -0.5);
+        SchwartzModelParameters negativeSigmaConvenienceYield = new SchwartzModelParameters(0, 0.3, 2, -0.1, -0.6, 0.3, 0.6, -0.5);
+
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzJavaPathSimulator(100, 0.1, uncorrelatable, false));
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzJavaPathSimulator(100, 0.1, negativeSigmaSpot, false));
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzJavaPathSimulator(100, 0.1, negativeSigmaConvenienceYield, false));
+    }
+
+    @Test
+    public void constructorThrowsIAEForTermStructureWithNonPositiveKappa() {
+        SchwartzModelParameters parameters = new SchwartzModelParameters(0, 0.3, 0, -0.1, 0.6, 0.3, 0.6, -0.5);
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzJavaPathSimulator(100, 0.1, parameters, true));
+    }
+
+    @Test
+    public void calculateProducesDataWithoutTermStructure() {
+        SchwartzSimulatedData data = new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, false, 2, 3).calculate();
+        double[][] matlabFormat = data.getMatlabFormat();
+
+        assertFalse(data.hasContractEntries());
+        assertEquals(3, matlabFormat.length);
+        assertEquals(2 * SchwartzPathGenerator.TRADING_DAYS_PER_YEAR, matlabFormat[MATLAB_TIMELINE_INDEX].length);
+        assertEquals(1, matlabFormat[MATLAB_TIMELINE_INDEX][0]);
+        assertEquals(100, matlabFormat[MATLAB_SPOT_PRICE_INDEX][0]);
+        assertEquals(0.1, matlabFormat[MATLAB_CONVENIENCE_YIELD_INDEX][0]);
+        for (double spot : matlabFormat[MATLAB_SPOT_PRICE_INDEX]) {
+            assertTrue(spot > 0);
+        }
+    }
+
+    @Test
+    public void calculateProducesRollingTermStructure() {
+        SchwartzSimulatedData data = new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, true, 1, 3).calculate();
+        double[][] matlabFormat = data.getMatlabFormat();
+
+        assertTrue(data.hasContractEntries());
+        assertEquals(3 + 2 * 3, matlabFormat.length);
+        assertEquals(SchwartzPathGenerator.CONTRACT_ROLL_DAYS, matlabFormat[MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE][0]);
+        assertEquals(SchwartzPathGenerator.CONTRACT_ROLL_DAYS - 1, matlabFormat[MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE][1]);
+        assertEquals(SchwartzPathGenerator.CONTRACT_ROLL_DAYS, matlabFormat[MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE][SchwartzPathGenerator.CONTRACT_ROLL_DAYS]);
+        assertEquals(3 * SchwartzPathGenerator.CONTRACT_ROLL_DAYS, matlabFormat[MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE + 4][0]);
+    }
+
+    @Test
+    public void calculateFollowsTheDeterministicDynamicsWithoutVolatility() {
+        double mu = 0.05;
+        double kappa = 2;
+        double alpha = 0.1;
+        SchwartzModelParameters parameters = new SchwartzModelParameters(mu, 0, kappa, alpha, 0, 0.03, 0, 0);
+        SchwartzSimulatedData data = new SchwartzJavaPathSimulator(100, 0.3, parameters, false, 1, 0).calculate();
+        double[][] matlabFormat = data.getMatlabFormat();
+
+        double dt = 1d / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        double expectedSpot = 100;
+        double expectedConvenienceYield = 0.3;
+        for (int j = 0; j < matlabFormat[MATLAB_TIMELINE_INDEX].length; j++) {
+            assertEquals(expectedSpot, matlabFormat[MATLAB_SPOT_PRICE_INDEX][j], 1e-9);
+            assertEquals(expectedConvenienceYield, matlabFormat[MATLAB_CONVENIENCE_YIELD_INDEX][j], 1e-12);
+            expectedSpot *= Math.exp((mu - expectedConvenienceYield) * dt);
+            expectedConvenienceYield += kappa * (alpha - expectedConvenienceYield) * dt;
+        }
+    }
+
+    @Test
+    public void calculateIsReproducibleWithASeed() {
+        SchwartzSimulatedData data = new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, true, 42L).calculate();
+
+        assertEquals(data, new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, true, 42L).calculate());
+        assertNotEquals(data, new SchwartzJavaPathSimulator(100, 0.1, PARAMETERS, true, 43L).calculate());
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.schwartz.calculator.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.matlab.impl.SchwartzModelDataMapper;
+import com.schwartz.model.SchwartzCalibrationResult;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import static com.schwartz.matlab.IMatlabConvertable.*;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzKalmanEstimatorTest {
+
+    private static final SchwartzModelParameters PARAMETERS = new SchwartzModelParameters(0.1, 0.35, 1.5, 0.05, 0.4, 0.04, 0.7, 0.1);
+
+    /**
+     * Simulates the data with the Java engine and perturbs the log futures prices with independent measurement errors.
+     */
+    private static SchwartzSimulatedData simulateObservations(double measurementError) {
+        double[][] data = new SchwartzJavaPathSimulator(100, 0.05, PARAMETERS, true, 2, 6, 11L).calculate().getMatlabFormat();
+        Random random = new Random(13);
+        for (int i = MATLAB_FIRST_INDEX_FOR_TERM_STRUCTURE + 1; i < data.length; i += 2) {
+            for (int j = 0; j < data[i].length; j++) {
+                data[i][j] *= Math.exp(measurementError * random.nextGaussian());
+            }
+        }
+        return new SchwartzModelDataMapper().map(data);
+    }
+
+    @Test
+    public void filterThrowsIAEForDataWithoutTermStructure() {
+        SchwartzSimulatedData modelData = new SchwartzJavaPathSimulator(100, 0.05, PARAMETERS, false).calculate();
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzKalmanFilter(modelData));
+    }
+
+    @Test
+    public void filterGradientMatchesFiniteDifferences() {
+        SchwartzKalmanFilter filter = new SchwartzKalmanFilter(simulateObservations(0.01));
+        double[] coordinates = SchwartzKalmanEstimator.toCoordinates(new SchwartzModelParameters(0.05, 0.3, 1.2, 0.02, 0.35, 0.03, 0.5, 0.05), 0.02);
+        double[] gradient = new double[SchwartzKalmanFilter.NUMBER_OF_PARAMETERS];
+        SchwartzKalmanEstimator.getObjective(filter).evaluate(coordinates, gradient);
+
+        double[] unused = new double[SchwartzKalmanFilter.NUMBER_OF_PARAMETERS];
+        double h = 1e-6;
+        for (int k = 0; k < coordinates.length; k++) {
+            double[] forward = coordinates.clone();
+            double[] backward = coordinates.clone();
+            forward[k] += h;
+            backward[k] -= h;
+            double difference = (SchwartzKalmanEstimator.getObjective(filter).evaluate(forward, unused)
+                                 - SchwartzKalmanEstimator.getObjective(filter).evaluate(backward, unused)) / (2 * h);
+            assertEquals(difference, gradient[k], 1e-4 * Math.max(1, Math.abs(difference)), "The derivative " + k + " differs!");
+        }
+    }
+
+    @Test
+    public void calculateRecoversRiskNeutralParameters() {
+        SchwartzKalmanEstimator estimator = new SchwartzKalmanEstimator(simulateObservations(0.002));
+        SchwartzModelParameters estimate = estimator.call();
+
+        assertNotNull(estimator.getOptimizationResult());
+        assertEquals(1, estimator.getProgress());
+        // The term structure identifies the risk-neutral dynamics well, whereas the drifts are only weakly identified by two years of data.
+        assertEquals(PARAMETERS.getKappa(), estimate.getKappa(), 0.15);
+        assertEquals(PARAMETERS.getSigmaSpot(), estimate.getSigmaSpot(), 0.05);
+        assertEquals(PARAMETERS.getSigmaConvenienceYield(), estimate.getSigmaConvenienceYield(), 0.05);
+        assertEquals(PARAMETERS.getRho(), estimate.getRho(), 0.1);
+        assertTrue(estimator.getOptimizationResult().getIterations() > 0);
+    }
+
+    @Test
+    public void startingPointsFormLatinHypercube() {
+        double[][] startingPoints = SchwartzMultiStartEstimator.getStartingPoints(8, 5);
+        assertArrayEquals(startingPoints[3], SchwartzMultiStartEstimator.getStartingPoints(8, 5)[3]);
+
+        // Every stratum of kappa, i.e. of its logarithm between ln 0.1 and ln 5, contains exactly one starting point.
+        boolean[] occupied = new boolean[8];
+        for (double[] startingPoint : startingPoints) {
+            double u = (startingPoint[SchwartzKalmanFilter.KAPPA_INDEX] - Math.log(0.1)) / (Math.log(5) - Math.log(0.1));
+            occupied[(int) (u * 8)] = true;
+        }
+        for (boolean stratum : occupied) {
+            assertTrue(stratum);
+        }
+    }
+
+    @Test
+    public void multiStartCalibrationSelectsHighestLikelihood() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            SchwartzMultiStartEstimator estimator = new SchwartzMultiStartEstimator(pool, simulateObservations(0.002), 8, 17L);
+            SchwartzCalibrationResult result = estimator.call();
+
+            assertEquals(8, result.getNumberOfStarts());
+            assertEquals(1, estimator.getProgress());
+            for (SchwartzCalibrationResult.Start start : result.getStarts()) {
+                assertTrue(start.getLogLikelihood() <= result.getLogLikelihood());
+            }
+            assertEquals(result.getLogLikelihood(), result.getStarts().get(result.getBestStartIndex()).getLogLikelihood());
+            assertTrue(result.getNumberOfStartsAtOptimum(1) >= 1);
+            assertEquals(PARAMETERS.getKappa(), result.getModelParameters().getKappa(), 0.15);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+}
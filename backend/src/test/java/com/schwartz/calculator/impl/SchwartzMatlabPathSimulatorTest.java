@@ -0,0 +1,114 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.schwartz.calculator.ISchwartzPathListener;
+import com.schwartz.matlab.AbstractMatlabProxyHandler;
+import com.schwartz.matlab.impl.MatlabProxyPool;
+import com.schwartz.model.SchwartzSimulatedData;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.n52.matlab.control.MatlabInvocationException;
+import org.n52.matlab.control.MatlabProxy;
+
+/**
+ * @author woope
+ */
+public class SchwartzMatlabPathSimulatorTest {
+
+    private MatlabProxy proxy;
+    private MatlabProxyPool proxyPool;
+
+    @BeforeEach
+    public void setUp() throws MatlabInvocationException {
+        proxy = mock(MatlabProxy.class);
+        AbstractMatlabProxyHandler sessionHandler = mock(AbstractMatlabProxyHandler.class);
+        when(sessionHandler.getMatlabProxy()).thenReturn(proxy);
+        when(proxy.isConnected()).thenReturn(true);
+        // The column-major values of the 3 x 2 matrix {{1, 2}, {100, 101}, {0.3, 0.2}}.
+        doReturn(new Object[]{new double[]{1, 100, 0.3, 2, 101, 0.2}, new double[]{3, 2}})
+            .when(proxy).returningFeval(anyString(), anyInt(), anyVararg());
+
+        proxyPool = new MatlabProxyPool(sessionHandler);
+    }
+
+    @Test
+    public void calculateSimulatesThePathWithASingleFunctionCall() throws MatlabInvocationException {
+        SchwartzSimulatedData data = new SchwartzMatlabPathSimulator(proxyPool, 100, 0.3, PARAMETERS, false, 7L).calculate();
+
+        verify(proxy, times(1)).returningFeval(
+            SchwartzMatlabPathSimulator.SIMULATION_FUNCTION,
+            2,
+            PARAMETERS.getMatlabFormat()[0],
+            100d,
+            0.3,
+            7d,
+            1d,
+            false
+        );
+        verify(proxy, never()).eval(anyString());
+        assertArrayEquals(new double[][]{{1, 2}, {100, 101}, {0.3, 0.2}}, data.getMatlabFormat());
+    }
+
+    @Test
+    public void calculateShufflesTheGeneratorWithoutASeed() throws MatlabInvocationException {
+        new SchwartzMatlabPathSimulator(proxyPool, 100, 0.3, PARAMETERS, false).calculate();
+
+        verify(proxy, times(1)).returningFeval(
+            SchwartzMatlabPathSimulator.SIMULATION_FUNCTION,
+            2,
+            PARAMETERS.getMatlabFormat()[0],
+            100d,
+            0.3,
+            -1d,
+            1d,
+            false
+        );
+    }
+
+    @Test
+    public void calculateReturnsTheLeasedSession() throws MatlabInvocationException {
+        new SchwartzMatlabPathSimulator(proxyPool, 100, 0.3, PARAMETERS, true, 7L).calculate();
+
+        // The term structure is simulated in Matlab.
+        verify(proxy, times(1)).returningFeval(
+            SchwartzMatlabPathSimulator.SIMULATION_FUNCTION,
+            2,
+            PARAMETERS.getMatlabFormat()[0],
+            100d,
+            0.3,
+            7d,
+            1d,
+            true
+        );
+        assertEquals(0, proxyPool.getLeasedCount());
+        assertEquals(1, proxyPool.getIdleCount());
+    }
+
+    @Test
+    public void calculateThrowsISEForFailedSimulations() throws MatlabInvocationException {
+        doThrow(mock(MatlabInvocationException.class)).when(proxy).returningFeval(anyString(), anyInt(), anyVararg());
+
+        assertThrows(IllegalStateException.class, () -> new SchwartzMatlabPathSimulator(proxyPool, 100, 0.3, PARAMETERS, false).calculate());
+        assertThrows(IllegalStateException.class, () -> new SchwartzMatlabBatchPathSimulator(proxyPool, 100, 0.3, PARAMETERS, false, 2, null).calculate());
+        assertThrows(IllegalStateException.class, () -> new SchwartzMatlabStreamingPathSimulator(
+            proxyPool, 100, 0.3, PARAMETERS, false, 2, null, mock(ISchwartzPathListener.class)
+        ).calculate());
+        assertEquals(0, proxyPool.getLeasedCount());
+    }
+
+    @Test
+    public void reshapeReshapesTheColumnMajorValues() {
+        assertArrayEquals(
+            new double[][]{{1, 2, 3}, {4, 5, 6}},
+            SchwartzMatlabPathSimulator.reshape(new double[]{1, 4, 2, 5, 3, 6}, 2, 3)
+        );
+        assertThrows(IllegalArgumentException.class, () -> SchwartzMatlabPathSimulator.reshape(new double[5], 2, 3));
+    }
+
+}
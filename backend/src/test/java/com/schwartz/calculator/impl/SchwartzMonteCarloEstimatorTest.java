@@ -0,0 +1,166 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.DRIFTING_PARAMETERS;
+import static com.schwartz.SchwartzTestFixtures.shortSimulation;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SchwartzMonteCarloEstimate;
+import com.schwartz.model.SchwartzPathStatistic;
+import com.schwartz.model.SchwartzSamplingMethod;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import com.schwartz.random.QuasiRandomPathSampler;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzMonteCarloEstimatorTest {
+
+    private static final int NUMBER_OF_PATHS = 2000;
+
+    private final SchwartzPathGenerator pathGenerator = new SchwartzPathGenerator(100, 0.1, DRIFTING_PARAMETERS, true, 1, 2);
+
+    @Test
+    public void discreteMomentsMatchTheSampleMeansOfThePaths() {
+        SchwartzSimulatedPaths paths = simulate(false);
+        SchwartzDiscreteMoments moments = new SchwartzDiscreteMoments(pathGenerator);
+        int time = pathGenerator.getNumberOfTimesteps();
+
+        double spotPrice = 0;
+        double convenienceYield = 0;
+        double futuresPrice = 0;
+        for (int p = 0; p < NUMBER_OF_PATHS; p++) {
+            double[][] rows = paths.getPathRows(p);
+            spotPrice += rows[0][time - 1] / NUMBER_OF_PATHS;
+            convenienceYield += rows[1][time - 1] / NUMBER_OF_PATHS;
+            futuresPrice += rows[5][time - 1] / NUMBER_OF_PATHS;
+        }
+
+        assertEquals(moments.getExpectedSpotPrice(time), spotPrice, 2);
+        assertEquals(moments.getExpectedConvenienceYield(time), convenienceYield, 0.02);
+        assertEquals(moments.getExpectedFuturesPrice(time, 1), futuresPrice, 2);
+        assertEquals(100, moments.getExpectedSpotPrice(1), 1e-12);
+    }
+
+    @Test
+    public void antitheticPairsAreMirrorImages() {
+        SchwartzSimulatedPaths paths = simulate(true);
+        double dt = 1d / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR;
+        double[] convenienceYields = paths.getPathRows(0)[1];
+        double[] mirroredConvenienceYields = paths.getPathRows(1)[1];
+
+        // The first increments of the convenience yield share the drift, and their shocks cancel out.
+        double drift = DRIFTING_PARAMETERS.getKappa() * (DRIFTING_PARAMETERS.getAlpha() - 0.1) * dt;
+        assertEquals(2 * drift, (convenienceYields[1] - 0.1) + (mirroredConvenienceYields[1] - 0.1), 1e-12);
+        assertArrayEquals(paths.getPathRows(2)[0], simulate(true).getPathRows(2)[0]);
+    }
+
+    @Test
+    public void varianceReductionPreservesTheExpectation() {
+        SchwartzDiscreteMoments moments = new SchwartzDiscreteMoments(pathGenerator);
+        double expected = 0;
+        for (int time = 1; time <= pathGenerator.getNumberOfTimesteps(); time++) {
+            expected += moments.getExpectedFuturesPrice(time, 0) / pathGenerator.getNumberOfTimesteps();
+        }
+
+        SchwartzMonteCarloEstimate plain = estimate(SchwartzSamplingMethod.PSEUDO_RANDOM, false);
+        SchwartzMonteCarloEstimate reduced = estimate(SchwartzSamplingMethod.ANTITHETIC, true);
+
+        assertEquals(1, plain.getVarianceReductionFactor(), 1e-9);
+        assertEquals(expected, plain.getEstimate(), 4 * plain.getStandardError());
+        assertEquals(expected, reduced.getEstimate(), 4 * reduced.getStandardError());
+        assertTrue(reduced.getVarianceReductionFactor() > 10, "The variance reduction factor: " + reduced.getVarianceReductionFactor());
+        assertTrue(reduced.getStandardError() < plain.getStandardError() / 3);
+    }
+
+    @Test
+    public void estimateThrowsIAEForAnOddNumberOfAntitheticPaths() {
+        SchwartzMonteCarloEstimator estimator = new SchwartzMonteCarloEstimator(
+            new SchwartzJavaBatchPathSimulator(100, 0.1, DRIFTING_PARAMETERS, true, 9, 1L, options(true)),
+            pathGenerator,
+            SchwartzPathStatistic.MAXIMUM_SPOT_PRICE,
+            SchwartzSamplingMethod.ANTITHETIC,
+            0,
+            true
+        );
+
+        assertThrows(IllegalArgumentException.class, estimator::calculate);
+    }
+
+    @Test
+    public void quasiRandomReplicatesReduceTheVariance() {
+        SchwartzDiscreteMoments moments = new SchwartzDiscreteMoments(pathGenerator);
+        double expected = moments.getExpectedSpotPrice(pathGenerator.getNumberOfTimesteps());
+
+        SchwartzMonteCarloEstimate estimate = new SchwartzMonteCarloEstimator(
+            new SchwartzJavaQuasiRandomPathSimulator(100, 0.1, DRIFTING_PARAMETERS, false, 1024, 0, 1, 2, 64, 3L),
+            pathGenerator,
+            SchwartzPathStatistic.MAXIMUM_SPOT_PRICE,
+            SchwartzSamplingMethod.QUASI_RANDOM,
+            16,
+            false
+        ).call();
+
+        assertEquals(16, estimate.getReplicates());
+        assertTrue(estimate.getVarianceReductionFactor() > 2, "The variance reduction factor: " + estimate.getVarianceReductionFactor());
+        assertTrue(estimate.getEstimate() > expected);
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzMonteCarloEstimator(
+            new SchwartzJavaQuasiRandomPathSimulator(100, 0.1, DRIFTING_PARAMETERS, false, 1000, 0, 1, 2, 64, 3L),
+            pathGenerator,
+            SchwartzPathStatistic.MAXIMUM_SPOT_PRICE,
+            SchwartzSamplingMethod.QUASI_RANDOM,
+            16,
+            false
+        ).calculate());
+    }
+
+    @Test
+    public void quasiRandomChunksReuseTheSharedSamplers() {
+        SchwartzSimulatedPaths paths = quasiRandom(192, 0, new ConcurrentLinkedQueue<>());
+        Queue<QuasiRandomPathSampler> samplers = new ConcurrentLinkedQueue<>();
+
+        for (int firstPathIndex : new int[]{96, 0, 144, 48}) {
+            SchwartzSimulatedPaths chunk = quasiRandom(48, firstPathIndex, samplers);
+            for (int p = 0; p < 48; p++) {
+                assertArrayEquals(paths.getPathRows(firstPathIndex + p)[0], chunk.getPathRows(p)[0]);
+            }
+        }
+        assertEquals(1, samplers.size());
+    }
+
+    private SchwartzMonteCarloEstimate estimate(SchwartzSamplingMethod samplingMethod, boolean controlVariates) {
+        return new SchwartzMonteCarloEstimator(
+            new SchwartzJavaBatchPathSimulator(
+                100, 0.1, DRIFTING_PARAMETERS, true, NUMBER_OF_PATHS, 3L, options(samplingMethod == SchwartzSamplingMethod.ANTITHETIC)
+            ),
+            pathGenerator,
+            SchwartzPathStatistic.AVERAGE_FRONT_FUTURES_PRICE,
+            samplingMethod,
+            0,
+            controlVariates
+        ).call();
+    }
+
+    private static SchwartzJavaBatchPathSimulator.Options options(boolean antithetic) {
+        return shortSimulation().antithetic(antithetic);
+    }
+
+    private static SchwartzSimulatedPaths quasiRandom(int numberOfPaths, int firstPathIndex, Queue<QuasiRandomPathSampler> samplers) {
+        return new SchwartzJavaQuasiRandomPathSimulator(
+            100, 0.1, DRIFTING_PARAMETERS, false, numberOfPaths, firstPathIndex, 1, 2, 64, 3L, samplers
+        ).calculate();
+    }
+
+    private static SchwartzSimulatedPaths simulate(boolean antithetic) {
+        return new SchwartzJavaBatchPathSimulator(
+            100, 0.1, DRIFTING_PARAMETERS, true, NUMBER_OF_PATHS, 3L, options(antithetic)
+        ).calculate();
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.DRIFTING_PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzOptionQuote;
+import com.schwartz.model.SchwartzOptionStyle;
+import com.schwartz.model.SchwartzOptionType;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzOptionGridCalculatorTest {
+
+    private static final double[] STRIKES = {80, 100, 120};
+
+    @Test
+    public void europeanPricesSatisfyThePutCallParity() {
+        double[] expiries = {21, 126};
+        double[] time2maturities = {42, 252};
+        List<SchwartzOptionQuote> calls = price(SchwartzOptionType.CALL, SchwartzOptionStyle.EUROPEAN, expiries, time2maturities);
+        List<SchwartzOptionQuote> puts = price(SchwartzOptionType.PUT, SchwartzOptionStyle.EUROPEAN, expiries, time2maturities);
+
+        assertEquals(STRIKES.length * expiries.length, calls.size());
+        for (int i = 0; i < calls.size(); i++) {
+            SchwartzOptionQuote call = calls.get(i);
+            double discountFactor = Math.exp(
+                -DRIFTING_PARAMETERS.getInterest() * call.getExpiry() / SchwartzPathGenerator.TRADING_DAYS_PER_YEAR
+            );
+            assertEquals(discountFactor * (call.getFuturesPrice() - call.getStrike()), call.getPrice() - puts.get(i).getPrice(), 1e-10);
+            assertEquals(0, call.getStandardError());
+        }
+        assertEquals(126, calls.get(3).getExpiry());
+        assertEquals(100, calls.get(4).getStrike());
+    }
+
+    @Test
+    public void europeanPricesReduceToTheBlackFormulaWithoutConvenienceYieldRisk() {
+        SchwartzModelParameters parameters = new SchwartzModelParameters(0.05, 0.3, 2, 0.1, 0, 0.03, 0.6, 0.1);
+        SchwartzFuturesOptionEngine optionEngine = new SchwartzFuturesOptionEngine(parameters);
+        double t = 0.5;
+        double d1 = (Math.log(100d / 90) + 0.5 * 0.09 * t) / (0.3 * Math.sqrt(t));
+        double d2 = d1 - 0.3 * Math.sqrt(t);
+        double expected = Math.exp(-0.03 * t) * (100 * SchwartzFuturesOptionEngine.getNormalDistribution(d1)
+                                                 - 90 * SchwartzFuturesOptionEngine.getNormalDistribution(d2));
+
+        assertEquals(expected, optionEngine.getPrice(SchwartzOptionType.CALL, 100, 90, 126, 300), 1e-10);
+        assertEquals(0.3, optionEngine.getVolatility(126, 300), 1e-12);
+        // The convenience yield risk reduces the volatility of the futures prices with a positive correlation.
+        assertTrue(new SchwartzFuturesOptionEngine(DRIFTING_PARAMETERS).getVolatility(126, 300) < 0.3);
+    }
+
+    @Test
+    public void averagePricesMatchTheClosedFormForASingleObservation() {
+        double[] expiries = {1, 63};
+        double[] time2maturities = {21, 63};
+        List<SchwartzOptionQuote> european = price(SchwartzOptionType.CALL, SchwartzOptionStyle.EUROPEAN, expiries, time2maturities);
+        List<SchwartzOptionQuote> average = price(SchwartzOptionType.CALL, SchwartzOptionStyle.AVERAGE_PRICE, expiries, time2maturities);
+
+        for (int k = 0; k < STRIKES.length; k++) {
+            SchwartzOptionQuote quote = average.get(k);
+            assertEquals(european.get(k).getPrice(), quote.getPrice(), 4 * quote.getStandardError() + 1e-3);
+        }
+        // The averaging reduces the volatility of the underlying, so the at-the-money averages are cheaper.
+        int atTheMoney = STRIKES.length + 1;
+        assertTrue(average.get(atTheMoney).getPrice() < european.get(atTheMoney).getPrice());
+        assertTrue(average.get(atTheMoney).getStandardError() > 0);
+    }
+
+    @Test
+    public void constructorThrowsIAEForMalformedOptions() {
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzOptionGridCalculator(
+            100, 0.1, DRIFTING_PARAMETERS, SchwartzOptionType.CALL, SchwartzOptionStyle.EUROPEAN, STRIKES, new double[]{63}, new double[]{21}, 0, null
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzOptionGridCalculator(
+            100, 0.1, DRIFTING_PARAMETERS, SchwartzOptionType.CALL, SchwartzOptionStyle.AVERAGE_PRICE, STRIKES, new double[]{2.5}, new double[]{21}, 100, null
+        ));
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzOptionGridCalculator(
+            100, 0.1, DRIFTING_PARAMETERS, SchwartzOptionType.CALL, SchwartzOptionStyle.AVERAGE_PRICE, STRIKES, new double[]{21}, new double[]{21}, 101, null
+        ));
+    }
+
+    private static List<SchwartzOptionQuote> price(
+        SchwartzOptionType optionType,
+        SchwartzOptionStyle style,
+        double[] expiries,
+        double[] time2maturities
+    ) {
+        return new SchwartzOptionGridCalculator(100, 0.1, DRIFTING_PARAMETERS, optionType, style, STRIKES, expiries, time2maturities, 20000, 7L).call();
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzParallelPathSimulatorTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void calculateMergesTheChunksInPathOrder() {
+        SchwartzParallelPathSimulator simulator = new SchwartzParallelPathSimulator(pool, 37, 5, (firstPathIndex, numberOfPaths) ->
+            new SchwartzJavaBatchPathSimulator(100, 0.1, PARAMETERS, true, numberOfPaths, 5L, options(firstPathIndex, 2))
+        );
+        SchwartzSimulatedPaths paths = simulator.call();
+
+        assertEquals(8, simulator.getNumberOfChunks());
+        assertEquals(1, simulator.getProgress());
+        assertEquals(new SchwartzJavaBatchPathSimulator(100, 0.1, PARAMETERS, true, 37, 5L, options(0, 2)).calculate(), paths);
+    }
+
+    @Test
+    public void calculatePadsChunksWithFewerContracts() {
+        SchwartzSimulatedPaths paths = new SchwartzParallelPathSimulator(pool, 4, 2, (firstPathIndex, numberOfPaths) ->
+            new SchwartzJavaBatchPathSimulator(100, 0.1, PARAMETERS, true, numberOfPaths, 5L, options(firstPathIndex, firstPathIndex == 0 ? 1 : 3))
+        ).calculate();
+
+        assertEquals(3, paths.getNumberOfContracts());
+        assertEquals(1, paths.getPath(0).getMaxTermStructureLength());
+        assertEquals(3, paths.getPath(3).getMaxTermStructureLength());
+    }
+
+    @Test
+    public void calculateThrowsISEForFailedChunks() {
+        SchwartzParallelPathSimulator simulator = new SchwartzParallelPathSimulator(pool, 4, 2, (firstPathIndex, numberOfPaths) ->
+            new SchwartzJavaBatchPathSimulator(100, 0.1, PARAMETERS, false, numberOfPaths, null) {
+                @Override
+                public SchwartzSimulatedPaths calculate() {
+                    return firstPathIndex == 0 ? super.calculate() : null;
+                }
+            }
+        );
+
+        assertThrows(IllegalStateException.class, simulator::calculate);
+    }
+
+    private static SchwartzJavaBatchPathSimulator.Options options(int firstPathIndex, int numberOfContracts) {
+        return new SchwartzJavaBatchPathSimulator.Options().firstPathIndex(firstPathIndex).synthYears(1).numberOfContracts(numberOfContracts);
+    }
+
+}
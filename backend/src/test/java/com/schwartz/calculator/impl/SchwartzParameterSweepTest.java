@@ -0,0 +1,150 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.calculator.ISchwartzSweepListener;
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzParameterGrid;
+import com.schwartz.model.SchwartzSimulatedPaths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzParameterSweepTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void calculateSweepsEveryDistinctParametersetOnce() {
+        SchwartzParameterGrid parameterGrid = new SchwartzParameterGrid();
+        parameterGrid.setBase(PARAMETERS);
+        parameterGrid.getAxes().put("kappa", new double[]{1, 2, 4});
+        parameterGrid.getAxes().put("rho", new double[]{0.2, 0.6});
+        parameterGrid.setParameterSets(Arrays.asList(PARAMETERS, PARAMETERS));
+        List<SchwartzModelParameters> parameterSets = parameterGrid.expand();
+
+        AtomicInteger calculations = new AtomicInteger();
+        RecordingListener listener = new RecordingListener();
+        SchwartzParameterSweep<SchwartzSimulatedPaths> sweep = new SchwartzParameterSweep<>(pool, parameterSets, 3, modelParameters -> {
+            calculations.incrementAndGet();
+            return new SchwartzJavaBatchPathSimulator(100, 0.1, modelParameters, false, 2, 5L, options());
+        }, listener);
+
+        assertEquals(8, parameterGrid.getSize());
+        assertEquals(new SchwartzModelParameters(0, 0.3, 4, -0.1, 0.6, 0.3, 0.2, -0.5), parameterSets.get(6));
+        assertEquals(6, (int) sweep.call());
+        assertEquals(6, calculations.get());
+        assertEquals(1, sweep.getProgress());
+        assertEquals(PARAMETERS, sweep.getParameterSets().get(0));
+        for (int i = 0; i < 6; i++) {
+            SchwartzModelParameters modelParameters = sweep.getParameterSets().get(i);
+            assertEquals(modelParameters, listener.parameterSets.get(i));
+            assertEquals(new SchwartzJavaBatchPathSimulator(100, 0.1, modelParameters, false, 2, 5L, options()).calculate(), listener.results.get(i));
+        }
+    }
+
+    @Test
+    public void calculateContinuesAfterFailedParametersets() {
+        SchwartzModelParameters failing = new SchwartzModelParameters(0, 0.3, 2, -0.1, 0.6, 0.3, 0.6, 0.5);
+        RecordingListener listener = new RecordingListener();
+        SchwartzParameterSweep<SchwartzSimulatedPaths> sweep = new SchwartzParameterSweep<>(pool, Arrays.asList(failing, PARAMETERS), 2,
+            modelParameters -> () -> {
+                if (modelParameters.equals(failing)) {
+                    throw new IllegalStateException("Failed!");
+                }
+                return new SchwartzJavaBatchPathSimulator(100, 0.1, modelParameters, false, 2, null).calculate();
+            },
+            listener
+        );
+
+        assertEquals(2, (int) sweep.call());
+        assertEquals("Failed!", listener.failures.get(0).getMessage());
+        assertTrue(listener.results.containsKey(1));
+        assertEquals(1, sweep.getProgress());
+    }
+
+    @Test
+    public void calculateReportsMissingResultsAsFailures() {
+        RecordingListener listener = new RecordingListener();
+        SchwartzParameterSweep<SchwartzSimulatedPaths> sweep = new SchwartzParameterSweep<>(pool, Arrays.asList(PARAMETERS), 1,
+            modelParameters -> () -> null,
+            listener
+        );
+
+        assertEquals(1, (int) sweep.call());
+        assertTrue(listener.results.isEmpty());
+        assertTrue(listener.failures.get(0) instanceof IllegalStateException);
+        assertEquals(1, sweep.getProgress());
+    }
+
+    @Test
+    public void expandThrowsIAEForMalformedGrids() {
+        SchwartzParameterGrid parameterGrid = new SchwartzParameterGrid();
+        parameterGrid.getAxes().put("kappa", new double[]{1, 2});
+        assertThrows(IllegalArgumentException.class, parameterGrid::expand);
+
+        parameterGrid.setBase(PARAMETERS);
+        parameterGrid.getAxes().put("sigma", new double[]{0.1});
+        assertThrows(IllegalArgumentException.class, parameterGrid::expand);
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzParameterSweep<>(pool, Arrays.asList(), 1, p -> () -> 0, listener()));
+    }
+
+    private static SchwartzJavaBatchPathSimulator.Options options() {
+        return new SchwartzJavaBatchPathSimulator.Options().synthYears(1).numberOfContracts(0);
+    }
+
+    private static ISchwartzSweepListener<Integer> listener() {
+        return new ISchwartzSweepListener<Integer>() {
+            @Override
+            public void onResult(int index, SchwartzModelParameters modelParameters, Integer result) {
+            }
+
+            @Override
+            public void onFailure(int index, SchwartzModelParameters modelParameters, Exception ex) {
+            }
+        };
+    }
+
+    private static final class RecordingListener implements ISchwartzSweepListener<SchwartzSimulatedPaths> {
+
+        private final Map<Integer, SchwartzModelParameters> parameterSets = new HashMap<>();
+        private final Map<Integer, SchwartzSimulatedPaths> results = new HashMap<>();
+        private final Map<Integer, Exception> failures = new HashMap<>();
+
+        @Override
+        public void onResult(int index, SchwartzModelParameters modelParameters, SchwartzSimulatedPaths result) {
+            parameterSets.put(index, modelParameters);
+            results.put(index, result);
+        }
+
+        @Override
+        public void onFailure(int index, SchwartzModelParameters modelParameters, Exception ex) {
+            parameterSets.put(index, modelParameters);
+            failures.put(index, ex);
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.schwartz.calculator.impl;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.schwartz.model.SchwartzModelParameters;
+import com.schwartz.model.SchwartzSimulatedData;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzTermStructureEngineTest {
+
+    @Test
+    public void constructorThrowsIAEForNonPositiveKappa() {
+        SchwartzModelParameters parameters = new SchwartzModelParameters(0, 0.3, 0, -0.1, 0.6, 0.3, 0.6, -0.5);
+        assertThrows(IllegalArgumentException.class, () -> new SchwartzTermStructureEngine(parameters, 6));
+    }
+
+    @Test
+    public void futuresPriceConvergesToSpotPrice() {
+        SchwartzTermStructureEngine engine = new SchwartzTermStructureEngine(PARAMETERS, 0);
+        assertEquals(100, engine.getFuturesPrice(100, 0.1, 0), 1e-12);
+        assertEquals(100, engine.getFuturesPrice(100, 0.1, 1e-9), 1e-6);
+    }
+
+    @Test
+    public void futuresPriceWithoutVolatilityMatchesDeterministicCarry() {
+        double kappa = 1.5;
+        double alpha = 0.05;
+        double lambda = 0.03;
+        double interest = 0.04;
+        SchwartzTermStructureEngine engine = new SchwartzTermStructureEngine(
+            new SchwartzModelParameters(0, 0, kappa, alpha, 0, interest, 0, lambda), 0
+        );
+
+        // Without volatility, F = S * exp(integral of (r - delta(t)) dt) with the risk-adjusted mean reverting convenience yield.
+        double riskAdjustedAlpha = alpha - lambda / kappa;
+        double convenienceYield = 0.2;
+        for (double maturity : new double[]{0.25, 1, 5}) {
+            double integratedConvenienceYield = riskAdjustedAlpha * maturity
+                                                + (convenienceYield - riskAdjustedAlpha) * (1 - Math.exp(-kappa * maturity)) / kappa;
+            double expected = 80 * Math.exp(interest * maturity - integratedConvenienceYield);
+            assertEquals(expected, engine.getFuturesPrice(80, convenienceYield, maturity), 1e-10);
+        }
+    }
+
+    @Test
+    public void rollingTermStructureMatchesContractEntries() {
+        SchwartzTermStructureEngine engine = new SchwartzTermStructureEngine(PARAMETERS, 3);
+        double[] time2maturities = new double[3];
+        double[] futuresPrices = new double[3];
+        engine.fillRollingTermStructure(5, 100, 0.1, time2maturities, futuresPrices);
+
+        List<SchwartzSimulatedData.ContractEntry> contractEntries = engine.getContractEntries(100, 0.1, time2maturities);
+        assertEquals(SchwartzPathGenerator.CONTRACT_ROLL_DAYS - 4, time2maturities[0]);
+        for (int k = 0; k < 3; k++) {
+            assertEquals(time2maturities[k], contractEntries.get(k).getTime2maturity().doubleValue());
+            assertEquals(contractEntries.get(k).getFuturesPrice(), futuresPrices[k], 1e-10);
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.schwartz.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.model.SchwartzSimulatedData;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+/**
+ * @author woope
+ */
+public class MatlabBinaryHttpMessageConverterTest {
+
+    @Test
+    public void writeWritesTheDimensionsAndTheColumnMajorValuesInLittleEndian() throws IOException {
+        double[][] matrix = {{1, 2, 3}, {4, 5, Double.NaN}};
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MatlabBinaryHttpMessageConverter.write(matrix, outputStream);
+
+        ByteBuffer buffer = ByteBuffer.wrap(outputStream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(MatlabBinaryHttpMessageConverter.getContentLength(matrix), buffer.remaining());
+        assertEquals(2, buffer.getInt());
+        assertEquals(3, buffer.getInt());
+        double[] values = new double[6];
+        buffer.asDoubleBuffer().get(values);
+        assertArrayEquals(new double[]{1, 4, 2, 5, 3, Double.NaN}, values);
+    }
+
+    @Test
+    public void writeWritesMatricesThatExceedTheBuffer() throws IOException {
+        double[][] matrix = new double[7][10000];
+        for (int i = 0; i < matrix.length; i++) {
+            for (int j = 0; j < matrix[i].length; j++) {
+                matrix[i][j] = i * 10000 + j;
+            }
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        MatlabBinaryHttpMessageConverter.write(matrix, outputStream);
+
+        ByteBuffer buffer = ByteBuffer.wrap(outputStream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(MatlabBinaryHttpMessageConverter.getContentLength(matrix), buffer.remaining());
+        buffer.position(MatlabBinaryHttpMessageConverter.HEADER_BYTES);
+        for (int j = 0; j < matrix[0].length; j++) {
+            for (int i = 0; i < matrix.length; i++) {
+                assertEquals(matrix[i][j], buffer.getDouble());
+            }
+        }
+    }
+
+    @Test
+    public void converterOnlyWritesMatlabConvertables() {
+        MatlabBinaryHttpMessageConverter converter = new MatlabBinaryHttpMessageConverter();
+        MediaType mediaType = MediaType.parseMediaType(MatlabBinaryHttpMessageConverter.MEDIA_TYPE);
+
+        assertTrue(converter.canWrite(SchwartzSimulatedData.class, mediaType));
+        assertFalse(converter.canWrite(String.class, mediaType));
+        assertFalse(converter.canRead(SchwartzSimulatedData.class, mediaType));
+    }
+
+}
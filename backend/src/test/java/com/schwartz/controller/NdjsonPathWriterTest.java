@@ -0,0 +1,76 @@
+package com.schwartz.controller;
+
+import static com.schwartz.SchwartzTestFixtures.PARAMETERS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.calculator.impl.SchwartzJavaStreamingPathSimulator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class NdjsonPathWriterTest {
+
+    @Test
+    public void writerWritesOneLinePerTimestep() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (NdjsonPathWriter writer = new NdjsonPathWriter()) {
+            writer.open(outputStream);
+            writer.onTimestep(0, 1, 100, 0.3, new double[]{21}, new double[]{99.5});
+            writer.onTimestep(0, 2, 101, 0.2, new double[0], new double[0]);
+            writer.onPathCompleted(0);
+        }
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(
+            "{\"path\":0,\"time\":1,\"spotPrice\":100.0,\"convenienceYield\":0.3,\"time2maturities\":[21.0],\"futuresPrices\":[99.5]}",
+            lines[0]
+        );
+        assertEquals(
+            "{\"path\":0,\"time\":2,\"spotPrice\":101.0,\"convenienceYield\":0.2,\"time2maturities\":[],\"futuresPrices\":[]}",
+            lines[1]
+        );
+    }
+
+    @Test
+    public void writerStreamsTheSimulatedPaths() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (NdjsonPathWriter writer = new NdjsonPathWriter()) {
+            writer.open(outputStream);
+            new SchwartzJavaStreamingPathSimulator(100, 0.1, PARAMETERS, true, 2, null, writer).call();
+        }
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2 * 252, lines.length);
+        assertTrue(lines[252].startsWith("{\"path\":1,\"time\":1,"));
+    }
+
+    @Test
+    public void writeErrorEndsTheStreamWithTheFailure() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (NdjsonPathWriter writer = new NdjsonPathWriter()) {
+            writer.open(outputStream);
+            writer.onTimestep(0, 1, 100, 0.3, new double[0], new double[0]);
+            writer.writeError(new IllegalStateException("Unable to stream the paths!"));
+        }
+
+        String[] lines = new String(outputStream.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"error\":\"Unable to stream the paths!\"}", lines[1]);
+    }
+
+    @Test
+    public void openThrowsISEWhenAlreadyOpened() throws IOException {
+        NdjsonPathWriter writer = new NdjsonPathWriter();
+        writer.open(new ByteArrayOutputStream());
+        assertThrows(IllegalStateException.class, () -> writer.open(new ByteArrayOutputStream()));
+    }
+
+}
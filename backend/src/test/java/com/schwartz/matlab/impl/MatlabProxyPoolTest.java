@@ -0,0 +1,118 @@
+package com.schwartz.matlab.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+import com.schwartz.matlab.AbstractMatlabProxyHandler;
+import com.schwartz.matlab.MatlabMetrics;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.n52.matlab.control.MatlabInvocationException;
+import org.n52.matlab.control.MatlabProxy;
+
+/**
+ * @author woope
+ */
+public class MatlabProxyPoolTest {
+
+    private AbstractMatlabProxyHandler sessionHandler;
+    private MatlabProxy firstProxy;
+    private MatlabProxy secondProxy;
+    private MatlabProxyPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        sessionHandler = mock(AbstractMatlabProxyHandler.class);
+        firstProxy = mock(MatlabProxy.class);
+        secondProxy = mock(MatlabProxy.class);
+
+        when(firstProxy.isConnected()).thenReturn(true);
+        when(secondProxy.isConnected()).thenReturn(true);
+        when(sessionHandler.getMatlabProxy()).thenReturn(firstProxy, secondProxy);
+
+        pool = new MatlabProxyPool(sessionHandler, 2, 10);
+    }
+
+    @Test
+    public void borrowCreatesSeparateSessionsForConcurrentLeases() {
+        MatlabProxy first = pool.getMatlabProxy();
+        MatlabProxy second = pool.getMatlabProxy();
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.getLeasedCount());
+        verify(sessionHandler, times(2)).getMatlabProxy();
+    }
+
+    @Test
+    public void borrowReusesReturnedSessions() {
+        MatlabProxy first = pool.getMatlabProxy();
+        pool.returnMatlabProxy(first);
+        MatlabProxy second = pool.getMatlabProxy();
+
+        assertSame(first, second);
+        verify(sessionHandler, times(1)).getMatlabProxy();
+    }
+
+    @Test
+    public void borrowReplacesDisconnectedSessions() {
+        MatlabProxy first = pool.getMatlabProxy();
+        pool.returnMatlabProxy(first);
+        when(firstProxy.isConnected()).thenReturn(false);
+
+        MatlabProxy second = pool.getMatlabProxy();
+
+        assertSame(secondProxy, second);
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void borrowReturnsNullWhenThePoolIsExhausted() {
+        pool.getMatlabProxy();
+        pool.getMatlabProxy();
+
+        assertNull(pool.borrowMatlabProxy(1, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void borrowReleasesTheLeaseIfNoSessionCouldBeInitialized() {
+        MatlabProxyPool singleSessionPool = new MatlabProxyPool(sessionHandler, 1, 10);
+        when(sessionHandler.getMatlabProxy()).thenReturn(null, firstProxy);
+
+        assertNull(singleSessionPool.getMatlabProxy());
+        assertSame(firstProxy, singleSessionPool.getMatlabProxy());
+    }
+
+    @Test
+    public void closeTerminatesIdleSessionsAndRejectsNewLeases() throws MatlabInvocationException {
+        pool.returnMatlabProxy(pool.getMatlabProxy());
+        pool.close();
+
+        verify(firstProxy, times(1)).exit();
+        assertThrows(IllegalStateException.class, () -> pool.getMatlabProxy());
+    }
+
+    @Test
+    public void borrowRecordsTheAcquisitionsByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            pool.getMatlabProxy();
+            pool.getMatlabProxy();
+            pool.borrowMatlabProxy(1, TimeUnit.MILLISECONDS);
+
+            assertEquals(2, registry.get(MatlabMetrics.SESSION_ACQUISITION).tag("outcome", "leased").timer().count());
+            assertEquals(1, registry.get(MatlabMetrics.SESSION_ACQUISITION).tag("outcome", "timeout").timer().count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+}
@@ -138,4 +138,50 @@ public class SchwartzModelDataMapperTest {
         assertEquals(expected, actual);
     }
     
+    @Test
+    public void mapWithoutCopyingAdoptsTheSuppliedArray() {
+        double[][] data = new double[][]{{1, 2, 3},
+                                         {8, 9.5, 10},
+                                         {0.1, 0.2, 0.3},
+                                         {Double.NaN, 2, 1},
+                                         {8.3, 9.2, 9.9},
+                                         {30, 25, Double.NaN},
+                                         {9.5, 10.2, 11}
+                                        };
+        SchwartzSimulatedData actual = new SchwartzModelDataMapper(false).map(data);
+
+        SchwartzSimulatedData expected = new SchwartzSimulatedData();
+        expected.put(1, 8d, 0.1, new SchwartzSimulatedData.ContractEntry[]{new SchwartzSimulatedData.ContractEntry(30d, 9.5)});
+        expected.put(2, 9.5, 0.2, new SchwartzSimulatedData.ContractEntry[]{new SchwartzSimulatedData.ContractEntry(2d, 9.2),
+                                                                         new SchwartzSimulatedData.ContractEntry(25d, 10.2)
+                                                                        });
+        expected.put(3, 10d, 0.3, new SchwartzSimulatedData.ContractEntry[]{new SchwartzSimulatedData.ContractEntry(1d, 9.9)});
+        assertEquals(expected, actual);
+        // The contracts are moved to the front of the adopted rows.
+        assertEquals(30, data[3][0]);
+        assertEquals(Double.NaN, data[5][0]);
+    }
+
+    @Test
+    public void mapCopiesTheSuppliedArrayByDefault() {
+        double[][] data = new double[][]{{1, 2}, {8, 9}, {0.1, 0.2}, {Double.NaN, 2}, {8.3, 9.2}, {30, 25}, {9.5, 10.2}};
+        mapper.map(data);
+
+        assertEquals(Double.NaN, data[3][0]);
+        assertEquals(30, data[5][0]);
+    }
+
+    @Test
+    public void mapSortsAnUnsortedTimeline() {
+        SchwartzSimulatedData expected = new SchwartzSimulatedData();
+        expected.put(1, 8d, 0.1);
+        expected.put(2, 8.5, 0.2);
+        expected.put(3, 9d, 0d);
+        SchwartzSimulatedData actual = new SchwartzModelDataMapper(false).map(new double[][]{{3, 1, 2.5},
+                                                                                          {9, 8, 8.5},
+                                                                                          {0, 0.1, 0.2},
+                                                                                         });
+        assertEquals(expected, actual);
+    }
+
 }
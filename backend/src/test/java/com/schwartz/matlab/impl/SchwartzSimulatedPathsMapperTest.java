@@ -0,0 +1,69 @@
+package com.schwartz.matlab.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.schwartz.model.SchwartzSimulatedData;
+import com.schwartz.model.SchwartzSimulatedPaths;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class SchwartzSimulatedPathsMapperTest {
+
+    private SchwartzSimulatedPathsMapper mapper;
+
+    @BeforeEach
+    public void setUp() {
+        mapper = new SchwartzSimulatedPathsMapper(2);
+    }
+
+    @Test
+    public void mapThrowsIAEForNullInput() {
+        assertThrows(IllegalArgumentException.class, () -> mapper.map(null));
+    }
+
+    @Test
+    public void mapThrowsIAEForUnevenPathBlocks() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> mapper.map(new double[][]{
+                {1, 2},
+                {8, 8.5},
+                {0.1, 0.2},
+                {9, 9.5},
+            })
+        );
+    }
+
+    @Test
+    public void mapSplitsTheStackedPaths() {
+        double[][] data = new double[][]{
+            {1, 2},
+            {8, 8.5},
+            {0.1, 0.2},
+            {21, 20},
+            {8.1, Double.NaN},
+            {9, 9.5},
+            {0.3, 0.4},
+            {21, 20},
+            {9.1, 9.6},
+        };
+        SchwartzSimulatedPaths paths = mapper.map(data);
+
+        assertEquals(2, paths.getNumberOfPaths());
+        assertEquals(1, paths.getNumberOfContracts());
+        assertArrayEquals(new double[]{9, 9.5}, paths.getSpotPrices()[1]);
+        assertArrayEquals(data, paths.getMatlabFormat());
+
+        SchwartzSimulatedData first = paths.getPath(0);
+        assertEquals(2, first.size());
+        assertEquals(1, first.getMaxTermStructureLength());
+        assertEquals(0, first.getEntries().stream().skip(1).findFirst().get().getContractEntriesList().size());
+    }
+
+}
@@ -1,6 +1,12 @@
 package com.schwartz.model;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Iterator;
 
 import org.junit.jupiter.api.Test;
 
@@ -53,4 +59,48 @@ public class SchwartzSimulatedDataTest {
         assertArrayEquals(expected, actual);
     }
     
+    @Test
+    public void putKeepsTheEntriesSortedByTime() {
+        SchwartzSimulatedData modelData = new SchwartzSimulatedData(1);
+        modelData.put(3, 10d, 0.3);
+        modelData.put(1, 8d, 0.1);
+        modelData.put(2, 9.5, 0.2);
+
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(modelData.getTimeline().toArray()));
+        Iterator<SchwartzSimulatedData.Entry> entries = modelData.getEntries().iterator();
+        assertEquals(8d, entries.next().getSpotPrice().doubleValue());
+        assertEquals(9.5, entries.next().getSpotPrice().doubleValue());
+        assertEquals(10d, entries.next().getSpotPrice().doubleValue());
+    }
+
+    @Test
+    public void putReplacesAnExistingEntryAndItsTermStructure() {
+        SchwartzSimulatedData modelData = new SchwartzSimulatedData();
+        modelData.put(1, 8d, 0.1, new SchwartzSimulatedData.ContractEntry[]{new SchwartzSimulatedData.ContractEntry(3d, 8.3)});
+        modelData.put(1, 9d, 0.2);
+
+        SchwartzSimulatedData expected = new SchwartzSimulatedData();
+        expected.put(1, 9d, 0.2);
+
+        assertFalse(modelData.hasContractEntries());
+        assertEquals(expected, modelData);
+        assertEquals(expected.hashCode(), modelData.hashCode());
+        assertArrayEquals(new double[][]{{1}, {9}, {0.2}}, modelData.getMatlabFormat());
+    }
+
+    @Test
+    public void primitivePutEqualsPutWithContractEntries() {
+        SchwartzSimulatedData expected = new SchwartzSimulatedData();
+        expected.put(1, 8d, 0.1, new SchwartzSimulatedData.ContractEntry[]{new SchwartzSimulatedData.ContractEntry(3d, 8.3),
+                                                                        new SchwartzSimulatedData.ContractEntry(10d, 9d)
+                                                                       });
+        SchwartzSimulatedData actual = new SchwartzSimulatedData();
+        actual.put(1, 8d, 0.1, new double[]{3, 10}, new double[]{8.3, 9});
+
+        assertTrue(actual.hasContractEntries());
+        assertEquals(expected, actual);
+        assertEquals(expected.hashCode(), actual.hashCode());
+        assertEquals(expected.getEntries().iterator().next(), actual.getEntries().iterator().next());
+    }
+
 }
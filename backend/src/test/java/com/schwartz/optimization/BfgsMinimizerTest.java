@@ -0,0 +1,65 @@
+package com.schwartz.optimization;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class BfgsMinimizerTest {
+
+    private static final IDifferentiableFunction ROSENBROCK = (point, gradient) -> {
+        double x = point[0];
+        double y = point[1];
+        gradient[0] = -2 * (1 - x) - 400 * x * (y - x * x);
+        gradient[1] = 200 * (y - x * x);
+        return (1 - x) * (1 - x) + 100 * (y - x * x) * (y - x * x);
+    };
+
+    @Test
+    public void minimizeFindsMinimumOfRosenbrockFunction() {
+        OptimizationResult result = new BfgsMinimizer().minimize(ROSENBROCK, new double[]{-1.2, 1});
+
+        assertTrue(result.isConverged());
+        assertEquals(1, result.getPoint()[0], 1e-5);
+        assertEquals(1, result.getPoint()[1], 1e-5);
+        assertEquals(0, result.getValue(), 1e-10);
+    }
+
+    @Test
+    public void minimizeRejectsPointsOutsideDomain() {
+        // The logarithmic barrier is infinite outside of the positive half-line.
+        IDifferentiableFunction barrier = (point, gradient) -> {
+            gradient[0] = 1 - 1 / point[0];
+            return point[0] > 0 ? point[0] - Math.log(point[0]) : Double.POSITIVE_INFINITY;
+        };
+        OptimizationResult result = new BfgsMinimizer().minimize(barrier, new double[]{10});
+
+        assertTrue(result.isConverged());
+        assertEquals(1, result.getPoint()[0], 1e-5);
+    }
+
+    @Test
+    public void minimizeStopsWhenMonitorDeclines() {
+        OptimizationResult result = new BfgsMinimizer().minimize(
+            ROSENBROCK,
+            new double[]{-1.2, 1},
+            (iteration, value, gradientNorm) -> iteration < 3
+        );
+
+        assertEquals(OptimizationStatus.STOPPED, result.getStatus());
+        assertEquals(3, result.getIterations());
+    }
+
+    @Test
+    public void minimizeThrowsIAEForNonFiniteStartingPoint() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> new BfgsMinimizer().minimize((point, gradient) -> Double.NaN, new double[]{0})
+        );
+    }
+
+}
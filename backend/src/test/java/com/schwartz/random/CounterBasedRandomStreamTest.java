@@ -0,0 +1,76 @@
+package com.schwartz.random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class CounterBasedRandomStreamTest {
+
+    @Test
+    public void forPathReproducesTheSubstream() {
+        IRandomStream stream = CounterBasedRandomStream.forPath(42, 7);
+        IRandomStream other = CounterBasedRandomStream.forPath(42, 7);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(stream.nextGaussian(), other.nextGaussian());
+        }
+    }
+
+    @Test
+    public void forPathDerivesDistinctSubstreams() {
+        assertTrue(CounterBasedRandomStream.forPath(42, 0).nextLong() != CounterBasedRandomStream.forPath(42, 1).nextLong());
+        assertTrue(CounterBasedRandomStream.forPath(42, 0).nextLong() != CounterBasedRandomStream.forPath(43, 0).nextLong());
+    }
+
+    @Test
+    public void setCounterSkipsAhead() {
+        CounterBasedRandomStream stream = CounterBasedRandomStream.forPath(1, 2);
+        for (int i = 0; i < 10; i++) {
+            stream.nextLong();
+        }
+        long expected = stream.nextLong();
+
+        CounterBasedRandomStream skipped = CounterBasedRandomStream.forPath(1, 2);
+        skipped.setCounter(10);
+        assertEquals(expected, skipped.nextLong());
+    }
+
+    @Test
+    public void nextDoubleStaysInTheOpenUnitInterval() {
+        IRandomStream stream = new CounterBasedRandomStream(0);
+        for (int i = 0; i < 100000; i++) {
+            double value = stream.nextDouble();
+            assertTrue(value > 0 && value < 1);
+        }
+    }
+
+    @Test
+    public void nextGaussianHasStandardNormalMoments() {
+        IRandomStream stream = CounterBasedRandomStream.forPath(2018, 0);
+        int samples = 1000000;
+        double sum = 0;
+        double sumOfSquares = 0;
+        double sumOfFourthPowers = 0;
+        int tail = 0;
+        for (int i = 0; i < samples; i++) {
+            double z = stream.nextGaussian();
+            sum += z;
+            sumOfSquares += z * z;
+            sumOfFourthPowers += z * z * z * z;
+            if (Math.abs(z) > 3) {
+                tail++;
+            }
+        }
+
+        assertEquals(0, sum / samples, 0.005);
+        assertEquals(1, sumOfSquares / samples, 0.01);
+        assertEquals(3, sumOfFourthPowers / samples, 0.05);
+        // P(|Z| > 3) = 0.0027
+        assertEquals(0.0027, (double) tail / samples, 0.0003);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.schwartz.random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class QuasiRandomPathSamplerTest {
+
+    @Test
+    public void brownianBridgePreservesTheCovariance() {
+        int steps = 13;
+        BrownianBridge bridge = new BrownianBridge(steps);
+        double[] normals = new double[steps];
+        double[] increments = new double[steps];
+
+        // The transformation is linear, and its columns are orthonormal if the increments are independent standard normal values.
+        double[][] covariance = new double[steps][steps];
+        for (int i = 0; i < steps; i++) {
+            normals[i] = 1;
+            bridge.transform(normals, increments);
+            normals[i] = 0;
+            for (int j = 0; j < steps; j++) {
+                for (int k = 0; k < steps; k++) {
+                    covariance[j][k] += increments[j] * increments[k];
+                }
+            }
+        }
+        for (int j = 0; j < steps; j++) {
+            for (int k = 0; k < steps; k++) {
+                assertEquals(j == k ? 1 : 0, covariance[j][k], 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void brownianBridgeSpreadsTheFirstValueOverThePath() {
+        BrownianBridge bridge = new BrownianBridge(8);
+        double[] normals = new double[8];
+        double[] increments = new double[8];
+        normals[0] = 1;
+
+        bridge.transform(normals, increments);
+        for (double increment : increments) {
+            assertEquals(1 / Math.sqrt(8), increment, 1e-12);
+        }
+    }
+
+    @Test
+    public void scrambledSobolPointsAreBalanced() {
+        ScrambledSobolSequence sequence = new ScrambledSobolSequence(3, CounterBasedRandomStream.forPath(5, 0));
+        double[] point = new double[3];
+        int[][] counts = new int[3][4];
+        for (int i = 0; i < 64; i++) {
+            sequence.nextPoint(point);
+            for (int d = 0; d < 3; d++) {
+                assertTrue(point[d] > 0 && point[d] < 1);
+                counts[d][(int) (point[d] * 4)]++;
+            }
+        }
+        // The digital shift permutes the elementary intervals, so every quarter holds exactly a quarter of the points.
+        for (int[] count : counts) {
+            for (int quarter : count) {
+                assertEquals(16, quarter);
+            }
+        }
+    }
+
+    @Test
+    public void forPathReproducesThePathsInAnyOrder() {
+        QuasiRandomPathSampler sampler = new QuasiRandomPathSampler(300, 2, 8, 11);
+        double[] expected = new double[4];
+        IRandomStream stream = sampler.forPath(13);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = stream.nextGaussian();
+        }
+
+        QuasiRandomPathSampler other = new QuasiRandomPathSampler(300, 2, 8, 11);
+        for (int p = 0; p < 13; p++) {
+            other.forPath(p);
+        }
+        other.forPath(2);
+        IRandomStream reproduced = other.forPath(13);
+        for (double value : expected) {
+            assertEquals(value, reproduced.nextGaussian());
+        }
+    }
+
+}
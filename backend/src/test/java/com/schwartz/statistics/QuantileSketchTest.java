@@ -0,0 +1,95 @@
+package com.schwartz.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.schwartz.random.CounterBasedRandomStream;
+import com.schwartz.random.IRandomStream;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author woope
+ */
+public class QuantileSketchTest {
+
+    private static final double[] PROBABILITIES = {0, 0.01, 0.1, 0.5, 0.9, 0.99, 1};
+
+    @Test
+    public void quantilesStayWithinTheRelativeAccuracy() {
+        IRandomStream random = new CounterBasedRandomStream(1);
+        double[] values = new double[20000];
+        QuantileSketch sketch = new QuantileSketch(0.01, QuantileSketch.DEFAULT_MAX_NUMBER_OF_BUCKETS);
+        for (int i = 0; i < values.length; i++) {
+            // The values of both signs span several orders of magnitude, and some of them are zeros.
+            values[i] = i % 100 == 0 ? 0 : Math.sinh(3 * random.nextGaussian());
+            sketch.add(values[i]);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, sketch.getCount());
+        for (double probability : PROBABILITIES) {
+            double exact = values[(int) Math.ceil(probability * (values.length - 1))];
+            double lower = values[(int) Math.floor(probability * (values.length - 1))];
+            double quantile = sketch.getQuantile(probability);
+            assertTrue(
+                Math.abs(quantile - exact) <= 0.01 * Math.abs(exact) + 1e-12 || Math.abs(quantile - lower) <= 0.01 * Math.abs(lower) + 1e-12,
+                "The quantile " + probability + ": " + quantile + " != " + exact
+            );
+        }
+        assertEquals(values[0], sketch.getQuantile(0));
+        assertEquals(values[values.length - 1], sketch.getQuantile(1));
+    }
+
+    @Test
+    public void mergedSketchesEqualTheSketchOfTheWholeStream() {
+        IRandomStream random = new CounterBasedRandomStream(2);
+        QuantileSketch whole = new QuantileSketch();
+        QuantileSketch first = new QuantileSketch();
+        QuantileSketch second = new QuantileSketch();
+        RunningMoments wholeMoments = new RunningMoments();
+        RunningMoments firstMoments = new RunningMoments();
+        RunningMoments secondMoments = new RunningMoments();
+        for (int i = 0; i < 5000; i++) {
+            double value = 100 * Math.exp(0.3 * random.nextGaussian());
+            whole.add(value);
+            wholeMoments.add(value);
+            (i < 1500 ? first : second).add(value);
+            (i < 1500 ? firstMoments : secondMoments).add(value);
+        }
+        first.merge(second);
+        firstMoments.merge(secondMoments);
+
+        for (double probability : PROBABILITIES) {
+            assertEquals(whole.getQuantile(probability), first.getQuantile(probability));
+        }
+        assertEquals(wholeMoments.getCount(), firstMoments.getCount());
+        assertEquals(wholeMoments.getMean(), firstMoments.getMean(), 1e-10);
+        assertEquals(wholeMoments.getVariance(), firstMoments.getVariance(), 1e-8);
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new QuantileSketch(0.02, QuantileSketch.DEFAULT_MAX_NUMBER_OF_BUCKETS)));
+    }
+
+    @Test
+    public void collapsingTheSmallestBucketsPreservesTheUpperQuantiles() {
+        QuantileSketch sketch = new QuantileSketch(0.01, 64);
+        for (int i = 1; i <= 1000; i++) {
+            sketch.add(Math.pow(1.1, i));
+        }
+
+        assertEquals(1000, sketch.getCount());
+        assertEquals(Math.pow(1.1, 990), sketch.getQuantile(0.99), 0.01 * Math.pow(1.1, 990));
+        // The collapsed values are represented by the lowest retained bucket.
+        assertTrue(sketch.getQuantile(0.5) > Math.pow(1.1, 500));
+        assertEquals(Math.pow(1.1, 1000), sketch.getQuantile(1));
+    }
+
+    @Test
+    public void emptySketchesAndMomentsAreUndefined() {
+        assertTrue(Double.isNaN(new QuantileSketch().getQuantile(0.5)));
+        assertTrue(Double.isNaN(new RunningMoments().getMean()));
+        assertThrows(IllegalArgumentException.class, () -> new QuantileSketch().add(Double.NaN));
+    }
+
+}